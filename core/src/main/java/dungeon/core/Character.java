@@ -3,6 +3,7 @@ package dungeon.core;  // Define o pacote onde esta classe está incluída
 import com.badlogic.gdx.graphics.Texture;  // Importa a classe Texture da libGDX para carregar e gerir as imagens
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;  // Importa a classe SpriteBatch para desenhar as texturas no ecrã
 import com.badlogic.gdx.math.Rectangle;  // Importa a classe Rectangle para criar hitboxes e detetar colisões
+import dungeon.core.assets.TextureCache;  // Importa a cache partilhada de texturas
 
 /**
  * Classe abstrata que representa uma personagem do jogo.
@@ -27,7 +28,8 @@ public abstract class Character implements GameEntity {
     protected float moveSpeed;  // Velocidade com que a personagem se move pelo ecrã
 
     // Recursos gráficos
-    protected Texture texture;  // Textura para desenhar a personagem no ecrã
+    protected String texturePath;  // Ficheiro da textura da personagem
+    protected Texture texture;  // Textura para desenhar a personagem no ecrã (obtida da cache no primeiro desenho)
 
     // Sistema de colisões
     protected Rectangle hitbox;  // Área para detetar colisões com outras entidades
@@ -57,8 +59,8 @@ public abstract class Character implements GameEntity {
         // Configura a velocidade de movimento
         this.moveSpeed = moveSpeed;  // Define a velocidade com que a personagem se move
 
-        // Carrega a textura da personagem
-        this.texture = new Texture(texturePath);  // Carrega a imagem da personagem do ficheiro
+        // Guarda o caminho da textura; a imagem só é carregada quando a personagem for desenhada
+        this.texturePath = texturePath;  // A simulação não precisa de OpenGL, só o desenho
 
         // Cria a área de colisão
         this.hitbox = new Rectangle(x, y, width, height);  // Define a área para detetar colisões
@@ -107,7 +109,17 @@ public abstract class Character implements GameEntity {
      * Desenha a personagem no ecrã.
      */
     public void render(SpriteBatch batch) {  // Método chamado para desenhar a personagem
-        batch.draw(texture, x, y, width, height);  // Desenha a textura da personagem na sua posição atual
+        batch.draw(getTexture(), x, y, width, height);  // Desenha a textura da personagem na sua posição atual
+    }
+
+    /**
+     * Devolve a textura da personagem, pedindo-a à cache partilhada na primeira utilização.
+     */
+    protected Texture getTexture() {  // Método que obtém a textura de forma preguiçosa
+        if (texture == null) {  // Se a textura ainda não foi pedida
+            texture = TextureCache.getInstance().acquire(texturePath);  // Todas as personagens do mesmo tipo partilham a textura
+        }
+        return texture;  // Devolve a textura pronta a desenhar
     }
 
     /**
@@ -194,15 +206,30 @@ public abstract class Character implements GameEntity {
         return health <= 0;  // Devolve verdadeiro se a vida for zero ou menos
     }
 
+    /**
+     * Uma personagem só ocupa espaço no mundo enquanto está viva.
+     */
+    public boolean isActive() {  // Método usado pelo índice espacial da sala
+        return !isDead();
+    }
+
     /**
      * Liberta os recursos gráficos usados pela personagem.
      * Deve ser chamado quando a personagem já não é necessária.
      */
     public void dispose() {  // Método para libertar recursos da memória
         if (texture != null) {  // Se existe uma textura carregada
-            texture.dispose();  // Liberta a memória usada pela textura
+            TextureCache.getInstance().release(texturePath);  // Devolve a textura à cache (só é libertada quando ninguém a usa)
+            texture = null;  // Evita libertar duas vezes
         }
     }
+    /**
+     * Define a vida atual (cliente em rede: a vida vem do servidor).
+     */
+    public void setHealth(int health) {
+        this.health = Math.max(0, Math.min(health, maxHealth));
+    }
+
     /**
      * Define a nova coordenada X da personagem.
      */
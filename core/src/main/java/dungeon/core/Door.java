@@ -3,6 +3,9 @@ package dungeon.core;  // Define o pacote onde esta classe está incluída
 import com.badlogic.gdx.graphics.Texture;  // Importa a classe Texture da libGDX para carregar e gerir as imagens
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;  // Importa a classe SpriteBatch para desenhar as texturas no ecrã
 import com.badlogic.gdx.math.Rectangle;  // Importa a classe Rectangle para criar hitboxes e detetar colisões
+import dungeon.core.assets.TextureCache;  // Importa a cache partilhada de texturas
+import dungeon.core.physics.SweptAabb;  // Importa a colisão contínua (jogador rápido contra a porta)
+import dungeon.core.rendering.GameplayRenderer;  // Importa a fila de desenho do mundo
 
 public class Door implements GameEntity {
     // Posição da porta no ecrã
@@ -11,7 +14,9 @@ public class Door implements GameEntity {
     private float height = 128f;  // Altura padrão da porta em pixels
     private Rectangle hitbox;  // Área para detetar colisões com o jogador
 
-    // Texturas da porta (normal e trancada)
+    // Texturas da porta (normal e trancada), obtidas da cache no primeiro desenho
+    private static final String LOCKED_TEXTURE_PATH = "door_locked.png";  // Ficheiro da porta trancada
+    private String texturePath;  // Ficheiro da textura da porta desbloqueada
     private Texture texture;  // Textura para a porta no estado normal (desbloqueada)
     private Texture lockedTexture;  // Textura para a porta no estado trancado
 
@@ -19,6 +24,7 @@ public class Door implements GameEntity {
     private Room.DoorPosition position;  // Norte, Sul, Este, Oeste - posição/orientação da porta
     private int targetRoomId;  // Sala onde a porta dá acesso - ID da sala de destino
     private boolean isLocked;  // Indica se a porta está trancada ou não
+    private Room room;  // Sala onde a porta está (a sua camada estática tem de ser refeita quando a porta abre)
 
     public Door(float x, float y, Room.DoorPosition position, int targetRoomId, boolean isLocked) {  // Construtor que configura a porta com as suas propriedades
         this.x = x;  // Guarda a coordenada X inicial
@@ -44,9 +50,8 @@ public class Door implements GameEntity {
                 break;
         }
 
-        // Carrega as texturas
-        this.texture = new Texture(texturePath);  // Carrega a textura padrão da porta
-        this.lockedTexture = new Texture("door_locked.png");  // Carrega a textura da porta trancada
+        // Guarda o caminho da textura; as imagens só são carregadas quando a porta for desenhada
+        this.texturePath = texturePath;
 
         // Ajusta a posição para que a porta fique bem alinhada com a parede
         switch (position) {  // Ajusta a posição final com base na orientação
@@ -86,19 +91,36 @@ public class Door implements GameEntity {
     }
 
     public void render(SpriteBatch batch) {  // Método chamado para desenhar a porta no ecrã
-        if (isLocked) {  // Se a porta estiver trancada
-            batch.draw(lockedTexture, x, y, width, height);  // Desenha a textura de porta trancada
-        } else {  // Se a porta estiver desbloqueada
-            batch.draw(texture, x, y, width, height);  // Desenha a textura normal da porta
+        batch.draw(getCurrentTexture(), x, y, width, height);  // Desenha a textura correspondente ao estado da porta
+    }
+
+    public void submit(GameplayRenderer renderer) {  // Coloca a porta na fila de desenho, na camada das portas
+        renderer.submit(GameplayRenderer.Layer.DOORS, getCurrentTexture(), 0, x, y, width, height);
+    }
+
+    public Texture getCurrentTexture() {  // Textura trancada ou normal, conforme o estado da porta
+        if (texture == null) {  // Primeiro desenho: pede as texturas partilhadas
+            texture = TextureCache.getInstance().acquire(texturePath);
+            lockedTexture = TextureCache.getInstance().acquire(LOCKED_TEXTURE_PATH);
         }
+        return isLocked ? lockedTexture : texture;
     }
 
-    public boolean checkCollision(Player player) {  // Método que verifica se o jogador está a tocar na porta
-        return hitbox.overlaps(player.getHitbox());  // Compara a hitbox da porta com a hitbox do jogador
+    public boolean checkCollision(Player player) {  // Método que verifica se o jogador tocou na porta durante o frame
+        // Teste contínuo desde a posição do início do frame: um movimento grande não atravessa a porta sem a tocar
+        return SweptAabb.sweepHits(player.getPreviousX(), player.getPreviousY(), player.getWidth(), player.getHeight(),
+            player.getX(), player.getY(), hitbox);
     }
 
     public void unlock() {  // Método para desbloquear a porta quando o jogador usa uma chave
         isLocked = false;  // Define o estado da porta como desbloqueada
+        if (room != null) {  // A textura mudou: a camada estática da sala fica desatualizada
+            room.invalidateStaticLayer();
+        }
+    }
+
+    public void setRoom(Room room) {  // Chamado por Room.setDoor
+        this.room = room;  // Sala a avisar quando a porta for desbloqueada
     }
 
     public boolean isLocked() {  // Método que verifica se a porta está trancada
@@ -114,8 +136,12 @@ public class Door implements GameEntity {
     }
 
     public void dispose() {  // Método para libertar os recursos gráficos usados pela porta
-        texture.dispose();  // Liberta a memória usada pela textura normal
-        lockedTexture.dispose();  // Liberta a memória usada pela textura de porta trancada
+        if (texture != null) {  // Só devolve as texturas se chegaram a ser pedidas
+            TextureCache.getInstance().release(texturePath);  // Devolve a textura normal à cache
+            TextureCache.getInstance().release(LOCKED_TEXTURE_PATH);  // Devolve a textura de porta trancada
+            texture = null;
+            lockedTexture = null;
+        }
     }
 
     @Override
@@ -130,4 +156,16 @@ public class Door implements GameEntity {
     public float getY() {  // Método que devolve a coordenada Y da porta
         return y;  // Devolve a posição vertical atual
     }
+
+    public float getWidth() {  // Método que devolve a largura da porta (já rodada conforme a parede)
+        return width;  // Largura atual
+    }
+
+    public float getHeight() {  // Método que devolve a altura da porta (já rodada conforme a parede)
+        return height;  // Altura atual
+    }
+
+    public boolean isActive() {  // As portas ficam sempre na sala (trancadas ou não)
+        return true;
+    }
 }
@@ -1,126 +1,251 @@
 package dungeon.core;  // Define o pacote onde esta classe está incluída
 
-import com.badlogic.gdx.Gdx;  // Importa a classe Gdx da libGDX para acesso a funções de tempo e de input
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;  // Importa SpriteBatch para renderizar elementos gráficos
-import java.util.HashMap;  // Importa HashMap para armazenar as salas do jogo
-import java.util.Map;  // Importa a interface Map usada para declarar a coleção de salas
+import java.util.ArrayList;  // Importa ArrayList para a lista de jogadores
+import java.util.Arrays;  // Importa Arrays para aumentar o registo das salas atualizadas
+import java.util.Collections;  // Importa Collections para expor a lista de jogadores só para leitura
+import java.util.List;  // Importa a interface List usada para os jogadores
 import java.util.Random;  // Importa a classe Random para gerar números aleatórios
-import dungeon.core.ai.BasicFollowerStrategy;  // Importa a estratégia básica de seguimento
+import dungeon.core.assets.RoomStreamer;  // Importa o pré-carregamento das texturas das salas vizinhas
+import dungeon.core.content.ContentPack;  // Importa o pacote de conteúdos (modelos das salas)
 import dungeon.core.events.*;  // Importa o sistema de eventos
+import dungeon.core.profiling.FrameProfiler;  // Importa o profiler de frames
+import dungeon.core.profiling.StartupTracer;  // Importa a linha do tempo do arranque
+import dungeon.core.rendering.GameplayRenderer;  // Importa a fila de desenho do mundo
+import dungeon.core.rendering.WorldCamera;  // Importa a câmara que segue o jogador
 import dungeon.core.factories.*;  // Importa as factories de criação de salas
 import dungeon.core.repositories.*;  // Importa o sistema de repositórios
+import dungeon.core.session.GameSession;  // Importa a sessão que contém este mundo
 
 
 
+/*
+  Mundo de uma sessão de jogo (ver GameSession): salas, jogadores e atualização por tick.
+  Cada sessão tem o seu; as entidades chegam-lhe através da sessão da sua sala.
+ */
 public class DungeonManager {
-    // Instância única (padrão Singleton)
-    private static DungeonManager instance;  // Variável estática que guarda a única instância da classe
+    private static final int STARTING_ROOM_ID = 0;  // Todos os jogadores começam nesta sala
 
+    private final GameSession session;  // Sessão a que este mundo pertence (eventos, profiler e mensagens)
     private RoomRepository roomRepository;  // Repositório que armazena e gere todas as salas do jogo
-    private int currentRoomId;  // ID da sala atual onde o jogador se encontra
 
-        private Player player;  // Personagem principal controlado pelo utilizador
+    private Player player;  // Personagem principal controlado pelo utilizador (null no servidor)
+    private final List<Player> players = new ArrayList<>();  // Todos os jogadores da partida (o local é o primeiro)
+    private final List<Player> playersView = Collections.unmodifiableList(players);  // Vista só de leitura
+    private final List<Player> roomPlayers = new ArrayList<>();  // Jogadores da sala a atualizar (reutilizada)
+    private int[] roomUpdatedAt = new int[8];  // Última atualização em que cada sala (por ID) já foi tratada
+    private int updateStamp;
 
-   private Random random;  // Gera números aleatórios para criar variação no comportamento dos inimigos e na distribuição de itens
+    private long seed;  // Semente da partida atual (fica no histórico de partidas)
+    private Random random;  // Gerador da partida (recompensas das salas e saque dos inimigos), criado a partir da semente
 
-    // Sistema de eventos usando Observer Pattern
+    // Sistema de eventos usando Observer Pattern (subscrições por tipo de evento)
     private GameEventManager eventManager;  // Gestor central de todos os eventos do jogo
     private GameLogger gameLogger;  // Observador que faz log dos eventos para debug
     private ScoreManager scoreManager;  // Observador que mantém as estatísticas do jogador
 
-    // Largura e altura da janela do jogo utilizadas para calcular as coordenadas do jogador, dos inimigos, das portas e dos itens
-    private static final int SCREEN_WIDTH = 800;  // Largura da janela do jogo em pixels
-    private static final int SCREEN_HEIGHT = 600;  // Altura da janela do jogo em pixels
+    // Só existem na sessão local (sem janela nada é desenhado)
+    private GameplayRenderer renderer;  // Fila de desenho ordenada por camada e textura
+    private RoomStreamer roomStreamer;  // Mantém carregadas as texturas da sala atual e das vizinhas
 
 
-    private DungeonManager() {  // Construtor para implementar o padrão Singleton
-        roomRepository = new InMemoryRoomRepository();  // Inicializa o repositório de salas
-        random = new Random();  // Cria um novo gerador de números aleatórios
 
-        player = new Player((SCREEN_WIDTH - 128) / 2, (SCREEN_HEIGHT - 128) / 2);  // Cria o jogador no centro do ecrã. 128 é a largura/altura do jogador.
+    public DungeonManager(GameSession session, boolean localPlayer) {  // Criado pela GameSession
+        long traceStart = StartupTracer.getInstance().begin();
+        this.session = session;
+        roomRepository = new IndexedRoomRepository();  // Inicializa o repositório de salas (chaves int e índices por estado)
+        if (localPlayer) {
+            renderer = new GameplayRenderer();
+            roomStreamer = new RoomStreamer(roomRepository);  // Usa o repositório para encontrar as salas vizinhas
+        }
+        seed = System.nanoTime();  // Semente da primeira partida
+        random = new Random(seed);  // Cria um novo gerador de números aleatórios
 
         // Inicializa o sistema de eventos
-        eventManager = GameEventManager.getInstance();  // Obtém a instância única do gestor de eventos
-        gameLogger = new GameLogger(true);  // Cria o logger com modo debug ativo
+        eventManager = session.getEvents();  // Gestor de eventos da sessão
+        gameLogger = new GameLogger(localPlayer);  // Só a sessão local faz log dos eventos
         scoreManager = new ScoreManager();  // Cria o gestor de pontuações
 
         // Regista os observadores no sistema de eventos
-        eventManager.addObserver(gameLogger);  // Adiciona o logger como observador
-        eventManager.addObserver(scoreManager);  // Adiciona o score manager como observador
+        gameLogger.subscribe(eventManager);  // O logger subscreve todos os tipos de evento
+        scoreManager.subscribe(eventManager);  // O score manager só os que contam para a pontuação
 
         generateDungeon();  // Chama o método que cria todas as salas e ligações entre elas
+        if (localPlayer) {
+            player = addPlayer();  // Cria o jogador no centro da sala inicial
+            roomStreamer.enterRoom(getCurrentRoom());  // Começa a carregar a sala inicial e as vizinhas
+        }
+        StartupTracer.getInstance().end("DungeonManager", traceStart);
     }
 
-    public static DungeonManager getInstance() {  // Método que permite aceder ao DungeonManager a partir de qualquer classe do jogo
-		if (instance == null) {  // Verifica se esta é a primeira vez que o método é chamado
-            instance = new DungeonManager();  // Inicializa o jogo pela primeira vez
-		}
-		return instance;  // Devolve a referência ao objeto que coordena o jogo
+    private void placePlayerInStartingRoom(Player player) {  // Centra o jogador na sala inicial
+        Room startingRoom = roomRepository.findRoomById(STARTING_ROOM_ID);  // As coordenadas são da sala, não do ecrã
+        player.setRoomId(STARTING_ROOM_ID);
+        player.setPosition((startingRoom.getWidth() - player.getWidth()) / 2,
+            (startingRoom.getHeight() - player.getHeight()) / 2);  // Centra o jogador na sala inicial
+        player.savePreviousPosition();
     }
 
     /*
-      Gera o jogo completo com várias salas interligadas.
-      Configura os inimigos, os itens e as portas em cada sala.
-      Atualmente cria um layout básico com 4 salas, mas pode ser expandido para usar algoritmos mais complexos.
+      Junta um jogador novo à partida, no centro da sala inicial (no servidor, um por cliente ligado).
      */
-    private void generateDungeon() {  // Método que cria todas as salas usando Factory Pattern
-        // Factory para sala inicial - fácil para iniciantes
-        RoomFactory startingFactory = new StartingRoomFactory();
-        Room startingRoom = startingFactory.createRoom(0);
-        roomRepository.saveRoom(startingRoom); // Armazena sala inicial no repositório
+    public Player addPlayer() {
+        Player newPlayer = new Player(0, 0);
+        placePlayerInStartingRoom(newPlayer);
+        players.add(newPlayer);
+        return newPlayer;
+    }
 
-        // Factory para sala de combate norte (ID 1)
-        RoomFactory northRoomFactory = new CombatRoomFactory(1);
-        Room northRoom = northRoomFactory.createRoom(1);
-        roomRepository.saveRoom(northRoom); // Armazena sala norte no repositório
+    public void removePlayer(Player removed) {  // Tira um jogador da partida (ex: cliente desligado)
+        if (players.remove(removed)) {
+            removed.dispose();
+        }
+    }
 
-        // Factory para sala de combate leste (ID 2)
-        RoomFactory eastRoomFactory = new CombatRoomFactory(2);
-        Room eastRoom = eastRoomFactory.createRoom(2);
-        roomRepository.saveRoom(eastRoom); // Armazena sala leste no repositório
+    public List<Player> getPlayers() {  // Todos os jogadores, só para leitura
+        return playersView;
+    }
 
-        // Factory para sala do boss (ID 3)
-        RoomFactory bossFactory = new BossRoomFactory();
-        Room bossRoom = bossFactory.createRoom(3);
-        roomRepository.saveRoom(bossRoom); // Armazena sala do boss no repositório
+    /*
+      Recomeça o jogo do início: salas novas, jogador novo e estatísticas a zero.
+      Usado pelo ecrã de jogo quando o jogador escolhe jogar de novo.
+     */
+    public void reset() {
+        reset(System.nanoTime());  // Partida nova, semente nova
+    }
 
-        // Define a sala inicial para o jogador começar
-        currentRoomId = 0;  // O jogador começa na sala com ID 0
+    /*
+      Recomeça o jogo com uma semente dada: as salas e os sorteios repetem os da partida que a usou
+      (ex: repetição de uma gravação de input).
+     */
+    public void reset(long seed) {
+        if (roomStreamer != null) {
+            roomStreamer.clear();
+        }  // As texturas das salas antigas deixam de ser mantidas
+        roomRepository.forEachRoom(Room::dispose);  // Liberta as salas da partida anterior
+        roomRepository.clearAllRooms();  // Esvazia o repositório antes de gerar as salas novas
+
+        for (Player oldPlayer : players) {
+            oldPlayer.dispose();  // Devolve as texturas dos jogadores anteriores à cache
+        }
+        players.clear();
+        this.seed = seed;
+        random = new Random(seed);
+
+        scoreManager.unsubscribe(eventManager);  // As estatísticas da partida anterior deixam de contar
+        scoreManager = new ScoreManager();
+        scoreManager.subscribe(eventManager);
+
+        generateDungeon();  // Cria de novo todas as salas
+        if (roomStreamer != null) {  // Sessão local: jogador novo com vida, chaves e ouro iniciais
+            renderer.resetTextureIds();
+            player = addPlayer();
+            roomStreamer.enterRoom(getCurrentRoom());
+        }
+    }
+
+    /*
+      Gera o jogo completo com várias salas interligadas.
+      Configura os inimigos, os itens e as portas em cada sala.
+      Atualmente cria um layout básico com 4 salas, mas pode ser expandido para usar algoritmos mais complexos.
+     */
+    private void generateDungeon() {  // Método que cria todas as salas usando Factory Pattern
+        long traceStart = StartupTracer.getInstance().begin();
+        buildRooms(roomRepository, random);
+        roomRepository.forEachRoom(room -> room.attach(session));  // Eventos e mensagens das salas vão para esta sessão
+        session.log("Dungeon gerado com Factory e Repository Pattern! " + roomRepository.getRoomCount() + " salas criadas.");
+        StartupTracer.getInstance().end("DungeonManager.generateDungeon", traceStart);
+    }
 
-        System.out.println("Dungeon gerado com Factory e Repository Pattern! " + roomRepository.getRoomCount() + " salas criadas.");
+    /*
+      Cria as salas do dungeon no repositório, todas com o gerador dado. Público para o cliente em rede,
+      que só precisa das salas (fundo e portas) para desenhar o estado recebido do servidor.
+     */
+    public static void buildRooms(RoomRepository roomRepository, Random random) {
+        // Todas as salas vêm dos modelos do pacote de conteúdos (content/*.txt, compilados pelo :tools:compileContent)
+        ContentPack content = ContentPack.getInstance();
+        RoomFactory factory = new DataDrivenRoomFactory(content, random);
+        for (int id = 0; id < content.getRoomCount(); id++) {
+            if (content.getRoom(id) != null) {
+                roomRepository.saveRoom(factory.createRoom(id)); // Armazena a sala no repositório
+            }
+        }
     }
 
 
     public void update(float deltaTime) {  // Método chamado a cada frame para atualizar o estado do jogo
-        // Atualiza a posição e o estado do jogador
-        player.update(deltaTime);  // Atualiza a posição e estado do jogador com base nas teclas pressionadas
+        FrameProfiler profiler = session.getProfiler();  // Mede o custo de cada fase da atualização
 
-        // Atualiza a sala atual e tudo o que está dentro dela
-        Room currentRoom = roomRepository.findRoomById(currentRoomId);  // Obtém a sala atual do repositório
-        currentRoom.update(deltaTime, player);  // Atualiza a sala atual, incluindo inimigos e itens
+        // Atualiza a posição e o estado dos jogadores
+        profiler.begin(FrameProfiler.Phase.INPUT);
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).update(deltaTime);  // Atualiza a posição e estado do jogador com base nas teclas pressionadas
+        }
+        profiler.end(FrameProfiler.Phase.INPUT);
+
+        // Atualiza as salas com jogadores e tudo o que está dentro delas (a sala mede as fases de IA, colisões e eventos)
+        // Salas vazias ficam paradas; cada sala com jogadores é atualizada uma vez, com todos os que lá estão
+        int entities = 0;
+        updateStamp++;
+        for (int i = 0; i < players.size(); i++) {
+            int roomId = players.get(i).getRoomId();
+            if (roomId >= roomUpdatedAt.length) {
+                roomUpdatedAt = Arrays.copyOf(roomUpdatedAt, Math.max(roomId + 1, roomUpdatedAt.length * 2));
+            }
+            if (roomUpdatedAt[roomId] == updateStamp) {
+                continue;  // Já atualizada por causa de outro jogador
+            }
+            roomUpdatedAt[roomId] = updateStamp;
+            roomPlayers.clear();
+            for (int j = i; j < players.size(); j++) {
+                if (players.get(j).getRoomId() == roomId) {
+                    roomPlayers.add(players.get(j));
+                }
+            }
+            Room room = roomRepository.findRoomById(roomId);  // Obtém a sala do repositório
+            room.update(deltaTime, roomPlayers);  // Atualiza a sala, incluindo inimigos e itens
+            entities += room.getEntityCount() + roomPlayers.size();
+        }
+        profiler.setEntityCount(entities);  // Entidades das salas ativas mais os jogadores
 
-        // Verifica se o jogador está a tentar mudar de sala
-        if (player.isInRoomTransition()) {  // Verifica se o jogador está a interagir com uma porta para mudar de sala
-            handleRoomTransition();  // Processa a mudança de sala
+        // Verifica se algum jogador está a tentar mudar de sala
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).isInRoomTransition()) {  // O jogador está a interagir com uma porta para mudar de sala
+                handleRoomTransition(players.get(i));  // Processa a mudança de sala
+            }
         }
     }
 
 
-    public void render(SpriteBatch batch) {  // Método chamado a cada frame para desenhar o jogo
-        // Desenha a sala atual
-        roomRepository.findRoomById(currentRoomId).render(batch);  // Desenha a sala atual obtida do repositório
+    public void render(SpriteBatch batch, WorldCamera camera) {  // Método chamado a cada frame para desenhar o jogo (entre batch.begin e batch.end)
+        Room currentRoom = getCurrentRoom();  // Sala atual obtida do repositório
 
-        // Desenha o jogador
-        player.render(batch);  // Desenha o jogador por cima da sala
+        // A câmara segue o centro do jogador sem sair da sala
+        camera.follow(player.getX() + player.getWidth() / 2, player.getY() + player.getHeight() / 2,
+            currentRoom.getWidth(), currentRoom.getHeight());
+        camera.applyWorld(batch);  // Desenha em coordenadas de mundo
+        renderer.setView(camera.getView());  // Só o que está dentro da câmara entra na fila
+
+        // Submete a sala atual à fila de desenho
+        currentRoom.render(renderer);
+
+        // Submete os jogadores da sala (ordenados com os inimigos pela posição no ecrã)
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getRoomId() == currentRoom.getId()) {
+                players.get(i).submit(renderer);
+            }
+        }
+
+        renderer.renderWorld(batch);  // Ordena por camada e textura e desenha tudo de uma vez
     }
 
     /*
       Processa a transição do jogador entre salas diferentes.
       Quando o jogador usa uma porta, este método é chamado para mudar para a nova sala e reposicionar o jogador adequadamente.
      */
-    private void handleRoomTransition() {  // Método que gerencia a mudança de sala quando o jogador usa uma porta
+    private void handleRoomTransition(Player player) {  // Método que gerencia a mudança de sala quando o jogador usa uma porta
         Room.DoorPosition exitDirection = player.getExitDirection();  // Obtém a direção da saída (porta usada)
-        Room currentRoom = roomRepository.findRoomById(currentRoomId);  // Obtém a sala atual do repositório
+        Room currentRoom = roomRepository.findRoomById(player.getRoomId());  // Obtém a sala atual do repositório
         Door exitDoor = currentRoom.getDoor(exitDirection);  // Obtém a porta de saída usada pelo jogador
 
         if (exitDoor != null && !exitDoor.isLocked()) {  // Verifica se a porta existe e não está trancada
@@ -128,6 +253,9 @@ public class DungeonManager {
             Room nextRoom = roomRepository.findRoomById(nextRoomId);  // Obtém a próxima sala do repositório
 
             if (nextRoom != null) {  // Verifica se a sala de destino existe
+                float roomWidth = nextRoom.getWidth();  // Dimensões da sala de destino (podem ser maiores do que o ecrã)
+                float roomHeight = nextRoom.getHeight();
+
                 // Determina a posição de entrada na nova sala
                 Room.DoorPosition entryDirection = exitDirection.getOpposite();  // Calcula a direção oposta para a entrada
                 Door entryDoor = nextRoom.getDoor(entryDirection);  // Obtém a porta de entrada na nova sala
@@ -138,47 +266,71 @@ public class DungeonManager {
 
                 switch (entryDirection) {  // Determina a posição exata com base na direção de entrada
                     case NORTH:  // Quando a entrada é pela porta norte
-                        newX = SCREEN_WIDTH / 2 - player.getWidth() / 2;  // Alinha o jogador horizontalmente com o centro da sala
-                        newY = SCREEN_HEIGHT - player.getHeight() - 20;  // Posiciona perto do topo da sala
+                        newX = roomWidth / 2 - player.getWidth() / 2;  // Alinha o jogador horizontalmente com o centro da sala
+                        newY = roomHeight - player.getHeight() - 20;  // Posiciona perto do topo da sala
                         break;
                     case SOUTH:  // Quando a entrada é pela porta sul
-                        newX = SCREEN_WIDTH / 2 - player.getWidth() / 2;  // Alinha o jogador horizontalmente com o centro da sala
+                        newX = roomWidth / 2 - player.getWidth() / 2;  // Alinha o jogador horizontalmente com o centro da sala
                         newY = 20;  // Posiciona perto da parte inferior da sala
                         break;
                     case EAST:  // Quando a entrada é pela porta leste
-                        newX = SCREEN_WIDTH - player.getWidth() - 20;  // Posiciona perto da parede direita
-                        newY = SCREEN_HEIGHT / 2 - player.getHeight() / 2;  // Alinha o jogador verticalmente com o centro da sala
+                        newX = roomWidth - player.getWidth() - 20;  // Posiciona perto da parede direita
+                        newY = roomHeight / 2 - player.getHeight() / 2;  // Alinha o jogador verticalmente com o centro da sala
                         break;
                     case WEST:  // Quando a entrada é pela porta oeste
                         newX = 20;  // Posiciona perto da parede esquerda
-                        newY = SCREEN_HEIGHT / 2 - player.getHeight() / 2;  // Alinha o jogador verticalmente com o centro da sala
+                        newY = roomHeight / 2 - player.getHeight() / 2;  // Alinha o jogador verticalmente com o centro da sala
                         break;
                 }
 
                 player.setPosition(newX, newY);  // Define a nova posição do jogador na sala de destino
+                player.savePreviousPosition();  // Não foi um movimento: a colisão contínua começa aqui
 
                 // Atualiza o ID da sala atual
-                currentRoomId = nextRoomId;  // Muda a sala atual para a sala de destino
-                           }
+                player.setRoomId(nextRoomId);  // Muda a sala atual para a sala de destino
+                if (player == this.player) {  // Só o jogador local é desenhado
+                    currentRoom.releaseRenderCaches();  // A camada estática da sala anterior deixa de ser necessária
+                    renderer.resetTextureIds();  // Não mantém as texturas da sala anterior
+                    roomStreamer.enterRoom(nextRoom);  // Já estava carregada; começa a carregar as vizinhas da nova sala
+                }
+            }
         }
 
         // Limpa a flag de transição do jogador
         player.resetRoomTransition();  // Reinicia o estado de transição para que o jogador possa usar outras portas depois
     }
 
+    public long getSeed() {  // Semente da partida atual
+        return seed;
+    }
+
     public ScoreManager getScoreManager() {  // Permite acesso às estatísticas do jogo
         return scoreManager;  // Retorna referência ao gestor de pontuações
     }
 
+    public GameplayRenderer getRenderer() {  // Fila de desenho do mundo (a interface usa a sua textura branca)
+        return renderer;  // Retorna referência à fila de desenho
+    }
+
+    public GameSession getSession() {  // Sessão a que este mundo pertence
+        return session;
+    }
+
     public GameEventManager getEventManager() {  // Permite acesso ao sistema de eventos
         return eventManager;  // Retorna referência ao gestor de eventos
     }
 
     public void dispose() {  // Método para libertar os recursos quando o jogo termina
-        for (Room room : roomRepository.findAllRooms()) {  // Percorre todas as salas do repositório
-            room.dispose();  // Liberta os recursos de cada sala
+        if (roomStreamer != null) {
+            roomStreamer.clear();  // Devolve as texturas mantidas antes de libertar as salas
+        }
+        roomRepository.forEachRoom(Room::dispose);  // Liberta os recursos de cada sala do repositório
+        for (Player each : players) {
+            each.dispose();  // Liberta os recursos dos jogadores
+        }
+        if (renderer != null) {
+            renderer.dispose();  // Liberta a textura branca das barras de vida
         }
-        player.dispose();  // Liberta os recursos do jogador
     }
 
     public Player getPlayer() {  // Método que permite aceder ao personagem do jogador a partir de outras classes
@@ -186,10 +338,18 @@ public class DungeonManager {
 	}
 
     public Room getCurrentRoom() {  // Método que fornece acesso à sala atual
-        return roomRepository.findRoomById(currentRoomId);  // Devolve a sala atual do repositório
+        return roomRepository.findRoomById(getCurrentRoomId());  // Devolve a sala atual do repositório
+    }
+
+    public int getCurrentRoomId() {  // Método que devolve o ID da sala atual (a do jogador local)
+        return player != null ? player.getRoomId() : STARTING_ROOM_ID;  // Devolve o ID numérico da sala atual
+    }
+
+    public Room getRoom(int roomId) {  // Qualquer sala do dungeon (o servidor tem jogadores em várias)
+        return roomRepository.findRoomById(roomId);
     }
 
-    public int getCurrentRoomId() {  // Método que devolve o ID da sala atual
-        return currentRoomId;  // Devolve o ID numérico da sala atual
+    public int getRoomCount() {  // Método que devolve o número total de salas do dungeon
+        return roomRepository.getRoomCount();  // Devolve o número de salas guardadas no repositório
     }
 }
@@ -1,10 +1,12 @@
 package dungeon.core;  // Define o pacote onde esta classe está incluída
 
-import com.badlogic.gdx.graphics.Texture;  // Importa a classe Texture para carregar imagens dos inimigos
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;  // Importa SpriteBatch para desenhar texturas no ecrã
-import java.util.Random;  // Importa Random para gerar números aleatórios usados no movimento
+import com.badlogic.gdx.graphics.Color;  // Importa Color para as cores da barra de vida
 import dungeon.core.ai.EnemyStrategy;  // Importa a interface de estratégia
+import dungeon.core.content.EnemyArchetype;  // Importa os tipos de inimigos do pacote de conteúdos
+import dungeon.core.content.ItemArchetype;  // Importa os tipos de itens (saque)
 import dungeon.core.events.GameEventManager;  // Importa o gestor de eventos
+import dungeon.core.physics.SweptMover;  // Importa o teste de contacto entre caixas
+import dungeon.core.rendering.GameplayRenderer;  // Importa a fila de desenho do mundo
 
 /**
  * Classe que representa um inimigo no jogo.
@@ -13,37 +15,12 @@ import dungeon.core.events.GameEventManager;  // Importa o gestor de eventos
  */
 public class Enemy extends Character {
 
-    // Tipos de inimigos disponíveis no jogo
-    public enum EnemyType {  // Enumeração que define os diferentes tipos de inimigos e suas características
-        ZOMBIE("enemy.png", 50, 5, 100f, 0.8f, 30),  // Zombie: imagem, vida, dano, velocidade, tempo entre ataques, valor em ouro
-        SKELETON("skeleton.png", 40, 8, 120f, 0.6f, 40),  // Esqueleto: mais rápido, menos vida, mais dano que o Zombie
-        BOSS("boss.png", 200, 15, 80f, 1.5f, 100);  // Boss: muito mais vida e dano, mais lento, dá mais ouro quando derrotado
-
-        private final String texturePath;  // Caminho para o ficheiro de imagem do inimigo
-        private final int health;  // Quantidade de vida do inimigo
-        private final int attackDamage;  // Quantidade de dano que o inimigo causa ao jogador
-        private final float moveSpeed;  // Velocidade de movimento do inimigo
-        private final float attackCooldown;  // Tempo de espera entre ataques (em segundos)
-        private final int goldValue;  // Quantidade de ouro que o jogador recebe ao derrotar o inimigo
-
-        EnemyType(String texturePath, int health, int attackDamage, float moveSpeed,
-                  float attackCooldown, int goldValue) {  // Construtor que define as características de cada tipo
-            this.texturePath = texturePath;  // Define o caminho da imagem
-            this.health = health;  // Define a vida inicial
-            this.attackDamage = attackDamage;  // Define o dano de ataque
-            this.moveSpeed = moveSpeed;  // Define a velocidade de movimento
-            this.attackCooldown = attackCooldown;  // Define o intervalo entre ataques
-            this.goldValue = goldValue;  // Define o valor em ouro quando derrotado
-        }
+    // Cores da barra de vida, já empacotadas para a fila de desenho
+    private static final float HEALTH_BAR_BACKGROUND = Color.toFloatBits(0.3f, 0.3f, 0.3f, 1f);  // Cinza
+    private static final float HEALTH_BAR_FILL = Color.toFloatBits(1f, 0f, 0f, 1f);  // Vermelho
+    public static final float HEALTH_BAR_EXTENT = 15f;  // Altura ocupada pela barra acima do sprite (espaço + barra)
 
-        // Métodos getter para aceder às propriedades (necessários para compatibilidade)
-        public String getTexturePath() { return texturePath; }
-        public int getHealth() { return health; }
-        public int getAttackDamage() { return attackDamage; }
-        public float getMoveSpeed() { return moveSpeed; }
-        public float getAttackCooldown() { return attackCooldown; }
-        public int getGoldValue() { return goldValue; }
-    }
+    private final EnemyArchetype type;  // Tipo do inimigo, definido no pacote de conteúdos (estatísticas, IA, saque)
 
     // Componente de combate - específico do Enemy
     private float attackCooldown;  // Tempo mínimo entre ataques (em segundos)
@@ -53,24 +30,21 @@ public class Enemy extends Character {
     // Componente de IA - estratégia de comportamento do inimigo
     private EnemyStrategy strategy;  // Estratégia que define como o inimigo se comporta
 
-    // Ferramentas para movimento aleatório
-    private Random random;  // Gerador de números aleatórios para movimentos imprevisíveis
+    private Room room;  // Sala onde o inimigo está (define os limites do movimento)
 
     /**
      * Construtor que inicializa um inimigo com propriedades específicas.
      */
-    public Enemy(float x, float y, EnemyType type, EnemyStrategy strategy) {  // Construtor que inicializa um inimigo com propriedades específicas
+    public Enemy(float x, float y, EnemyArchetype type, EnemyStrategy strategy) {  // Construtor que inicializa um inimigo com propriedades específicas
         // Chama o construtor da classe pai (Character) com os valores do inimigo
-        super(x, y, 128f, 128f, type.getHealth(), type.getAttackDamage(),
+        super(x, y, type.getSize(), type.getSize(), type.getHealth(), type.getAttackDamage(),
             type.getMoveSpeed(), type.getTexturePath());  // Posição, dimensões, vida, dano, velocidade e textura
 
         // Inicializa os atributos específicos do Enemy
+        this.type = type;  // Guarda o tipo do inimigo
         this.attackCooldown = type.getAttackCooldown();  // Define o tempo entre ataques
         this.goldValue = type.getGoldValue();  // Define o valor em ouro
 
-        // Inicializa ferramentas para movimento aleatório
-        this.random = new Random();  // Cria o gerador de números aleatórios
-
         // Define e inicializa a estratégia de comportamento
         this.strategy = strategy;  // Define a estratégia de comportamento
         if (strategy != null) {  // Verifica se a estratégia foi fornecida
@@ -99,8 +73,9 @@ public class Enemy extends Character {
         // Atualiza o comportamento de IA
         updateAI(deltaTime, player);  // Atualiza o movimento com base no tipo de IA
 
-        // Serve para verificar a colisão com o jogador e atacar se possível
-        if (hitbox.overlaps(player.getHitbox())) {  // Verifica se o inimigo está a tocar no jogador
+        // Serve para verificar a colisão com o jogador e atacar se possível; o movimento pára encostado
+        // ao jogador, por isso basta encostar (não é preciso sobrepor)
+        if (SweptMover.touching(hitbox, player.getHitbox())) {  // Verifica se o inimigo está a tocar no jogador
             if (canAttack()) {  // Verifica se o cooldown do ataque já passou
                 attackPlayer(player);  // Ataca o jogador se ambas as condições forem verdadeiras
             }
@@ -132,8 +107,9 @@ public class Enemy extends Character {
         lastAttackTime = 0;  // Reinicia o temporizador de ataque
 
         // Notifica o sistema de eventos sobre o ataque
-        GameEventManager eventManager = GameEventManager.getInstance();  // Obtém o gestor de eventos
-        eventManager.notifyPlayerDamaged(player, attackDamage, this);  // Notifica que o jogador foi atacado
+        if (room != null) {
+            room.getSession().getEvents().notifyPlayerDamaged(player, attackDamage, this);  // Notifica a sessão da sala
+        }
     }
 
     /**
@@ -141,40 +117,71 @@ public class Enemy extends Character {
      */
     @Override
     public void takeDamage(int damage) {  // Método que reduz a vida do inimigo quando ele é atacado
+        DungeonManager dungeon = room != null ? room.getSession().getDungeon() : null;
+        takeDamage(damage, dungeon != null ? dungeon.getPlayer() : null);  // Sem atacante conhecido: o jogador local
+    }
+
+    /**
+     * Dano causado por um jogador concreto (no servidor há vários); é ele quem fica com a vitória.
+     */
+    public void takeDamage(int damage, Player attacker) {
+        boolean wasDead = isDead();
         super.takeDamage(damage);  // Chama o método da classe pai para reduzir a vida
 
         // Se o inimigo morreu, notifica o sistema de eventos e faz drop de item
-        if (isDead()) {  // Se o inimigo morreu
+        if (isDead() && !wasDead && room != null) {  // Se o inimigo morreu com este golpe
             dropItem();  // Faz o inimigo deixar cair um item
-            GameEventManager eventManager = GameEventManager.getInstance();  // Obtém o gestor de eventos
-            Player player = DungeonManager.getInstance().getPlayer();  // Obtém referência ao jogador
-            eventManager.notifyEnemyDefeated(this, player);  // Notifica que o inimigo foi derrotado
+            GameEventManager eventManager = room.getSession().getEvents();  // Obtém o gestor de eventos da sessão
+            eventManager.notifyEnemyDefeated(this, attacker);  // Notifica que o inimigo foi derrotado
         }
     }
 
     /**
-     * Desenha a barra de vida acima do inimigo.
+     * Coloca o inimigo e a sua barra de vida na fila de desenho.
+     */
+    @Override
+    public void submit(GameplayRenderer renderer) {  // Método que submete o sprite do inimigo na camada das personagens
+        float depth = renderer.depthAt(y);  // Quem está mais abaixo no ecrã fica à frente
+        renderer.submit(GameplayRenderer.Layer.CHARACTERS, getTexture(), depth, x, y, width, height);
+        drawHealthBar(renderer, depth);  // A barra fica à mesma profundidade que o inimigo
+    }
+
+    /**
+     * Desenha a barra de vida acima do inimigo, à profundidade do inimigo: fica por cima dos inimigos
+     * que estão atrás dele e por baixo dos que estão à frente.
      */
-    public void drawHealthBar(SpriteBatch batch, Texture barTexture) {  // Método que desenha a barra de vida acima do inimigo
+    public void drawHealthBar(GameplayRenderer renderer, float depth) {  // Método que desenha a barra de vida acima do inimigo
         float healthBarWidth = width;  // Largura da barra de vida igual à largura do inimigo
         float healthBarHeight = 10f;  // Altura da barra de vida em pixels
         float healthPercentage = (float) health / maxHealth;  // Calcula a percentagem de vida restante
 
-        // Barra de fundo (cinza)
-        batch.setColor(0.3f, 0.3f, 0.3f, 1);  // Define a cor cinza
-        batch.draw(barTexture, x, y + height + 5, healthBarWidth, healthBarHeight);  // Desenha o fundo da barra de vida
+        // Barra de fundo (cinza); a mesma textura e profundidade mantêm a ordem de submissão, por isso fica por baixo
+        renderer.submitRect(GameplayRenderer.Layer.CHARACTERS, depth, x, y + height + 5,
+            healthBarWidth, healthBarHeight, HEALTH_BAR_BACKGROUND);
 
         // Barra de saúde (vermelho)
-        batch.setColor(1, 0, 0, 1);  // Define a cor vermelha
-        batch.draw(barTexture, x, y + height + 5, healthBarWidth * healthPercentage, healthBarHeight);  // Desenha a parte colorida da barra
+        renderer.submitRect(GameplayRenderer.Layer.CHARACTERS, depth, x, y + height + 5,
+            healthBarWidth * healthPercentage, healthBarHeight, HEALTH_BAR_FILL);
+    }
+
+    /**
+     * Define a sala a que o inimigo pertence. Chamado por Room.addEnemy.
+     */
+    public void setRoom(Room room) {  // Guarda a sala para que a IA conheça os limites do movimento
+        this.room = room;  // Referência à sala atual
+    }
 
-        // Configuração da cor para o valor padrão
-        batch.setColor(1, 1, 1, 1);  // Retorna a cor para branco (normal)
+    public Room getRoom() {  // Devolve a sala do inimigo (null se ainda não foi adicionado a nenhuma)
+        return room;  // Sala onde o inimigo se encontra
     }
 
     /**
      * Obtém o valor em ouro que o jogador ganha ao derrotar este inimigo.
      */
+    public EnemyArchetype getType() {  // Método que devolve o tipo do inimigo
+        return type;  // Devolve o tipo definido no construtor
+    }
+
     public int getGoldValue() {  // Método que devolve o valor em ouro que o jogador ganha ao derrotar este inimigo
         return goldValue;  // Retorna a quantidade de ouro
     }
@@ -193,24 +200,11 @@ public class Enemy extends Character {
      * Método que faz o inimigo deixar cair um item ao morrer.
      */
     private void dropItem() {  // Método que faz o inimigo deixar cair um item ao morrer
-        float chance = random.nextFloat();  // Gera número entre 0 e 1
-
-        if (chance < 0.4f) {  // 40% de chance de largar poção
-            Item droppedItem = new Item(x + width/2, y + height/2, Item.ItemType.HEALTH_POTION);  // Cria poção na posição do inimigo
-            Room currentRoom = DungeonManager.getInstance().getCurrentRoom();  // Obtém a sala atual
-            currentRoom.addItem(droppedItem);  // Adiciona item à sala
-            System.out.println("O inimigo deixou cair uma poção!");  // Informa no console
-        } else if (chance < 0.7f) {  // 30% de chance de largar moedas
-            Item droppedItem = new Item(x + width/2, y + height/2, Item.ItemType.GOLD_COIN);  // Cria moedas na posição do inimigo
-            Room currentRoom = DungeonManager.getInstance().getCurrentRoom();  // Obtém a sala atual
-            currentRoom.addItem(droppedItem);  // Adiciona item à sala
-            System.out.println("O inimigo deixou cair moedas de ouro!");  // Informa no console
-        } else if (chance < 0.8f) {  // 10% de chance de largar chave
-            Item droppedItem = new Item(x + width/2, y + height/2, Item.ItemType.KEY);  // Cria chave na posição do inimigo
-            Room currentRoom = DungeonManager.getInstance().getCurrentRoom();  // Obtém a sala atual
-            currentRoom.addItem(droppedItem);  // Adiciona item à sala
-            System.out.println("O inimigo deixou cair uma chave!");  // Informa no console
+        ItemArchetype drop = type.getDrops().roll(room.getRandom());  // Sorteio com o gerador da sessão (null = nada)
+        if (drop != null) {
+            Item droppedItem = new Item(x + width/2, y + height/2, drop);  // Cria o item na posição do inimigo
+            room.addItem(droppedItem);  // Adiciona item à sala
+            room.getSession().log("O inimigo deixou cair: " + drop.getDisplayName());  // Informa no console
         }
-        // 20% de chance de não largar nada
     }
 }
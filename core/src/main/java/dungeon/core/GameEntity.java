@@ -2,6 +2,7 @@
 package dungeon.core;  // Define o pacote onde esta interface está incluída
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;  // Importa SpriteBatch para desenhar no ecrã
+import dungeon.core.rendering.GameplayRenderer;  // Importa a fila de desenho do mundo
 
 // Interface que define comportamentos comuns para todas as entidades do jogo
 // Implementa o princípio do Polimorfismo através de uma interface comum
@@ -11,10 +12,18 @@ public interface GameEntity {
 
     void render(SpriteBatch batch);  // Renderiza a entidade na sua posição atual
 
+    void submit(GameplayRenderer renderer);  // Coloca a entidade na fila de desenho ordenada (na sua camada)
+
     float getX();  // Coordenada horizontal da entidade
 
     float getY();  // Coordenada vertical da entidade
 
+    float getWidth();  // Largura da caixa de colisão da entidade
+
+    float getHeight();  // Altura da caixa de colisão da entidade
+
+    boolean isActive();  // Se ainda ocupa espaço no mundo (falso para inimigos mortos e itens apanhados)
+
     void dispose();// Liberta recursos gráficos e de memória
 
 }
@@ -8,10 +8,13 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont; // Importa a classe BitmapFont
 import com.badlogic.gdx.graphics.g2d.SpriteBatch; // Importa SpriteBatch, usado para desenhar texturas de forma eficiente
 import com.badlogic.gdx.graphics.g2d.GlyphLayout; // Importa GlyphLayout, usado para medir e posicionar o texto
 import com.badlogic.gdx.graphics.Color; // Importa a classe Color, usada para definir cores (ex. do texto)
+import dungeon.core.assets.TextureCache; // Importa a cache partilhada de texturas (escolhe a versão comprimida, se existir)
+import dungeon.core.profiling.StartupTracer; // Importa a linha do tempo do arranque
 
 public class InstructionScreen implements Screen { // Define a classe InstructionScreen que implementa a interface Screen (representa um ecrã do jogo)
 
     private MainGame game; // Referência ao objeto principal do jogo (MainGame), para poder mudar de ecrã
+    private static final String INSTRUCTION_IMAGE_PATH = "firstscreen.png"; // Ficheiro da imagem das instruções
     private Texture instructionImage; // Imagem de fundo com as instruções
     private SpriteBatch batch; // Objeto usado para desenhar (renderizar) as imagens no ecrã
     private BitmapFont font; // Fonte usada para mostrar o texto
@@ -23,12 +26,14 @@ public class InstructionScreen implements Screen { // Define a classe Instructio
 
     @Override
     public void show() { // Método de chamamento automatico quando este ecrã é apresentado pela primeira vez
-        instructionImage = new Texture(Gdx.files.internal("firstscreen.png")); // Carrega a imagem das instruções (certificação de que o ficheiro existe na pasta correta)
+        long traceStart = StartupTracer.getInstance().begin(); // Início da fase na linha do tempo do arranque
+        instructionImage = TextureCache.getInstance().acquire(INSTRUCTION_IMAGE_PATH); // Carrega a imagem das instruções (certificação de que o ficheiro existe na pasta correta)
         batch = new SpriteBatch(); // Cria um novo SpriteBatch para desenhar imagens
         font = new BitmapFont(); // Cria uma nova fonte bitmap (por defeito)
         font.getData().setScale(2f);  // Aumenta o tamanho da fonte para que o texto seja mais visível
         font.setColor(Color.WHITE); // Define a cor do texto como branco
         layout = new GlyphLayout(); // Inicializa o objeto que calcula o tamanho do texto para poder centralizá-lo
+        StartupTracer.getInstance().end("InstructionScreen.show", traceStart); // Fim da fase
     }
 
     @Override
@@ -61,7 +66,7 @@ public class InstructionScreen implements Screen { // Define a classe Instructio
     @Override
     public void dispose() { // Método chamado para limpar/libertar os recursos quando o ecrã já não é necessário
         batch.dispose(); // Limpa ou liberta os recursos usados para desenhar
-        instructionImage.dispose(); // Limpa a imagem das instruções da memória
+        TextureCache.getInstance().release(INSTRUCTION_IMAGE_PATH); // Devolve a imagem das instruções à cache
         font.dispose();  // Limpa/liberta a fonte da memória
     }
 }
@@ -3,44 +3,12 @@ package dungeon.core;  // Define o pacote onde esta classe está incluída
 import com.badlogic.gdx.graphics.Texture;  // Importa a classe Texture para carregar as imagens dos itens
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;  // Importa a classe SpriteBatch para desenhar os itens no ecrã
 import com.badlogic.gdx.math.Rectangle;  // Importa a classe Rectangle para criar hitboxes e detetar colisões
+import dungeon.core.assets.TextureCache;  // Importa a cache partilhada de texturas
+import dungeon.core.content.ItemArchetype;  // Importa os tipos de itens do pacote de conteúdos
+import dungeon.core.physics.SweptAabb;  // Importa a colisão contínua (jogador rápido contra o item)
+import dungeon.core.rendering.GameplayRenderer;  // Importa a fila de desenho do mundo
 
 public class Item implements GameEntity {
-    // Tipos de itens disponíveis no jogo
-    public enum ItemType {  // Enumeração que define os diferentes tipos de itens e as suas características
-        HEALTH_POTION("health_potion.png", "Poção de Vida", 20, "Restaura 20 pontos de vida"),  // Poção que recupera pontos de vida ao jogador
-        DAMAGE_BOOST("damage_boost.png", "Amuleto de Força", 5, "Aumenta o teu dano em 5 pontos"),  // Item que aumenta o dano do jogador
-        KEY("key.png", "Chave", 0, "Abre portas trancadas"),  // Chave para abrir portas bloqueadas
-        GOLD_COIN("gold_coin.png", "Moeda de Ouro", 10, "10 moedas de ouro");  // Moeda que aumenta a riqueza do jogador
-
-        private final String texturePath;  // Caminho para o ficheiro de imagem do item
-        private final String name;  // Nome do item que aparece para o jogador
-        private final int value;  // Valor numérico do item (pontos de vida, dano, etc.)
-        private final String description;  // Descrição do efeito do item
-
-        ItemType(String texturePath, String name, int value, String description) {  // Construtor do enumerador para definir as propriedades de cada tipo
-            this.texturePath = texturePath;  // Define o caminho da imagem
-            this.name = name;  // Define o nome do item
-            this.value = value;  // Define o valor do item
-            this.description = description;  // Define a descrição do item
-        }
-
-        public String getTexturePath() {  // Devolve o caminho do ficheiro de imagem
-            return texturePath;  // O caminho para o ficheiro de imagem
-        }
-
-        public String getName() {  // Devolve o nome do item
-            return name;  // O nome do item como string
-        }
-
-        public int getValue() {  // Devolve o valor numérico do item
-            return value;  // O valor numérico associado ao item
-        }
-
-        public String getDescription() {  // Devolve a descrição do item
-            return description;  // A descrição textual do item
-        }
-    }
-
     // Componente de posição - localização do item no mundo do jogo
     private float x, y;  // Coordenadas X e Y do item
     private float width = 32f;  // Largura do item em pixels
@@ -48,10 +16,10 @@ public class Item implements GameEntity {
     private Rectangle hitbox;  // Área para detetar colisões com o jogador
 
     // Componente visual - aparência do item
-    private Texture texture;  // Imagem que representa o item no ecrã
+    private Texture texture;  // Imagem que representa o item no ecrã (obtida da cache no primeiro desenho)
 
     // Componente de propriedades do item
-    private ItemType type;  // Tipo do item (poção, chave, etc.)
+    private ItemArchetype type;  // Tipo do item (poção, chave, etc.), definido no pacote de conteúdos
     private boolean isCollected;  // Indica se o item já foi apanhado pelo jogador
 
     // Componente de animação - efeitos visuais do item
@@ -60,12 +28,11 @@ public class Item implements GameEntity {
     private float bobTimer = 0f;  // Contador de tempo para a animação
     private float originalY;  // Posição Y original para calcular a flutuação
 
-    public Item(float x, float y, ItemType type) {  // Construtor que inicializa um item com um tipo específico
+    public Item(float x, float y, ItemArchetype type) {  // Construtor que inicializa um item com um tipo específico
         this.x = x;  // Define a posição X inicial
         this.y = y;  // Define a posição Y inicial
         this.originalY = y;  // Guarda a posição Y original para a animação
         this.type = type;  // Define o tipo do item
-        this.texture = new Texture(type.getTexturePath());  // Carrega a textura baseada no tipo
         this.isCollected = false;  // O valor 'false' indica que o item ainda está disponível no jogo
         this.hitbox = new Rectangle(x, y, width, height);  // Cria a área de colisão
     }
@@ -83,16 +50,31 @@ public class Item implements GameEntity {
 
     public void render(SpriteBatch batch) {  // Método que desenha o item no ecrã
         if (!isCollected) {  // Só desenha se o item ainda não foi apanhado
-            batch.draw(texture, x, y, width, height);  // Desenha a textura do item
+            batch.draw(getTexture(), x, y, width, height);  // Desenha a textura do item
         }
     }
 
-    public boolean checkCollision(Player player) {  // Verifica se o jogador está a tocar no item
+    public void submit(GameplayRenderer renderer) {  // Coloca o item na fila de desenho, na camada dos itens
+        if (!isCollected) {  // Só desenha se o item ainda não foi apanhado
+            renderer.submit(GameplayRenderer.Layer.ITEMS, getTexture(), renderer.depthAt(y), x, y, width, height);
+        }
+    }
+
+    private Texture getTexture() {  // Primeiro desenho: pede a textura partilhada do tipo de item
+        if (texture == null) {
+            texture = TextureCache.getInstance().acquire(type.getTexturePath());
+        }
+        return texture;
+    }
+
+    public boolean checkCollision(Player player) {  // Verifica se o jogador tocou no item durante o frame
         if (isCollected) {  // Caso o item já tenha sido apanhado, não há colisão
             return false;  // Não há colisão possível com itens já apanhados
         }
 
-        return hitbox.overlaps(player.getHitbox());  // Resultado da verificação de sobreposição das áreas de colisão
+        // Movimento desde o início do frame: um jogador rápido não passa por cima do item sem o apanhar
+        return SweptAabb.sweepHits(player.getPreviousX(), player.getPreviousY(), player.getWidth(), player.getHeight(),
+            player.getX(), player.getY(), hitbox);
     }
 
     public void collect() {  // Marca o item como apanhado
@@ -103,7 +85,11 @@ public class Item implements GameEntity {
         return isCollected;  // Estado atual do item (true = apanhado, false = disponível)
     }
 
-    public ItemType getType() {  // Devolve o tipo do item (poção, chave, etc.)
+    public boolean isActive() {  // Só os itens por apanhar entram no índice espacial da sala
+        return !isCollected;
+    }
+
+    public ItemArchetype getType() {  // Devolve o tipo do item (poção, chave, etc.)
         return type;  // O tipo específico deste item
     }
 
@@ -124,6 +110,9 @@ public class Item implements GameEntity {
     }
 
     public void dispose() {  // Liberta os recursos gráficos usados pelo item
-        texture.dispose();  // Liberta a memória usada pela textura
+        if (texture != null) {  // Só devolve a textura se chegou a ser pedida
+            TextureCache.getInstance().release(type.getTexturePath());  // Devolve a textura à cache partilhada
+            texture = null;
+        }
     }
 }
@@ -1,11 +1,42 @@
 package dungeon.core;
 
 import com.badlogic.gdx.Game;
+import dungeon.core.audio.SoundBank;
+import dungeon.core.profiling.StartupProbe;
+import dungeon.core.profiling.StartupTracer;
 
 public class MainGame extends Game {
+    private final String serverHost;  // Servidor do modo cooperativo (null = jogo local)
+    private final int serverPort;
+
+    public MainGame() {
+        this(null, 0);
+    }
+
+    public MainGame(String serverHost, int serverPort) {  // Liga a um servidor em vez de criar o mundo local
+        this.serverHost = serverHost;
+        this.serverPort = serverPort;
+    }
+
     @Override
     public void create() {
-        setScreen(new InstructionScreen(this));
+        StartupTracer tracer = StartupTracer.getInstance();
+        long start = tracer.begin();  // Até aqui: criação da janela e do contexto OpenGL
+        long soundStart = tracer.begin();
+        SoundBank.getInstance().load();  // Todos os sons ficam carregados antes da primeira partida
+        tracer.end("SoundBank.load", soundStart);
+        if (serverHost != null) {
+            setScreen(new NetworkGameplayScreen(serverHost, serverPort));
+        } else {
+            setScreen(new InstructionScreen(this));
+        }
+        tracer.end("MainGame.create", start);
+    }
+
+    @Override
+    public void render() {
+        super.render();
+        StartupProbe.afterFrame(this);  // Medições de arranque (só com -Ddungeon.startupProbe ou -Ddungeon.trainingRun)
     }
 
     public void startGame() {
@@ -18,5 +49,7 @@ public class MainGame extends Game {
         if (getScreen() != null) {
             getScreen().dispose();
         }
+        SoundBank.getInstance().dispose();
+        StartupTracer.getInstance().finish("saída");  // Jogo fechado antes do primeiro frame de jogo
     }
 }
@@ -0,0 +1,285 @@
+package dungeon.core; // Define o pacote onde esta classe está localizada.
+
+import com.badlogic.gdx.Gdx;  // Acesso a funcionalidades globais do LibGDX
+import com.badlogic.gdx.ScreenAdapter;  // Classe base para telas no LibGDX
+import com.badlogic.gdx.graphics.Color;  // Cor do texto da interface
+import com.badlogic.gdx.graphics.g2d.BitmapFont;  // Texto da interface
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;  // Utilizado para desenhar gráficos 2D
+import com.badlogic.gdx.utils.ScreenUtils;  // Limpa o ecrã
+import dungeon.core.assets.TextureCache;  // Envio para a GPU das texturas pré-carregadas
+import dungeon.core.factories.RoomFactory;  // Tamanho padrão das salas (área mínima visível)
+import dungeon.core.input.ActionMap;  // Teclas associadas a cada ação
+import dungeon.core.input.ActionState;  // Estado das ações num tick
+import dungeon.core.input.GameAction;  // Ações do jogador
+import dungeon.core.input.InputPipeline;  // Recebe os eventos de teclado e rato
+import dungeon.core.input.InputTimeline;  // Entrega o input tick a tick
+import dungeon.core.net.InputCommand;  // Input enviado ao servidor
+import dungeon.core.net.NetworkClient;  // Ligação ao servidor
+import dungeon.core.net.WorldSnapshot;  // Estado recebido do servidor
+import dungeon.core.rendering.GameplayRenderer;  // Fila de desenho do mundo
+import dungeon.core.rendering.WorldCamera;  // Câmara do mundo e viewport da interface
+import dungeon.core.repositories.InMemoryRoomRepository;  // Salas locais (só para desenhar)
+import java.io.IOException;  // Erro ao abrir a ligação
+import java.util.HashMap;  // Cópias locais por id
+import java.util.HashSet;  // Ids vistos em cada estado
+import java.util.Iterator;  // Remove as cópias que desapareceram
+import java.util.Map;  // Interface de mapa
+import java.util.Random;  // Gerador das salas locais (nunca sorteiam nada)
+import java.util.Set;  // Interface de conjunto
+
+/*
+  Ecrã do modo cooperativo. O cliente não simula nada: envia o input de cada tick ao servidor e desenha
+  o último estado recebido (sala do jogador, jogadores, inimigos e itens). As salas locais só servem
+  para o fundo e as portas; inimigos, itens e jogadores são cópias atualizadas a partir do estado.
+ */
+public class NetworkGameplayScreen extends ScreenAdapter {
+    private final String host;
+    private final int port;
+    private NetworkClient client;
+    private String connectError;  // Erro ao abrir a ligação (mostrado no ecrã)
+
+    // Input: os mesmos ticks fixos do jogo local, enviados ao servidor em vez de aplicados
+    private final InputPipeline input = new InputPipeline(ActionMap.defaults());
+    private final InputTimeline inputTimeline = new InputTimeline(input.getQueue());
+    private final InputCommand command = new InputCommand();  // Reutilizado em cada tick
+    private long nextTick;
+    private static final int MAX_TICKS_PER_FRAME = 5;  // Depois de uma paragem maior, o input parado não é enviado
+
+    // Mundo desenhado
+    private final InMemoryRoomRepository rooms = new InMemoryRoomRepository();
+    private final Map<Integer, Player> players = new HashMap<>();  // Cópias dos jogadores, por id
+    private final Map<Integer, Enemy> enemies = new HashMap<>();  // Cópias dos inimigos da sala, por id
+    private final Map<Integer, Item> items = new HashMap<>();  // Cópias dos itens da sala, por id
+    private final Set<Integer> seen = new HashSet<>();  // Ids presentes no estado a aplicar
+    private int seenSnapshotTick = -1;  // Último estado aplicado às cópias
+    private int drawnRoomId = -1;  // Sala desenhada (trocar de sala liberta as texturas da anterior)
+
+    // Elementos de renderização
+    private SpriteBatch batch;
+    private BitmapFont font;
+    private final GameplayRenderer renderer = new GameplayRenderer();
+    private final WorldCamera worldCamera = new WorldCamera(RoomFactory.DEFAULT_ROOM_WIDTH,
+        RoomFactory.DEFAULT_ROOM_HEIGHT);
+
+    public NetworkGameplayScreen(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        worldCamera.resize(width, height);
+    }
+
+    @Override
+    public void show() {
+        batch = new SpriteBatch();
+        font = new BitmapFont();
+        font.getData().setScale(2);
+        worldCamera.resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+
+        // Salas sem inimigos nem itens: esses vêm do servidor (e os sorteios também, daí a semente fixa)
+        DungeonManager.buildRooms(rooms, new Random(0));
+        for (Room room : rooms.findAllRooms()) {
+            for (Enemy enemy : room.getEnemies()) enemy.dispose();
+            for (Item item : room.getItems()) item.dispose();
+            room.getEnemies().clear();
+            room.getItems().clear();
+        }
+
+        try {
+            client = new NetworkClient(host, port);
+        } catch (IOException e) {
+            connectError = e.getMessage();
+            System.err.println("Erro ao ligar a " + host + ":" + port + ": " + e.getMessage());
+        }
+        Gdx.input.setInputProcessor(input);
+        nextTick = -1;  // O primeiro frame sincroniza o relógio dos ticks
+    }
+
+    @Override
+    public void render(float delta) {
+        TextureCache.getInstance().update();
+        if (client != null) {
+            sendInput();
+            client.poll();  // Envia os inputs e lê os estados que chegaram
+        }
+
+        ScreenUtils.clear(0, 0, 0, 1);
+        batch.begin();
+        if (client != null && client.hasSnapshot()) {
+            applySnapshot(client.getSnapshot());
+            renderWorld(client.getSnapshot());
+        }
+        worldCamera.applyHud(batch);
+        renderHud();
+        batch.end();
+    }
+
+    // Um InputCommand por tick fixo, com as mesmas ações do jogo local
+    private void sendInput() {
+        long now = System.nanoTime();
+        if (nextTick < 0 || now - nextTick > MAX_TICKS_PER_FRAME * InputTimeline.TICK_NANOS) {
+            inputTimeline.skipUntil(now);  // Primeiro frame ou paragem longa
+            nextTick = now;
+        }
+        while (now - nextTick >= InputTimeline.TICK_NANOS) {
+            ActionState actions = inputTimeline.advance(nextTick);
+            nextTick += InputTimeline.TICK_NANOS;
+            command.set(inputTimeline.getTick(),
+                actions.getAxis(GameAction.MOVE_LEFT, GameAction.MOVE_RIGHT),
+                actions.getAxis(GameAction.MOVE_DOWN, GameAction.MOVE_UP),
+                actions.wasPressed(GameAction.ATTACK));
+            if (client.getStatus() == NetworkClient.Status.CONNECTED) {
+                client.sendInput(command);
+            }
+        }
+    }
+
+    // Atualiza as cópias locais a partir de um estado novo
+    private void applySnapshot(WorldSnapshot snapshot) {
+        if (snapshot.getTick() == seenSnapshotTick) {
+            return;
+        }
+        seenSnapshotTick = snapshot.getTick();
+
+        Room room = rooms.findRoomById(snapshot.getRoomId());
+        if (snapshot.getRoomId() != drawnRoomId) {
+            Room previous = rooms.findRoomById(drawnRoomId);
+            if (previous != null) {
+                previous.releaseRenderCaches();
+            }
+            drawnRoomId = snapshot.getRoomId();
+            renderer.resetTextureIds();  // Não mantém as texturas da sala anterior
+            disposeAll(enemies);  // Inimigos e itens pertencem à sala anterior
+            disposeAll(items);
+        }
+        for (Room.DoorPosition position : Room.DoorPosition.values()) {
+            Door door = room.getDoor(position);
+            if (door != null && door.isLocked() && !snapshot.isDoorLocked(position)) {
+                door.unlock();  // As portas só se abrem (uma chave usada por qualquer jogador)
+            }
+        }
+
+        seen.clear();
+        for (int i = 0; i < snapshot.getPlayerCount(); i++) {
+            Player player = players.get(snapshot.getPlayerId(i));
+            if (player == null) {
+                player = new Player(snapshot.getPlayerX(i), snapshot.getPlayerY(i));
+                players.put(snapshot.getPlayerId(i), player);
+            }
+            player.setPosition(snapshot.getPlayerX(i), snapshot.getPlayerY(i));
+            player.setHealth(snapshot.getPlayerHealth(i));
+            seen.add(snapshot.getPlayerId(i));
+        }
+        disposeUnseen(players);
+
+        seen.clear();
+        for (int i = 0; i < snapshot.getEnemyCount(); i++) {
+            Enemy enemy = enemies.get(snapshot.getEnemyId(i));
+            if (enemy == null) {
+                enemy = new Enemy(snapshot.getEnemyX(i), snapshot.getEnemyY(i), snapshot.getEnemyType(i), null);
+                enemies.put(snapshot.getEnemyId(i), enemy);
+            }
+            enemy.setPosition(snapshot.getEnemyX(i), snapshot.getEnemyY(i));
+            enemy.setHealth(snapshot.getEnemyHealth(i));
+            seen.add(snapshot.getEnemyId(i));
+        }
+        disposeUnseen(enemies);
+
+        seen.clear();
+        for (int i = 0; i < snapshot.getItemCount(); i++) {  // Os itens não se mexem: só aparecem e desaparecem
+            if (!items.containsKey(snapshot.getItemId(i))) {
+                items.put(snapshot.getItemId(i), new Item(snapshot.getItemX(i), snapshot.getItemY(i), snapshot.getItemType(i)));
+            }
+            seen.add(snapshot.getItemId(i));
+        }
+        disposeUnseen(items);
+    }
+
+    // Liberta as cópias que não vieram no último estado (saíram da sala, morreram ou foram apanhadas)
+    private <T> void disposeUnseen(Map<Integer, T> copies) {
+        for (Iterator<Map.Entry<Integer, T>> it = copies.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, T> entry = it.next();
+            if (!seen.contains(entry.getKey())) {
+                dispose(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    private void renderWorld(WorldSnapshot snapshot) {
+        Room room = rooms.findRoomById(snapshot.getRoomId());
+        Player viewer = players.get(client.getPlayerId());
+        if (viewer != null) {
+            worldCamera.follow(viewer.getX() + viewer.getWidth() / 2, viewer.getY() + viewer.getHeight() / 2,
+                room.getWidth(), room.getHeight());
+        }
+        worldCamera.applyWorld(batch);
+        renderer.setView(worldCamera.getView());
+        room.render(renderer);  // Fundo e portas
+        for (Item item : items.values()) item.submit(renderer);
+        for (Enemy enemy : enemies.values()) enemy.submit(renderer);
+        for (Player player : players.values()) player.submit(renderer);
+        renderer.renderWorld(batch);
+    }
+
+    private void renderHud() {
+        font.setColor(Color.WHITE);
+        float top = Gdx.graphics.getHeight() - 20;
+        if (client == null) {
+            font.draw(batch, "Sem ligação a " + host + ":" + port + " (" + connectError + ")", 20, top);
+            return;
+        }
+        if (client.getStatus() == NetworkClient.Status.CLOSED) {
+            font.draw(batch, "Ligação terminada: " + client.getError(), 20, top);
+        } else if (!client.hasSnapshot()) {
+            font.draw(batch, "A ligar a " + host + ":" + port + "...", 20, top);
+        }
+        if (!client.hasSnapshot()) {
+            return;
+        }
+        WorldSnapshot snapshot = client.getSnapshot();
+        Player viewer = players.get(client.getPlayerId());
+        if (viewer != null) {
+            font.draw(batch, "Vida: " + viewer.getHealth() + "/" + viewer.getMaxHealth(), 20, top - 40);
+        }
+        font.draw(batch, "Ouro: " + snapshot.getGold() + "   Chaves: " + snapshot.getKeys()
+            + "   Dano: " + snapshot.getAttackDamage(), 20, top - 80);
+        font.draw(batch, "Jogadores na sala: " + snapshot.getPlayerCount(), 20, top - 120);
+    }
+
+    private static <T> void disposeAll(Map<Integer, T> copies) {
+        for (T copy : copies.values()) {
+            dispose(copy);
+        }
+        copies.clear();
+    }
+
+    private static void dispose(Object copy) {  // Devolve as texturas da cópia à cache
+        if (copy instanceof Character) {
+            ((Character) copy).dispose();
+        } else if (copy instanceof Item) {
+            ((Item) copy).dispose();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (client != null) {
+            client.close();
+        }
+        if (Gdx.input.getInputProcessor() == input) {
+            Gdx.input.setInputProcessor(null);
+        }
+        disposeAll(players);
+        disposeAll(enemies);
+        disposeAll(items);
+        for (Room room : rooms.findAllRooms()) {
+            room.dispose();
+        }
+        renderer.dispose();
+        font.dispose();
+        batch.dispose();
+    }
+}
@@ -2,10 +2,11 @@ package dungeon.core;  // Define o pacote onde a classe está inserida
 
 import com.badlogic.gdx.Gdx;  // Acesso ao sistema de entrada (teclado)
 import com.badlogic.gdx.Input;  // Leitura de teclas pressionadas
-import com.badlogic.gdx.graphics.Texture;  // Carregamento de texturas
+import com.badlogic.gdx.graphics.Texture;  // Sprite atual do jogador
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;  // Para desenhar texturas no ecrã
 import dungeon.core.player.PlayerCombatComponent;  // Componente que gere o combate
 import dungeon.core.player.PlayerAnimationHandler;  // Componente que gere a animação (sprite)
+import dungeon.core.rendering.GameplayRenderer;  // Fila de desenho do mundo
 import java.util.ArrayList;  // Estrutura de dados para o inventário
 import java.util.List;  // Interface de lista genérica
 
@@ -16,6 +17,7 @@ public class Player extends Character {
     // Controla o tempo entre ataques
     private float attackCooldown = 0.5f;  // Tempo mínimo entre ataques
     private float lastAttackTime = 0f;    // Tempo decorrido desde o último ataque
+    private static final float HIT_EFFECT_SIZE = 128f;  // Tamanho do efeito desenhado no inimigo atingido
 
     // Componente de combate — trata da lógica ofensiva
     private final PlayerCombatComponent combat;
@@ -32,6 +34,17 @@ public class Player extends Character {
     private boolean isInRoomTransition = false;  // Indica se está a atravessar uma porta
     private Room.DoorPosition exitDirection;     // Direção da saída usada
 
+    // Posição no início do frame (colisão contínua com as portas)
+    private float previousX;
+    private float previousY;
+
+    // Sala onde o jogador está (no servidor, cada jogador pode estar numa sala diferente)
+    private int roomId;
+
+    // Direção para onde o jogador está virado (vetor unitário), usada pelos ataques
+    private float facingX = 1f;
+    private float facingY = 0f;
+
     /**
      * Construtor do jogador. Inicializa todos os atributos e componentes.
      * @param x Posição X inicial
@@ -39,16 +52,13 @@ public class Player extends Character {
      */
     public Player(float x, float y) {
         super(x, y, 64, 64, 100, 10, 150f, "player.png");  // Chama o construtor da classe Character
+        savePreviousPosition();
 
         this.inventory = new ArrayList<>();  // Cria o inventário vazio
         this.combat = new PlayerCombatComponent(this);  // Inicializa o sistema de combate
 
-        // Carrega as texturas (normal e com espada)
-        Texture normal = new Texture("player.png");
-        Texture combat = new Texture("player_combat.png");
-
-        // Inicializa o sistema de animação, que troca entre as duas imagens
-        this.animationHandler = new PlayerAnimationHandler(this, normal, combat);
+        // Inicializa o sistema de animação, que troca entre as duas imagens (normal e com espada)
+        this.animationHandler = new PlayerAnimationHandler(this, "player.png", "player_combat.png");
     }
 
     /**
@@ -71,6 +81,33 @@ public class Player extends Character {
         animationHandler.render(batch);  // Desenha o sprite correto (normal ou em combate)
     }
 
+    /**
+     * Coloca o jogador na fila de desenho, na camada das personagens (à frente dos inimigos que estão
+     * mais acima no ecrã e atrás dos que estão mais abaixo).
+     * @param renderer fila de desenho do mundo
+     */
+    @Override
+    public void submit(GameplayRenderer renderer) {
+        Texture texture = animationHandler.getCurrentTexture();  // Sprite normal ou de combate
+        renderer.submit(GameplayRenderer.Layer.CHARACTERS, texture, renderer.depthAt(y), x, y,
+            texture.getWidth(), texture.getHeight());
+
+        // Efeito do último golpe, por cima de tudo
+        if (combat.isHitEffectVisible()) {
+            renderer.submit(GameplayRenderer.Layer.EFFECTS, animationHandler.getHitEffectTexture(), 0,
+                combat.getHitEffectX(), combat.getHitEffectY(), HIT_EFFECT_SIZE, HIT_EFFECT_SIZE);
+        }
+    }
+
+    /**
+     * Liberta as texturas do jogador e das animações.
+     */
+    @Override
+    public void dispose() {
+        super.dispose();
+        animationHandler.dispose();
+    }
+
     /**
      * Verifica se o jogador pode atacar.
      * @return true se o tempo de espera já passou
@@ -163,6 +200,51 @@ public class Player extends Character {
         exitDirection = null;
     }
 
+    /**
+     * Guarda a posição atual como início do movimento do frame. Chamado antes de mover o jogador
+     * e depois de o colocar noutro sítio sem o mover (ex: mudança de sala).
+     */
+    public void savePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+
+    public float getPreviousX() {
+        return previousX;
+    }
+
+    public float getPreviousY() {
+        return previousY;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(int roomId) {  // Chamado pelo DungeonManager ao colocar o jogador numa sala
+        this.roomId = roomId;
+    }
+
+    /**
+     * Vira o jogador para a direção (dx, dy); ignorado se a direção for nula.
+     */
+    public void setFacing(float dx, float dy) {
+        float lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared > 0) {
+            float length = (float) Math.sqrt(lengthSquared);
+            facingX = dx / length;
+            facingY = dy / length;
+        }
+    }
+
+    public float getFacingX() {
+        return facingX;
+    }
+
+    public float getFacingY() {
+        return facingY;
+    }
+
     /**
      * Fornece acesso ao sistema de combate do jogador.
      * @return o componente de combate
@@ -1,11 +1,22 @@
 package dungeon.core;
 
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import dungeon.core.assets.TextureCache;  // Importa a cache partilhada de texturas
+import dungeon.core.content.ItemArchetype;  // Importa os tipos de itens (recompensas)
+import dungeon.core.content.LootTable;  // Importa as tabelas de recompensas
 import dungeon.core.events.GameEventManager;  // Importa o gestor de eventos
+import dungeon.core.physics.EnemySeparation;  // Impede os inimigos de se sobreporem
+import dungeon.core.physics.SpatialGrid;  // Índice espacial (fase larga das colisões e vizinhos da IA)
+import dungeon.core.physics.SweptMover;  // Movimento com colisão contínua contra paredes e corpos sólidos
+import dungeon.core.profiling.FrameProfiler;  // Importa o profiler de frames
+import dungeon.core.rendering.GameplayRenderer;  // Importa a fila de desenho do mundo
+import dungeon.core.session.GameSession;  // Importa a sessão a que a sala pertence
+import dungeon.core.rendering.StaticLayerCache;  // Importa a cache da camada estática (fundo e portas)
+import dungeon.core.tiles.TileMap;  // Importa o mapa de tiles (chão e paredes)
+import dungeon.core.tiles.TileMapCache;  // Importa a geometria dos tiles guardada na GPU
 
 public class Room {
     // Enumeração para a posição das portas
@@ -23,15 +34,56 @@ public class Room {
         }
     }
 
+    // Tipo da sala, definido pelo modelo no pacote de conteúdos (substitui as antigas factories por tipo)
+    public enum RoomType {
+        START, COMBAT, BOSS
+    }
+
+    // Avisado quando o estado da sala muda (ex: IndexedRoomRepository, que mantém índices sobre esse estado)
+    public interface StateListener {
+        void roomVisited(Room room);
+        void roomCleared(Room room);
+        void itemAdded(Room room, ItemArchetype type);  // Item por apanhar passou a estar na sala
+        void itemCollected(Room room, ItemArchetype type);
+    }
+
     // ID da sala
     private int id;
 
+    // Tipo da sala
+    private RoomType roomType = RoomType.COMBAT;
+
     // Dimensões da sala
     private int width, height;
 
-    // Componente visual
+    // Componente visual (a textura só é pedida à cache quando a sala é desenhada)
+    private String backgroundPath;
     private Texture backgroundTexture;
 
+    // Alternativa ao fundo: mapa de tiles dividido em chunks (null nas salas com fundo simples)
+    private TileMap tileMap;
+    private TileMapCache tileMapCache;
+
+    // Fundo e portas guardados na GPU; só é refeito quando uma porta abre ou a sala volta a ser mostrada
+    private final StaticLayerCache staticLayer = new StaticLayerCache(this::bakeStaticLayer);
+
+    // Separação dos inimigos (vizinhos obtidos do índice espacial abaixo)
+    private final EnemySeparation enemySeparation = new EnemySeparation();
+
+    // Fase larga das colisões: todos os corpos da sala num índice espacial, refeito em cada atualização.
+    // Os inimigos servem a IA de grupo, a separação e os ataques; os jogadores são sólidos para os
+    // inimigos; itens e portas são os gatilhos que os jogadores tocam
+    private static final float NEIGHBOUR_CELL_SIZE = 128f;
+    private static final int MAX_TRIGGERS = 16;  // Itens e portas tocados por um jogador num só frame
+    private final SpatialGrid<Enemy> neighbourGrid = new SpatialGrid<>(NEIGHBOUR_CELL_SIZE);
+    private final SpatialGrid<Player> playerGrid = new SpatialGrid<>(NEIGHBOUR_CELL_SIZE);
+    private final SpatialGrid<GameEntity> triggerGrid = new SpatialGrid<>(NEIGHBOUR_CELL_SIZE);
+    private final GameEntity[] touched = new GameEntity[MAX_TRIGGERS];  // Reutilizado entre jogadores
+
+    // Movimento dos jogadores e dos inimigos, parado no primeiro contacto com uma parede ou corpo sólido
+    private static final float PLAYER_WALL_TOLERANCE = 16f;  // Quanto o jogador passa das margens (portas sul e oeste ficam fora)
+    private final SweptMover mover = new SweptMover();
+
     // Conteúdo da sala
     private List<Enemy> enemies;
     private List<Item> items;
@@ -41,54 +93,200 @@ public class Room {
     private boolean visited;
     private boolean cleared;
 
-    // Gerador de números aleatórios
+    // Gerador de números aleatórios da sessão (definido pela factory; saque da sala e dos seus inimigos)
     private Random random;
 
+    // Recompensas ao limpar a sala (definidas pelo modelo da sala no pacote de conteúdos)
+    private LootTable rewards = LootTable.EMPTY;
+    private int minRewards, maxRewards;
+
+    // Sessão da sala (eventos, profiler e mensagens); definida por attach antes da primeira atualização
+    private GameSession session;
+
+    // Repositório que indexa a sala (null se nenhum)
+    private StateListener stateListener;
+
+    // Lista de um só jogador reutilizada por update(float, Player)
+    private final List<Player> soloPlayer = new ArrayList<>(1);
+
     // Construtor
     public Room(int id, String backgroundPath, int width, int height) {
         this.id = id;
         this.width = width;
         this.height = height;
-        this.backgroundTexture = new Texture(backgroundPath);
+        this.backgroundPath = backgroundPath;
         this.enemies = new ArrayList<>();
         this.items = new ArrayList<>();
         this.doors = new Door[4]; // Norte, Sul, Leste, Oeste
         this.visited = false;
         this.cleared = false;
-        this.random = new Random();
+    }
+
+    // Construtor para salas feitas de tiles; o tamanho da sala é o do mapa
+    public Room(int id, TileMap tileMap) {
+        this(id, null, (int) tileMap.getWidth(), (int) tileMap.getHeight());
+        this.tileMap = tileMap;
+    }
+
+    // Define os itens sorteados quando a sala fica limpa (entre min e max itens)
+    public void setRewards(LootTable rewards, int minRewards, int maxRewards) {
+        this.rewards = rewards;
+        this.minRewards = minRewards;
+        this.maxRewards = maxRewards;
+    }
+
+    // Gerador partilhado com as outras salas da sessão, criado a partir da semente da partida
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public void setType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public void setStateListener(StateListener stateListener) {  // Só um de cada vez: o repositório onde a sala está
+        this.stateListener = stateListener;
+    }
+
+    // Liga a sala a uma sessão (o DungeonManager faz isto a todas as salas que cria)
+    public void attach(GameSession session) {
+        this.session = session;
+    }
+
+    public GameSession getSession() {  // null nas salas que só são desenhadas (cliente em rede)
+        return session;
     }
 
     // Atualiza o estado da sala
     public void update(float deltaTime, Player player) {
+        soloPlayer.clear();
+        soloPlayer.add(player);
+        update(deltaTime, soloPlayer);
+    }
+
+    // Atualiza a sala com todos os jogadores que estão nela (modo servidor); cada inimigo persegue o mais próximo
+    public void update(float deltaTime, List<Player> players) {
+        FrameProfiler profiler = session.getProfiler();
+
         // Marcar como visitada
-        visited = true;
+        if (!visited) {
+            visited = true;
+            if (stateListener != null) {
+                stateListener.roomVisited(this);
+            }
+            session.getEvents().notifyRoomEntered(this, players.get(0));  // Início do tempo até limpar a sala
+        }
 
         // Atualizar todos os inimigos
+        profiler.begin(FrameProfiler.Phase.AI);
+        neighbourGrid.rebuild(enemies, width, height);  // Posições do início do frame
+        playerGrid.rebuild(players, width, height);  // Os inimigos param ao encostar nos jogadores
         for (Enemy enemy : enemies) {
             if (!enemy.isDead()) {
-                enemy.update(deltaTime, player);
+                enemy.update(deltaTime, nearestPlayer(enemy, players));
             }
         }
+        profiler.end(FrameProfiler.Phase.AI);
 
         // Atualizar todos os itens
+        profiler.begin(FrameProfiler.Phase.COLLISION);
+        enemySeparation.separate(this);  // Inimigos deixam de atravessar uns aos outros
+
         for (Item item : items) {
             item.update(deltaTime);
+        }
+        triggerGrid.begin(width, height);
+        for (int i = 0; i < items.size(); i++) {
+            triggerGrid.add(items.get(i));
+        }
+        for (Door door : doors) {
+            if (door != null) {
+                triggerGrid.add(door);
+            }
+        }
+        triggerGrid.end();
 
-            // Verificar colisão com o jogador e coletar item
-            if (!item.isCollected() && item.checkCollision(player)) {
-                collectItem(item, player);
+        // Coletar os itens tocados durante o movimento (cada um fica para o primeiro jogador que lhe tocar)
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
+            if (player.isDead()) {
+                continue;
+            }
+            int count = queryTouched(player);
+            for (int i = 0; i < count; i++) {
+                if (touched[i] instanceof Item) {
+                    Item item = (Item) touched[i];
+                    if (item.checkCollision(player)) {
+                        collectItem(item, player);
+                    }
+                }
+                touched[i] = null;
             }
         }
 
         // Verificar se a sala foi limpa (todos os inimigos derrotados)
         if (!cleared && areAllEnemiesDead()) {
             cleared = true;
+            if (stateListener != null) {
+                stateListener.roomCleared(this);
+            }
             generateRewards(); // Gera recompensas quando todos os inimigos são derrotados
         }
 
         // Verificar colisão com portas
-        for (int i = 0; i < doors.length; i++) {
-            if (doors[i] != null) {
+        for (int p = 0; p < players.size(); p++) {
+            checkDoors(players.get(p));
+        }
+        profiler.end(FrameProfiler.Phase.COLLISION);
+    }
+
+    // Jogador vivo mais próximo do inimigo (o primeiro da lista se estiverem todos mortos)
+    private static Player nearestPlayer(Enemy enemy, List<Player> players) {
+        Player nearest = players.get(0);
+        if (players.size() == 1) {
+            return nearest;
+        }
+        float nearestDistance = Float.MAX_VALUE;
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
+            if (player.isDead()) {
+                continue;
+            }
+            float dx = player.getX() - enemy.getX();
+            float dy = player.getY() - enemy.getY();
+            float distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = player;
+            }
+        }
+        return nearest;
+    }
+
+    // Itens e portas na área percorrida pelo jogador desde o início do frame (fase larga)
+    private int queryTouched(Player player) {
+        float fromX = Math.min(player.getPreviousX(), player.getX());
+        float fromY = Math.min(player.getPreviousY(), player.getY());
+        return triggerGrid.queryBox(fromX, fromY,
+            Math.max(player.getPreviousX(), player.getX()) + player.getWidth() - fromX,
+            Math.max(player.getPreviousY(), player.getY()) + player.getHeight() - fromY, touched);
+    }
+
+    // Porta tocada pelo jogador: gasta uma chave nas trancadas, pede a mudança de sala nas abertas
+    private void checkDoors(Player player) {
+        int count = queryTouched(player);
+        for (int t = 0; t < count; t++) {
+            GameEntity body = touched[t];
+            touched[t] = null;
+            if (!(body instanceof Door)) {
+                continue;
+            }
+            int i = doorSlot((Door) body);  // A posição na sala define a direção da mudança de sala
+            if (i >= 0) {
                 if (doors[i].checkCollision(player)) {
                     // Porta trancada requer chave
                     if (doors[i].isLocked()) {
@@ -97,12 +295,12 @@ public class Room {
                             player.useKey();
 
                             // Notifica que uma porta foi desbloqueada
-                            GameEventManager eventManager = GameEventManager.getInstance();  // Obtém o gestor de eventos
+                            GameEventManager eventManager = session.getEvents();  // Obtém o gestor de eventos da sessão
                             eventManager.notifyDoorUnlocked(doors[i], player);  // Notifica que a porta foi desbloqueada
 
-                            System.out.println("Porta desbloqueada com uma chave!");
+                            session.log("Porta desbloqueada com uma chave!");
                         } else {
-                            System.out.println("Esta porta está trancada. Você precisa de uma chave!");
+                            session.log("Esta porta está trancada. Você precisa de uma chave!");
                         }
                     }
                     // Porta destrancada permite transição
@@ -115,32 +313,85 @@ public class Room {
         }
     }
 
-    // Renderiza a sala e seu conteúdo
-    public void render(SpriteBatch batch) {
-        // Desenhar o fundo
-        batch.draw(backgroundTexture, 0, 0, width, height);
+    private int doorSlot(Door door) {  // Índice da porta em doors (-1 se já não estiver na sala)
+        for (int i = 0; i < doors.length; i++) {
+            if (doors[i] == door) {
+                return i;
+            }
+        }
+        return -1;
+    }
 
-        // Desenhar as portas
-        for (Door door : doors) {
-            if (door != null) {
-                door.render(batch);
+    // Submete a sala e o seu conteúdo à fila de desenho; cada entidade escolhe a sua camada e a sua
+    // profundidade, por isso a ordem dos ciclos abaixo não afeta a ordem final de desenho.
+    // Entidades fora da área visível do renderer não chegam a entrar na fila.
+    public void render(GameplayRenderer renderer) {
+        renderer.setWorldHeight(height);  // As profundidades das entidades (e dos jogadores) contam a partir do topo da sala
+
+        // Chão e paredes em tiles (se existirem), já guardados na GPU
+        if (tileMap != null) {
+            if (tileMapCache == null) {
+                tileMapCache = new TileMapCache(tileMap);
             }
+            renderer.submitStatic(tileMapCache);
         }
 
-        // Desenhar os itens
+        // Fundo e portas: uma camada estática em cache, desenhada por cima dos tiles
+        renderer.submitStatic(staticLayer);
+
+        // Itens
         for (Item item : items) {
-            item.render(batch);
+            if (renderer.isVisible(item.getX(), item.getY(), item.getWidth(), item.getHeight())) {
+                item.submit(renderer);
+            }
         }
 
-        // Desenhar os inimigos
+        // Inimigos e barras de vida
         for (Enemy enemy : enemies) {
-            if (!enemy.isDead()) {
-                enemy.render(batch);
-                enemy.drawHealthBar(batch, backgroundTexture);
+            if (!enemy.isDead() && renderer.isVisible(enemy.getX(), enemy.getY(), enemy.getWidth(),
+                    enemy.getHeight() + Enemy.HEALTH_BAR_EXTENT)) {  // Inclui a barra de vida por cima do sprite
+                enemy.submit(renderer);
+            }
+        }
+    }
+
+    // Conteúdo da camada estática: imagem de fundo (salas sem tiles) e portas no estado atual
+    private void bakeStaticLayer(StaticLayerCache cache) {
+        if (tileMap == null) {
+            if (backgroundTexture == null) {
+                backgroundTexture = TextureCache.getInstance().acquire(backgroundPath);
+            }
+            cache.add(backgroundTexture, 0, 0, width, height);
+        }
+        for (Door door : doors) {
+            if (door != null) {
+                cache.add(door.getCurrentTexture(), door.getX(), door.getY(), door.getWidth(), door.getHeight());
             }
         }
     }
 
+    // Obriga a camada estática a ser refeita no próximo desenho (porta desbloqueada, nova decoração, ...)
+    public void invalidateStaticLayer() {
+        staticLayer.invalidate();
+    }
+
+    // Liberta a memória de GPU das caches desta sala quando o jogador sai dela; são refeitas se voltar.
+    // As texturas voltam à cache, que as mantém enquanto o RoomStreamer as considerar vizinhas
+    public void releaseRenderCaches() {
+        staticLayer.dispose();
+        if (tileMapCache != null) {
+            tileMapCache.dispose();
+            tileMapCache = null;
+        }
+        if (tileMap != null) {
+            tileMap.getTileSet().dispose();
+        }
+        if (backgroundTexture != null) {
+            TextureCache.getInstance().release(backgroundPath);
+            backgroundTexture = null;
+        }
+    }
+
     // Verifica se todos os inimigos foram derrotados
     private boolean areAllEnemiesDead() {
         for (Enemy enemy : enemies) {
@@ -153,68 +404,63 @@ public class Room {
 
     // Gera recompensas quando a sala é limpa
     private void generateRewards() {
-        // Chance de gerar moedas e outros itens
-        int rewardCount = random.nextInt(3) + 1; // 1-3 recompensas
-
-        for (int i = 0; i < rewardCount; i++) {
+        // Número de sorteios entre o mínimo e o máximo do modelo da sala
+        int rewardCount = 0;
+        int rolls = rewards.isEmpty() ? 0 : minRewards + random.nextInt(maxRewards - minRewards + 1);
+
+        for (int i = 0; i < rolls; i++) {
+            ItemArchetype type = rewards.roll(random);  // Tipo de item sorteado (null = nada)
+            if (type == null) {
+                continue;
+            }
             // Posição aleatória na sala
             float x = random.nextFloat() * (width - 32);
             float y = random.nextFloat() * (height - 32);
-
-            // Tipo de item aleatório
-            int itemType = random.nextInt(10);
-            if (itemType < 5) {
-                // 50% chance de moedas
-                items.add(new Item(x, y, Item.ItemType.GOLD_COIN));
-            } else if (itemType < 8) {
-                // 30% chance de poção de vida
-                items.add(new Item(x, y, Item.ItemType.HEALTH_POTION));
-            } else if (itemType < 9) {
-                // 10% chance de buff de dano
-                items.add(new Item(x, y, Item.ItemType.DAMAGE_BOOST));
-            } else {
-                // 10% chance de chave
-                items.add(new Item(x, y, Item.ItemType.KEY));
-            }
+            addItem(new Item(x, y, type));
+            rewardCount++;
         }
 
         // Notifica que a sala foi limpa
-        GameEventManager eventManager = GameEventManager.getInstance();  // Obtém o gestor de eventos
+        GameEventManager eventManager = session.getEvents();  // Obtém o gestor de eventos da sessão
         eventManager.notifyRoomCleared(this);  // Notifica que esta sala foi totalmente limpa
 
-        System.out.println("Sala limpa! " + rewardCount + " recompensas geradas!");
+        session.log("Sala limpa! " + rewardCount + " recompensas geradas!");
     }
 
     // Processa a coleta de um item pelo jogador
     private void collectItem(Item item, Player player) {  // Processa a coleta de um item pelo jogador
         item.collect();  // Marca o item como coletado
+        if (stateListener != null) {
+            stateListener.itemCollected(this, item.getType());
+        }
 
         // Notifica o sistema de eventos sobre a coleta
-        GameEventManager eventManager = GameEventManager.getInstance();  // Obtém o gestor de eventos
+        GameEventManager eventManager = session.getEvents();  // Obtém o gestor de eventos da sessão
         eventManager.notifyItemCollected(item, player);  // Notifica que um item foi coletado
 
         // Aplica efeito do item
-        switch (item.getType()) {
-            case HEALTH_POTION:
-                player.heal(item.getType().getValue());  // Cura o jogador
-                System.out.println("Coletaste uma " + item.getType().getName() + "! +"
-                    + item.getType().getValue() + " de vida.");
+        ItemArchetype type = item.getType();
+        switch (type.getEffect()) {
+            case HEAL:
+                player.heal(type.getValue());  // Cura o jogador
+                session.log("Coletaste uma " + type.getDisplayName() + "! +"
+                    + type.getValue() + " de vida.");
                 break;
 
-            case DAMAGE_BOOST:
-                player.increaseDamage(item.getType().getValue());  // Aumenta dano do jogador
-                System.out.println("Coletaste um " + item.getType().getName() + "! +"
-                    + item.getType().getValue() + " de dano.");
+            case DAMAGE:
+                player.increaseDamage(type.getValue());  // Aumenta dano do jogador
+                session.log("Coletaste um " + type.getDisplayName() + "! +"
+                    + type.getValue() + " de dano.");
                 break;
 
             case KEY:
                 player.addKey();  // Adiciona chave ao jogador
-                System.out.println("Coletaste uma " + item.getType().getName() + "!");
+                session.log("Coletaste uma " + type.getDisplayName() + "!");
                 break;
 
-            case GOLD_COIN:
-                player.addGold(item.getType().getValue());  // Adiciona ouro ao jogador
-                System.out.println("Coletaste " + item.getType().getValue() + " moedas de ouro!");
+            case GOLD:
+                player.addGold(type.getValue());  // Adiciona ouro ao jogador
+                session.log("Coletaste " + type.getValue() + " moedas de ouro!");
                 break;
         }
     }
@@ -222,16 +468,33 @@ public class Room {
     // Adiciona um inimigo à sala
     public void addEnemy(Enemy enemy) {
         enemies.add(enemy);
+        enemy.setRoom(this); // O inimigo passa a usar os limites desta sala
     }
 
     // Adiciona um item à sala
     public void addItem(Item item) {
         items.add(item);
+        if (stateListener != null && !item.isCollected()) {
+            stateListener.itemAdded(this, item.getType());
+        }
+    }
+
+    // Verifica se a sala ainda tem algum item deste tipo por apanhar
+    public boolean containsItem(ItemArchetype type) {
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            if (item.getType() == type && !item.isCollected()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     // Define uma porta em uma posição específica
     public void setDoor(DoorPosition position, Door door) {
         doors[position.ordinal()] = door;
+        door.setRoom(this); // A porta avisa esta sala quando for desbloqueada
+        staticLayer.invalidate(); // A camada estática passa a incluir a nova porta
     }
 
     // Retorna a porta em uma posição específica
@@ -239,11 +502,24 @@ public class Room {
         return doors[position.ordinal()];
     }
 
+    public List<Item> getItems() {  // Itens da sala (incluindo os já apanhados)
+        return items;
+    }
+
+    // Inimigos da sala, incluindo os já derrotados (usado para resolver os ataques do jogador)
+    public List<Enemy> getEnemies() {
+        return enemies;
+    }
+
     // Getters e setters
     public int getId() {
         return id;
     }
 
+    public RoomType getType() {
+        return roomType;
+    }
+
     public boolean isVisited() {
         return visited;
     }
@@ -252,6 +528,34 @@ public class Room {
         return cleared;
     }
 
+    // Textura que a sala vai pedir quando for desenhada (fundo ou tiles)
+    public String getTexturePath() {
+        return tileMap != null ? tileMap.getTileSet().getTexturePath() : backgroundPath;
+    }
+
+    // Índice dos inimigos vivos da sala, atualizado em cada update (usado pelas estratégias de grupo)
+    public SpatialGrid<Enemy> getNeighbourGrid() {
+        return neighbourGrid;
+    }
+
+    // Move o jogador (dx, dy) sem atravessar as paredes de tiles; pode passar um pouco das margens
+    // da sala para tocar nas portas. O início do movimento fica guardado com savePreviousPosition
+    public void movePlayer(Player player, float dx, float dy) {
+        mover.move(player, dx, dy, -PLAYER_WALL_TOLERANCE, -PLAYER_WALL_TOLERANCE,
+            width - player.getWidth() + PLAYER_WALL_TOLERANCE, height - player.getHeight() + PLAYER_WALL_TOLERANCE,
+            tileMap, null);
+    }
+
+    // Move um inimigo (dx, dy) sem sair da sala nem atravessar as paredes ou os jogadores vivos da sala
+    public void moveEnemy(Enemy enemy, float dx, float dy) {
+        mover.move(enemy, dx, dy, 0, 0, width - enemy.getWidth(), height - enemy.getHeight(), tileMap, playerGrid);
+    }
+
+    // Mapa de tiles da sala (null se a sala usa apenas uma imagem de fundo)
+    public TileMap getTileMap() {
+        return tileMap;
+    }
+
     public int getWidth() {
         return width;
     }
@@ -260,9 +564,24 @@ public class Room {
         return height;
     }
 
+    // Número de entidades na sala (inimigos vivos, itens por apanhar e portas)
+    public int getEntityCount() {
+        int count = 0;
+        for (Enemy enemy : enemies) {
+            if (!enemy.isDead()) count++;
+        }
+        for (Item item : items) {
+            if (!item.isCollected()) count++;
+        }
+        for (Door door : doors) {
+            if (door != null) count++;
+        }
+        return count;
+    }
+
     // Libera recursos
     public void dispose() {
-        backgroundTexture.dispose();
+        releaseRenderCaches();
 
         for (Enemy enemy : enemies) {
             enemy.dispose();
@@ -3,6 +3,7 @@ package dungeon.core.ai;  // Define o pacote onde as estratégias de IA estão l
 import com.badlogic.gdx.math.Vector2;  // Importa Vector2 para cálculos de distância
 import dungeon.core.Enemy;  // Importa a classe Enemy
 import dungeon.core.Player;  // Importa a classe Player
+import dungeon.core.Room;  // Importa a classe Room para conhecer os limites da sala
 
 // Estratégia que faz o inimigo seguir directamente o jogador
 public class BasicFollowerStrategy implements EnemyStrategy {
@@ -34,15 +35,16 @@ public class BasicFollowerStrategy implements EnemyStrategy {
             directionY /= length;  // Normaliza a componente Y do vector (valor entre -1 e 1)
         }
 
-        // Calcula a nova posição do inimigo baseada na velocidade e tempo decorrido
-        float newX = enemy.getX() + directionX * enemy.getMoveSpeed() * deltaTime;
-        float newY = enemy.getY() + directionY * enemy.getMoveSpeed() * deltaTime;
+        // Calcula o deslocamento do inimigo baseado na velocidade e tempo decorrido
+        float moveX = directionX * enemy.getMoveSpeed() * deltaTime;
+        float moveY = directionY * enemy.getMoveSpeed() * deltaTime;
 
-        // Aplica limites da tela para manter o inimigo visível
-        newX = Math.max(0, Math.min(newX, 800 - enemy.getWidth()));  // Limita movimento horizontal
-        newY = Math.max(0, Math.min(newY, 600 - enemy.getHeight()));  // Limita movimento vertical
-
-        // Define a nova posição do inimigo
-        enemy.setPosition(newX, newY);  // Actualiza as coordenadas do inimigo
+        // A sala limita o movimento: pára nas paredes, nos jogadores e nos limites da sala
+        Room room = enemy.getRoom();
+        if (room != null) {
+            room.moveEnemy(enemy, moveX, moveY);
+        } else {
+            enemy.setPosition(enemy.getX() + moveX, enemy.getY() + moveY);  // Actualiza as coordenadas do inimigo
+        }
     }
 }
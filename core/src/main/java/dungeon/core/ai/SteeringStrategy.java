@@ -0,0 +1,135 @@
+package dungeon.core.ai;  // Define o pacote onde as estratégias de IA estão localizadas
+
+import dungeon.core.Enemy;  // Importa a classe Enemy
+import dungeon.core.Player;  // Importa a classe Player
+import dungeon.core.Room;  // Importa a classe Room (limites, paredes e vizinhos)
+import dungeon.core.physics.SpatialGrid;  // Índice espacial dos inimigos da sala
+import dungeon.core.tiles.TileMap;  // Paredes das salas em tiles
+
+/**
+ * Estratégia de comportamentos de direção (steering): o inimigo tem velocidade própria e acelera
+ * segundo a soma de várias forças, em vez de saltar diretamente para o jogador.
+ *  - perseguição: na direção do jogador, quando está ao alcance;
+ *  - separação: para longe dos vizinhos demasiado próximos (não se amontoam num só sprite);
+ *  - coesão: ligeiramente para o centro dos vizinhos (o grupo move-se como um enxame);
+ *  - evitar obstáculos: trava o eixo em que a posição prevista bate numa parede ou sai da sala.
+ * Os vizinhos vêm do SpatialGrid da sala e são no máximo MAX_NEIGHBOURS, por isso cada inimigo faz
+ * um trabalho constante, seja qual for o número de inimigos na sala.
+ */
+public class SteeringStrategy implements EnemyStrategy {
+    private static final float FOLLOW_RANGE = 300f;  // Distância máxima para começar a seguir o jogador
+    private static final float NEIGHBOUR_RADIUS = 96f;  // Vizinhos considerados na separação e na coesão
+    private static final int MAX_NEIGHBOURS = 8;  // Limite de vizinhos por inimigo
+    private static final float LOOK_AHEAD = 0.25f;  // Segundos de movimento previstos para evitar paredes
+    private static final float MAX_FORCE_FACTOR = 4f;  // Aceleração máxima, em velocidades por segundo
+
+    // Pesos de cada comportamento
+    private static final float SEEK_WEIGHT = 1.0f;
+    private static final float SEPARATION_WEIGHT = 1.6f;
+    private static final float COHESION_WEIGHT = 0.2f;
+
+    private final Enemy[] neighbours = new Enemy[MAX_NEIGHBOURS];  // Reutilizado em cada atualização
+    private float velocityX;
+    private float velocityY;
+
+    @Override
+    public void init(Enemy enemy) {  // Começa parado
+        velocityX = 0;
+        velocityY = 0;
+    }
+
+    @Override
+    public void update(Enemy enemy, float deltaTime, Player player) {  // Actualiza o comportamento a cada frame
+        float maxSpeed = enemy.getMoveSpeed();
+        float centerX = enemy.getX() + enemy.getWidth() / 2;
+        float centerY = enemy.getY() + enemy.getHeight() / 2;
+
+        // Perseguição: velocidade desejada na direção do jogador (ou parar, se estiver longe)
+        float desiredX = 0;
+        float desiredY = 0;
+        float toPlayerX = player.getX() + player.getWidth() / 2 - centerX;
+        float toPlayerY = player.getY() + player.getHeight() / 2 - centerY;
+        float playerDistance = (float) Math.sqrt(toPlayerX * toPlayerX + toPlayerY * toPlayerY);
+        if (playerDistance <= FOLLOW_RANGE && playerDistance > 0) {
+            desiredX = toPlayerX / playerDistance * maxSpeed;
+            desiredY = toPlayerY / playerDistance * maxSpeed;
+        }
+        float steerX = (desiredX - velocityX) * SEEK_WEIGHT;
+        float steerY = (desiredY - velocityY) * SEEK_WEIGHT;
+
+        // Separação e coesão a partir dos vizinhos mais próximos
+        Room room = enemy.getRoom();
+        if (room != null) {
+            SpatialGrid<Enemy> grid = room.getNeighbourGrid();
+            int count = grid.query(centerX, centerY, NEIGHBOUR_RADIUS, enemy, neighbours);
+            if (count > 0) {
+                float separationX = 0;
+                float separationY = 0;
+                float sumX = 0;
+                float sumY = 0;
+                for (int i = 0; i < count; i++) {
+                    Enemy other = neighbours[i];
+                    float awayX = centerX - (other.getX() + other.getWidth() / 2);
+                    float awayY = centerY - (other.getY() + other.getHeight() / 2);
+                    float distance = (float) Math.sqrt(awayX * awayX + awayY * awayY);
+                    if (distance > 0) {
+                        float strength = (1 - distance / NEIGHBOUR_RADIUS) / distance;  // Mais forte quanto mais perto
+                        separationX += awayX * strength;
+                        separationY += awayY * strength;
+                    } else {
+                        separationX += (i & 1) == 0 ? 1 : -1;  // Centros coincidentes: afasta para um lado qualquer
+                    }
+                    sumX += awayX;
+                    sumY += awayY;
+                    neighbours[i] = null;  // Não prende inimigos entre atualizações
+                }
+                steerX += separationX * maxSpeed * SEPARATION_WEIGHT;
+                steerY += separationY * maxSpeed * SEPARATION_WEIGHT;
+                steerX -= sumX / count * COHESION_WEIGHT;  // Vetor médio para longe dos vizinhos, invertido
+                steerY -= sumY / count * COHESION_WEIGHT;
+            }
+        }
+
+        // Limita a aceleração e integra a velocidade
+        float maxForce = maxSpeed * MAX_FORCE_FACTOR;
+        float force = (float) Math.sqrt(steerX * steerX + steerY * steerY);
+        if (force > maxForce) {
+            steerX = steerX / force * maxForce;
+            steerY = steerY / force * maxForce;
+        }
+        velocityX += steerX * deltaTime;
+        velocityY += steerY * deltaTime;
+        float speed = (float) Math.sqrt(velocityX * velocityX + velocityY * velocityY);
+        if (speed > maxSpeed) {
+            velocityX = velocityX / speed * maxSpeed;
+            velocityY = velocityY / speed * maxSpeed;
+        }
+
+        // Evitar obstáculos: trava o eixo em que a posição prevista bate numa parede ou sai da sala
+        if (room != null) {
+            if (blocked(enemy, room, enemy.getX() + velocityX * LOOK_AHEAD, enemy.getY())) {
+                velocityX = 0;
+            }
+            if (blocked(enemy, room, enemy.getX(), enemy.getY() + velocityY * LOOK_AHEAD)) {
+                velocityY = 0;
+            }
+        }
+
+        float moveX = velocityX * deltaTime;
+        float moveY = velocityY * deltaTime;
+        if (room != null) {
+            room.moveEnemy(enemy, moveX, moveY);  // Pára nas paredes, nos jogadores e nos limites da sala
+        } else {
+            enemy.setPosition(enemy.getX() + moveX, enemy.getY() + moveY);  // Actualiza as coordenadas do inimigo
+        }
+    }
+
+    // Verifica se o inimigo, na posição indicada, sairia da sala ou tocaria numa parede
+    private static boolean blocked(Enemy enemy, Room room, float x, float y) {
+        if (x < 0 || y < 0 || x + enemy.getWidth() > room.getWidth() || y + enemy.getHeight() > room.getHeight()) {
+            return true;
+        }
+        TileMap tileMap = room.getTileMap();
+        return tileMap != null && tileMap.overlapsSolid(x, y, enemy.getWidth(), enemy.getHeight());
+    }
+}
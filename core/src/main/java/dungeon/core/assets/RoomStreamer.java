@@ -0,0 +1,57 @@
+package dungeon.core.assets;  // Define o pacote onde estão as classes de gestão de recursos
+
+import dungeon.core.Door;  // Portas que ligam as salas
+import dungeon.core.Room;  // Sala atual e vizinhas
+import dungeon.core.repositories.RoomRepository;  // Procura das salas de destino
+import java.util.HashSet;  // Conjunto de texturas mantidas
+import java.util.Set;  // Interface de conjunto
+
+/**
+ * Mantém carregadas as texturas da sala atual e das salas a que as suas portas levam, para que
+ * atravessar uma porta nunca tenha de ler o disco. Cada textura mantida conta como uma referência
+ * na TextureCache; as que deixam de ser vizinhas são devolvidas e ficam sujeitas ao orçamento de
+ * memória de vídeo da cache.
+ */
+public class RoomStreamer {
+    private final RoomRepository roomRepository;
+    private final TextureCache textureCache = TextureCache.getInstance();
+    private Set<String> pinned = new HashSet<>();  // Texturas pedidas com prefetch e ainda não devolvidas
+
+    public RoomStreamer(RoomRepository roomRepository) {
+        this.roomRepository = roomRepository;
+    }
+
+    public void enterRoom(Room room) {  // Chamado quando o jogador entra numa sala (ou o dungeon é gerado)
+        Set<String> needed = new HashSet<>();
+        needed.add(room.getTexturePath());
+        for (Room.DoorPosition position : Room.DoorPosition.values()) {
+            Door door = room.getDoor(position);
+            if (door == null) {
+                continue;
+            }
+            Room neighbour = roomRepository.findRoomById(door.getTargetRoomId());
+            if (neighbour != null) {
+                needed.add(neighbour.getTexturePath());
+            }
+        }
+
+        for (String path : needed) {  // Primeiro pede as novas, para não descartar uma textura que continua vizinha
+            if (!pinned.contains(path)) {
+                textureCache.prefetch(path);
+            }
+        }
+        for (String path : pinned) {
+            if (!needed.contains(path)) {
+                textureCache.release(path);
+            }
+        }
+        pinned = needed;
+    }
+
+    public void clear() {  // Devolve todas as texturas mantidas (ex: antes de gerar um dungeon novo)
+        for (String path : pinned) {
+            textureCache.release(path);
+        }
+        pinned.clear();
+    }
+}
@@ -0,0 +1,265 @@
+package dungeon.core.assets;  // Define o pacote onde estão as classes de gestão de recursos
+
+import com.badlogic.gdx.Gdx;  // Acesso aos ficheiros internos
+import com.badlogic.gdx.files.FileHandle;  // Ficheiro lido em segundo plano
+import com.badlogic.gdx.graphics.Texture;  // Textura carregada na GPU
+import com.badlogic.gdx.graphics.TextureData;  // Imagem já lida e descodificada, pronta a enviar para a GPU
+import dungeon.core.profiling.StartupTracer;  // Tempo de carregamento de cada textura no arranque
+import java.util.ArrayList;  // Fila de pedidos de pré-carregamento
+import java.util.HashMap;  // Implementação de mapa
+import java.util.Iterator;  // Remoção durante a iteração
+import java.util.LinkedHashMap;  // Texturas sem uso, da menos para a mais recentemente usada
+import java.util.List;  // Interface de lista
+import java.util.Map;  // Interface de mapa
+import java.util.concurrent.ExecutionException;  // Erro no carregamento em segundo plano
+import java.util.concurrent.ExecutorService;  // Thread de leitura de ficheiros
+import java.util.concurrent.Executors;  // Criação da thread
+import java.util.concurrent.Future;  // Resultado de um carregamento em segundo plano
+
+/**
+ * Cache partilhada de texturas, indexada pelo caminho do ficheiro.
+ * Cada ficheiro é carregado uma única vez, por mais entidades que o usem.
+ * As entidades só pedem a textura quando são desenhadas pela primeira vez, por isso a
+ * simulação (salas, inimigos, itens) pode correr sem contexto OpenGL.
+ * Quando existe uma versão comprimida da imagem (ver TextureVariants), é essa que é carregada.
+ *
+ * Uma textura cujas referências chegam a zero não é libertada logo: fica na lista de texturas sem uso
+ * e só sai (a menos recentemente usada primeiro) quando a memória de vídeo estimada de todas as
+ * texturas passa o orçamento. Voltar a pedi-la entretanto não lê o disco.
+ * prefetch() lê e descodifica o ficheiro numa thread à parte; o envio para a GPU é feito em update(),
+ * na thread do OpenGL, no máximo UPLOADS_PER_FRAME texturas por frame.
+ */
+public class TextureCache {
+    private static TextureCache instance;  // Instância única (padrão Singleton)
+
+    public static final long DEFAULT_BUDGET_BYTES = Integer.getInteger("dungeon.vramBudgetMb", 64) * 1024L * 1024;  // Orçamento por omissão (-Ddungeon.vramBudgetMb=...)
+    private static final int UPLOADS_PER_FRAME = 2;  // Limita o tempo gasto em envios para a GPU em cada frame
+
+    // Entrada da cache: a textura e quantas entidades a estão a usar
+    private static class Entry {
+        Texture texture;  // Textura carregada (null enquanto está a ser lida em segundo plano)
+        int references;  // Número de pedidos ainda não libertados
+        long bytes;  // Memória de vídeo estimada
+        String file;  // Ficheiro realmente carregado (variante comprimida ou original)
+        Future<TextureData> pending;  // Leitura em segundo plano ainda por enviar para a GPU
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();  // Texturas carregadas ou a carregar, por caminho
+    private final LinkedHashMap<String, Entry> idle = new LinkedHashMap<>();  // Texturas sem referências, LRU primeiro
+    private final List<String> prefetchRequests = new ArrayList<>();  // Pedidos ainda por começar (começam em update())
+    private final TextureVariants variants = new TextureVariants();  // Versões ETC2 geradas em tempo de build
+
+    private ExecutorService loader;  // Criado no primeiro pré-carregamento
+    private long budgetBytes = DEFAULT_BUDGET_BYTES;
+    private long residentBytes;  // Soma da memória estimada das texturas na GPU
+    private int diskStalls;  // Pedidos que tiveram de esperar pelo disco na thread do jogo
+
+    private TextureCache() {  // Construtor privado para implementar Singleton
+    }
+
+    public static TextureCache getInstance() {  // Método que garante apenas uma instância
+        if (instance == null) {
+            instance = new TextureCache();
+        }
+        return instance;
+    }
+
+    public Texture acquire(String path) {  // Devolve a textura do ficheiro, carregando-a se ainda não existir
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            long start = StartupTracer.getInstance().begin();
+            entry = new Entry();
+            entry.file = variants.resolve(path);
+            upload(entry, read(Gdx.files.internal(entry.file)));  // Primeiro pedido: lê o ficheiro agora
+            StartupTracer.getInstance().asset(entry.file, start);
+            entries.put(path, entry);
+            diskStalls++;
+        } else if (entry.texture == null) {
+            if (entry.pending != null) {
+                upload(entry, await(path, entry));  // Ainda a carregar em segundo plano: espera por esse carregamento
+            } else {
+                long start = StartupTracer.getInstance().begin();
+                entry.file = variants.resolve(path);  // Pré-carregamento pedido mas ainda não começado
+                upload(entry, read(Gdx.files.internal(entry.file)));
+                StartupTracer.getInstance().asset(entry.file, start);
+                prefetchRequests.remove(path);
+            }
+            diskStalls++;
+        }
+        if (entry.references == 0) {
+            idle.remove(path);  // Volta a estar em uso
+        }
+        entry.references++;
+        return entry.texture;
+    }
+
+    /**
+     * Pede que a textura fique carregada sem bloquear a thread do jogo. Conta como uma referência
+     * (tem de ser devolvida com release) e fica residente enquanto não for devolvida.
+     */
+    public void prefetch(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(path, entry);
+            prefetchRequests.add(path);  // A variante e a leitura são escolhidas em update()
+        } else if (entry.references == 0) {
+            idle.remove(path);
+        }
+        entry.references++;
+    }
+
+    public void release(String path) {  // Devolve uma textura; sem referências fica disponível para ser descartada
+        Entry entry = entries.get(path);
+        if (entry == null || entry.references == 0) {
+            return;
+        }
+        entry.references--;
+        if (entry.references > 0) {
+            return;
+        }
+        if (entry.texture == null) {
+            discard(path, entry);  // Ninguém espera por este carregamento
+        } else {
+            idle.put(path, entry);  // Fica no fim da lista: é a mais recentemente usada
+            evictOverBudget();
+        }
+    }
+
+    /**
+     * Chamado uma vez por frame na thread do OpenGL: começa os pré-carregamentos pedidos e envia
+     * para a GPU os que já foram lidos.
+     */
+    public void update() {
+        for (String path : prefetchRequests) {
+            Entry entry = entries.get(path);
+            if (entry != null && entry.texture == null && entry.pending == null) {
+                startLoading(path, entry);
+            }
+        }
+        prefetchRequests.clear();
+
+        int uploads = 0;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && uploads < UPLOADS_PER_FRAME) {
+            Map.Entry<String, Entry> mapEntry = iterator.next();
+            Entry entry = mapEntry.getValue();
+            if (entry.texture == null && entry.pending != null && entry.pending.isDone()) {
+                upload(entry, await(mapEntry.getKey(), entry));
+                uploads++;
+            }
+        }
+        if (uploads > 0) {
+            evictOverBudget();
+        }
+    }
+
+    private void startLoading(String path, Entry entry) {  // Lê e descodifica o ficheiro na thread de carregamento
+        if (loader == null) {
+            loader = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "texture-loader");
+                thread.setDaemon(true);  // Não impede a aplicação de terminar
+                return thread;
+            });
+        }
+        entry.file = variants.resolve(path);  // Consulta o OpenGL: tem de ser feito nesta thread
+        final FileHandle file = Gdx.files.internal(entry.file);
+        entry.pending = loader.submit(() -> {
+            long start = StartupTracer.getInstance().begin();
+            TextureData data = read(file);
+            StartupTracer.getInstance().asset(file.path() + " (segundo plano)", start);
+            return data;
+        });
+    }
+
+    private static TextureData read(FileHandle file) {  // Lê e descodifica o ficheiro, sem tocar no OpenGL
+        TextureData data = TextureData.Factory.loadFromFile(file, TextureVariants.isCompressed(file.path()));  // Só o KTX traz mipmaps
+        if (!data.isPrepared()) {
+            data.prepare();
+        }
+        return data;
+    }
+
+    private TextureData await(String path, Entry entry) {  // Resultado da leitura em segundo plano
+        try {
+            return entry.pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carregamento interrompido: " + path, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro ao carregar textura: " + path, e.getCause());
+        }
+    }
+
+    private void upload(Entry entry, TextureData data) {  // Cria a textura na GPU (thread do OpenGL)
+        entry.pending = null;
+        entry.texture = new Texture(data);
+        if (TextureVariants.isCompressed(entry.file)) {
+            entry.texture.setFilter(Texture.TextureFilter.MipMapLinearLinear, Texture.TextureFilter.Linear);  // O KTX traz os mipmaps
+            entry.bytes = Gdx.files.internal(entry.file).length();  // Blocos comprimidos de todos os níveis
+        } else {
+            entry.bytes = (long) entry.texture.getWidth() * entry.texture.getHeight() * 4;  // RGBA8888
+        }
+        residentBytes += entry.bytes;
+    }
+
+    // Descarta texturas sem uso, a menos recentemente usada primeiro, até caber no orçamento
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, Entry>> iterator = idle.entrySet().iterator();
+        while (residentBytes > budgetBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> mapEntry = iterator.next();
+            iterator.remove();
+            discard(mapEntry.getKey(), mapEntry.getValue());
+        }
+    }
+
+    private void discard(String path, Entry entry) {
+        entries.remove(path);
+        if (entry.texture != null) {
+            entry.texture.dispose();  // Liberta a memória da GPU
+            residentBytes -= entry.bytes;
+        } else if (entry.pending != null) {
+            entry.pending.cancel(false);  // Se já foi lido, o resultado é simplesmente ignorado
+        }
+        prefetchRequests.remove(path);
+    }
+
+    public void setBudgetBytes(long budgetBytes) {  // Memória de vídeo máxima antes de descartar texturas sem uso
+        this.budgetBytes = budgetBytes;
+        evictOverBudget();
+    }
+
+    public int getLoadedCount() {  // Número de texturas atualmente na GPU
+        int count = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.texture != null) count++;
+        }
+        return count;
+    }
+
+    public long getResidentBytes() {  // Memória de vídeo estimada das texturas carregadas
+        return residentBytes;
+    }
+
+    public int getDiskStalls() {  // Vezes que a thread do jogo teve de esperar pela leitura de um ficheiro
+        return diskStalls;
+    }
+
+    public void dispose() {  // Liberta todas as texturas, mesmo as que ainda têm referências
+        for (Entry entry : entries.values()) {
+            if (entry.texture != null) {
+                entry.texture.dispose();
+            } else if (entry.pending != null) {
+                entry.pending.cancel(false);
+            }
+        }
+        entries.clear();
+        idle.clear();
+        prefetchRequests.clear();
+        residentBytes = 0;
+        if (loader != null) {
+            loader.shutdownNow();
+            loader = null;
+        }
+    }
+}
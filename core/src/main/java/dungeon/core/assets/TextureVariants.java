@@ -0,0 +1,151 @@
+package dungeon.core.assets;  // Define o pacote onde estão as classes de gestão de recursos
+
+import com.badlogic.gdx.Gdx;  // Acesso aos ficheiros, à janela e ao OpenGL
+import com.badlogic.gdx.files.FileHandle;  // Ficheiro do manifesto
+import com.badlogic.gdx.utils.BufferUtils;  // Buffers diretos para glGetIntegerv
+import dungeon.core.profiling.StartupTracer;  // Tempo de leitura do manifesto no arranque
+import java.nio.IntBuffer;  // Resultado das consultas ao OpenGL
+import java.util.ArrayList;  // Lista de variantes de cada textura
+import java.util.HashMap;  // Implementação de mapa
+import java.util.List;  // Interface de lista
+import java.util.Map;  // Interface de mapa
+
+/**
+ * Variantes comprimidas na GPU geradas em tempo de build pela ferramenta compressTextures (módulo tools).
+ * Cada imagem opaca tem versões KTX em ETC2 (4 bits por pixel, com mipmaps) à resolução original,
+ * a metade e a um quarto; o manifesto MANIFEST_PATH lista-as.
+ * A variante é escolhida na primeira vez que a textura é pedida: a mais pequena que ainda cobre a largura
+ * da janela, um nível abaixo quando há pouca memória de vídeo livre. Sem manifesto, ou se a GPU não
+ * suportar ETC2, é usado o ficheiro original.
+ */
+public class TextureVariants {
+    public static final String MANIFEST_PATH = "compressed/variants.txt";  // Escrito pela ferramenta compressTextures
+
+    private static final int GL_NUM_COMPRESSED_TEXTURE_FORMATS = 0x86A2;
+    private static final int GL_COMPRESSED_TEXTURE_FORMATS = 0x86A3;
+    private static final int GL_COMPRESSED_RGB8_ETC2 = 0x9274;  // Formato dos ficheiros KTX gerados
+    private static final int GL_GPU_MEMORY_INFO_CURRENT_AVAILABLE_VIDMEM_NVX = 0x9049;  // Em KB (NVIDIA)
+    private static final int GL_TEXTURE_FREE_MEMORY_ATI = 0x87FC;  // Em KB, o primeiro de quatro valores (AMD)
+    private static final int LOW_VRAM_KB = 256 * 1024;  // Abaixo disto usa-se uma variante mais pequena
+
+    // Uma versão comprimida de uma imagem
+    private static class Variant {
+        final int divisor;  // 1 = resolução original, 2 = metade, ...
+        final int width;  // Largura da variante em pixels
+        final String path;  // Ficheiro KTX, relativo à pasta dos assets
+
+        Variant(int divisor, int width, String path) {
+            this.divisor = divisor;
+            this.width = width;
+            this.path = path;
+        }
+    }
+
+    private final Map<String, List<Variant>> variants = new HashMap<>();  // Variantes por imagem original, da maior para a menor
+    private boolean initialized;  // O manifesto e as capacidades da GPU só são lidos uma vez
+    private boolean compressedSupported;  // A GPU aceita ETC2
+    private boolean lowVram;  // Pouca memória de vídeo livre no arranque
+
+    /**
+     * Devolve o ficheiro a carregar para a imagem pedida: uma variante KTX se existir e for suportada,
+     * ou o próprio caminho recebido.
+     */
+    public String resolve(String path) {
+        if (!initialized) {
+            initialize();
+        }
+        List<Variant> candidates = variants.get(path);
+        if (!compressedSupported || candidates == null) {
+            return path;
+        }
+
+        // Largura a cobrir: a da janela, sem passar a da imagem original
+        int neededWidth = Math.min(candidates.get(0).width, Gdx.graphics.getBackBufferWidth());
+        if (lowVram) {
+            neededWidth /= 2;
+        }
+
+        Variant chosen = candidates.get(0);
+        for (Variant variant : candidates) {  // Da maior para a menor: fica a última que ainda chega
+            if (variant.width >= neededWidth) {
+                chosen = variant;
+            }
+        }
+        return chosen.path;
+    }
+
+    public static boolean isCompressed(String path) {  // Os ficheiros KTX trazem os seus próprios mipmaps
+        return path.endsWith(".ktx") || path.endsWith(".zktx");
+    }
+
+    private void initialize() {
+        initialized = true;
+        long traceStart = StartupTracer.getInstance().begin();
+        FileHandle manifest = Gdx.files.internal(MANIFEST_PATH);
+        if (!manifest.exists()) {
+            return;  // Build sem a ferramenta de compressão: usa os ficheiros originais
+        }
+        compressedSupported = supportsFormat(GL_COMPRESSED_RGB8_ETC2);
+        int freeVramKb = queryFreeVramKb();
+        lowVram = freeVramKb >= 0 && freeVramKb < LOW_VRAM_KB;
+        readManifest(manifest.readString("UTF-8"));
+        StartupTracer.getInstance().asset(MANIFEST_PATH, traceStart);
+        System.out.println("Texturas comprimidas: " + variants.size() + " imagens, ETC2 "
+            + (compressedSupported ? "suportado" : "não suportado") + (lowVram ? ", pouca memória de vídeo" : ""));
+    }
+
+    // Formato de cada linha: original divisor largura altura ficheiro.ktx
+    private void readManifest(String text) {
+        for (String line : text.split("\n")) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            if (fields.length != 5) {
+                System.err.println("Linha inválida em " + MANIFEST_PATH + ": " + line);
+                continue;
+            }
+            List<Variant> list = variants.get(fields[0]);
+            if (list == null) {
+                list = new ArrayList<>();
+                variants.put(fields[0], list);
+            }
+            list.add(new Variant(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]), fields[4]));
+        }
+        for (List<Variant> list : variants.values()) {
+            list.sort((a, b) -> Integer.compare(a.divisor, b.divisor));  // Maior resolução primeiro
+        }
+    }
+
+    private static boolean supportsFormat(int format) {
+        IntBuffer count = BufferUtils.newIntBuffer(16);
+        Gdx.gl.glGetIntegerv(GL_NUM_COMPRESSED_TEXTURE_FORMATS, count);
+        int formats = count.get(0);
+        if (formats <= 0) {
+            return false;
+        }
+        IntBuffer list = BufferUtils.newIntBuffer(Math.max(formats, 16));
+        Gdx.gl.glGetIntegerv(GL_COMPRESSED_TEXTURE_FORMATS, list);
+        for (int i = 0; i < formats; i++) {
+            if (list.get(i) == format) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Memória de vídeo livre em KB, ou -1 se o driver não a indicar
+    private static int queryFreeVramKb() {
+        IntBuffer result = BufferUtils.newIntBuffer(16);
+        if (Gdx.graphics.supportsExtension("GL_NVX_gpu_memory_info")) {
+            Gdx.gl.glGetIntegerv(GL_GPU_MEMORY_INFO_CURRENT_AVAILABLE_VIDMEM_NVX, result);
+            return result.get(0);
+        }
+        if (Gdx.graphics.supportsExtension("GL_ATI_meminfo")) {
+            Gdx.gl.glGetIntegerv(GL_TEXTURE_FREE_MEMORY_ATI, result);
+            return result.get(0);
+        }
+        return -1;
+    }
+}
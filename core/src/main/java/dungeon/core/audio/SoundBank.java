@@ -0,0 +1,176 @@
+package dungeon.core.audio;  // Define o pacote do sistema de som
+
+import com.badlogic.gdx.Gdx;  // Acesso ao áudio e aos ficheiros
+import com.badlogic.gdx.audio.Music;  // Faixa lida do disco enquanto toca
+import com.badlogic.gdx.audio.Sound;  // Efeito descodificado para a memória
+import dungeon.core.profiling.StartupTracer;  // Tempo de carregamento de cada som no arranque
+import java.util.Arrays;  // Inicialização dos tempos
+
+/**
+ * Banco de sons partilhado. Todos os efeitos são carregados uma única vez em load(), antes da partida,
+ * e ficam em memória até ao fim do jogo; as faixas longas são abertas uma vez e tocadas em streaming.
+ *
+ * O número de vozes é limitado: cada som tem um máximo de cópias simultâneas e um intervalo mínimo
+ * entre inícios (pedir o mesmo som várias vezes no mesmo frame toca-o uma só vez), e o total está
+ * limitado a MAX_VOICES. Quando não há vozes livres, a voz mais antiga de prioridade igual ou menor é
+ * interrompida; se todas forem mais importantes, o pedido é ignorado.
+ * Sem áudio (ex: testes sem janela) todos os métodos não fazem nada.
+ */
+public class SoundBank {
+    private static SoundBank instance;  // Instância única (padrão Singleton)
+
+    public static final int MAX_VOICES = 8;  // Efeitos a tocar ao mesmo tempo, no total
+
+    private final Sound[] sounds = new Sound[SoundCue.values().length];  // Efeitos em memória, por cue
+    private final Music[] tracks = new Music[SoundCue.values().length];  // Faixas em streaming, por cue
+    private final float[] lastStart = new float[SoundCue.values().length];  // Último início de cada cue
+
+    // Vozes ativas (cue null = voz livre)
+    private final SoundCue[] voiceCue = new SoundCue[MAX_VOICES];
+    private final long[] voiceId = new long[MAX_VOICES];
+    private final float[] voiceStart = new float[MAX_VOICES];
+
+    private float clock;  // Segundos desde o início, avançados por update()
+    private boolean loaded;
+    private float volume = 1f;
+
+    private SoundBank() {  // Construtor privado para implementar Singleton
+        Arrays.fill(lastStart, Float.NEGATIVE_INFINITY);
+    }
+
+    public static SoundBank getInstance() {  // Método que garante apenas uma instância
+        if (instance == null) {
+            instance = new SoundBank();
+        }
+        return instance;
+    }
+
+    public void load() {  // Carrega todos os sons; chamadas seguintes não fazem nada
+        if (loaded || Gdx.audio == null) {
+            return;
+        }
+        StartupTracer tracer = StartupTracer.getInstance();
+        for (SoundCue cue : SoundCue.values()) {
+            long start = tracer.begin();
+            if (cue.isStreamed()) {
+                tracks[cue.ordinal()] = Gdx.audio.newMusic(Gdx.files.internal(cue.getPath()));  // Só abre o ficheiro
+            } else {
+                sounds[cue.ordinal()] = Gdx.audio.newSound(Gdx.files.internal(cue.getPath()));
+            }
+            tracer.asset(cue.getPath(), start);
+        }
+        loaded = true;
+    }
+
+    public void update(float delta) {  // Avança o relógio e liberta as vozes que já acabaram
+        clock += delta;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceCue[i] != null && clock - voiceStart[i] >= voiceCue[i].getDuration()) {
+                voiceCue[i] = null;
+            }
+        }
+    }
+
+    public void play(SoundCue cue) {  // Toca o som se os limites o permitirem
+        if (!loaded) {
+            return;
+        }
+        int index = cue.ordinal();
+        if (clock - lastStart[index] < cue.getCooldown()) {
+            return;  // O mesmo som acabou de começar
+        }
+        lastStart[index] = clock;
+
+        if (cue.isStreamed()) {
+            Music track = tracks[index];
+            track.stop();  // Volta ao início
+            track.setVolume(volume);
+            track.play();
+            return;
+        }
+
+        int voice = findVoice(cue);
+        if (voice < 0) {
+            return;  // Todas as vozes estão ocupadas por sons mais importantes
+        }
+        if (voiceCue[voice] != null) {
+            sounds[voiceCue[voice].ordinal()].stop(voiceId[voice]);  // Rouba a voz
+        }
+        long id = sounds[index].play(volume);
+        if (id == -1) {
+            voiceCue[voice] = null;  // O mixer recusou o som
+            return;
+        }
+        voiceCue[voice] = cue;
+        voiceId[voice] = id;
+        voiceStart[voice] = clock;
+    }
+
+    // Voz a usar: a mais antiga do mesmo cue se já tiver o máximo de cópias, senão uma livre,
+    // senão a mais antiga de prioridade menor ou igual; -1 se nenhuma puder ser usada
+    private int findVoice(SoundCue cue) {
+        int copies = 0;
+        int oldestCopy = -1;
+        int free = -1;
+        int victim = -1;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            SoundCue playing = voiceCue[i];
+            if (playing == null) {
+                if (free < 0) free = i;
+            } else if (playing == cue) {
+                copies++;
+                if (oldestCopy < 0 || voiceStart[i] < voiceStart[oldestCopy]) oldestCopy = i;
+            }
+            if (playing != null && playing.getPriority() <= cue.getPriority()) {
+                if (victim < 0 || playing.getPriority() < voiceCue[victim].getPriority()
+                        || (playing.getPriority() == voiceCue[victim].getPriority() && voiceStart[i] < voiceStart[victim])) {
+                    victim = i;
+                }
+            }
+        }
+        if (copies >= cue.getMaxVoices()) {
+            return oldestCopy;
+        }
+        return free >= 0 ? free : victim;
+    }
+
+    public void stopAll() {  // Interrompe todos os sons (ex: ao recomeçar a partida)
+        if (!loaded) {
+            return;
+        }
+        for (Sound sound : sounds) {
+            if (sound != null) sound.stop();
+        }
+        for (Music track : tracks) {
+            if (track != null) track.stop();
+        }
+        Arrays.fill(voiceCue, null);
+    }
+
+    public void setVolume(float volume) {  // Volume dos sons que começarem a seguir
+        this.volume = volume;
+    }
+
+    public int getActiveVoices() {  // Vozes ocupadas neste momento
+        int count = 0;
+        for (SoundCue cue : voiceCue) {
+            if (cue != null) count++;
+        }
+        return count;
+    }
+
+    public void dispose() {  // Liberta todos os sons; load() volta a carregá-los
+        for (int i = 0; i < sounds.length; i++) {
+            if (sounds[i] != null) {
+                sounds[i].dispose();
+                sounds[i] = null;
+            }
+            if (tracks[i] != null) {
+                tracks[i].dispose();
+                tracks[i] = null;
+            }
+        }
+        Arrays.fill(voiceCue, null);
+        loaded = false;
+    }
+}
@@ -0,0 +1,52 @@
+package dungeon.core.audio;  // Define o pacote do sistema de som
+
+/**
+ * Sons do jogo. Os efeitos curtos são descodificados uma vez para a memória (Sound);
+ * as faixas longas são lidas do disco enquanto tocam (Music).
+ */
+public enum SoundCue {
+    //        ficheiro               vozes  intervalo  prioridade  duração  em streaming
+    ATTACK   ("sword_slash.wav",      2,     0.10f,     1,          2.52f,   false),  // Ataque sem acertar
+    HIT      ("damage_sound.wav",     3,     0.05f,     2,          1.00f,   false),  // Ataque que acertou num ou mais inimigos
+    VICTORY  ("victory_sound1.wav",   1,     0f,        3,          5.54f,   true);   // Música de vitória
+
+    private final String path;
+    private final int maxVoices;  // Cópias deste som a tocar ao mesmo tempo
+    private final float cooldown;  // Segundos mínimos entre dois inícios do mesmo som
+    private final int priority;  // Sons com prioridade maior podem interromper os de prioridade menor
+    private final float duration;  // Segundos que uma voz fica ocupada (o libGDX não avisa quando um Sound acaba)
+    private final boolean streamed;
+
+    SoundCue(String path, int maxVoices, float cooldown, int priority, float duration, boolean streamed) {
+        this.path = path;
+        this.maxVoices = maxVoices;
+        this.cooldown = cooldown;
+        this.priority = priority;
+        this.duration = duration;
+        this.streamed = streamed;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getMaxVoices() {
+        return maxVoices;
+    }
+
+    public float getCooldown() {
+        return cooldown;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public float getDuration() {
+        return duration;
+    }
+
+    public boolean isStreamed() {
+        return streamed;
+    }
+}
@@ -0,0 +1,237 @@
+package dungeon.core.content;  // Define o pacote dos conteúdos do jogo
+
+import dungeon.core.profiling.StartupTracer;  // Tempo de abertura no arranque
+import java.io.ByteArrayOutputStream;  // Leitura do pacote dentro do jar
+import java.io.File;  // Ficheiro do pacote
+import java.io.IOException;  // Erros de leitura
+import java.io.InputStream;  // Recurso do classpath
+import java.nio.ByteBuffer;  // Pacote inteiro em memória
+import java.nio.channels.FileChannel;  // Mapeamento do ficheiro
+import java.nio.charset.StandardCharsets;  // Textos em UTF-8
+import java.nio.file.StandardOpenOption;  // Modo de abertura do ficheiro
+
+/**
+ * Pacote binário com os conteúdos do jogo: tipos de inimigos, tipos de itens, tabelas de saque e
+ * modelos de salas. É gerado a partir dos ficheiros de texto da pasta content pelo ContentCompiler
+ * (./gradlew :tools:compileContent) e lido com um único mapeamento do ficheiro. Abrir o pacote valida
+ * o cabeçalho e descodifica os tipos e as tabelas de saque (poucas dezenas de registos); os modelos
+ * das salas, que são a maior parte do pacote, são lidos diretamente do mapeamento quando pedidos.
+ *
+ * Formato (big-endian, como o ByteBuffer):
+ *   cabeçalho   HEADER_SIZE bytes: MAGIC, VERSION, checksum, e para textos, saques, inimigos, itens
+ *               e salas o número de entradas e a posição da secção
+ *   textos      int[] posições; cada texto é um short (comprimento) seguido dos bytes em UTF-8
+ *   saques      int[] posições; cada tabela é um int (entradas) e pares (item ou -1, peso)
+ *   inimigos    registos de ENEMY_RECORD_SIZE bytes (ver EnemyArchetype)
+ *   itens       registos de ITEM_RECORD_SIZE bytes (ver ItemArchetype)
+ *   salas       int[] posições indexadas pelo ID da sala (-1 = sem sala); ver RoomTemplate
+ * Os campos que apontam para textos, saques, inimigos ou itens guardam o índice (-1 = nenhum).
+ *
+ * Os tipos de inimigos, itens e saques são todos criados no construtor, em arrays finais, por isso
+ * cada ID corresponde sempre ao mesmo objeto e as consultas não precisam de sincronização. O pacote
+ * não muda depois de aberto e pode ser usado por várias sessões e threads ao mesmo tempo.
+ */
+public final class ContentPack {
+    public static final String DEFAULT_PATH = "content.pack";  // Relativo à pasta de trabalho (assets)
+
+    static final int MAGIC = 0x44434E54;  // "DCNT"
+    static final int VERSION = 3;  // 2: tipo da sala no cabeçalho das salas; 3: salas feitas de tiles
+    static final int HEADER_SIZE = 52;  // MAGIC, VERSION, checksum e 5 secções (número + posição)
+    static final int ENEMY_RECORD_SIZE = 40;
+    static final int ITEM_RECORD_SIZE = 24;
+    static final int ROOM_HEADER_SIZE = 36;
+    static final int SPAWN_SIZE = 12;  // Índice + x + y (inimigos e itens das salas)
+    static final int DOOR_SIZE = 16;  // Posição, trancada, x, y, sala de destino
+    static final int LOOT_ENTRY_SIZE = 8;  // Item + peso
+
+    private static ContentPack instance;  // Pacote do jogo, partilhado por todas as sessões
+
+    private final ByteBuffer data;  // Só leituras absolutas: nunca muda de posição
+    private final int checksum;
+    private final int stringsOffset;
+    private final int lootCount, lootOffset;
+    private final int enemyCount, enemiesOffset;
+    private final int itemCount, itemsOffset;
+    private final int roomCount, roomsOffset;
+
+    // Descodificados no construtor, por esta ordem: os saques usam os itens e os inimigos usam os saques
+    private final ItemArchetype[] items;
+    private final LootTable[] loot;
+    private final EnemyArchetype[] enemies;
+
+    private ContentPack(ByteBuffer data) throws IOException {
+        this.data = data;
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Não é um pacote de conteúdos");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Versão do pacote de conteúdos diferente (" + data.getInt(4) + "), volte a gerá-lo");
+        }
+        checksum = data.getInt(8);
+        stringsOffset = data.getInt(16);
+        lootCount = data.getInt(20);
+        lootOffset = data.getInt(24);
+        enemyCount = data.getInt(28);
+        enemiesOffset = data.getInt(32);
+        itemCount = data.getInt(36);
+        itemsOffset = data.getInt(40);
+        roomCount = data.getInt(44);
+        roomsOffset = data.getInt(48);
+        items = new ItemArchetype[itemCount];
+        for (int id = 0; id < itemCount; id++) {
+            items[id] = new ItemArchetype(this, id, itemsOffset + id * ITEM_RECORD_SIZE);
+        }
+        loot = new LootTable[lootCount];
+        for (int id = 0; id < lootCount; id++) {
+            loot[id] = decodeLoot(id);
+        }
+        enemies = new EnemyArchetype[enemyCount];
+        for (int id = 0; id < enemyCount; id++) {
+            enemies[id] = new EnemyArchetype(this, id, enemiesOffset + id * ENEMY_RECORD_SIZE);
+        }
+    }
+
+    private LootTable decodeLoot(int id) {  // Tabela de saque (os itens já têm de estar descodificados)
+        int offset = data.getInt(lootOffset + id * 4);
+        int entries = data.getInt(offset);
+        ItemArchetype[] drops = new ItemArchetype[entries];
+        int[] weights = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            int entry = offset + 4 + i * LOOT_ENTRY_SIZE;
+            int item = data.getInt(entry);
+            drops[i] = item < 0 ? null : items[item];
+            weights[i] = data.getInt(entry + 4);
+        }
+        return new LootTable(drops, weights);
+    }
+
+    /*
+      Pacote do jogo. Usa o ficheiro DEFAULT_PATH da pasta de trabalho quando existe (mapeado, sem
+      cópia); senão o que vem dentro do jar.
+     */
+    public static synchronized ContentPack getInstance() {
+        if (instance == null) {
+            long start = StartupTracer.getInstance().begin();
+            try {
+                File file = new File(DEFAULT_PATH);
+                instance = file.isFile() ? load(file) : loadResource("/" + DEFAULT_PATH);
+            } catch (IOException e) {
+                throw new IllegalStateException("Erro ao abrir o pacote de conteúdos (./gradlew :tools:compileContent): "
+                    + e.getMessage(), e);
+            }
+            StartupTracer.getInstance().asset(DEFAULT_PATH, start);
+        }
+        return instance;
+    }
+
+    public static ContentPack load(File file) throws IOException {  // Mapeia o ficheiro inteiro numa só leitura
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return new ContentPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static ContentPack loadResource(String path) throws IOException {  // Pacote empacotado no jar
+        try (InputStream in = ContentPack.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException(DEFAULT_PATH + " não encontrado");
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+            byte[] chunk = new byte[16 * 1024];
+            int read;
+            while ((read = in.read(chunk)) > 0) {
+                bytes.write(chunk, 0, read);
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.size());
+            buffer.put(bytes.toByteArray()).flip();
+            return new ContentPack(buffer);
+        }
+    }
+
+    public static ContentPack wrap(ByteBuffer data) throws IOException {  // Pacote já em memória (ex: acabado de gerar)
+        return new ContentPack(data);
+    }
+
+    public int getChecksum() {  // CRC32 dos conteúdos; clientes e servidor têm de ter o mesmo pacote
+        return checksum;
+    }
+
+    public int getEnemyCount() {
+        return enemyCount;
+    }
+
+    public EnemyArchetype getEnemy(int id) {
+        return enemies[id];
+    }
+
+    public EnemyArchetype findEnemy(String name) {  // Procura pelo nome (ferramentas; o jogo usa os IDs)
+        for (int i = 0; i < enemyCount; i++) {
+            if (getEnemy(i).getName().equals(name)) {
+                return getEnemy(i);
+            }
+        }
+        return null;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public ItemArchetype getItem(int id) {
+        return items[id];
+    }
+
+    public ItemArchetype findItem(String name) {  // Procura pelo nome (ferramentas; o jogo usa os IDs)
+        for (int i = 0; i < itemCount; i++) {
+            if (getItem(i).getName().equals(name)) {
+                return getItem(i);
+            }
+        }
+        return null;
+    }
+
+    public LootTable getLoot(int id) {  // -1 = sem tabela
+        return id < 0 ? LootTable.EMPTY : loot[id];
+    }
+
+    public int getRoomCount() {  // Maior ID de sala + 1
+        return roomCount;
+    }
+
+    public RoomTemplate getRoom(int id) {  // null se o pacote não tem sala com este ID
+        if (id < 0 || id >= roomCount) {
+            return null;
+        }
+        int offset = data.getInt(roomsOffset + id * 4);
+        return offset < 0 ? null : new RoomTemplate(this, id, offset);
+    }
+
+    // Leituras usadas pelos tipos e modelos (sempre absolutas, por isso seguras entre threads)
+    int getInt(int offset) {
+        return data.getInt(offset);
+    }
+
+    float getFloat(int offset) {
+        return data.getFloat(offset);
+    }
+
+    short getShort(int offset) {
+        return data.getShort(offset);
+    }
+
+    byte getByte(int offset) {
+        return data.get(offset);
+    }
+
+    String getString(int index) {  // -1 = sem texto
+        if (index < 0) {
+            return null;
+        }
+        int offset = data.getInt(stringsOffset + index * 4);
+        int length = data.getShort(offset) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = data.get(offset + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,249 @@
+package dungeon.core.content;  // Define o pacote dos conteúdos do jogo
+
+import dungeon.core.Room;  // Posições das portas
+import dungeon.core.tiles.TileMap;  // Camadas dos tiles
+import java.nio.ByteBuffer;  // Pacote a ser escrito
+import java.nio.charset.StandardCharsets;  // Textos em UTF-8
+import java.util.ArrayList;  // Registos por escrever
+import java.util.HashMap;  // Textos repetidos guardados uma só vez
+import java.util.List;  // Interface de lista
+import java.util.Map;  // Interface de mapa
+import java.util.zip.CRC32;  // Checksum do pacote
+
+/**
+ * Escreve um pacote de conteúdos no formato lido pelo ContentPack (usado pelo ContentCompiler das
+ * ferramentas). Os IDs são dados pela ordem em que os tipos e tabelas são acrescentados; as
+ * referências entre eles (saque de um inimigo, tipo de um inimigo numa sala) usam esses IDs.
+ */
+public class ContentPackWriter {
+    // Sala por escrever: cabeçalho e listas de inimigos, itens e portas
+    public static final class RoomRecord {
+        private final int id;
+        private final int background, width, height, rewards, minRewards, maxRewards;
+        private final Room.RoomType type;
+        private final List<float[]> enemies = new ArrayList<>();  // Tipo, x, y
+        private final List<float[]> items = new ArrayList<>();  // Tipo, x, y
+        private final List<float[]> doors = new ArrayList<>();  // Posição, trancada, x, y, destino
+        private int tileSet = -1;  // Texto com a imagem dos tiles (-1 = sala com imagem de fundo)
+        private int tileSetColumns, tileSetRows, tileSize;
+        private short[] tiles;  // [camada * colunas * linhas + linha * colunas + coluna]
+
+        private RoomRecord(int id, int background, Room.RoomType type, int width, int height, int rewards,
+                           int minRewards, int maxRewards) {
+            this.id = id;
+            this.type = type;
+            this.background = background;
+            this.width = width;
+            this.height = height;
+            this.rewards = rewards;
+            this.minRewards = minRewards;
+            this.maxRewards = maxRewards;
+        }
+
+        public void addEnemy(int type, float x, float y) {
+            enemies.add(new float[] {type, x, y});
+        }
+
+        public void addItem(int type, float x, float y) {
+            items.add(new float[] {type, x, y});
+        }
+
+        public void addDoor(Room.DoorPosition position, float x, float y, int targetRoomId, boolean locked) {
+            doors.add(new float[] {position.ordinal(), locked ? 1 : 0, x, y, targetRoomId});
+        }
+
+        public void setTile(TileMap.Layer layer, int column, int row, int tileId) {  // Só em salas criadas com addTiledRoom
+            int columns = width / tileSize;
+            tiles[layer.ordinal() * columns * (height / tileSize) + row * columns + column] = (short) tileId;
+        }
+
+        private int size() {
+            return ContentPack.ROOM_HEADER_SIZE + (enemies.size() + items.size()) * ContentPack.SPAWN_SIZE
+                + doors.size() * ContentPack.DOOR_SIZE + (tiles != null ? tiles.length * 2 : 0);
+        }
+    }
+
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<int[]> loot = new ArrayList<>();  // Pares (item, peso) seguidos
+    private final List<ByteBuffer> enemies = new ArrayList<>();
+    private final List<ByteBuffer> items = new ArrayList<>();
+    private final List<RoomRecord> rooms = new ArrayList<>();
+
+    public int addLoot(int[] itemIds, int[] weights) {  // itemIds[i] = -1 para "nada"
+        int[] entries = new int[itemIds.length * 2];
+        for (int i = 0; i < itemIds.length; i++) {
+            entries[i * 2] = itemIds[i];
+            entries[i * 2 + 1] = weights[i];
+        }
+        loot.add(entries);
+        return loot.size() - 1;
+    }
+
+    public int addEnemy(String name, String texturePath, float size, int health, int attackDamage, float moveSpeed,
+                        float attackCooldown, int goldValue, int dropsLoot, EnemyArchetype.Ai ai) {
+        ByteBuffer record = ByteBuffer.allocate(ContentPack.ENEMY_RECORD_SIZE);
+        record.putInt(string(name)).putInt(string(texturePath)).putFloat(size).putInt(health).putInt(attackDamage)
+            .putFloat(moveSpeed).putFloat(attackCooldown).putInt(goldValue).putInt(dropsLoot).put((byte) ai.ordinal());
+        enemies.add(record);
+        return enemies.size() - 1;
+    }
+
+    public int addItem(String name, String displayName, String texturePath, String description, int value,
+                       ItemArchetype.Effect effect) {
+        ByteBuffer record = ByteBuffer.allocate(ContentPack.ITEM_RECORD_SIZE);
+        record.putInt(string(name)).putInt(string(displayName)).putInt(string(texturePath)).putInt(string(description))
+            .putInt(value).put((byte) effect.ordinal());
+        items.add(record);
+        return items.size() - 1;
+    }
+
+    public RoomRecord addRoom(int id, String background, Room.RoomType type, int width, int height, int rewardsLoot,
+                              int minRewards, int maxRewards) {
+        RoomRecord room = new RoomRecord(id, string(background), type, width, height, rewardsLoot, minRewards,
+            maxRewards);
+        rooms.add(room);
+        return room;
+    }
+
+    /*
+      Sala feita de tiles: em vez da imagem de fundo, uma imagem com uma grelha de colunas x linhas tiles,
+      cada um com tileSize unidades de mundo de lado. A largura e a altura têm de ser múltiplos de tileSize;
+      as camadas começam vazias (TileSet.EMPTY) e são preenchidas com RoomRecord.setTile.
+     */
+    public RoomRecord addTiledRoom(int id, String tileSet, int tileSetColumns, int tileSetRows, int tileSize,
+                                   Room.RoomType type, int width, int height, int rewardsLoot, int minRewards,
+                                   int maxRewards) {
+        if (tileSize <= 0 || width % tileSize != 0 || height % tileSize != 0) {
+            throw new IllegalArgumentException("O tamanho da sala " + id + " tem de ser múltiplo do lado do tile");
+        }
+        RoomRecord room = addRoom(id, null, type, width, height, rewardsLoot, minRewards, maxRewards);
+        room.tileSet = string(tileSet);
+        room.tileSetColumns = tileSetColumns;
+        room.tileSetRows = tileSetRows;
+        room.tileSize = tileSize;
+        room.tiles = new short[TileMap.Layer.values().length * (width / tileSize) * (height / tileSize)];
+        return room;
+    }
+
+    // Pacote completo, com o checksum de tudo o que vem depois do cabeçalho
+    public byte[] toByteArray() {
+        List<byte[]> encoded = new ArrayList<>(strings.size());
+        int size = ContentPack.HEADER_SIZE;
+        int stringsOffset = size;
+        size += strings.size() * 4;
+        for (String text : strings) {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IllegalArgumentException("Texto demasiado longo: " + text.substring(0, 40) + "...");
+            }
+            encoded.add(bytes);
+            size += 2 + bytes.length;
+        }
+        int lootOffset = size;
+        size += loot.size() * 4;
+        for (int[] entries : loot) {
+            size += 4 + entries.length / 2 * ContentPack.LOOT_ENTRY_SIZE;
+        }
+        int enemiesOffset = size;
+        size += enemies.size() * ContentPack.ENEMY_RECORD_SIZE;
+        int itemsOffset = size;
+        size += items.size() * ContentPack.ITEM_RECORD_SIZE;
+        int roomCount = 0;
+        for (RoomRecord room : rooms) {
+            roomCount = Math.max(roomCount, room.id + 1);
+        }
+        int roomsOffset = size;
+        size += roomCount * 4;
+        for (RoomRecord room : rooms) {
+            size += room.size();
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(ContentPack.MAGIC).putInt(ContentPack.VERSION).putInt(0)  // Checksum no fim
+            .putInt(strings.size()).putInt(stringsOffset)
+            .putInt(loot.size()).putInt(lootOffset)
+            .putInt(enemies.size()).putInt(enemiesOffset)
+            .putInt(items.size()).putInt(itemsOffset)
+            .putInt(roomCount).putInt(roomsOffset);
+
+        int position = stringsOffset + strings.size() * 4;
+        for (int i = 0; i < encoded.size(); i++) {
+            byte[] bytes = encoded.get(i);
+            out.putInt(stringsOffset + i * 4, position);
+            out.position(position);
+            out.putShort((short) bytes.length).put(bytes);
+            position = out.position();
+        }
+
+        position = lootOffset + loot.size() * 4;
+        for (int i = 0; i < loot.size(); i++) {
+            int[] entries = loot.get(i);
+            out.putInt(lootOffset + i * 4, position);
+            out.position(position);
+            out.putInt(entries.length / 2);
+            for (int entry : entries) {
+                out.putInt(entry);
+            }
+            position = out.position();
+        }
+
+        out.position(enemiesOffset);
+        for (ByteBuffer record : enemies) {
+            out.put(record.array());
+        }
+        for (ByteBuffer record : items) {
+            out.put(record.array());
+        }
+
+        for (int id = 0; id < roomCount; id++) {
+            out.putInt(roomsOffset + id * 4, -1);  // Sem sala, até ser escrita
+        }
+        position = roomsOffset + roomCount * 4;
+        for (RoomRecord room : rooms) {
+            out.putInt(roomsOffset + room.id * 4, position);
+            out.position(position);
+            out.putInt(room.background).putInt(room.width).putInt(room.height).putInt(room.rewards)
+                .put((byte) room.minRewards).put((byte) room.maxRewards)
+                .putShort((short) room.enemies.size()).putShort((short) room.items.size())
+                .putShort((short) room.doors.size())
+                .put((byte) room.type.ordinal()).put((byte) 0).putShort((short) 0)
+                .putInt(room.tileSet).put((byte) room.tileSetColumns).put((byte) room.tileSetRows)
+                .putShort((short) room.tileSize);
+            for (float[] spawn : room.enemies) {
+                out.putInt((int) spawn[0]).putFloat(spawn[1]).putFloat(spawn[2]);
+            }
+            for (float[] spawn : room.items) {
+                out.putInt((int) spawn[0]).putFloat(spawn[1]).putFloat(spawn[2]);
+            }
+            for (float[] door : room.doors) {
+                out.put((byte) door[0]).put((byte) door[1]).putShort((short) 0)
+                    .putFloat(door[2]).putFloat(door[3]).putInt((int) door[4]);
+            }
+            if (room.tiles != null) {
+                for (short tile : room.tiles) {
+                    out.putShort(tile);
+                }
+            }
+            position = out.position();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), ContentPack.HEADER_SIZE, size - ContentPack.HEADER_SIZE);
+        out.putInt(8, (int) crc.getValue());
+        return out.array();
+    }
+
+    private int string(String text) {  // Índice do texto (null = -1); textos iguais partilham a entrada
+        if (text == null) {
+            return -1;
+        }
+        Integer id = stringIds.get(text);
+        if (id == null) {
+            id = strings.size();
+            strings.add(text);
+            stringIds.put(text, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,79 @@
+package dungeon.core.content;  // Define o pacote dos conteúdos do jogo
+
+import dungeon.core.ai.BasicFollowerStrategy;  // IA de seguimento simples
+import dungeon.core.ai.EnemyStrategy;  // Interface das estratégias de IA
+import dungeon.core.ai.SteeringStrategy;  // IA de grupo (steering)
+
+/**
+ * Tipo de inimigo definido no pacote de conteúdos (imagem, tamanho, vida, dano, velocidade, tempo
+ * entre ataques, ouro, IA e saque ao morrer). Os valores são lidos do registo uma única vez; o ID é
+ * a posição do tipo no pacote e é o que vai nos estados enviados aos clientes.
+ *
+ * Registo (ENEMY_RECORD_SIZE bytes): nome, imagem (textos), tamanho (float), vida, dano (int),
+ * velocidade, tempo entre ataques (float), ouro, saque (int), IA (byte) e 3 bytes livres.
+ */
+public final class EnemyArchetype {
+    // Comportamento dos inimigos deste tipo
+    public enum Ai {
+        STEERING,  // Persegue o jogador em grupo (SteeringStrategy)
+        FOLLOWER,  // Segue o jogador diretamente (BasicFollowerStrategy)
+        NONE;  // Fica parado
+
+        public EnemyStrategy create() {  // Estratégia nova para um inimigo (null = parado)
+            switch (this) {
+                case STEERING: return new SteeringStrategy();
+                case FOLLOWER: return new BasicFollowerStrategy();
+                default: return null;
+            }
+        }
+    }
+
+    private static final Ai[] AI_KINDS = Ai.values();
+
+    private final int id;
+    private final String name;  // Nome usado nos ficheiros de conteúdos (ex: ZOMBIE)
+    private final String texturePath;
+    private final float size;  // Largura e altura
+    private final int health;
+    private final int attackDamage;
+    private final float moveSpeed;
+    private final float attackCooldown;  // Segundos entre ataques
+    private final int goldValue;  // Ouro ganho ao derrotar o inimigo
+    private final Ai ai;
+    private final LootTable drops;  // O que pode largar ao morrer
+
+    EnemyArchetype(ContentPack pack, int id, int offset) {
+        this.id = id;
+        this.name = pack.getString(pack.getInt(offset));
+        this.texturePath = pack.getString(pack.getInt(offset + 4));
+        this.size = pack.getFloat(offset + 8);
+        this.health = pack.getInt(offset + 12);
+        this.attackDamage = pack.getInt(offset + 16);
+        this.moveSpeed = pack.getFloat(offset + 20);
+        this.attackCooldown = pack.getFloat(offset + 24);
+        this.goldValue = pack.getInt(offset + 28);
+        this.drops = pack.getLoot(pack.getInt(offset + 32));
+        this.ai = AI_KINDS[pack.getByte(offset + 36)];
+    }
+
+    public EnemyStrategy createStrategy() {  // IA de um inimigo novo deste tipo
+        return ai.create();
+    }
+
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public String getTexturePath() { return texturePath; }
+    public float getSize() { return size; }
+    public int getHealth() { return health; }
+    public int getAttackDamage() { return attackDamage; }
+    public float getMoveSpeed() { return moveSpeed; }
+    public float getAttackCooldown() { return attackCooldown; }
+    public int getGoldValue() { return goldValue; }
+    public Ai getAi() { return ai; }
+    public LootTable getDrops() { return drops; }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,51 @@
+package dungeon.core.content;  // Define o pacote dos conteúdos do jogo
+
+/**
+ * Tipo de item definido no pacote de conteúdos. O efeito diz o que acontece quando o jogador o apanha
+ * (ver Room.collectItem) e o valor quanto: pontos de vida, dano ou ouro.
+ *
+ * Registo (ITEM_RECORD_SIZE bytes): nome, nome a mostrar, imagem, descrição (textos), valor (int),
+ * efeito (byte) e 3 bytes livres.
+ */
+public final class ItemArchetype {
+    // O que o item faz ao jogador
+    public enum Effect {
+        HEAL,  // Recupera vida
+        DAMAGE,  // Aumenta o dano
+        KEY,  // Abre uma porta trancada
+        GOLD  // Dá ouro
+    }
+
+    private static final Effect[] EFFECTS = Effect.values();
+
+    private final int id;
+    private final String name;  // Nome usado nos ficheiros de conteúdos (ex: GOLD_COIN)
+    private final String displayName;  // Nome que aparece ao jogador
+    private final String texturePath;
+    private final String description;
+    private final int value;
+    private final Effect effect;
+
+    ItemArchetype(ContentPack pack, int id, int offset) {
+        this.id = id;
+        this.name = pack.getString(pack.getInt(offset));
+        this.displayName = pack.getString(pack.getInt(offset + 4));
+        this.texturePath = pack.getString(pack.getInt(offset + 8));
+        this.description = pack.getString(pack.getInt(offset + 12));
+        this.value = pack.getInt(offset + 16);
+        this.effect = EFFECTS[pack.getByte(offset + 20)];
+    }
+
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public String getDisplayName() { return displayName; }
+    public String getTexturePath() { return texturePath; }
+    public String getDescription() { return description; }
+    public int getValue() { return value; }
+    public Effect getEffect() { return effect; }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
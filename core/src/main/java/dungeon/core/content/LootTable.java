@@ -0,0 +1,43 @@
+package dungeon.core.content;  // Define o pacote dos conteúdos do jogo
+
+import java.util.Random;  // Sorteio
+
+/**
+ * Tabela de saque: itens com pesos. Um item null é "nada", para tabelas em que é possível não sair
+ * nenhum item (ex: inimigo com 20% de não largar nada).
+ */
+public final class LootTable {
+    public static final LootTable EMPTY = new LootTable(new ItemArchetype[0], new int[0]);
+
+    private final ItemArchetype[] items;
+    private final int[] cumulative;  // Soma dos pesos até cada entrada, inclusive
+    private final int totalWeight;
+
+    LootTable(ItemArchetype[] items, int[] weights) {
+        this.items = items;
+        this.cumulative = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    public ItemArchetype roll(Random random) {  // Sorteia uma entrada (null = nada ou tabela vazia)
+        if (totalWeight <= 0) {
+            return null;
+        }
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (pick < cumulative[i]) {
+                return items[i];
+            }
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return totalWeight <= 0;
+    }
+}
@@ -0,0 +1,78 @@
+package dungeon.core.content;  // Define o pacote dos conteúdos do jogo
+
+import dungeon.core.Room;  // Posições das portas
+import dungeon.core.tiles.TileMap;  // Camadas dos tiles
+
+/**
+ * Modelo de uma sala no pacote de conteúdos, lido diretamente do ficheiro mapeado (não copia nada).
+ * Usado pelo DataDrivenRoomFactory para criar a sala.
+ *
+ * Registo: cabeçalho de ROOM_HEADER_SIZE bytes (fundo, largura, altura, saque ao limpar, mínimo e
+ * máximo de recompensas, número de inimigos, itens e portas, tipo da sala, imagem dos tiles, colunas e
+ * linhas da grelha dessa imagem, lado de um tile) seguido dos inimigos e itens (SPAWN_SIZE bytes: tipo,
+ * x, y) e das portas (DOOR_SIZE bytes: posição, trancada, x, y, destino). As salas feitas de tiles (com
+ * imagem dos tiles em vez de fundo) acabam com as camadas do TileMap, um short por célula, linha a linha.
+ */
+public final class RoomTemplate {
+    private static final Room.DoorPosition[] DOOR_POSITIONS = Room.DoorPosition.values();
+    private static final Room.RoomType[] ROOM_TYPES = Room.RoomType.values();
+
+    private final ContentPack pack;
+    private final int id;
+    private final int offset;  // Início do registo no pacote
+
+    RoomTemplate(ContentPack pack, int id, int offset) {
+        this.pack = pack;
+        this.id = id;
+        this.offset = offset;
+    }
+
+    public int getId() { return id; }
+    public String getBackground() { return pack.getString(pack.getInt(offset)); }
+    public int getWidth() { return pack.getInt(offset + 4); }
+    public int getHeight() { return pack.getInt(offset + 8); }
+    public LootTable getRewards() { return pack.getLoot(pack.getInt(offset + 12)); }  // Itens sorteados ao limpar a sala
+    public int getMinRewards() { return pack.getByte(offset + 16); }
+    public int getMaxRewards() { return pack.getByte(offset + 17); }
+    public Room.RoomType getType() { return ROOM_TYPES[pack.getByte(offset + 24)]; }
+
+    public String getTileSet() { return pack.getString(pack.getInt(offset + 28)); }  // null = sala com imagem de fundo
+    public int getTileSetColumns() { return pack.getByte(offset + 32) & 0xFF; }
+    public int getTileSetRows() { return pack.getByte(offset + 33) & 0xFF; }
+    public int getTileSize() { return pack.getShort(offset + 34); }  // Lado de um tile em unidades de mundo
+    public int getTileColumns() { return getWidth() / getTileSize(); }
+    public int getTileRows() { return getHeight() / getTileSize(); }
+    public int getTile(TileMap.Layer layer, int column, int row) {
+        int layerSize = getTileColumns() * getTileRows();
+        return pack.getShort(door(getDoorCount()) + (layer.ordinal() * layerSize + row * getTileColumns() + column) * 2);
+    }
+
+    public int getEnemyCount() { return pack.getShort(offset + 18); }
+    public EnemyArchetype getEnemy(int i) { return pack.getEnemy(pack.getInt(enemy(i))); }
+    public float getEnemyX(int i) { return pack.getFloat(enemy(i) + 4); }
+    public float getEnemyY(int i) { return pack.getFloat(enemy(i) + 8); }
+
+    public int getItemCount() { return pack.getShort(offset + 20); }
+    public ItemArchetype getItem(int i) { return pack.getItem(pack.getInt(item(i))); }
+    public float getItemX(int i) { return pack.getFloat(item(i) + 4); }
+    public float getItemY(int i) { return pack.getFloat(item(i) + 8); }
+
+    public int getDoorCount() { return pack.getShort(offset + 22); }
+    public Room.DoorPosition getDoorPosition(int i) { return DOOR_POSITIONS[pack.getByte(door(i))]; }
+    public boolean isDoorLocked(int i) { return pack.getByte(door(i) + 1) != 0; }
+    public float getDoorX(int i) { return pack.getFloat(door(i) + 4); }
+    public float getDoorY(int i) { return pack.getFloat(door(i) + 8); }
+    public int getDoorTarget(int i) { return pack.getInt(door(i) + 12); }
+
+    private int enemy(int i) {  // Posição do inimigo i
+        return offset + ContentPack.ROOM_HEADER_SIZE + i * ContentPack.SPAWN_SIZE;
+    }
+
+    private int item(int i) {  // Os itens vêm depois dos inimigos
+        return enemy(getEnemyCount()) + i * ContentPack.SPAWN_SIZE;
+    }
+
+    private int door(int i) {  // As portas vêm depois dos itens
+        return item(getItemCount()) + i * ContentPack.DOOR_SIZE;
+    }
+}
@@ -0,0 +1,19 @@
+package dungeon.core.events;  // Define o pacote onde as classes de eventos estão localizadas
+
+import dungeon.core.Door;
+import dungeon.core.Player;
+
+// O jogador usou uma chave para abrir uma porta
+public final class DoorUnlockedEvent {
+    private Door door;
+    private Player player;
+
+    DoorUnlockedEvent set(Door door, Player player) {  // Preenchido pelo GameEventManager antes de publicar
+        this.door = door;
+        this.player = player;
+        return this;
+    }
+
+    public Door getDoor() { return door; }
+    public Player getPlayer() { return player; }
+}
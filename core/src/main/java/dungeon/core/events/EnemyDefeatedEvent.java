@@ -0,0 +1,19 @@
+package dungeon.core.events;  // Define o pacote onde as classes de eventos estão localizadas
+
+import dungeon.core.Enemy;
+import dungeon.core.Player;
+
+// Um inimigo foi derrotado pelo jogador
+public final class EnemyDefeatedEvent {
+    private Enemy enemy;
+    private Player player;
+
+    EnemyDefeatedEvent set(Enemy enemy, Player player) {  // Preenchido pelo GameEventManager antes de publicar
+        this.enemy = enemy;
+        this.player = player;
+        return this;
+    }
+
+    public Enemy getEnemy() { return enemy; }
+    public Player getPlayer() { return player; }
+}
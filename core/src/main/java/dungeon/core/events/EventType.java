@@ -0,0 +1,34 @@
+package dungeon.core.events;  // Define o pacote onde as classes de eventos estão localizadas
+
+/**
+ * Tipo de evento, usado para subscrever e publicar. Cada tipo tem um índice fixo, que é a posição
+ * da sua lista de subscritores no GameEventManager; E é a classe do evento entregue aos subscritores.
+ * Um novo evento precisa de uma constante aqui (com o índice seguinte) e de atualizar COUNT.
+ */
+public final class EventType<E> {
+    public static final EventType<ItemCollectedEvent> ITEM_COLLECTED = new EventType<>(0, "ITEM_COLLECTED");
+    public static final EventType<EnemyDefeatedEvent> ENEMY_DEFEATED = new EventType<>(1, "ENEMY_DEFEATED");
+    public static final EventType<RoomClearedEvent> ROOM_CLEARED = new EventType<>(2, "ROOM_CLEARED");
+    public static final EventType<PlayerDamagedEvent> PLAYER_DAMAGED = new EventType<>(3, "PLAYER_DAMAGED");
+    public static final EventType<DoorUnlockedEvent> DOOR_UNLOCKED = new EventType<>(4, "DOOR_UNLOCKED");
+    public static final EventType<RoomEnteredEvent> ROOM_ENTERED = new EventType<>(5, "ROOM_ENTERED");
+
+    public static final int COUNT = 6;  // Número de tipos (tamanho da tabela de subscritores)
+
+    private final int index;
+    private final String name;
+
+    private EventType(int index, String name) {
+        this.index = index;
+        this.name = name;
+    }
+
+    int getIndex() {  // Posição na tabela de subscritores
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
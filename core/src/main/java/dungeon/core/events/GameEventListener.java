@@ -0,0 +1,7 @@
+package dungeon.core.events;  // Define o pacote onde as classes de eventos estão localizadas
+
+// Subscritor de um único tipo de evento. O evento recebido é reutilizado pelo GameEventManager:
+// só é válido durante a chamada e não deve ser guardado
+public interface GameEventListener<E> {
+    void onEvent(E event);  // Método chamado quando um evento do tipo subscrito é publicado
+}
@@ -1,62 +1,128 @@
 package dungeon.core.events;  // Define o pacote onde as classes de eventos estão localizadas
 
 import dungeon.core.*;  // Importa as classes principais do jogo
-import java.util.ArrayList;  // Importa ArrayList para armazenar observadores
-import java.util.List;  // Importa interface List
+import dungeon.core.profiling.FrameProfiler;  // Mede o tempo gasto a notificar os observadores
+import java.util.Arrays;  // Cópia das listas de subscritores
 
-// Classe que mantém uma lista de observadores e os notifica quando eventos acontecem
+/**
+ * Classe que mantém os subscritores de cada tipo de evento e os notifica quando eventos acontecem.
+ * Cada sessão de jogo tem o seu (GameSession.getEvents()); não é partilhado entre threads.
+ * Cada tipo tem o seu array de subscritores, substituído por uma cópia quando alguém subscreve ou
+ * cancela: publicar é só percorrer o array, sem iteradores, e um subscritor pode cancelar a
+ * subscrição durante a notificação. Só são chamados os subscritores do tipo publicado.
+ * Os eventos são registos reutilizados, um por tipo (um evento publicado dentro de outro do mesmo
+ * tipo usa um registo novo para não estragar o que está a ser entregue).
+ */
 public class GameEventManager {
-    private static GameEventManager instance;  // Instância única (padrão Singleton)
-    private List<GameEventObserver> observers;  // Lista que armazena todos os observadores registados
+    private static final GameEventListener<?>[] NO_LISTENERS = new GameEventListener<?>[0];
 
-    private GameEventManager() {  // Construtor privado para implementar Singleton
-        this.observers = new ArrayList<>();  // Inicializa lista de observadores vazia
+    private final GameEventListener<?>[][] listeners = new GameEventListener<?>[EventType.COUNT][];  // Subscritores por tipo
+    private final int[] dispatchDepth = new int[EventType.COUNT];  // Publicações em curso, por tipo
+    private final FrameProfiler profiler;  // Profiler da sessão (fase EVENTS)
+
+    // Registos reutilizados, um por tipo
+    private final ItemCollectedEvent itemCollected = new ItemCollectedEvent();
+    private final EnemyDefeatedEvent enemyDefeated = new EnemyDefeatedEvent();
+    private final RoomClearedEvent roomCleared = new RoomClearedEvent();
+    private final PlayerDamagedEvent playerDamaged = new PlayerDamagedEvent();
+    private final DoorUnlockedEvent doorUnlocked = new DoorUnlockedEvent();
+    private final RoomEnteredEvent roomEntered = new RoomEnteredEvent();
+
+    public GameEventManager(FrameProfiler profiler) {  // Um por sessão (ver GameSession)
+        this.profiler = profiler;
+        Arrays.fill(listeners, NO_LISTENERS);  // Nenhum tipo tem subscritores
     }
 
-    public static GameEventManager getInstance() {  // Método que garante apenas uma instância
-        if (instance == null) {  // Primeira vez que é chamado
-            instance = new GameEventManager();  // Cria a instância única
+    public <E> void subscribe(EventType<E> type, GameEventListener<? super E> listener) {  // Passa a receber eventos deste tipo
+        GameEventListener<?>[] current = listeners[type.getIndex()];
+        for (GameEventListener<?> existing : current) {
+            if (existing == listener) {
+                return;  // Evita duplicados
+            }
         }
-        return instance;  // Retorna a instância única
+        GameEventListener<?>[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners[type.getIndex()] = updated;
     }
 
-    public void addObserver(GameEventObserver observer) {  // Adiciona observador à lista
-        if (!observers.contains(observer)) {  // Evita duplicados
-            observers.add(observer);  // Adiciona à lista
+    public <E> void unsubscribe(EventType<E> type, GameEventListener<? super E> listener) {  // Deixa de receber eventos deste tipo
+        GameEventListener<?>[] current = listeners[type.getIndex()];
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                GameEventListener<?>[] updated = new GameEventListener<?>[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners[type.getIndex()] = updated.length == 0 ? NO_LISTENERS : updated;
+                return;
+            }
         }
     }
 
-    public void removeObserver(GameEventObserver observer) {  // Remove observador da lista
-        observers.remove(observer);  // Remove da lista
+    public boolean hasSubscribers(EventType<?> type) {  // Permite evitar preparar eventos que ninguém recebe
+        return listeners[type.getIndex()].length > 0;
     }
 
-    public void notifyItemCollected(Item item, Player player) {  // Notifica todos quando item é coletado
-        for (GameEventObserver observer : observers) {  // Percorre todos os observadores
-            observer.onItemCollected(item, player);  // Chama método do observador
+    @SuppressWarnings("unchecked")
+    public <E> void publish(EventType<E> type, E event) {  // Entrega o evento a todos os subscritores do tipo
+        GameEventListener<?>[] subscribers = listeners[type.getIndex()];  // Cópia estável durante a entrega
+        if (subscribers.length == 0) {
+            return;
+        }
+        profiler.begin(FrameProfiler.Phase.EVENTS);
+        dispatchDepth[type.getIndex()]++;
+        try {
+            for (int i = 0; i < subscribers.length; i++) {
+                ((GameEventListener<E>) subscribers[i]).onEvent(event);
+            }
+        } finally {
+            dispatchDepth[type.getIndex()]--;
+            profiler.end(FrameProfiler.Phase.EVENTS);
+        }
+    }
+
+    private boolean isDispatching(EventType<?> type) {  // O registo reutilizado deste tipo está a ser entregue
+        return dispatchDepth[type.getIndex()] > 0;
+    }
+
+    public void notifyItemCollected(Item item, Player player) {  // Notifica quando item é coletado
+        if (hasSubscribers(EventType.ITEM_COLLECTED)) {
+            ItemCollectedEvent event = isDispatching(EventType.ITEM_COLLECTED) ? new ItemCollectedEvent() : itemCollected;
+            publish(EventType.ITEM_COLLECTED, event.set(item, player));
         }
     }
 
     public void notifyEnemyDefeated(Enemy enemy, Player player) {  // Notifica quando inimigo é derrotado
-        for (GameEventObserver observer : observers) {  // Percorre observadores
-            observer.onEnemyDefeated(enemy, player);  // Executa callback
+        if (hasSubscribers(EventType.ENEMY_DEFEATED)) {
+            EnemyDefeatedEvent event = isDispatching(EventType.ENEMY_DEFEATED) ? new EnemyDefeatedEvent() : enemyDefeated;
+            publish(EventType.ENEMY_DEFEATED, event.set(enemy, player));
         }
     }
 
     public void notifyRoomCleared(Room room) {  // Notifica quando sala é limpa
-        for (GameEventObserver observer : observers) {  // Percorre observadores
-            observer.onRoomCleared(room);  // Invoca método de sala limpa
+        if (hasSubscribers(EventType.ROOM_CLEARED)) {
+            RoomClearedEvent event = isDispatching(EventType.ROOM_CLEARED) ? new RoomClearedEvent() : roomCleared;
+            publish(EventType.ROOM_CLEARED, event.set(room));
         }
     }
 
     public void notifyPlayerDamaged(Player player, int damage, Enemy attacker) {  // Notifica dano ao jogador
-        for (GameEventObserver observer : observers) {  // Itera observadores
-            observer.onPlayerDamaged(player, damage, attacker);  // Chama método de dano
+        if (hasSubscribers(EventType.PLAYER_DAMAGED)) {
+            PlayerDamagedEvent event = isDispatching(EventType.PLAYER_DAMAGED) ? new PlayerDamagedEvent() : playerDamaged;
+            publish(EventType.PLAYER_DAMAGED, event.set(player, damage, attacker));
         }
     }
 
     public void notifyDoorUnlocked(Door door, Player player) {  // Notifica porta desbloqueada
-        for (GameEventObserver observer : observers) {  // Percorre observadores
-            observer.onDoorUnlocked(door, player);  // Executa callback de porta
+        if (hasSubscribers(EventType.DOOR_UNLOCKED)) {
+            DoorUnlockedEvent event = isDispatching(EventType.DOOR_UNLOCKED) ? new DoorUnlockedEvent() : doorUnlocked;
+            publish(EventType.DOOR_UNLOCKED, event.set(door, player));
+        }
+    }
+
+    public void notifyRoomEntered(Room room, Player player) {  // Notifica a primeira entrada numa sala
+        if (hasSubscribers(EventType.ROOM_ENTERED)) {
+            RoomEnteredEvent event = isDispatching(EventType.ROOM_ENTERED) ? new RoomEnteredEvent() : roomEntered;
+            publish(EventType.ROOM_ENTERED, event.set(room, player));
         }
     }
 }
@@ -0,0 +1,19 @@
+package dungeon.core.events;  // Define o pacote onde as classes de eventos estão localizadas
+
+import dungeon.core.Item;
+import dungeon.core.Player;
+
+// Um item foi apanhado pelo jogador
+public final class ItemCollectedEvent {
+    private Item item;
+    private Player player;
+
+    ItemCollectedEvent set(Item item, Player player) {  // Preenchido pelo GameEventManager antes de publicar
+        this.item = item;
+        this.player = player;
+        return this;
+    }
+
+    public Item getItem() { return item; }
+    public Player getPlayer() { return player; }
+}
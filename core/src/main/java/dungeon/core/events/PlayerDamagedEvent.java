@@ -0,0 +1,22 @@
+package dungeon.core.events;  // Define o pacote onde as classes de eventos estão localizadas
+
+import dungeon.core.Enemy;
+import dungeon.core.Player;
+
+// O jogador recebeu dano de um inimigo
+public final class PlayerDamagedEvent {
+    private Player player;
+    private int damage;
+    private Enemy attacker;
+
+    PlayerDamagedEvent set(Player player, int damage, Enemy attacker) {  // Preenchido pelo GameEventManager antes de publicar
+        this.player = player;
+        this.damage = damage;
+        this.attacker = attacker;
+        return this;
+    }
+
+    public Player getPlayer() { return player; }
+    public int getDamage() { return damage; }
+    public Enemy getAttacker() { return attacker; }
+}
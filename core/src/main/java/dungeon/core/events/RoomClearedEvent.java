@@ -0,0 +1,15 @@
+package dungeon.core.events;  // Define o pacote onde as classes de eventos estão localizadas
+
+import dungeon.core.Room;
+
+// Todos os inimigos de uma sala foram eliminados
+public final class RoomClearedEvent {
+    private Room room;
+
+    RoomClearedEvent set(Room room) {  // Preenchido pelo GameEventManager antes de publicar
+        this.room = room;
+        return this;
+    }
+
+    public Room getRoom() { return room; }
+}
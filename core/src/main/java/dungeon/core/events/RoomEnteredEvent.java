@@ -0,0 +1,19 @@
+package dungeon.core.events;  // Define o pacote onde as classes de eventos estão localizadas
+
+import dungeon.core.Player;
+import dungeon.core.Room;
+
+// O jogador entrou numa sala pela primeira vez
+public final class RoomEnteredEvent {
+    private Room room;
+    private Player player;
+
+    RoomEnteredEvent set(Room room, Player player) {  // Preenchido pelo GameEventManager antes de publicar
+        this.room = room;
+        this.player = player;
+        return this;
+    }
+
+    public Room getRoom() { return room; }
+    public Player getPlayer() { return player; }
+}
@@ -1,53 +1,126 @@
 package dungeon.core.events;  // Define o pacote onde as classes de eventos estão localizadas
 
 import dungeon.core.*;  // Importa as classes principais do jogo
+import dungeon.core.content.ContentPack;  // Número de tipos de inimigos
+import dungeon.core.content.EnemyArchetype;  // Tipos de inimigos
+import dungeon.core.content.ItemArchetype;  // Tipos de itens
+import dungeon.core.stats.Histogram;  // Distribuições de dano e de tempo
+import dungeon.core.stats.RollingRate;  // Taxas do último minuto
+import java.util.concurrent.ConcurrentHashMap;  // Hora de entrada em cada sala
+import java.util.concurrent.TimeUnit;  // Conversão de unidades de tempo
+import java.util.concurrent.atomic.LongAdder;  // Contadores repartidos entre threads
+import java.util.function.LongSupplier;  // Relógio (substituível para testes e repetições)
 
-// Observador que gere o sistema de pontuação e estatísticas do jogo
-public class ScoreManager implements GameEventObserver {
-    private int totalEnemiesKilled;  // Contador total de inimigos eliminados
-    private int totalGoldCollected;  // Quantidade total de ouro coletado
-    private int totalItemsCollected;  // Número total de itens apanhados
-    private int roomsCleared;  // Número de salas totalmente limpas
-
-    public ScoreManager() {  // Construtor que inicializa todas as estatísticas
-        this.totalEnemiesKilled = 0;  // Inicia contador de inimigos em zero
-        this.totalGoldCollected = 0;  // Inicia contador de ouro em zero
-        this.totalItemsCollected = 0;  // Inicia contador de itens em zero
-        this.roomsCleared = 0;  // Inicia contador de salas em zero
-    }
-
-    @Override
-    public void onItemCollected(Item item, Player player) {  // Atualiza estatísticas quando item é coletado
-        totalItemsCollected++;  // Incrementa contador de itens
-        if (item.getType() == Item.ItemType.GOLD_COIN) {  // Verifica se é moeda de ouro
-            totalGoldCollected += item.getType().getValue();  // Adiciona valor ao total de ouro
+/**
+ * Subscritor que gere o sistema de pontuação e estatísticas do jogo.
+ * Os contadores são LongAdder e as taxas e histogramas usam arrays atómicos de tamanho fixo:
+ * os eventos podem chegar de várias threads (salas simuladas em paralelo) e a interface ou um
+ * exportador de métricas podem ler tudo a qualquer momento, sem bloqueios.
+ */
+public class ScoreManager {
+    private static final int RATE_BUCKETS = 12;  // Janela das taxas: 12 baldes de 5 segundos = 1 minuto
+    private static final long RATE_BUCKET_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final long MAX_DAMAGE = 1_000;  // Maior dano distinguido pelos histogramas
+    private static final long MAX_CLEAR_MILLIS = TimeUnit.HOURS.toMillis(1);  // Maior tempo de limpeza distinguido
+
+    private final LongAdder totalEnemiesKilled = new LongAdder();  // Contador total de inimigos eliminados
+    private final LongAdder totalGoldCollected = new LongAdder();  // Quantidade total de ouro coletado
+    private final LongAdder totalItemsCollected = new LongAdder();  // Número total de itens apanhados
+    private final LongAdder roomsCleared = new LongAdder();  // Número de salas totalmente limpas
+    private final LongAdder totalDamageTaken = new LongAdder();  // Dano total recebido pelo jogador
+
+    private final RollingRate killRate = new RollingRate(RATE_BUCKETS, RATE_BUCKET_NANOS);  // Inimigos no último minuto
+    private final RollingRate goldRate = new RollingRate(RATE_BUCKETS, RATE_BUCKET_NANOS);  // Ouro no último minuto
+
+    private final Histogram[] damageByEnemyType = new Histogram[ContentPack.getInstance().getEnemyCount()];  // Dano recebido por golpe
+    private final Histogram roomClearMillis = new Histogram(MAX_CLEAR_MILLIS);  // Tempo desde a entrada até limpar a sala
+    private final ConcurrentHashMap<Integer, Long> roomEnteredAt = new ConcurrentHashMap<>();  // Sala -> hora da primeira entrada
+
+    private final LongSupplier clock;  // Tempo em nanossegundos
+
+    // Subscrições guardadas para poderem ser canceladas (só os eventos que afetam as estatísticas)
+    private final GameEventListener<ItemCollectedEvent> itemCollectedListener = this::onItemCollected;
+    private final GameEventListener<EnemyDefeatedEvent> enemyDefeatedListener = this::onEnemyDefeated;
+    private final GameEventListener<RoomClearedEvent> roomClearedListener = this::onRoomCleared;
+    private final GameEventListener<RoomEnteredEvent> roomEnteredListener = this::onRoomEntered;
+    private final GameEventListener<PlayerDamagedEvent> playerDamagedListener = this::onPlayerDamaged;
+
+    public ScoreManager() {  // Construtor que usa o relógio do sistema
+        this(System::nanoTime);
+    }
+
+    public ScoreManager(LongSupplier clock) {  // Construtor com relógio próprio
+        this.clock = clock;
+        for (int i = 0; i < damageByEnemyType.length; i++) {
+            damageByEnemyType[i] = new Histogram(MAX_DAMAGE);
         }
     }
 
-    @Override
-    public void onEnemyDefeated(Enemy enemy, Player player) {  // Atualiza estatísticas quando inimigo é derrotado
-        totalEnemiesKilled++;  // Incrementa contador de inimigos eliminados
-        totalGoldCollected += enemy.getGoldValue();  // Adiciona ouro que o inimigo deixa cair
+    public void subscribe(GameEventManager events) {  // Começa a contar os eventos da partida
+        events.subscribe(EventType.ITEM_COLLECTED, itemCollectedListener);
+        events.subscribe(EventType.ENEMY_DEFEATED, enemyDefeatedListener);
+        events.subscribe(EventType.ROOM_CLEARED, roomClearedListener);
+        events.subscribe(EventType.ROOM_ENTERED, roomEnteredListener);
+        events.subscribe(EventType.PLAYER_DAMAGED, playerDamagedListener);
     }
 
-    @Override
-    public void onRoomCleared(Room room) {  // Atualiza estatísticas quando sala é limpa
-        roomsCleared++;  // Incrementa contador de salas limpas
+    public void unsubscribe(GameEventManager events) {  // Deixa de contar (ex: partida terminada)
+        events.unsubscribe(EventType.ITEM_COLLECTED, itemCollectedListener);
+        events.unsubscribe(EventType.ENEMY_DEFEATED, enemyDefeatedListener);
+        events.unsubscribe(EventType.ROOM_CLEARED, roomClearedListener);
+        events.unsubscribe(EventType.ROOM_ENTERED, roomEnteredListener);
+        events.unsubscribe(EventType.PLAYER_DAMAGED, playerDamagedListener);
+    }
+
+    private void onItemCollected(ItemCollectedEvent event) {  // Atualiza estatísticas quando item é coletado
+        totalItemsCollected.increment();  // Incrementa contador de itens
+        ItemArchetype type = event.getItem().getType();
+        if (type.getEffect() == ItemArchetype.Effect.GOLD) {  // Verifica se é ouro
+            addGold(type.getValue());  // Adiciona valor ao total de ouro
+        }
     }
 
-    @Override
-    public void onPlayerDamaged(Player player, int damage, Enemy attacker) {  // Método vazio pois não afeta pontuação
-        // Este evento não afeta a pontuação diretamente
+    private void onEnemyDefeated(EnemyDefeatedEvent event) {  // Atualiza estatísticas quando inimigo é derrotado
+        totalEnemiesKilled.increment();  // Incrementa contador de inimigos eliminados
+        killRate.add(1, clock.getAsLong());
+        addGold(event.getEnemy().getGoldValue());  // Adiciona ouro que o inimigo deixa cair
     }
 
-    @Override
-    public void onDoorUnlocked(Door door, Player player) {  // Método vazio pois não afeta pontuação
-        // Este evento não afeta a pontuação diretamente
+    private void addGold(int amount) {
+        totalGoldCollected.add(amount);
+        goldRate.add(amount, clock.getAsLong());
     }
 
-    // Métodos getter para aceder às estatísticas atuais
-    public int getTotalEnemiesKilled() { return totalEnemiesKilled; }  // Retorna inimigos eliminados
-    public int getTotalGoldCollected() { return totalGoldCollected; }  // Retorna ouro total
-    public int getTotalItemsCollected() { return totalItemsCollected; }  // Retorna itens coletados
-    public int getRoomsCleared() { return roomsCleared; }  // Retorna salas limpas
+    private void onRoomEntered(RoomEnteredEvent event) {  // Começa a contar o tempo até a sala ser limpa
+        roomEnteredAt.putIfAbsent(event.getRoom().getId(), clock.getAsLong());
+    }
+
+    private void onRoomCleared(RoomClearedEvent event) {  // Atualiza estatísticas quando sala é limpa
+        roomsCleared.increment();  // Incrementa contador de salas limpas
+        Long enteredAt = roomEnteredAt.remove(event.getRoom().getId());
+        if (enteredAt != null) {
+            roomClearMillis.record(TimeUnit.NANOSECONDS.toMillis(clock.getAsLong() - enteredAt));
+        }
+    }
+
+    private void onPlayerDamaged(PlayerDamagedEvent event) {  // Dano recebido, separado por tipo de atacante
+        totalDamageTaken.add(event.getDamage());
+        Enemy attacker = event.getAttacker();
+        if (attacker != null) {
+            damageByEnemyType[attacker.getType().getId()].record(event.getDamage());
+        }
+    }
+
+    // Métodos getter para aceder às estatísticas atuais (podem ser chamados de qualquer thread)
+    public int getTotalEnemiesKilled() { return totalEnemiesKilled.intValue(); }  // Retorna inimigos eliminados
+    public int getTotalGoldCollected() { return totalGoldCollected.intValue(); }  // Retorna ouro total
+    public int getTotalItemsCollected() { return totalItemsCollected.intValue(); }  // Retorna itens coletados
+    public int getRoomsCleared() { return roomsCleared.intValue(); }  // Retorna salas limpas
+    public long getTotalDamageTaken() { return totalDamageTaken.sum(); }  // Retorna dano total recebido
+
+    public double getKillsPerMinute() { return killRate.perMinute(clock.getAsLong()); }  // Inimigos no último minuto
+    public double getGoldPerMinute() { return goldRate.perMinute(clock.getAsLong()); }  // Ouro no último minuto
+
+    public Histogram getDamageTaken(EnemyArchetype type) { return damageByEnemyType[type.getId()]; }  // Dano por golpe deste tipo
+    public Histogram getRoomClearTime() { return roomClearMillis; }  // Milissegundos até limpar cada sala
 }
@@ -0,0 +1,70 @@
+package dungeon.core.factories;  // Define o pacote onde as factories estão localizadas
+
+import dungeon.core.*;  // Importa as classes principais do jogo
+import dungeon.core.content.ContentPack;  // Importa o pacote de conteúdos
+import dungeon.core.content.EnemyArchetype;  // Importa os tipos de inimigos
+import dungeon.core.content.RoomTemplate;  // Importa os modelos de salas
+import dungeon.core.tiles.TileMap;  // Importa o mapa de tiles (salas feitas de tiles)
+import dungeon.core.tiles.TileSet;  // Importa a grelha de tiles de uma imagem
+import java.util.Random;  // Gerador da sessão
+
+// Factory que cria as salas a partir dos modelos do pacote de conteúdos (content/*.txt)
+public class DataDrivenRoomFactory extends RoomFactory {
+    private final ContentPack content;  // Pacote com os modelos
+    private RoomTemplate template;  // Modelo da sala a ser criada (definido em buildRoom)
+
+    public DataDrivenRoomFactory(ContentPack content, Random random) {
+        super(random);  // Chama construtor da classe pai
+        this.content = content;
+    }
+
+    @Override
+    protected Room buildRoom(int id) {  // Cria a estrutura da sala com o fundo (ou os tiles) e o tamanho do modelo
+        template = content.getRoom(id);
+        if (template == null) {
+            throw new IllegalArgumentException("O pacote de conteúdos não tem a sala " + id);
+        }
+        Room room = template.getTileSet() != null ? new Room(id, buildTileMap())
+            : new Room(id, template.getBackground(), template.getWidth(), template.getHeight());
+        room.setRewards(template.getRewards(), template.getMinRewards(), template.getMaxRewards());
+        room.setType(template.getType());
+        return room;
+    }
+
+    private TileMap buildTileMap() {  // Copia as camadas do modelo para um mapa novo (cada sala pode mudar os seus tiles)
+        TileSet tileSet = new TileSet(template.getTileSet(), template.getTileSetColumns(), template.getTileSetRows());
+        TileMap map = new TileMap(tileSet, template.getTileColumns(), template.getTileRows(), template.getTileSize());
+        for (TileMap.Layer layer : TileMap.Layer.values()) {
+            for (int row = 0; row < map.getRows(); row++) {
+                for (int column = 0; column < map.getColumns(); column++) {
+                    map.setTile(layer, column, row, template.getTile(layer, column, row));
+                }
+            }
+        }
+        return map;
+    }
+
+    @Override
+    protected void populateWithEnemies(Room room) {  // Inimigos do modelo, cada um com a IA do seu tipo
+        for (int i = 0; i < template.getEnemyCount(); i++) {
+            EnemyArchetype type = template.getEnemy(i);
+            room.addEnemy(new Enemy(template.getEnemyX(i), template.getEnemyY(i), type, type.createStrategy()));
+        }
+    }
+
+    @Override
+    protected void populateWithItems(Room room) {  // Itens do modelo
+        for (int i = 0; i < template.getItemCount(); i++) {
+            room.addItem(new Item(template.getItemX(i), template.getItemY(i), template.getItem(i)));
+        }
+    }
+
+    @Override
+    protected void addDoors(Room room) {  // Portas do modelo
+        for (int i = 0; i < template.getDoorCount(); i++) {
+            Room.DoorPosition position = template.getDoorPosition(i);
+            room.setDoor(position, new Door(template.getDoorX(i), template.getDoorY(i), position,
+                template.getDoorTarget(i), template.isDoorLocked(i)));
+        }
+    }
+}
@@ -6,17 +6,26 @@ import java.util.Random;  // Para geração de elementos aleatórios
 
 // Classe abstrata que define o padrão Factory para criação de salas
 public abstract class RoomFactory {
-    protected Random random;  // Gerador de números aleatórios para variação nas salas
-    protected static final int SCREEN_WIDTH = 800;  // Largura padrão da tela
-    protected static final int SCREEN_HEIGHT = 600;  // Altura padrão da tela
+    protected final Random random;  // Gerador da sessão (semente da partida), partilhado pelas salas criadas
+    public static final int DEFAULT_ROOM_WIDTH = 800;  // Largura padrão de uma sala, em unidades de mundo
+    public static final int DEFAULT_ROOM_HEIGHT = 600;  // Altura padrão de uma sala, em unidades de mundo
+    protected final int roomWidth;  // Largura das salas criadas por esta factory (independente do ecrã)
+    protected final int roomHeight;  // Altura das salas criadas por esta factory (independente do ecrã)
 
-    public RoomFactory() {  // Construtor que inicializa o gerador aleatório
-        this.random = new Random();  // Cria novo gerador de números aleatórios
+    public RoomFactory(Random random) {  // Construtor com o gerador da sessão e o tamanho de sala padrão
+        this(DEFAULT_ROOM_WIDTH, DEFAULT_ROOM_HEIGHT, random);
+    }
+
+    public RoomFactory(int roomWidth, int roomHeight, Random random) {  // Construtor para salas de tamanho próprio
+        this.random = random;  // Recebido de quem cria as salas, para que a partida se repita com a mesma semente
+        this.roomWidth = roomWidth;  // A câmara trata de mostrar a parte visível
+        this.roomHeight = roomHeight;
     }
 
     // Método template que define o processo de criação de uma sala
     public final Room createRoom(int id) {  // Cria uma sala completa usando Template Method
         Room room = buildRoom(id);  // Cria a estrutura básica da sala
+        room.setRandom(random);  // Recompensas e saque dos inimigos usam o gerador da sessão
         populateWithEnemies(room);  // Adiciona inimigos específicos do tipo de sala
         populateWithItems(room);  // Adiciona itens específicos do tipo de sala
         addDoors(room);  // Adiciona portas de entrada e saída
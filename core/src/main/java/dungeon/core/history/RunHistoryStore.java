@@ -0,0 +1,346 @@
+package dungeon.core.history;  // Define o pacote do histórico de partidas
+
+import java.io.File;  // Ficheiro do histórico
+import java.io.IOException;  // Erros de leitura e escrita
+import java.nio.ByteBuffer;  // Registos binários
+import java.nio.MappedByteBuffer;  // Leitura do histórico inteiro ao abrir
+import java.nio.channels.FileChannel;  // Escritas e leituras por posição
+import java.nio.file.StandardOpenOption;  // Modo de abertura do ficheiro
+import java.util.ArrayList;  // Resultados das consultas
+import java.util.Arrays;  // Crescimento das colunas
+import java.util.List;  // Interface de lista
+import java.util.concurrent.ExecutionException;  // Erro ao carregar o índice
+import java.util.concurrent.ExecutorService;  // Thread de escrita
+import java.util.concurrent.Executors;  // Criação da thread
+import java.util.concurrent.Future;  // Fim do carregamento do índice
+import java.util.concurrent.TimeUnit;  // Espera pelas escritas pendentes ao fechar
+import java.util.function.IntToLongFunction;  // Chave de ordenação das consultas
+
+/**
+ * Histórico persistente das partidas terminadas.
+ *
+ * O ficheiro é um log binário só de acréscimo: um cabeçalho (MAGIC, VERSION) seguido de registos de
+ * RECORD_SIZE bytes, por isso o registo i está sempre na posição HEADER_SIZE + i * RECORD_SIZE e um
+ * registo incompleto (jogo fechado a meio de uma escrita) é simplesmente cortado ao abrir.
+ * Em memória fica só um índice compacto em colunas (ouro, inimigos, duração, semente e vitória,
+ * 25 bytes por partida); as consultas percorrem essas colunas (top-K com um heap de K posições) e
+ * leem do ficheiro apenas os registos devolvidos. Com milhões de partidas demoram poucos milissegundos.
+ *
+ * Abrir o ficheiro, construir o índice e escrever os registos acontece numa thread própria:
+ * append() nunca bloqueia a thread do jogo. As consultas esperam apenas se o índice ainda estiver
+ * a ser carregado.
+ */
+public class RunHistoryStore {
+    private static final int MAGIC = 0x4452554E;  // "DRUN"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;  // MAGIC + VERSION
+    private static final int RECORD_SIZE = 40;  // 3 long + 4 int
+    private static final int FLAG_VICTORY = 1;
+
+    private final File file;
+    private final ExecutorService writer;  // Única thread que escreve no ficheiro
+    private final Future<?> loaded;  // Carregamento do índice
+    private FileChannel channel;
+    private boolean ready;  // O ficheiro abriu e é válido (só usado na thread do histórico)
+
+    // Índice em colunas (protegido por this): posição i = registo i do ficheiro
+    private int count;
+    private int[] golds = new int[1024];
+    private int[] kills = new int[1024];
+    private long[] durations = new long[1024];
+    private long[] seeds = new long[1024];
+    private boolean[] victories = new boolean[1024];
+    private volatile int bestGold;  // Recorde de ouro, atualizado por index() (lido sem bloqueio pela thread do jogo)
+
+    public RunHistoryStore(File file) {
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "run-history");
+            thread.setDaemon(true);  // Não impede a aplicação de terminar
+            return thread;
+        });
+        this.loaded = writer.submit(() -> {
+            load();
+            ready = true;
+            return null;
+        });
+    }
+
+    // Abre o ficheiro (criando-o se preciso) e constrói o índice a partir dos registos
+    private void load() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            channel.truncate(0);
+            writeFully(header, 0);
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Ficheiro de histórico inválido: " + file);
+        }
+
+        int records = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+        long validSize = HEADER_SIZE + (long) records * RECORD_SIZE;
+        if (validSize != size) {
+            channel.truncate(validSize);  // Corta o registo incompleto
+        }
+        if (records == 0) {
+            return;
+        }
+
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, validSize - HEADER_SIZE);
+        synchronized (this) {
+            ensureCapacity(records);
+            for (int i = 0; i < records; i++) {
+                RunRecord record = decode(map, i * RECORD_SIZE);
+                index(record);
+            }
+        }
+    }
+
+    /**
+     * Acrescenta uma partida ao histórico. A escrita é feita na thread do histórico; o registo passa
+     * a aparecer nas consultas quando estiver no ficheiro.
+     */
+    public void append(RunRecord record) {
+        writer.submit(() -> {
+            if (!ready) {
+                return;  // O histórico não abriu: o erro é indicado pelas consultas
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+            encode(record, buffer);
+            buffer.flip();
+            int position;
+            synchronized (this) {
+                position = count;
+            }
+            try {
+                writeFully(buffer, HEADER_SIZE + (long) position * RECORD_SIZE);
+            } catch (IOException e) {
+                System.err.println("Erro ao guardar a partida no histórico: " + e.getMessage());
+                return;
+            }
+            synchronized (this) {
+                ensureCapacity(count + 1);
+                index(record);
+            }
+        });
+    }
+
+    public List<RunRecord> topByGold(int k) {  // As k partidas com mais ouro
+        return topK(k, i -> golds[i], true, false);
+    }
+
+    /*
+      Recorde de ouro das partidas já indexadas. Ao contrário das consultas, não espera pelo carregamento
+      nem lê o ficheiro, por isso pode ser chamado na thread do jogo (enquanto o índice carrega devolve
+      o recorde das partidas lidas até esse momento).
+     */
+    public int getBestGold() {
+        return bestGold;
+    }
+
+    public List<RunRecord> topByKills(int k) {  // As k partidas com mais inimigos derrotados
+        return topK(k, i -> kills[i], true, false);
+    }
+
+    public List<RunRecord> fastestVictories(int k) {  // As k vitórias mais rápidas
+        return topK(k, i -> durations[i], false, true);
+    }
+
+    public List<RunRecord> findBySeed(long seed) {  // Todas as partidas jogadas com esta semente, da mais antiga à mais recente
+        awaitLoaded();
+        int[] matches = new int[16];
+        int found = 0;
+        synchronized (this) {
+            for (int i = 0; i < count; i++) {
+                if (seeds[i] == seed) {
+                    if (found == matches.length) {
+                        matches = Arrays.copyOf(matches, found * 2);
+                    }
+                    matches[found++] = i;
+                }
+            }
+        }
+        return read(matches, found);
+    }
+
+    public synchronized int size() {  // Número de partidas no histórico (inclui as já escritas, não as pendentes)
+        return count;
+    }
+
+    // Seleciona as k melhores posições segundo a chave com um heap mínimo de k posições (O(n log k))
+    private List<RunRecord> topK(int k, IntToLongFunction key, boolean highest, boolean victoriesOnly) {
+        awaitLoaded();
+        int[] heap = new int[Math.max(k, 0)];
+        long[] heapKeys = new long[heap.length];  // Chave já com o sinal ajustado: o pior candidato fica na raiz
+        int size = 0;
+        synchronized (this) {
+            for (int i = 0; i < count && heap.length > 0; i++) {
+                if (victoriesOnly && !victories[i]) {
+                    continue;
+                }
+                long value = highest ? key.applyAsLong(i) : -key.applyAsLong(i);
+                if (size < heap.length) {
+                    heap[size] = i;
+                    heapKeys[size] = value;
+                    siftUp(heap, heapKeys, size++);
+                } else if (value > heapKeys[0]) {
+                    heap[0] = i;
+                    heapKeys[0] = value;
+                    siftDown(heap, heapKeys, size);
+                }
+            }
+        }
+
+        int[] ordered = new int[size];  // Retira do heap do pior para o melhor e inverte
+        for (int n = size; n > 0; n--) {
+            ordered[n - 1] = heap[0];
+            heap[0] = heap[n - 1];
+            heapKeys[0] = heapKeys[n - 1];
+            siftDown(heap, heapKeys, n - 1);
+        }
+        return read(ordered, size);
+    }
+
+    private static void siftUp(int[] heap, long[] keys, int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (keys[parent] <= keys[position]) {
+                return;
+            }
+            swap(heap, keys, parent, position);
+            position = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, long[] keys, int size) {
+        int position = 0;
+        while (true) {
+            int smallest = position;
+            int left = position * 2 + 1;
+            int right = left + 1;
+            if (left < size && keys[left] < keys[smallest]) smallest = left;
+            if (right < size && keys[right] < keys[smallest]) smallest = right;
+            if (smallest == position) {
+                return;
+            }
+            swap(heap, keys, smallest, position);
+            position = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, long[] keys, int a, int b) {
+        int index = heap[a];
+        heap[a] = heap[b];
+        heap[b] = index;
+        long key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+    }
+
+    // Lê do ficheiro os registos nas posições indicadas (leituras por posição podem ser feitas de qualquer thread)
+    private List<RunRecord> read(int[] positions, int length) {
+        List<RunRecord> records = new ArrayList<>(length);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        try {
+            for (int i = 0; i < length; i++) {
+                buffer.clear();
+                readFully(buffer, HEADER_SIZE + (long) positions[i] * RECORD_SIZE);
+                buffer.flip();
+                records.add(decode(buffer, 0));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao ler o histórico: " + file, e);
+        }
+        return records;
+    }
+
+    private void index(RunRecord record) {  // Acrescenta o registo às colunas (com this bloqueado)
+        golds[count] = record.getGold();
+        kills[count] = record.getEnemiesKilled();
+        durations[count] = record.getDurationMillis();
+        seeds[count] = record.getSeed();
+        victories[count] = record.isVictory();
+        count++;
+        if (record.getGold() > bestGold) {
+            bestGold = record.getGold();
+        }
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= golds.length) {
+            return;
+        }
+        int capacity = Math.max(needed, golds.length * 2);
+        golds = Arrays.copyOf(golds, capacity);
+        kills = Arrays.copyOf(kills, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        seeds = Arrays.copyOf(seeds, capacity);
+        victories = Arrays.copyOf(victories, capacity);
+    }
+
+    private static void encode(RunRecord record, ByteBuffer buffer) {
+        buffer.putLong(record.getEndedAt());
+        buffer.putLong(record.getSeed());
+        buffer.putLong(record.getDurationMillis());
+        buffer.putInt(record.getGold());
+        buffer.putInt(record.getEnemiesKilled());
+        buffer.putInt(record.getRoomsCleared());
+        buffer.putInt(record.isVictory() ? FLAG_VICTORY : 0);
+    }
+
+    private static RunRecord decode(ByteBuffer buffer, int offset) {
+        return new RunRecord(buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16),
+            buffer.getInt(offset + 24), buffer.getInt(offset + 28), buffer.getInt(offset + 32),
+            (buffer.getInt(offset + 36) & FLAG_VICTORY) != 0);
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Fim inesperado do histórico: " + file);
+            }
+            position += read;
+        }
+    }
+
+    private void awaitLoaded() {
+        try {
+            loaded.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carregamento do histórico interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro ao abrir o histórico: " + file, e.getCause());
+        }
+    }
+
+    public void close() {  // Espera pelas escritas pendentes e fecha o ficheiro
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Erro ao fechar o histórico: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package dungeon.core.history;  // Define o pacote do histórico de partidas
+
+/**
+ * Resultado de uma partida terminada, tal como fica guardado no histórico.
+ */
+public final class RunRecord {
+    private final long endedAt;  // Hora do fim da partida (milissegundos desde 1970)
+    private final long seed;  // Semente do dungeon jogado
+    private final long durationMillis;  // Tempo de jogo, sem as pausas
+    private final int gold;
+    private final int enemiesKilled;
+    private final int roomsCleared;
+    private final boolean victory;
+
+    public RunRecord(long endedAt, long seed, long durationMillis, int gold, int enemiesKilled,
+                     int roomsCleared, boolean victory) {
+        this.endedAt = endedAt;
+        this.seed = seed;
+        this.durationMillis = durationMillis;
+        this.gold = gold;
+        this.enemiesKilled = enemiesKilled;
+        this.roomsCleared = roomsCleared;
+        this.victory = victory;
+    }
+
+    public long getEndedAt() { return endedAt; }
+    public long getSeed() { return seed; }
+    public long getDurationMillis() { return durationMillis; }
+    public int getGold() { return gold; }
+    public int getEnemiesKilled() { return enemiesKilled; }
+    public int getRoomsCleared() { return roomsCleared; }
+    public boolean isVictory() { return victory; }
+
+    @Override
+    public String toString() {
+        return (victory ? "Vitória" : "Derrota") + " seed=" + seed + " ouro=" + gold + " inimigos=" + enemiesKilled
+            + " salas=" + roomsCleared + " tempo=" + durationMillis + "ms";
+    }
+}
@@ -0,0 +1,48 @@
+package dungeon.core.input;  // Define o pacote do sistema de input
+
+import com.badlogic.gdx.Input;  // Códigos das teclas e dos botões do rato
+
+/**
+ * Associação entre teclas/botões do rato e ações do jogo.
+ * Guardada em arrays indexados pelo código da tecla, por isso traduzir um evento é só um acesso.
+ * Várias teclas podem produzir a mesma ação (ex: W e seta para cima).
+ */
+public class ActionMap {
+    private final GameAction[] keys = new GameAction[Input.Keys.MAX_KEYCODE + 1];  // Código da tecla -> ação
+    private final GameAction[] buttons = new GameAction[Input.Buttons.FORWARD + 1];  // Botão do rato -> ação
+
+    public static ActionMap defaults() {  // Teclas do jogo original
+        ActionMap map = new ActionMap();
+        map.bindKey(Input.Keys.W, GameAction.MOVE_UP);
+        map.bindKey(Input.Keys.UP, GameAction.MOVE_UP);
+        map.bindKey(Input.Keys.S, GameAction.MOVE_DOWN);
+        map.bindKey(Input.Keys.DOWN, GameAction.MOVE_DOWN);
+        map.bindKey(Input.Keys.A, GameAction.MOVE_LEFT);
+        map.bindKey(Input.Keys.LEFT, GameAction.MOVE_LEFT);
+        map.bindKey(Input.Keys.D, GameAction.MOVE_RIGHT);
+        map.bindKey(Input.Keys.RIGHT, GameAction.MOVE_RIGHT);
+        map.bindKey(Input.Keys.SPACE, GameAction.ATTACK);
+        map.bindButton(Input.Buttons.LEFT, GameAction.ATTACK);
+        map.bindKey(Input.Keys.ESCAPE, GameAction.PAUSE);
+        map.bindKey(Input.Keys.ENTER, GameAction.CONFIRM);
+        map.bindKey(Input.Keys.F3, GameAction.TOGGLE_PROFILER);
+        map.bindKey(Input.Keys.F4, GameAction.TOGGLE_PROFILER_RECORDING);
+        return map;
+    }
+
+    public void bindKey(int keycode, GameAction action) {  // action null remove a associação
+        keys[keycode] = action;
+    }
+
+    public void bindButton(int button, GameAction action) {
+        buttons[button] = action;
+    }
+
+    public GameAction getKeyAction(int keycode) {  // null se a tecla não tiver ação
+        return keycode >= 0 && keycode < keys.length ? keys[keycode] : null;
+    }
+
+    public GameAction getButtonAction(int button) {
+        return button >= 0 && button < buttons.length ? buttons[button] : null;
+    }
+}
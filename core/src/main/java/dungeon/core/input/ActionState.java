@@ -0,0 +1,74 @@
+package dungeon.core.input;  // Define o pacote do sistema de input
+
+/**
+ * Estado das ações simuladas durante um tick, preenchido pela InputTimeline.
+ * Além de saber se uma ação está ativa, guarda durante quanto tempo do tick esteve ativa
+ * (uma tecla premida a meio do tick move o jogador só durante a parte que falta) e quantas
+ * vezes foi premida (um toque curto entre dois frames conta como pressão).
+ */
+public class ActionState {
+    private final long tickNanos;
+    private final int[] holders = new int[GameAction.VALUES.length];  // Teclas/botões que mantêm a ação ativa
+    private final int[] presses = new int[GameAction.VALUES.length];  // Pressões neste tick
+    private final long[] heldNanos = new long[GameAction.VALUES.length];  // Tempo ativo neste tick
+    private final long[] heldFrom = new long[GameAction.VALUES.length];  // Início da parte ativa, relativo ao tick
+
+    ActionState(long tickNanos) {
+        this.tickNanos = tickNanos;
+    }
+
+    void beginTick() {  // Esquece as pressões e os tempos do tick anterior
+        for (int i = 0; i < holders.length; i++) {
+            presses[i] = 0;
+            heldNanos[i] = 0;
+        }
+    }
+
+    // Aplica um evento; offset é o instante dentro do tick, silent não conta como pressão
+    void apply(GameAction action, boolean down, long offset, boolean silent) {
+        int i = action.ordinal();
+        if (down) {
+            if (holders[i]++ == 0) {
+                heldFrom[i] = offset;
+            }
+            if (!silent) {
+                presses[i]++;
+            }
+        } else if (holders[i] > 0 && --holders[i] == 0) {
+            heldNanos[i] += offset - heldFrom[i];
+        }
+    }
+
+    void endTick() {  // Conta o resto do tick para as ações que continuam ativas
+        for (int i = 0; i < holders.length; i++) {
+            if (holders[i] > 0) {
+                heldNanos[i] += tickNanos - heldFrom[i];
+                heldFrom[i] = 0;  // No próximo tick estão ativas desde o início
+            }
+        }
+    }
+
+    void releaseAll() {
+        for (int i = 0; i < holders.length; i++) {
+            holders[i] = 0;
+            presses[i] = 0;
+            heldNanos[i] = 0;
+        }
+    }
+
+    public boolean isHeld(GameAction action) {  // Ativa no fim do tick
+        return holders[action.ordinal()] > 0;
+    }
+
+    public boolean wasPressed(GameAction action) {  // Premida pelo menos uma vez durante o tick
+        return presses[action.ordinal()] > 0;
+    }
+
+    public float getHeldFraction(GameAction action) {  // Parte do tick (0 a 1) em que a ação esteve ativa
+        return (float) heldNanos[action.ordinal()] / tickNanos;
+    }
+
+    public float getAxis(GameAction negative, GameAction positive) {  // Entre -1 e 1 (ex: esquerda/direita)
+        return getHeldFraction(positive) - getHeldFraction(negative);
+    }
+}
@@ -0,0 +1,30 @@
+package dungeon.core.input;  // Define o pacote do sistema de input
+
+/**
+ * Ações do jogador, independentes das teclas que as produzem (ver ActionMap).
+ * As ações simuladas passam pela fila de eventos e são entregues ao tick a que pertencem
+ * (e gravadas nas repetições); as restantes são atalhos da interface, lidos uma vez por frame.
+ */
+public enum GameAction {
+    MOVE_UP(true),
+    MOVE_DOWN(true),
+    MOVE_LEFT(true),
+    MOVE_RIGHT(true),
+    ATTACK(true),
+    PAUSE(false),  // Pausa / continua
+    CONFIRM(false),  // Recomeçar nos ecrãs de fim de partida
+    TOGGLE_PROFILER(false),  // Overlay do profiler
+    TOGGLE_PROFILER_RECORDING(false);  // Gravação das amostras do profiler em CSV
+
+    static final GameAction[] VALUES = values();  // Cópia única (values() cria um array novo a cada chamada)
+
+    private final boolean simulated;
+
+    GameAction(boolean simulated) {
+        this.simulated = simulated;
+    }
+
+    public boolean isSimulated() {  // A ação faz parte da simulação (e das repetições)
+        return simulated;
+    }
+}
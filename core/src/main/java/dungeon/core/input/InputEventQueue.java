@@ -0,0 +1,70 @@
+package dungeon.core.input;  // Define o pacote do sistema de input
+
+import java.util.concurrent.atomic.AtomicLong;  // Posições de leitura e escrita publicadas entre threads
+
+/**
+ * Fila circular sem bloqueios de um produtor (quem recebe os eventos do sistema) para um
+ * consumidor (a simulação). Cada evento é um instante em nanossegundos e um código
+ * (ação e tecla premida/largada, ver InputTimeline). Não aloca depois de criada.
+ *
+ * O consumidor pode espreitar o instante do próximo evento sem o retirar: os eventos que
+ * pertencem a um tick ainda por simular ficam na fila até lá.
+ * Se a fila encher (simulação parada durante muito tempo) os eventos novos são descartados e contados.
+ */
+public class InputEventQueue {
+    private final long[] times;
+    private final int[] codes;
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong();  // Próximo a ler (só o consumidor escreve)
+    private final AtomicLong tail = new AtomicLong();  // Próximo a escrever (só o produtor escreve)
+    private long cachedHead;  // Última posição de leitura vista pelo produtor
+    private volatile long dropped;  // Eventos perdidos por a fila estar cheia
+
+    public InputEventQueue(int capacity) {  // A capacidade é arredondada para uma potência de 2
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        times = new long[size];
+        codes = new int[size];
+        mask = size - 1;
+    }
+
+    // Produtor
+
+    public boolean offer(long time, int code) {
+        long t = tail.get();
+        if (t - cachedHead == times.length) {
+            cachedHead = head.get();
+            if (t - cachedHead == times.length) {
+                dropped++;  // Só o produtor escreve
+                return false;
+            }
+        }
+        int slot = (int) t & mask;
+        times[slot] = time;
+        codes[slot] = code;
+        tail.lazySet(t + 1);  // Publica o evento depois de escrito
+        return true;
+    }
+
+    // Consumidor
+
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    public long peekTime() {  // Instante do próximo evento; Long.MAX_VALUE se a fila estiver vazia
+        long h = head.get();
+        return h == tail.get() ? Long.MAX_VALUE : times[(int) h & mask];
+    }
+
+    public int poll() {  // Retira o próximo evento e devolve o seu código (a fila não pode estar vazia)
+        long h = head.get();
+        int code = codes[(int) h & mask];
+        head.lazySet(h + 1);  // Liberta a posição para o produtor
+        return code;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+}
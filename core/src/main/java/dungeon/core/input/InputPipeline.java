@@ -0,0 +1,70 @@
+package dungeon.core.input;  // Define o pacote do sistema de input
+
+import com.badlogic.gdx.Gdx;  // Instante de cada evento
+import com.badlogic.gdx.InputAdapter;  // Recebe os eventos de teclado e rato à medida que chegam
+import java.util.concurrent.atomic.AtomicIntegerArray;  // Pressões dos atalhos por consumir
+
+/**
+ * Ponto de entrada dos eventos do sistema (registado com Gdx.input.setInputProcessor).
+ * Em vez de perguntar ao teclado uma vez por frame se uma tecla está premida, cada evento é
+ * traduzido pelo ActionMap e guardado com o instante em que chegou:
+ * - ações simuladas vão para a InputEventQueue, que a InputTimeline entrega tick a tick;
+ * - atalhos da interface (pausa, profiler) só contam pressões, lidas por consumePress().
+ * Uma tecla premida e largada dentro do mesmo frame já não se perde.
+ */
+public class InputPipeline extends InputAdapter {
+    private static final int QUEUE_CAPACITY = 256;  // Vários segundos de eventos
+
+    private final ActionMap actions;
+    private final InputEventQueue queue = new InputEventQueue(QUEUE_CAPACITY);
+    private final AtomicIntegerArray presses = new AtomicIntegerArray(GameAction.VALUES.length);  // Pressões de atalhos
+
+    public InputPipeline(ActionMap actions) {
+        this.actions = actions;
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+        return dispatch(actions.getKeyAction(keycode), true);
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        return dispatch(actions.getKeyAction(keycode), false);
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        return dispatch(actions.getButtonAction(button), true);
+    }
+
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        return dispatch(actions.getButtonAction(button), false);
+    }
+
+    private boolean dispatch(GameAction action, boolean down) {
+        if (action == null) {
+            return false;  // Outro processador pode tratar a tecla
+        }
+        if (action.isSimulated()) {
+            queue.offer(eventTime(), InputTimeline.encode(action, down, false));
+        } else if (down) {
+            presses.incrementAndGet(action.ordinal());
+        }
+        return true;
+    }
+
+    private static long eventTime() {  // Instante em que o backend recebeu o evento (mesmo relógio que System.nanoTime)
+        long time = Gdx.input.getCurrentEventTime();
+        return time != 0 ? time : System.nanoTime();
+    }
+
+    public boolean consumePress(GameAction action) {  // true se o atalho foi premido desde a última leitura
+        return presses.getAndSet(action.ordinal(), 0) > 0;
+    }
+
+    public InputEventQueue getQueue() {
+        return queue;
+    }
+}
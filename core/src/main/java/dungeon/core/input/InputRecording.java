@@ -0,0 +1,92 @@
+package dungeon.core.input;  // Define o pacote do sistema de input
+
+import java.io.BufferedInputStream;  // Leitura com buffer
+import java.io.BufferedOutputStream;  // Escrita com buffer
+import java.io.DataInputStream;  // Leitura dos valores binários
+import java.io.DataOutputStream;  // Escrita dos valores binários
+import java.io.File;  // Ficheiro da gravação
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;  // Erros de leitura e escrita
+import java.util.Arrays;  // Crescimento dos arrays
+
+/**
+ * Eventos de input de uma partida, na ordem em que foram entregues à simulação.
+ * Cada evento guarda o tick, o instante dentro do tick e o código (ver InputTimeline), e não a hora
+ * real: repetir a gravação entrega exatamente os mesmos eventos aos mesmos ticks, seja qual for o
+ * frame rate da máquina. A gravação guarda também a semente do dungeon (DungeonManager.getSeed):
+ * a repetição recria a partida com ela, para que as recompensas e o saque sejam os mesmos.
+ *
+ * Ficheiro: MAGIC, VERSION, duração do tick em nanossegundos, semente e número de eventos, seguidos de
+ * 12 bytes por evento (tick, instante, código).
+ */
+public class InputRecording {
+    private static final int MAGIC = 0x44494E50;  // "DINP"
+    private static final int VERSION = 2;  // 2: semente do dungeon no cabeçalho
+
+    private final long seed;  // Semente da partida gravada
+    private int count;
+    private int[] ticks = new int[256];
+    private int[] offsets = new int[256];
+    private int[] codes = new int[256];
+
+    public InputRecording(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    void add(int tick, long offset, int code) {
+        if (count == ticks.length) {
+            ticks = Arrays.copyOf(ticks, count * 2);
+            offsets = Arrays.copyOf(offsets, count * 2);
+            codes = Arrays.copyOf(codes, count * 2);
+        }
+        ticks[count] = tick;
+        offsets[count] = (int) offset;  // Sempre menor que um tick
+        codes[count] = code;
+        count++;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    int getTick(int index) { return ticks[index]; }
+    int getOffset(int index) { return offsets[index]; }
+    int getCode(int index) { return codes[index]; }
+
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(InputTimeline.TICK_NANOS);
+            out.writeLong(seed);
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                out.writeInt(ticks[i]);
+                out.writeInt(offsets[i]);
+                out.writeInt(codes[i]);
+            }
+        }
+    }
+
+    public static InputRecording load(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Ficheiro de gravação inválido: " + file);
+            }
+            if (in.readLong() != InputTimeline.TICK_NANOS) {
+                throw new IOException("Gravação feita com outra duração de tick: " + file);
+            }
+            InputRecording recording = new InputRecording(in.readLong());
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                recording.add(in.readInt(), in.readInt(), in.readInt());
+            }
+            return recording;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package dungeon.core.input;  // Define o pacote do sistema de input
+
+/**
+ * Entrega os eventos de input à simulação, tick a tick.
+ * A simulação avança em ticks de duração fixa (TICK_NANOS); antes de cada tick, advance() retira da
+ * fila os eventos que chegaram antes do fim desse tick e aplica-os ao ActionState no instante em que
+ * aconteceram. Os eventos mais recentes ficam na fila para o tick seguinte.
+ *
+ * Os eventos entregues podem ser gravados (InputRecording) e, em modo de repetição, os eventos vêm
+ * da gravação em vez da fila: como os ticks têm duração fixa, a simulação recebe o mesmo input
+ * nos mesmos ticks.
+ */
+public class InputTimeline {
+    public static final long TICK_NANOS = 1_000_000_000L / 60;  // 60 ticks por segundo
+    public static final float TICK_SECONDS = TICK_NANOS / 1e9f;
+
+    // Código de um evento: ordinal da ação << 2 | DOWN | SILENT
+    private static final int DOWN = 1;
+    private static final int SILENT = 2;  // Muda o estado mas não conta como pressão (ex: tecla premida durante a pausa)
+
+    private final InputEventQueue queue;
+    private final ActionState state = new ActionState(TICK_NANOS);
+    private int tick;  // Ticks entregues desde o início da partida
+
+    private InputRecording recording;  // Gravação em curso (null = não grava)
+    private InputRecording replay;  // Gravação a repetir (null = input real)
+    private int replayCursor;
+
+    public InputTimeline(InputEventQueue queue) {
+        this.queue = queue;
+    }
+
+    static int encode(GameAction action, boolean down, boolean silent) {
+        return action.ordinal() << 2 | (down ? DOWN : 0) | (silent ? SILENT : 0);
+    }
+
+    // Prepara o estado do tick que começa em tickStart (nanossegundos, relógio de System.nanoTime)
+    public ActionState advance(long tickStart) {
+        long tickEnd = tickStart + TICK_NANOS;
+        state.beginTick();
+        if (replay != null) {
+            discardUntil(tickEnd);  // O input real é ignorado durante a repetição
+            while (replayCursor < replay.size() && replay.getTick(replayCursor) == tick) {
+                apply(replay.getOffset(replayCursor), replay.getCode(replayCursor));
+                replayCursor++;
+            }
+        } else {
+            while (queue.peekTime() < tickEnd) {
+                long offset = Math.max(0, queue.peekTime() - tickStart);  // Eventos atrasados contam no início do tick
+                deliver(offset, queue.poll());
+            }
+        }
+        state.endTick();
+        tick++;
+        return state;
+    }
+
+    // Aplica os eventos até time sem simular (pausa, frames perdidos): as teclas ficam no estado certo,
+    // mas as pressões feitas entretanto não chegam à simulação
+    public void skipUntil(long time) {
+        if (replay != null) {
+            discardUntil(time);
+            return;
+        }
+        while (queue.peekTime() < time) {
+            deliver(0, queue.poll() | SILENT);
+        }
+    }
+
+    private void deliver(long offset, int code) {
+        apply(offset, code);
+        if (recording != null) {
+            recording.add(tick, offset, code);
+        }
+    }
+
+    private void apply(long offset, int code) {
+        state.apply(GameAction.VALUES[code >>> 2], (code & DOWN) != 0, offset, (code & SILENT) != 0);
+    }
+
+    private void discardUntil(long time) {
+        while (queue.peekTime() < time) {
+            queue.poll();
+        }
+    }
+
+    public void restart(long seed) {  // Partida nova (com esta semente): os ticks voltam a contar do zero
+        tick = 0;
+        replayCursor = 0;
+        state.releaseAll();
+        if (recording != null) {
+            recording = new InputRecording(seed);
+        }
+    }
+
+    public void startRecording(long seed) {  // Grava os eventos entregues a partir do próximo tick
+        recording = new InputRecording(seed);
+        for (GameAction action : GameAction.VALUES) {
+            if (action.isSimulated() && state.isHeld(action)) {
+                recording.add(tick, 0, encode(action, true, true));  // Teclas já premidas
+            }
+        }
+    }
+
+    public InputRecording getRecording() {
+        return recording;
+    }
+
+    public void startReplay(InputRecording replay) {  // Repete a gravação desde o início (chamar com tick = 0)
+        this.replay = replay;
+        replayCursor = 0;
+        state.releaseAll();
+    }
+
+    public InputRecording getReplay() {  // Gravação a repetir (null = input real)
+        return replay;
+    }
+
+    public boolean isReplaying() {
+        return replay != null && replayCursor < replay.size();
+    }
+
+    public int getTick() {
+        return tick;
+    }
+}
@@ -1,7 +1,139 @@
 package dungeon.core.logic;
 
+import dungeon.core.DungeonManager;
+import dungeon.core.Player;
+import dungeon.core.Room;
+import dungeon.core.input.ActionState;
+import dungeon.core.input.GameAction;
+import dungeon.core.input.InputRecording;
+import dungeon.core.input.InputTimeline;
+import dungeon.core.player.HitResult;
+import dungeon.core.player.PlayerController;
+import dungeon.core.profiling.FrameProfiler;
+
+/**
+ * Fase de atualização do ecrã de jogo.
+ * Move o jogador, avança o DungeonManager (IA, colisões, portas), resolve os ataques do jogador
+ * contra os inimigos da sala atual e decide quando a partida acaba.
+ *
+ * A simulação avança em ticks fixos de InputTimeline.TICK_SECONDS, independentes do frame rate: cada
+ * frame corre os ticks que já terminaram, e cada tick recebe só o input que aconteceu durante ele.
+ * O mesmo input produz sempre os mesmos ticks, o que permite repetir partidas gravadas.
+ */
 public class GameplayLogicController {
-    public void updateGameLogic(float delta) {
-        // Código que trata da lógica geral do jogo: atualizações, eventos, etc.
+    // Estado da partida
+    public enum State {
+        PLAYING, GAME_OVER, VICTORY
+    }
+
+    // Quem quer reagir aos momentos importantes da partida (sons, mensagens)
+    public interface Listener {
+        void onAttack(int enemiesHit);
+        void onGameOver();
+        void onVictory();
+    }
+
+    private static final int MAX_TICKS_PER_FRAME = 5;  // Depois de uma paragem maior, o tempo parado não é simulado
+
+    private final DungeonManager dungeon;
+    private final Listener listener;
+    private final InputTimeline input;  // Input entregue tick a tick
+    private final FrameProfiler profiler;  // O da sessão do dungeon
+
+    private PlayerController playerController;
+    private State state = State.PLAYING;
+    private float playTime;  // Segundos de jogo da partida atual (sem pausas)
+    private long nextTick = -1;  // Início do próximo tick (System.nanoTime); -1 = relógio por acertar
+
+    public GameplayLogicController(DungeonManager dungeon, InputTimeline input, Listener listener) {
+        this.dungeon = dungeon;
+        this.input = input;
+        this.listener = listener;
+        this.profiler = dungeon.getSession().getProfiler();
+        this.playerController = new PlayerController(dungeon.getPlayer());
+    }
+
+    // Corre os ticks que terminaram desde o último frame (o ecrã não chama durante a pausa)
+    public void updateGameLogic() {
+        if (state != State.PLAYING) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (nextTick < 0 || now - nextTick > MAX_TICKS_PER_FRAME * InputTimeline.TICK_NANOS) {
+            input.skipUntil(now);  // Primeiro frame, fim da pausa ou paragem longa
+            nextTick = now;
+        }
+        // Um tick só corre depois de acabar, quando todos os seus eventos já chegaram
+        while (state == State.PLAYING && now - nextTick >= InputTimeline.TICK_NANOS) {
+            tick(nextTick);
+            nextTick += InputTimeline.TICK_NANOS;
+        }
+    }
+
+    private void tick(long tickStart) {
+        float delta = InputTimeline.TICK_SECONDS;
+        playTime += delta;
+        Player player = dungeon.getPlayer();
+
+        // Input do tick e movimento do jogador (o DungeonManager mede o resto da fase de input ao atualizar o jogador)
+        profiler.begin(FrameProfiler.Phase.INPUT);
+        ActionState actions = input.advance(tickStart);
+        if (actions.wasPressed(GameAction.ATTACK)) {
+            player.getCombat().requestAttack();  // Sai neste tick ou fica guardado até acabar o intervalo entre ataques
+        }
+        player.savePreviousPosition();  // Início do movimento testado contra as portas
+        playerController.processInput(actions, dungeon.getCurrentRoom(), delta);
+        profiler.end(FrameProfiler.Phase.INPUT);
+
+        // Jogador, inimigos, itens, portas e mudança de sala
+        dungeon.update(delta);
+
+        player = dungeon.getPlayer();
+        if (player.getCombat().consumeAttack()) {
+            resolveAttack(player);
+        }
+
+        // Fim da partida
+        if (player.isDead()) {
+            state = State.GAME_OVER;
+            listener.onGameOver();
+        } else if (isBossRoomCleared(dungeon.getCurrentRoom())) {
+            state = State.VICTORY;
+            listener.onVictory();
+        }
+    }
+
+    // Vencer é limpar uma sala do tipo BOSS (definido no modelo da sala, em content/rooms.txt)
+    private static boolean isBossRoomCleared(Room room) {
+        return room.getType() == Room.RoomType.BOSS && room.isCleared();
+    }
+
+    // Aplica o golpe do jogador aos inimigos da sala atual (ver PlayerCombatComponent.resolveAttack)
+    private void resolveAttack(Player player) {
+        HitResult hits = player.getCombat().resolveAttack(dungeon.getCurrentRoom());
+        listener.onAttack(hits.getCount());
+    }
+
+    // Recomeça a partida com um dungeon novo (numa repetição, com a semente da gravação)
+    public void restart() {
+        InputRecording replay = input.getReplay();
+        if (replay != null) {
+            dungeon.reset(replay.getSeed());
+        } else {
+            dungeon.reset();
+        }
+        playerController = new PlayerController(dungeon.getPlayer());  // O DungeonManager criou um jogador novo
+        state = State.PLAYING;
+        playTime = 0;
+        input.restart(dungeon.getSeed());  // Os ticks da partida nova contam do zero (uma repetição recomeça)
+        nextTick = -1;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public float getPlayTime() {
+        return playTime;
     }
 }
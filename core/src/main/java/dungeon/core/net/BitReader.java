@@ -0,0 +1,61 @@
+package dungeon.core.net;  // Define o pacote do jogo em rede
+
+import java.nio.BufferUnderflowException;  // Estado mais curto do que o seu conteúdo
+import java.nio.ByteBuffer;  // Origem dos bits
+
+/**
+ * Lê os campos escritos por BitWriter, pela mesma ordem e com as mesmas larguras.
+ * Lê 32 bits de cada vez enquanto o buffer os tiver e byte a byte no fim.
+ */
+final class BitReader {
+    private ByteBuffer buffer;
+    private long bits;  // Os count bits menos significativos ainda não foram lidos
+    private int count;
+
+    void reset(ByteBuffer buffer) {
+        this.buffer = buffer;
+        bits = 0;
+        count = 0;
+    }
+
+    int read(int width) {  // width entre 1 e 32
+        if (count < width) {
+            refill(width);
+        }
+        count -= width;
+        return (int) (bits >>> count & (1L << width) - 1);
+    }
+
+    private void refill(int width) {
+        if (buffer.remaining() >= 4) {
+            bits = bits << 32 | buffer.getInt() & 0xFFFFFFFFL;  // count < 32, cabe no long
+            count += 32;
+            return;
+        }
+        while (count < width) {
+            if (!buffer.hasRemaining()) {
+                throw new BufferUnderflowException();
+            }
+            bits = bits << 8 | buffer.get() & 0xFF;
+            count += 8;
+        }
+    }
+
+    boolean readBoolean() {
+        return read(1) != 0;
+    }
+
+    int readVarUnsigned() {
+        switch (read(2)) {
+            case 0: return read(4);
+            case 1: return read(8);
+            case 2: return read(16);
+            default: return read(32);
+        }
+    }
+
+    int readVarSigned() {
+        int zigzag = readVarUnsigned();
+        return zigzag >>> 1 ^ -(zigzag & 1);
+    }
+}
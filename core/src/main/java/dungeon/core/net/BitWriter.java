@@ -0,0 +1,63 @@
+package dungeon.core.net;  // Define o pacote do jogo em rede
+
+import java.nio.ByteBuffer;  // Destino dos bits
+
+/**
+ * Escreve campos com um número qualquer de bits num ByteBuffer, do bit mais significativo para o
+ * menos significativo. Os bits acumulam num long e saem 32 de cada vez; finish() escreve o resto,
+ * completando o último byte com zeros. Reutilizado entre estados (reset), sem alocações.
+ */
+final class BitWriter {
+    private ByteBuffer buffer;
+    private long bits;  // Os count bits menos significativos ainda não foram escritos
+    private int count;
+
+    void reset(ByteBuffer buffer) {
+        this.buffer = buffer;
+        bits = 0;
+        count = 0;
+    }
+
+    void write(int value, int width) {  // width entre 1 e 32
+        bits = bits << width | (value & 0xFFFFFFFFL) & (1L << width) - 1;
+        count += width;
+        if (count >= 32) {
+            count -= 32;
+            buffer.putInt((int) (bits >>> count));
+        }
+    }
+
+    void writeBoolean(boolean value) {
+        write(value ? 1 : 0, 1);
+    }
+
+    // Inteiro sem sinal em 4, 8, 16 ou 32 bits, precedido de 2 bits com a largura usada
+    void writeVarUnsigned(int value) {
+        if ((value & ~0xF) == 0) {
+            write(value, 6);  // Seletor 0
+        } else if ((value & ~0xFF) == 0) {
+            write(1 << 8 | value, 10);
+        } else if ((value & ~0xFFFF) == 0) {
+            write(2, 2);
+            write(value, 16);
+        } else {
+            write(3, 2);
+            write(value, 32);
+        }
+    }
+
+    void writeVarSigned(int value) {  // Zigzag: valores pequenos, positivos ou negativos, ficam com poucos bits
+        writeVarUnsigned(value << 1 ^ value >> 31);
+    }
+
+    void finish() {  // Escreve os bits pendentes (o último byte é completado com zeros)
+        while (count >= 8) {
+            count -= 8;
+            buffer.put((byte) (bits >>> count));
+        }
+        if (count > 0) {
+            buffer.put((byte) (bits << 8 - count));
+            count = 0;
+        }
+    }
+}
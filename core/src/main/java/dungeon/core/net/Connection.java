@@ -0,0 +1,125 @@
+package dungeon.core.net;  // Define o pacote do jogo em rede
+
+import java.io.IOException;  // Erros de rede
+import java.nio.ByteBuffer;  // Buffers de leitura e escrita
+import java.nio.channels.SocketChannel;  // Socket não bloqueante
+
+/**
+ * Ligação não bloqueante com frames (ver Protocol), usada pelo servidor e pelo cliente.
+ * read() lê o que já chegou sem esperar e poll() devolve uma frame completa de cada vez; as frames a
+ * enviar são escritas diretamente no buffer de saída e flush() envia o que o socket aceitar.
+ * Nenhum método bloqueia, por isso uma só thread pode tratar muitas ligações.
+ */
+public class Connection {
+    private static final int INITIAL_BUFFER = 16 * 1024;
+    private static final int MAX_PENDING_OUT = 4 * Protocol.MAX_FRAME;  // Cliente lento: deixa de receber estados
+
+    private final SocketChannel channel;
+    private ByteBuffer in = ByteBuffer.allocate(INITIAL_BUFFER);  // Modo de escrita (recebe do socket)
+    private ByteBuffer out = ByteBuffer.allocate(INITIAL_BUFFER);  // Modo de escrita (frames por enviar)
+    private int frameStart = -1;  // Posição da frame em construção em out
+    private boolean consumed;  // A última frame devolvida por poll() ainda ocupa o início de in
+
+    public Connection(SocketChannel channel) throws IOException {
+        this.channel = channel;
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);  // Inputs e estados pequenos seguem logo
+    }
+
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    // Lê o que já chegou; false se o outro lado fechou a ligação
+    public boolean read() throws IOException {
+        compactInput();
+        if (!in.hasRemaining()) {
+            in = grow(in, in.capacity() * 2);
+        }
+        return channel.read(in) >= 0;
+    }
+
+    /**
+     * Próxima frame completa (posicionada no byte do tipo, limitada ao fim da frame) ou null.
+     * A frame só é válida até à próxima chamada de poll() ou read().
+     */
+    public ByteBuffer poll() throws IOException {
+        compactInput();
+        if (in.position() < 4) {  // Ainda não chegou o comprimento
+            return null;
+        }
+        int length = in.getInt(0);
+        if (length <= 0 || length > Protocol.MAX_FRAME) {
+            throw new IOException("Frame inválida: " + length + " bytes");
+        }
+        if (in.position() < 4 + length) {
+            if (in.capacity() < 4 + length) {
+                in = grow(in, 4 + length);
+            }
+            return null;
+        }
+        ByteBuffer frame = in.duplicate();
+        frame.limit(4 + length).position(4);
+        consumed = true;
+        return frame;
+    }
+
+    private void compactInput() {  // Retira do buffer a frame devolvida pelo último poll()
+        if (consumed) {
+            int length = 4 + in.getInt(0);
+            in.flip();
+            in.position(length);
+            in.compact();
+            consumed = false;
+        }
+    }
+
+    // Começa uma frame; o conteúdo é escrito no buffer devolvido e fechado com endFrame()
+    public ByteBuffer beginFrame(byte type, int maxPayload) {
+        if (out.remaining() < Protocol.FRAME_HEADER + maxPayload) {
+            out = grow(out, out.position() + Protocol.FRAME_HEADER + maxPayload);
+        }
+        frameStart = out.position();
+        out.putInt(0).put(type);
+        return out;
+    }
+
+    public void endFrame() {
+        out.putInt(frameStart, out.position() - frameStart - 4);
+        frameStart = -1;
+    }
+
+    public boolean canQueue() {  // false se o outro lado não está a ler (as frames dispensáveis devem ser saltadas)
+        return out.position() < MAX_PENDING_OUT;
+    }
+
+    // Envia o que o socket aceitar; true se não ficou nada por enviar
+    public boolean flush() throws IOException {
+        if (out.position() == 0) {
+            return true;
+        }
+        out.flip();
+        channel.write(out);
+        out.compact();
+        return out.position() == 0;
+    }
+
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Já fechada do outro lado
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int minCapacity) {
+        int capacity = buffer.capacity();
+        while (capacity < minCapacity) {
+            capacity *= 2;
+        }
+        ByteBuffer bigger = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        bigger.put(buffer);
+        return bigger;
+    }
+}
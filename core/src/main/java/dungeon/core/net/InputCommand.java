@@ -0,0 +1,54 @@
+package dungeon.core.net;  // Define o pacote do jogo em rede
+
+import java.nio.ByteBuffer;  // Conteúdo das frames
+
+/**
+ * Input de um tick do cliente: eixos de movimento (parte do tick em que cada direção esteve premida,
+ * ver ActionState) e se o ataque foi premido. O servidor devolve o último tick aplicado em cada estado.
+ * Leva também o tick do último estado recebido pelo cliente, que o servidor usa como base das
+ * diferenças seguintes (ver SnapshotCodec).
+ */
+public class InputCommand {
+    public static final int SIZE = 17;  // Bytes no fio
+
+    private static final byte ATTACK = 1;
+
+    private int tick;
+    private float moveX;
+    private float moveY;
+    private boolean attack;
+    private int snapshotAck = -1;  // -1 = ainda nenhum estado recebido
+
+    public InputCommand set(int tick, float moveX, float moveY, boolean attack) {
+        this.tick = tick;
+        this.moveX = moveX;
+        this.moveY = moveY;
+        this.attack = attack;
+        return this;
+    }
+
+    public InputCommand setSnapshotAck(int snapshotAck) {
+        this.snapshotAck = snapshotAck;
+        return this;
+    }
+
+    public void write(ByteBuffer buffer) {
+        buffer.putInt(tick).putFloat(moveX).putFloat(moveY).put(attack ? ATTACK : 0).putInt(snapshotAck);
+    }
+
+    public InputCommand read(ByteBuffer buffer) {
+        set(buffer.getInt(), clampAxis(buffer.getFloat()), clampAxis(buffer.getFloat()),
+            (buffer.get() & ATTACK) != 0);
+        return setSnapshotAck(buffer.getInt());
+    }
+
+    private static float clampAxis(float value) {  // O servidor não confia no cliente (nem em NaN)
+        return value >= -1f && value <= 1f ? value : 0f;
+    }
+
+    public int getTick() { return tick; }
+    public float getMoveX() { return moveX; }
+    public float getMoveY() { return moveY; }
+    public boolean isAttack() { return attack; }
+    public int getSnapshotAck() { return snapshotAck; }
+}
@@ -0,0 +1,100 @@
+package dungeon.core.net;  // Define o pacote do jogo em rede
+
+import dungeon.core.content.ContentPack;  // Checksum dos conteúdos enviado no HELLO
+import java.io.IOException;  // Erros de rede
+import java.net.InetSocketAddress;  // Endereço do servidor
+import java.nio.BufferUnderflowException;  // Frame mais curta do que o seu conteúdo
+import java.nio.ByteBuffer;  // Conteúdo das frames
+import java.nio.channels.SocketChannel;  // Socket não bloqueante
+
+/**
+ * Lado do cliente: liga ao servidor sem bloquear, envia o input de cada tick e guarda o estado mais
+ * recente recebido. Tudo é feito em poll(), chamado uma vez por frame pela thread do jogo.
+ */
+public class NetworkClient {
+    public enum Status {
+        CONNECTING, CONNECTED, CLOSED
+    }
+
+    private final Connection connection;
+    private final SnapshotHistory history = new SnapshotHistory();  // Bases das diferenças recebidas
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private WorldSnapshot snapshot;  // Último estado recebido
+    private Status status = Status.CONNECTING;
+    private int playerId = -1;  // Atribuído pelo servidor em WELCOME
+    private int snapshotsReceived;
+    private String error;
+
+    public NetworkClient(String host, int port) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        connection = new Connection(channel);  // Não bloqueante a partir daqui
+        channel.connect(new InetSocketAddress(host, port));
+    }
+
+    // Termina a ligação, lê as frames que chegaram e envia as pendentes; false se a ligação fechou
+    public boolean poll() {
+        if (status == Status.CLOSED) {
+            return false;
+        }
+        try {
+            if (status == Status.CONNECTING) {
+                if (!connection.getChannel().finishConnect()) {
+                    return true;  // Ainda a ligar
+                }
+                status = Status.CONNECTED;
+                connection.beginFrame(Protocol.HELLO, 8).putInt(Protocol.VERSION)
+                    .putInt(ContentPack.getInstance().getChecksum());
+                connection.endFrame();
+            }
+            if (!connection.read()) {
+                close("O servidor fechou a ligação");
+                return false;
+            }
+            ByteBuffer frame;
+            while ((frame = connection.poll()) != null) {
+                byte type = frame.get();
+                if (type == Protocol.WELCOME) {
+                    playerId = frame.getInt();
+                } else if (type == Protocol.SNAPSHOT) {
+                    WorldSnapshot decoded = codec.decode(frame, history);
+                    if (decoded != null && (snapshot == null || decoded.getTick() > snapshot.getTick())) {
+                        snapshot = decoded;  // Só interessa o mais recente
+                        snapshotsReceived++;
+                    }
+                }
+            }
+            connection.flush();
+            return true;
+        } catch (IOException | BufferUnderflowException e) {
+            close(String.valueOf(e.getMessage()));
+            return false;
+        }
+    }
+
+    public void sendInput(InputCommand command) {  // Enviado no próximo poll()
+        if (status != Status.CONNECTED) {
+            return;
+        }
+        command.setSnapshotAck(snapshot != null ? snapshot.getTick() : -1);  // Base das próximas diferenças
+        command.write(connection.beginFrame(Protocol.INPUT, InputCommand.SIZE));
+        connection.endFrame();
+    }
+
+    private void close(String reason) {
+        error = reason;
+        status = Status.CLOSED;
+        connection.close();
+    }
+
+    public void close() {
+        if (status != Status.CLOSED) {
+            close(null);
+        }
+    }
+
+    public Status getStatus() { return status; }
+    public boolean hasSnapshot() { return snapshotsReceived > 0 && playerId >= 0; }
+    public WorldSnapshot getSnapshot() { return snapshot; }
+    public int getPlayerId() { return playerId; }
+    public String getError() { return error; }
+}
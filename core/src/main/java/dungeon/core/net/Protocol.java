@@ -0,0 +1,26 @@
+package dungeon.core.net;  // Define o pacote do jogo em rede
+
+/**
+ * Constantes do protocolo entre o servidor e os clientes.
+ * Cada mensagem é uma frame: comprimento (int, bytes seguintes), tipo (byte) e conteúdo.
+ *
+ * Cliente -> servidor: HELLO (versão e checksum do pacote de conteúdos) uma vez, depois INPUT (InputCommand) em cada tick.
+ * Servidor -> cliente: WELCOME (ID do jogador) uma vez, depois SNAPSHOT (WorldSnapshot codificado pelo
+ * SnapshotCodec) a cada SNAPSHOT_INTERVAL_TICKS ticks, só com a sala onde o jogador está.
+ */
+public final class Protocol {
+    public static final int VERSION = 3;  // 3: HELLO leva o checksum do ContentPack (os tipos vão nos estados pelo ID)
+    public static final int DEFAULT_PORT = 7777;
+
+    public static final byte HELLO = 1;
+    public static final byte WELCOME = 2;
+    public static final byte INPUT = 3;
+    public static final byte SNAPSHOT = 4;
+
+    public static final int FRAME_HEADER = 5;  // Comprimento + tipo
+    public static final int MAX_FRAME = 1 << 20;  // Frames maiores fecham a ligação
+    public static final int SNAPSHOT_INTERVAL_TICKS = 3;  // 20 estados por segundo a 60 ticks
+
+    private Protocol() {
+    }
+}
@@ -0,0 +1,285 @@
+package dungeon.core.net;  // Define o pacote do jogo em rede
+
+import java.nio.ByteBuffer;  // Destino e origem dos estados codificados
+
+/**
+ * Codifica um WorldSnapshot como diferença em relação a um estado que o cliente já confirmou.
+ *
+ * As posições são quantizadas a 1/POSITION_SCALE de pixel e todos os campos são escritos com o
+ * número de bits de que precisam (BitWriter). Cada entidade que já existia na base leva uma máscara
+ * com os campos que mudaram e só esses seguem, como diferença; as novas seguem completas e as que
+ * desapareceram simplesmente não aparecem. Sem base (primeiro estado, mudança de sala ou base
+ * demasiado antiga), tudo é comparado com um estado vazio.
+ *
+ * Formato (em bits): tick (32), distância à base em ticks (0 = sem base), máscara do cabeçalho (6)
+ * e os campos alterados; depois jogadores, inimigos e itens, cada lista com o número de entidades e,
+ * por entidade, o ID (diferença para o anterior) seguido da máscara e dos campos.
+ *
+ * Um codificador por thread: os escritores e leitores de bits são reutilizados, sem alocações.
+ */
+public class SnapshotCodec {
+    public static final float POSITION_SCALE = 4f;  // Passos por pixel (precisão de 0,25 px)
+
+    private static final int VAR_BITS = 34;  // Maior inteiro variável: seletor + 32 bits
+    private static final int HEADER_BITS = 32 + VAR_BITS + 6 + 6 * VAR_BITS;
+    private static final int PLAYER_BITS = VAR_BITS + 5 + 4 * VAR_BITS + 8;
+    private static final int ENEMY_BITS = VAR_BITS + 3 + 8 + 3 * VAR_BITS;
+    private static final int ITEM_BITS = VAR_BITS + 8 + 2 * VAR_BITS;
+
+    // Máscara do cabeçalho
+    private static final int ACK = 1, ROOM = 2, DOORS = 4, GOLD = 8, KEYS = 16, DAMAGE = 32;
+    // Máscaras das entidades
+    private static final int X = 1, Y = 2, HEALTH = 4, MAX_HEALTH = 8, FLAGS = 16;
+
+    private static final WorldSnapshot EMPTY = new WorldSnapshot();  // Base dos estados completos
+    static {
+        EMPTY.roomId = -1;  // Nenhuma entidade é comparada com a base vazia
+    }
+
+    private final BitWriter writer = new BitWriter();
+    private final BitReader reader = new BitReader();
+
+    // Limite superior do tamanho de encode() para este estado, para reservar espaço na frame
+    public static int getMaxEncodedSize(WorldSnapshot snapshot) {
+        long bits = HEADER_BITS + 3 * VAR_BITS + (long) snapshot.playerCount * PLAYER_BITS
+            + (long) snapshot.enemyCount * ENEMY_BITS + (long) snapshot.itemCount * ITEM_BITS;
+        return (int) ((bits + 7) / 8);
+    }
+
+    public static int quantize(float position) {  // Arredonda para o passo mais próximo (mais barato do que Math.round)
+        float scaled = position * POSITION_SCALE;
+        return (int) (scaled >= 0 ? scaled + 0.5f : scaled - 0.5f);
+    }
+
+    /**
+     * Escreve current em out, como diferença em relação a baseline (null para um estado completo).
+     * O cliente tem de ter baseline no seu SnapshotHistory para conseguir descodificar.
+     */
+    public void encode(WorldSnapshot current, WorldSnapshot baseline, ByteBuffer out) {
+        WorldSnapshot base = baseline != null ? baseline : EMPTY;
+        writer.reset(out);
+        writer.write(current.tick, 32);
+        writer.writeVarUnsigned(baseline != null ? current.tick - baseline.tick : 0);
+
+        int mask = (current.ackTick != base.ackTick ? ACK : 0)
+            | (current.roomId != base.roomId ? ROOM : 0)
+            | (current.lockedDoors != base.lockedDoors ? DOORS : 0)
+            | (current.gold != base.gold ? GOLD : 0)
+            | (current.keys != base.keys ? KEYS : 0)
+            | (current.attackDamage != base.attackDamage ? DAMAGE : 0);
+        writer.write(mask, 6);
+        if ((mask & ACK) != 0) writer.writeVarSigned(current.ackTick - base.ackTick);
+        if ((mask & ROOM) != 0) writer.writeVarSigned(current.roomId - base.roomId);
+        if ((mask & DOORS) != 0) writer.write(current.lockedDoors, 4);
+        if ((mask & GOLD) != 0) writer.writeVarSigned(current.gold - base.gold);
+        if ((mask & KEYS) != 0) writer.writeVarSigned(current.keys - base.keys);
+        if ((mask & DAMAGE) != 0) writer.writeVarSigned(current.attackDamage - base.attackDamage);
+
+        // Os IDs das entidades só têm significado dentro da mesma sala
+        WorldSnapshot entities = current.roomId == base.roomId ? base : EMPTY;
+        encodePlayers(current, entities);
+        encodeEnemies(current, entities);
+        encodeItems(current, entities);
+        writer.finish();
+    }
+
+    private void encodePlayers(WorldSnapshot current, WorldSnapshot base) {
+        writer.writeVarUnsigned(current.playerCount);
+        int previousId = 0;
+        for (int i = 0; i < current.playerCount; i++) {
+            int id = current.playerIds[i];
+            writer.writeVarSigned(id - previousId);  // O jogador que recebe vem primeiro: os IDs não estão ordenados
+            previousId = id;
+            int qx = quantize(current.playerX[i]);
+            int qy = quantize(current.playerY[i]);
+            int b = findPlayer(base, id);
+            if (b < 0) {
+                writer.writeVarSigned(qx);
+                writer.writeVarSigned(qy);
+                writer.writeVarSigned(current.playerHealth[i]);
+                writer.writeVarSigned(current.playerMaxHealth[i]);
+                writer.write(current.playerFlags[i], 8);
+                continue;
+            }
+            int bx = quantize(base.playerX[b]);
+            int by = quantize(base.playerY[b]);
+            int mask = (qx != bx ? X : 0) | (qy != by ? Y : 0)
+                | (current.playerHealth[i] != base.playerHealth[b] ? HEALTH : 0)
+                | (current.playerMaxHealth[i] != base.playerMaxHealth[b] ? MAX_HEALTH : 0)
+                | (current.playerFlags[i] != base.playerFlags[b] ? FLAGS : 0);
+            writer.write(mask, 5);
+            if ((mask & X) != 0) writer.writeVarSigned(qx - bx);
+            if ((mask & Y) != 0) writer.writeVarSigned(qy - by);
+            if ((mask & HEALTH) != 0) writer.writeVarSigned(current.playerHealth[i] - base.playerHealth[b]);
+            if ((mask & MAX_HEALTH) != 0) writer.writeVarSigned(current.playerMaxHealth[i] - base.playerMaxHealth[b]);
+            if ((mask & FLAGS) != 0) writer.write(current.playerFlags[i], 8);
+        }
+    }
+
+    private void encodeEnemies(WorldSnapshot current, WorldSnapshot base) {
+        writer.writeVarUnsigned(current.enemyCount);
+        int previousId = -1;
+        int b = 0;  // Cursor na base: as duas listas estão ordenadas por ID
+        for (int i = 0; i < current.enemyCount; i++) {
+            int id = current.enemyIds[i];
+            writer.writeVarUnsigned(id - previousId - 1);
+            previousId = id;
+            while (b < base.enemyCount && base.enemyIds[b] < id) b++;
+            int qx = quantize(current.enemyX[i]);
+            int qy = quantize(current.enemyY[i]);
+            if (b == base.enemyCount || base.enemyIds[b] != id) {
+                writer.write(current.enemyTypes[i], 8);
+                writer.writeVarSigned(qx);
+                writer.writeVarSigned(qy);
+                writer.writeVarSigned(current.enemyHealth[i]);
+                continue;
+            }
+            int bx = quantize(base.enemyX[b]);
+            int by = quantize(base.enemyY[b]);
+            int mask = (qx != bx ? X : 0) | (qy != by ? Y : 0)
+                | (current.enemyHealth[i] != base.enemyHealth[b] ? HEALTH : 0);
+            writer.write(mask, 3);
+            if ((mask & X) != 0) writer.writeVarSigned(qx - bx);
+            if ((mask & Y) != 0) writer.writeVarSigned(qy - by);
+            if ((mask & HEALTH) != 0) writer.writeVarSigned(current.enemyHealth[i] - base.enemyHealth[b]);
+        }
+    }
+
+    private void encodeItems(WorldSnapshot current, WorldSnapshot base) {
+        writer.writeVarUnsigned(current.itemCount);
+        int previousId = -1;
+        int b = 0;
+        for (int i = 0; i < current.itemCount; i++) {
+            int id = current.itemIds[i];
+            writer.writeVarUnsigned(id - previousId - 1);
+            previousId = id;
+            while (b < base.itemCount && base.itemIds[b] < id) b++;
+            if (b == base.itemCount || base.itemIds[b] != id) {  // Os itens não mudam: só os novos levam campos
+                writer.write(current.itemTypes[i], 8);
+                writer.writeVarSigned(quantize(current.itemX[i]));
+                writer.writeVarSigned(quantize(current.itemY[i]));
+            }
+        }
+    }
+
+    /**
+     * Lê um estado codificado por encode() e guarda-o em history, na posição do seu tick.
+     * Devolve o estado lido, ou null se a base já não estiver em history (o estado é ignorado e o
+     * servidor volta a usar uma base confirmada).
+     */
+    public WorldSnapshot decode(ByteBuffer in, SnapshotHistory history) {
+        reader.reset(in);
+        int tick = reader.read(32);
+        int distance = reader.readVarUnsigned();
+        WorldSnapshot base = EMPTY;
+        if (distance != 0) {
+            base = history.find(tick - distance);
+            if (base == null || base == history.slotFor(tick)) {
+                return null;
+            }
+        }
+        WorldSnapshot current = history.acquire(tick);
+        current.tick = tick;
+
+        int mask = reader.read(6);
+        current.ackTick = (mask & ACK) != 0 ? base.ackTick + reader.readVarSigned() : base.ackTick;
+        current.roomId = (mask & ROOM) != 0 ? base.roomId + reader.readVarSigned() : base.roomId;
+        current.lockedDoors = (mask & DOORS) != 0 ? reader.read(4) : base.lockedDoors;
+        current.gold = (mask & GOLD) != 0 ? base.gold + reader.readVarSigned() : base.gold;
+        current.keys = (mask & KEYS) != 0 ? base.keys + reader.readVarSigned() : base.keys;
+        current.attackDamage = (mask & DAMAGE) != 0 ? base.attackDamage + reader.readVarSigned() : base.attackDamage;
+
+        WorldSnapshot entities = current.roomId == base.roomId ? base : EMPTY;
+        decodePlayers(current, entities);
+        decodeEnemies(current, entities);
+        decodeItems(current, entities);
+        current.validate();
+        return current;
+    }
+
+    private void decodePlayers(WorldSnapshot current, WorldSnapshot base) {
+        int count = reader.readVarUnsigned();
+        current.ensurePlayers(count);
+        current.playerCount = count;
+        int id = 0;
+        for (int i = 0; i < count; i++) {
+            id += reader.readVarSigned();
+            current.playerIds[i] = id;
+            int b = findPlayer(base, id);
+            if (b < 0) {
+                current.playerX[i] = reader.readVarSigned() / POSITION_SCALE;
+                current.playerY[i] = reader.readVarSigned() / POSITION_SCALE;
+                current.playerHealth[i] = (short) reader.readVarSigned();
+                current.playerMaxHealth[i] = (short) reader.readVarSigned();
+                current.playerFlags[i] = (byte) reader.read(8);
+                continue;
+            }
+            int mask = reader.read(5);
+            int qx = quantize(base.playerX[b]);
+            int qy = quantize(base.playerY[b]);
+            current.playerX[i] = ((mask & X) != 0 ? qx + reader.readVarSigned() : qx) / POSITION_SCALE;
+            current.playerY[i] = ((mask & Y) != 0 ? qy + reader.readVarSigned() : qy) / POSITION_SCALE;
+            current.playerHealth[i] = (short) ((mask & HEALTH) != 0 ? base.playerHealth[b] + reader.readVarSigned() : base.playerHealth[b]);
+            current.playerMaxHealth[i] = (short) ((mask & MAX_HEALTH) != 0 ? base.playerMaxHealth[b] + reader.readVarSigned() : base.playerMaxHealth[b]);
+            current.playerFlags[i] = (mask & FLAGS) != 0 ? (byte) reader.read(8) : base.playerFlags[b];
+        }
+    }
+
+    private void decodeEnemies(WorldSnapshot current, WorldSnapshot base) {
+        int count = reader.readVarUnsigned();
+        current.ensureEnemies(count);
+        current.enemyCount = count;
+        int id = -1;
+        int b = 0;
+        for (int i = 0; i < count; i++) {
+            id += reader.readVarUnsigned() + 1;
+            current.enemyIds[i] = id;
+            while (b < base.enemyCount && base.enemyIds[b] < id) b++;
+            if (b == base.enemyCount || base.enemyIds[b] != id) {
+                current.enemyTypes[i] = (byte) reader.read(8);
+                current.enemyX[i] = reader.readVarSigned() / POSITION_SCALE;
+                current.enemyY[i] = reader.readVarSigned() / POSITION_SCALE;
+                current.enemyHealth[i] = (short) reader.readVarSigned();
+                continue;
+            }
+            int mask = reader.read(3);
+            int qx = quantize(base.enemyX[b]);
+            int qy = quantize(base.enemyY[b]);
+            current.enemyTypes[i] = base.enemyTypes[b];
+            current.enemyX[i] = ((mask & X) != 0 ? qx + reader.readVarSigned() : qx) / POSITION_SCALE;
+            current.enemyY[i] = ((mask & Y) != 0 ? qy + reader.readVarSigned() : qy) / POSITION_SCALE;
+            current.enemyHealth[i] = (short) ((mask & HEALTH) != 0 ? base.enemyHealth[b] + reader.readVarSigned() : base.enemyHealth[b]);
+        }
+    }
+
+    private void decodeItems(WorldSnapshot current, WorldSnapshot base) {
+        int count = reader.readVarUnsigned();
+        current.ensureItems(count);
+        current.itemCount = count;
+        int id = -1;
+        int b = 0;
+        for (int i = 0; i < count; i++) {
+            id += reader.readVarUnsigned() + 1;
+            current.itemIds[i] = id;
+            while (b < base.itemCount && base.itemIds[b] < id) b++;
+            if (b == base.itemCount || base.itemIds[b] != id) {
+                current.itemTypes[i] = (byte) reader.read(8);
+                current.itemX[i] = reader.readVarSigned() / POSITION_SCALE;
+                current.itemY[i] = reader.readVarSigned() / POSITION_SCALE;
+                continue;
+            }
+            current.itemTypes[i] = base.itemTypes[b];
+            current.itemX[i] = base.itemX[b];
+            current.itemY[i] = base.itemY[b];
+        }
+    }
+
+    private static int findPlayer(WorldSnapshot base, int id) {  // Poucos jogadores por sala: procura linear
+        for (int i = 0; i < base.playerCount; i++) {
+            if (base.playerIds[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,41 @@
+package dungeon.core.net;  // Define o pacote do jogo em rede
+
+/**
+ * Últimos estados enviados (servidor, um por cliente) ou recebidos (cliente), guardados para servirem
+ * de base aos estados seguintes. Cada estado ocupa a posição do seu número de sequência
+ * (tick / SNAPSHOT_INTERVAL_TICKS), por isso só os WINDOW estados mais recentes estão disponíveis.
+ */
+public class SnapshotHistory {
+    public static final int WINDOW = 32;  // Estados guardados (1,6 segundos a 20 estados por segundo)
+
+    private final WorldSnapshot[] slots = new WorldSnapshot[WINDOW];
+
+    public SnapshotHistory() {
+        for (int i = 0; i < WINDOW; i++) {
+            slots[i] = new WorldSnapshot();
+        }
+    }
+
+    WorldSnapshot slotFor(int tick) {
+        return slots[(tick / Protocol.SNAPSHOT_INTERVAL_TICKS) & WINDOW - 1];
+    }
+
+    // Posição onde guardar o estado deste tick (substitui o estado de WINDOW sequências antes)
+    public WorldSnapshot acquire(int tick) {
+        WorldSnapshot snapshot = slotFor(tick);
+        snapshot.invalidate();
+        return snapshot;
+    }
+
+    // Estado deste tick, ou null se já foi substituído ou nunca existiu
+    public WorldSnapshot find(int tick) {
+        WorldSnapshot snapshot = slotFor(tick);
+        return snapshot.isValid() && snapshot.getTick() == tick ? snapshot : null;
+    }
+
+    public void clear() {
+        for (WorldSnapshot snapshot : slots) {
+            snapshot.invalidate();
+        }
+    }
+}
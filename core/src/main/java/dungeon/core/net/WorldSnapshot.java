@@ -0,0 +1,186 @@
+package dungeon.core.net;  // Define o pacote do jogo em rede
+
+import dungeon.core.Door;  // Portas da sala
+import dungeon.core.Enemy;  // Inimigos da sala
+import dungeon.core.Item;  // Itens da sala
+import dungeon.core.Player;  // Jogadores da sala
+import dungeon.core.Room;  // Sala enviada
+import dungeon.core.content.ContentPack;  // Tipos de inimigos e itens (o cliente e o servidor usam o mesmo pacote)
+import dungeon.core.content.EnemyArchetype;  // Tipo de cada inimigo
+import dungeon.core.content.ItemArchetype;  // Tipo de cada item
+import java.util.Arrays;  // Crescimento das colunas
+import java.util.List;  // Listas da sala
+
+/**
+ * Estado enviado pelo servidor a um cliente: só a sala onde o jogador dele está (jogadores, inimigos
+ * vivos, itens por apanhar e portas trancadas) e o inventário desse jogador. Guardado em colunas
+ * reutilizadas entre estados, tanto no servidor (captura) como no cliente (descodificação); o
+ * formato no fio é o do SnapshotCodec.
+ * O jogador que recebe o estado é sempre o primeiro da lista de jogadores.
+ * Os IDs dos inimigos e itens são a posição na lista da sala, que só cresce durante a partida.
+ */
+public class WorldSnapshot {
+    private static final byte FLAG_ATTACKING = 1;
+
+    private boolean valid;  // false enquanto a posição do SnapshotHistory não tiver um estado completo
+
+    // Colunas lidas e escritas diretamente pelo SnapshotCodec
+    int tick;  // Tick do servidor em que o estado foi capturado
+    int ackTick;  // Último tick de input do cliente já aplicado
+    int roomId;
+    int lockedDoors;  // Bit i = porta Room.DoorPosition.values()[i] trancada
+    int gold;
+    int keys;
+    int attackDamage;
+
+    int playerCount;
+    int[] playerIds = new int[4];
+    float[] playerX = new float[4];
+    float[] playerY = new float[4];
+    short[] playerHealth = new short[4];
+    short[] playerMaxHealth = new short[4];
+    byte[] playerFlags = new byte[4];
+
+    int enemyCount;
+    int[] enemyIds = new int[64];
+    byte[] enemyTypes = new byte[64];
+    float[] enemyX = new float[64];
+    float[] enemyY = new float[64];
+    short[] enemyHealth = new short[64];
+
+    int itemCount;
+    int[] itemIds = new int[16];
+    byte[] itemTypes = new byte[16];
+    float[] itemX = new float[16];
+    float[] itemY = new float[16];
+
+    // Captura (servidor)
+
+    public void begin(int tick, int ackTick, Player viewer) {  // Recomeça com o jogador que vai receber o estado
+        this.valid = true;
+        this.tick = tick;
+        this.ackTick = ackTick;
+        this.roomId = viewer.getRoomId();
+        this.gold = viewer.getGold();
+        this.keys = viewer.getKeys();
+        this.attackDamage = viewer.getAttackDamage();
+        playerCount = 0;
+        enemyCount = 0;
+        itemCount = 0;
+        lockedDoors = 0;
+    }
+
+    public void addPlayer(int id, Player player) {
+        ensurePlayers(playerCount + 1);
+        playerIds[playerCount] = id;
+        playerX[playerCount] = player.getX();
+        playerY[playerCount] = player.getY();
+        playerHealth[playerCount] = (short) player.getHealth();
+        playerMaxHealth[playerCount] = (short) player.getMaxHealth();
+        playerFlags[playerCount] = player.getCombat().isAttacking() ? FLAG_ATTACKING : 0;
+        playerCount++;
+    }
+
+    public void addRoom(Room room) {  // Portas, inimigos vivos e itens por apanhar
+        Room.DoorPosition[] positions = Room.DoorPosition.values();
+        for (int i = 0; i < positions.length; i++) {
+            Door door = room.getDoor(positions[i]);
+            if (door != null && door.isLocked()) {
+                lockedDoors |= 1 << i;
+            }
+        }
+        List<Enemy> enemies = room.getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.isDead()) {
+                continue;
+            }
+            ensureEnemies(enemyCount + 1);
+            enemyIds[enemyCount] = i;
+            enemyTypes[enemyCount] = (byte) enemy.getType().getId();
+            enemyX[enemyCount] = enemy.getX();
+            enemyY[enemyCount] = enemy.getY();
+            enemyHealth[enemyCount] = (short) enemy.getHealth();
+            enemyCount++;
+        }
+        List<Item> items = room.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            if (item.isCollected()) {
+                continue;
+            }
+            ensureItems(itemCount + 1);
+            itemIds[itemCount] = i;
+            itemTypes[itemCount] = (byte) item.getType().getId();
+            itemX[itemCount] = item.getX();
+            itemY[itemCount] = item.getY();
+            itemCount++;
+        }
+    }
+
+    void ensurePlayers(int size) {
+        if (size > playerIds.length) {
+            int capacity = Math.max(size, playerIds.length * 2);
+            playerIds = Arrays.copyOf(playerIds, capacity);
+            playerX = Arrays.copyOf(playerX, capacity);
+            playerY = Arrays.copyOf(playerY, capacity);
+            playerHealth = Arrays.copyOf(playerHealth, capacity);
+            playerMaxHealth = Arrays.copyOf(playerMaxHealth, capacity);
+            playerFlags = Arrays.copyOf(playerFlags, capacity);
+        }
+    }
+
+    void ensureEnemies(int size) {
+        if (size > enemyIds.length) {
+            int capacity = Math.max(size, enemyIds.length * 2);
+            enemyIds = Arrays.copyOf(enemyIds, capacity);
+            enemyTypes = Arrays.copyOf(enemyTypes, capacity);
+            enemyX = Arrays.copyOf(enemyX, capacity);
+            enemyY = Arrays.copyOf(enemyY, capacity);
+            enemyHealth = Arrays.copyOf(enemyHealth, capacity);
+        }
+    }
+
+    void ensureItems(int size) {
+        if (size > itemIds.length) {
+            int capacity = Math.max(size, itemIds.length * 2);
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            itemTypes = Arrays.copyOf(itemTypes, capacity);
+            itemX = Arrays.copyOf(itemX, capacity);
+            itemY = Arrays.copyOf(itemY, capacity);
+        }
+    }
+
+    void invalidate() { valid = false; }
+    void validate() { valid = true; }
+    boolean isValid() { return valid; }
+
+    public int getTick() { return tick; }
+    public int getAckTick() { return ackTick; }
+    public int getRoomId() { return roomId; }
+    public boolean isDoorLocked(Room.DoorPosition position) { return (lockedDoors & 1 << position.ordinal()) != 0; }
+    public int getGold() { return gold; }
+    public int getKeys() { return keys; }
+    public int getAttackDamage() { return attackDamage; }
+
+    public int getPlayerCount() { return playerCount; }
+    public int getPlayerId(int i) { return playerIds[i]; }
+    public float getPlayerX(int i) { return playerX[i]; }
+    public float getPlayerY(int i) { return playerY[i]; }
+    public int getPlayerHealth(int i) { return playerHealth[i]; }
+    public int getPlayerMaxHealth(int i) { return playerMaxHealth[i]; }
+    public boolean isPlayerAttacking(int i) { return (playerFlags[i] & FLAG_ATTACKING) != 0; }
+
+    public int getEnemyCount() { return enemyCount; }
+    public int getEnemyId(int i) { return enemyIds[i]; }
+    public EnemyArchetype getEnemyType(int i) { return ContentPack.getInstance().getEnemy(enemyTypes[i] & 0xFF); }
+    public float getEnemyX(int i) { return enemyX[i]; }
+    public float getEnemyY(int i) { return enemyY[i]; }
+    public int getEnemyHealth(int i) { return enemyHealth[i]; }
+
+    public int getItemCount() { return itemCount; }
+    public int getItemId(int i) { return itemIds[i]; }
+    public ItemArchetype getItemType(int i) { return ContentPack.getInstance().getItem(itemTypes[i] & 0xFF); }
+    public float getItemX(int i) { return itemX[i]; }
+    public float getItemY(int i) { return itemY[i]; }
+}
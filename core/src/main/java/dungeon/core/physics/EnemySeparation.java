@@ -0,0 +1,63 @@
+package dungeon.core.physics;  // Define o pacote do sistema de colisões
+
+import dungeon.core.Enemy;  // Corpos a separar
+import dungeon.core.Room;  // Sala dos inimigos (índice espacial e movimento)
+import java.util.List;  // Interface de lista
+
+/**
+ * Impede os inimigos de uma sala de se sobreporem. Cada inimigo vivo procura no SpatialGrid da sala
+ * até MAX_CONTACTS vizinhos sobrepostos e afasta-se de cada um pelo eixo de menor penetração,
+ * metade da sobreposição (o vizinho faz a outra metade na sua vez). Os empurrões de todos os
+ * vizinhos são somados e aplicados num só Room.moveEnemy, que não atira ninguém para dentro de uma
+ * parede. O custo é O(n) com n inimigos.
+ * Uma passagem por frame basta: o que ficar por resolver é resolvido nos seguintes.
+ */
+public class EnemySeparation {
+    private static final int MAX_CONTACTS = 8;  // Vizinhos resolvidos por inimigo em cada frame
+
+    private final Enemy[] contacts = new Enemy[MAX_CONTACTS];  // Reutilizado entre inimigos
+    private float pushX;  // Empurrão acumulado do inimigo atual
+    private float pushY;
+
+    public void separate(Room room) {
+        List<Enemy> enemies = room.getEnemies();
+        SpatialGrid<Enemy> grid = room.getNeighbourGrid();
+        for (int i = 0; i < enemies.size(); i++) {  // Ciclo por índice: sem iterador por frame
+            Enemy enemy = enemies.get(i);
+            if (enemy.isDead()) {
+                continue;
+            }
+            float centerX = enemy.getX() + enemy.getWidth() / 2;
+            float centerY = enemy.getY() + enemy.getHeight() / 2;
+            float reach = Math.max(enemy.getWidth(), enemy.getHeight());  // Centros mais afastados do que isto não se tocam
+            int count = grid.query(centerX, centerY, reach, enemy, contacts);
+            pushX = 0;
+            pushY = 0;
+            for (int c = 0; c < count; c++) {
+                addPush(enemy, contacts[c]);
+                contacts[c] = null;  // Não prende inimigos entre frames
+            }
+            if (pushX != 0 || pushY != 0) {
+                // Limitado a meio corpo: muitos vizinhos do mesmo lado não o atiram para longe num só frame
+                float maxX = enemy.getWidth() / 2;
+                float maxY = enemy.getHeight() / 2;
+                room.moveEnemy(enemy, Math.max(-maxX, Math.min(pushX, maxX)), Math.max(-maxY, Math.min(pushY, maxY)));
+            }
+        }
+    }
+
+    private void addPush(Enemy enemy, Enemy other) {  // Soma o afastamento de um vizinho ao empurrão do inimigo
+        float overlapX = Math.min(enemy.getX() + enemy.getWidth(), other.getX() + other.getWidth())
+            - Math.max(enemy.getX(), other.getX());
+        float overlapY = Math.min(enemy.getY() + enemy.getHeight(), other.getY() + other.getHeight())
+            - Math.max(enemy.getY(), other.getY());
+        if (overlapX <= 0 || overlapY <= 0) {
+            return;
+        }
+        if (overlapX < overlapY) {
+            pushX += overlapX / 2 * (enemy.getX() < other.getX() ? -1 : 1);
+        } else {
+            pushY += overlapY / 2 * (enemy.getY() < other.getY() ? -1 : 1);
+        }
+    }
+}
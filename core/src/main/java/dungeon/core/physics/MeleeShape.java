@@ -0,0 +1,80 @@
+package dungeon.core.physics;  // Define o pacote do sistema de colisões
+
+/**
+ * Área atingida por um golpe, relativa ao centro de quem ataca e virada para a direção em que olha.
+ * - ARC: setor circular (golpe de lado a lado), com raio e meia-abertura;
+ * - CONE: triângulo com o vértice no atacante e o fim plano (estocada), com comprimento e meia-largura no fim;
+ * - BOX: retângulo à frente do atacante, com comprimento e meia-largura.
+ * Os testes usam só produtos e distâncias ao quadrado (sem raízes nem trigonometria por inimigo).
+ */
+public final class MeleeShape {
+    public enum Kind {
+        ARC, CONE, BOX
+    }
+
+    private final Kind kind;
+    private final float length;  // Raio (ARC) ou comprimento ao longo da direção (CONE, BOX)
+    private final float halfWidth;  // Meia-largura no fim (CONE, BOX)
+    private final float cosHalfAngleSquared;  // cos² da meia-abertura (ARC)
+    private final boolean wide;  // Meia-abertura do ARC maior que 90°
+    private final float reach;  // Maior distância ao centro atingida pela forma
+
+    private MeleeShape(Kind kind, float length, float halfWidth, float halfAngleDegrees) {
+        this.kind = kind;
+        this.length = length;
+        this.halfWidth = halfWidth;
+        double cos = Math.cos(Math.toRadians(halfAngleDegrees));  // Calculado uma vez por forma
+        this.cosHalfAngleSquared = (float) (cos * cos);
+        this.wide = cos < 0;
+        this.reach = kind == Kind.ARC ? length : (float) Math.sqrt(length * length + halfWidth * halfWidth);
+    }
+
+    public static MeleeShape arc(float radius, float halfAngleDegrees) {
+        return new MeleeShape(Kind.ARC, radius, 0, halfAngleDegrees);
+    }
+
+    public static MeleeShape cone(float length, float endHalfWidth) {
+        return new MeleeShape(Kind.CONE, length, endHalfWidth, 0);
+    }
+
+    public static MeleeShape box(float length, float halfWidth) {
+        return new MeleeShape(Kind.BOX, length, halfWidth, 0);
+    }
+
+    /**
+     * true se o ponto (dx, dy), relativo ao atacante, está dentro da forma virada para
+     * (facingX, facingY) (vetor unitário).
+     */
+    public boolean contains(float dx, float dy, float facingX, float facingY) {
+        float along = dx * facingX + dy * facingY;  // Distância à frente do atacante
+        float across = dx * facingY - dy * facingX;  // Distância para o lado
+        switch (kind) {
+            case ARC: {
+                float distanceSquared = dx * dx + dy * dy;
+                if (distanceSquared > length * length) {
+                    return false;
+                }
+                // along >= |d|·cos(meia-abertura), comparado ao quadrado
+                if (wide) {
+                    return along >= 0 || along * along <= cosHalfAngleSquared * distanceSquared;
+                }
+                return along >= 0 && along * along >= cosHalfAngleSquared * distanceSquared;
+            }
+            case CONE:
+                // A meia-largura cresce de 0 no atacante até halfWidth no fim
+                return along >= 0 && along <= length && Math.abs(across) * length <= halfWidth * along;
+            case BOX:
+                return along >= 0 && along <= length && Math.abs(across) <= halfWidth;
+            default:
+                return false;
+        }
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public float getReach() {  // Raio do círculo que contém a forma (usado na procura de candidatos)
+        return reach;
+    }
+}
@@ -0,0 +1,199 @@
+package dungeon.core.physics;  // Define o pacote do sistema de colisões
+
+import dungeon.core.GameEntity;  // Corpos indexados
+import java.util.Arrays;  // Limpeza e crescimento dos arrays
+import java.util.List;  // Corpos da sala
+
+/**
+ * Índice espacial dos corpos de uma sala (inimigos, jogadores, itens, portas): uma grelha uniforme
+ * refeita em cada atualização com uma ordenação por contagem (O(n), sem alocações depois de atingida
+ * a capacidade). Cada consulta só percorre as células que tocam na área pedida e devolve no máximo
+ * tantos corpos quanto o array recebido, por isso o custo por consulta é O(k) e não O(n).
+ * Os corpos inativos (mortos, já apanhados) ficam de fora.
+ */
+public class SpatialGrid<T extends GameEntity> {
+    private static final float STALE_MARGIN = 32f;  // Quanto um corpo pode andar entre a reconstrução e uma consulta
+
+    private final float cellSize;  // Lado de cada célula (próximo do maior raio consultado)
+    private int columns;
+    private int rows;
+    private int[] cellStart = new int[1];  // Início de cada célula em sorted; cellStart[cells] = total
+    private int[] cellOf = new int[64];  // Célula de cada corpo, pela ordem em que foi adicionado
+    private Object[] added = new Object[64];  // Corpos adicionados desde begin
+    private Object[] sorted = new Object[64];  // Corpos agrupados por célula
+    private int addedCount;
+    private int count;
+    private float maxHalfExtent;  // Metade do maior lado indexado: quanto um corpo passa da célula do seu centro
+
+    public SpatialGrid(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    public void rebuild(List<? extends T> bodies, float width, float height) {  // Indexa uma lista de corpos pelo centro
+        begin(width, height);
+        for (int i = 0; i < bodies.size(); i++) {
+            add(bodies.get(i));
+        }
+        end();
+    }
+
+    // Reconstrução em três passos, para indexar corpos de várias listas (ex: itens e portas)
+    public void begin(float width, float height) {
+        int previousCount = count;
+        columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        int cells = columns * rows;
+        if (cellStart.length < cells + 1) {
+            cellStart = new int[cells + 1];
+        }
+        Arrays.fill(cellStart, 0, cells + 1, 0);
+        Arrays.fill(sorted, 0, previousCount, null);  // Não prende corpos antigos
+        addedCount = 0;
+        count = 0;
+        maxHalfExtent = 0;
+    }
+
+    public void add(T body) {  // Conta o corpo na célula do seu centro (os inativos ficam de fora)
+        if (!body.isActive()) {
+            return;
+        }
+        if (addedCount == added.length) {
+            added = Arrays.copyOf(added, addedCount * 2);
+            cellOf = Arrays.copyOf(cellOf, addedCount * 2);
+            sorted = new Object[addedCount * 2];
+        }
+        int cell = cellAt(body.getX() + body.getWidth() / 2, body.getY() + body.getHeight() / 2);
+        added[addedCount] = body;
+        cellOf[addedCount] = cell;
+        addedCount++;
+        cellStart[cell + 1]++;
+        maxHalfExtent = Math.max(maxHalfExtent, Math.max(body.getWidth(), body.getHeight()) / 2);
+    }
+
+    public void end() {  // Agrupa os corpos adicionados por célula
+        int cells = columns * rows;
+        for (int cell = 0; cell < cells; cell++) {  // Soma acumulada: início de cada célula
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        count = cellStart[cells];
+
+        // Colocação: cellStart[c] avança durante o preenchimento e é reposto a seguir
+        for (int i = 0; i < addedCount; i++) {
+            sorted[cellStart[cellOf[i]]++] = added[i];
+            added[i] = null;
+        }
+        for (int cell = cells; cell > 0; cell--) {
+            cellStart[cell] = cellStart[cell - 1];
+        }
+        cellStart[0] = 0;
+    }
+
+    /**
+     * Preenche out com os corpos cujo centro está a menos de radius de (x, y), exceto self,
+     * até out ficar cheio; devolve quantos foram escritos.
+     */
+    @SuppressWarnings("unchecked")
+    public int query(float x, float y, float radius, T self, T[] out) {
+        int found = 0;
+        float radiusSquared = radius * radius;
+        int firstColumn = Math.max(0, (int) ((x - radius) / cellSize));
+        int lastColumn = Math.min(columns - 1, (int) ((x + radius) / cellSize));
+        int firstRow = Math.max(0, (int) ((y - radius) / cellSize));
+        int lastRow = Math.min(rows - 1, (int) ((y + radius) / cellSize));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    T other = (T) sorted[i];
+                    if (other == self) {
+                        continue;
+                    }
+                    float dx = other.getX() + other.getWidth() / 2 - x;
+                    float dy = other.getY() + other.getHeight() / 2 - y;
+                    if (dx * dx + dy * dy < radiusSquared) {
+                        out[found++] = other;
+                        if (found == out.length) {
+                            return found;  // Limite de vizinhos atingido
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Preenche out com os corpos ativos cuja caixa toca (ou encosta) na caixa (x, y, width, height),
+     * até out ficar cheio; devolve quantos foram escritos. Usado como fase larga da colisão contínua:
+     * a caixa pedida cobre o movimento inteiro e o teste exato fica para SweptAabb.
+     */
+    @SuppressWarnings("unchecked")
+    public int queryBox(float x, float y, float width, float height, T[] out) {
+        int found = 0;
+        float margin = maxHalfExtent + STALE_MARGIN;  // O centro de um corpo que toca na caixa pode estar fora dela
+        int firstColumn = Math.max(0, (int) ((x - margin) / cellSize));
+        int lastColumn = Math.min(columns - 1, (int) ((x + width + margin) / cellSize));
+        int firstRow = Math.max(0, (int) ((y - margin) / cellSize));
+        int lastRow = Math.min(rows - 1, (int) ((y + height + margin) / cellSize));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    T other = (T) sorted[i];
+                    if (other.isActive() && other.getX() <= x + width && x <= other.getX() + other.getWidth()
+                            && other.getY() <= y + height && y <= other.getY() + other.getHeight()) {
+                        out[found++] = other;
+                        if (found == out.length) {
+                            return found;
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Preenche out com os corpos ativos cujo centro está dentro da forma do golpe, com o atacante em
+     * (x, y) virado para (facingX, facingY), até out ficar cheio; devolve quantos foram escritos.
+     * O teste da forma é feito durante a travessia, por isso só os corpos realmente atingidos contam
+     * para o limite de out. As células percorridas cobrem o alcance da forma com uma margem: os corpos
+     * mexem-se um pouco depois de a grelha ser refeita e não devem escapar por mudarem de célula.
+     */
+    @SuppressWarnings("unchecked")
+    public int queryShape(float x, float y, MeleeShape shape, float facingX, float facingY, T[] out) {
+        int found = 0;
+        float reach = shape.getReach() + STALE_MARGIN;
+        int firstColumn = Math.max(0, (int) ((x - reach) / cellSize));
+        int lastColumn = Math.min(columns - 1, (int) ((x + reach) / cellSize));
+        int firstRow = Math.max(0, (int) ((y - reach) / cellSize));
+        int lastRow = Math.min(rows - 1, (int) ((y + reach) / cellSize));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    T other = (T) sorted[i];
+                    float dx = other.getX() + other.getWidth() / 2 - x;
+                    float dy = other.getY() + other.getHeight() / 2 - y;
+                    if (other.isActive() && shape.contains(dx, dy, facingX, facingY)) {
+                        out[found++] = other;
+                        if (found == out.length) {
+                            return found;
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private int cellAt(float x, float y) {  // Célula de um ponto (pontos fora da sala ficam na célula da margem)
+        int column = Math.max(0, Math.min(columns - 1, (int) (x / cellSize)));
+        int row = Math.max(0, Math.min(rows - 1, (int) (y / cellSize)));
+        return row * columns + column;
+    }
+
+    public int size() {  // Corpos indexados na última reconstrução
+        return count;
+    }
+}
@@ -0,0 +1,61 @@
+package dungeon.core.physics;  // Define o pacote do sistema de colisões
+
+import com.badlogic.gdx.math.Rectangle;  // Caixa parada
+
+/**
+ * Colisão contínua entre uma caixa em movimento e uma caixa parada. Em vez de testar só a posição
+ * final (que deixa um corpo rápido, ou um frame longo, atravessar uma porta fina), calcula o instante
+ * do movimento em que as caixas se tocam pela primeira vez.
+ */
+public final class SweptAabb {
+    public static final float NO_HIT = Float.POSITIVE_INFINITY;  // Valor devolvido quando não há contacto
+
+    private SweptAabb() {
+    }
+
+    /**
+     * Instante do primeiro contacto, entre 0 (posição inicial) e 1 (posição inicial + deslocamento),
+     * da caixa (x, y, width, height) a mover-se (dx, dy) contra target; NO_HIT se não se tocarem.
+     */
+    public static float timeOfImpact(float x, float y, float width, float height, float dx, float dy, Rectangle target) {
+        float entryX, exitX, entryY, exitY;
+
+        if (dx > 0) {
+            entryX = (target.x - (x + width)) / dx;
+            exitX = (target.x + target.width - x) / dx;
+        } else if (dx < 0) {
+            entryX = (target.x + target.width - x) / dx;
+            exitX = (target.x - (x + width)) / dx;
+        } else if (x < target.x + target.width && target.x < x + width) {
+            entryX = Float.NEGATIVE_INFINITY;  // Parado em X e já sobreposto nesse eixo
+            exitX = Float.POSITIVE_INFINITY;
+        } else {
+            return NO_HIT;
+        }
+
+        if (dy > 0) {
+            entryY = (target.y - (y + height)) / dy;
+            exitY = (target.y + target.height - y) / dy;
+        } else if (dy < 0) {
+            entryY = (target.y + target.height - y) / dy;
+            exitY = (target.y - (y + height)) / dy;
+        } else if (y < target.y + target.height && target.y < y + height) {
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else {
+            return NO_HIT;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+        if (entry >= exit || exit <= 0 || entry > 1) {
+            return NO_HIT;  // Os intervalos não se cruzam, o contacto foi antes do movimento ou depois do fim
+        }
+        return Math.max(entry, 0);  // Já sobrepostos no início: contacto imediato
+    }
+
+    // Verdadeiro se a caixa toca em target em algum ponto do movimento de (fromX, fromY) até (toX, toY)
+    public static boolean sweepHits(float fromX, float fromY, float width, float height, float toX, float toY, Rectangle target) {
+        return timeOfImpact(fromX, fromY, width, height, toX - fromX, toY - fromY, target) != NO_HIT;
+    }
+}
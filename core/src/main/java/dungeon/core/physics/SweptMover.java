@@ -0,0 +1,126 @@
+package dungeon.core.physics;  // Define o pacote do sistema de colisões
+
+import com.badlogic.gdx.math.Rectangle;  // Caixas das paredes e dos corpos sólidos
+import dungeon.core.Character;  // Corpo a mover
+import dungeon.core.Player;  // Corpos sólidos para os inimigos
+import dungeon.core.tiles.TileMap;  // Paredes das salas em tiles
+
+/**
+ * Desloca uma personagem com colisão contínua: o movimento é feito um eixo de cada vez e cada eixo
+ * pára no primeiro contacto (SweptAabb.timeOfImpact) com uma parede ou com um corpo sólido, por
+ * maior que seja o deslocamento. Como os eixos são independentes, a personagem desliza ao longo da
+ * parede em vez de parar. Os corpos sólidos vêm de um SpatialGrid e só os que tocam na área do
+ * movimento são testados.
+ */
+public class SweptMover {
+    public static final float CONTACT_SKIN = 0.5f;  // Folga com que duas caixas encostadas contam como em contacto
+    private static final float OVERLAP_SKIN = 0.01f;  // Sobreposição a partir da qual um obstáculo já estava dentro da caixa
+    private static final int MAX_SOLIDS = 8;  // Corpos sólidos testados por eixo
+
+    private final Rectangle obstacle = new Rectangle();  // Tile a testar (reutilizado)
+    private final Player[] solids = new Player[MAX_SOLIDS];  // Resultado da fase larga (reutilizado)
+    private int solidCount;  // Corpos sólidos na área do movimento atual
+    private float contact;  // Coordenada em que o eixo atual encostou no obstáculo mais próximo
+
+    /**
+     * Move body por (dx, dy) sem atravessar as paredes de tiles nem os corpos de solidGrid (qualquer
+     * um pode ser null) e sem sair de [minX, maxX] x [minY, maxY].
+     */
+    public void move(Character body, float dx, float dy, float minX, float minY, float maxX, float maxY,
+                     TileMap tiles, SpatialGrid<Player> solidGrid) {
+        if (dx == 0 && dy == 0) {
+            return;
+        }
+        float x = body.getX();
+        float y = body.getY();
+
+        // Fase larga: uma só consulta cobre o movimento nos dois eixos
+        solidCount = 0;
+        if (solidGrid != null && solidGrid.size() > 0) {
+            solidCount = solidGrid.queryBox(Math.min(x, x + dx), Math.min(y, y + dy),
+                body.getWidth() + Math.abs(dx), body.getHeight() + Math.abs(dy), solids);
+        }
+
+        if (dx != 0) {
+            x = Math.max(minX, Math.min(sweep(body, x, y, dx, 0, tiles), maxX));
+        }
+        if (dy != 0) {
+            y = Math.max(minY, Math.min(sweep(body, x, y, 0, dy, tiles), maxY));
+        }
+        for (int i = 0; i < solidCount; i++) {
+            solids[i] = null;  // Não prende jogadores entre movimentos
+        }
+        if (x != body.getX() || y != body.getY()) {
+            body.setPosition(x, y);
+        }
+    }
+
+    // Coordenada final do eixo em movimento: o fim do deslocamento ou a face do primeiro obstáculo
+    private float sweep(Character body, float x, float y, float dx, float dy, TileMap tiles) {
+        float width = body.getWidth();
+        float height = body.getHeight();
+        float time = 1f;
+        contact = dx != 0 ? x + dx : y + dy;
+
+        if (tiles != null) {
+            // Tiles da área percorrida: a caixa no início e no fim do movimento
+            float areaX = Math.min(x, x + dx);
+            float areaY = Math.min(y, y + dy);
+            float areaWidth = width + Math.abs(dx);
+            float areaHeight = height + Math.abs(dy);
+            float tileSize = tiles.getTileSize();
+            int firstColumn = (int) Math.floor(areaX / tileSize);
+            int lastColumn = (int) Math.floor((areaX + areaWidth) / tileSize);
+            int firstRow = (int) Math.floor(areaY / tileSize);
+            int lastRow = (int) Math.floor((areaY + areaHeight) / tileSize);
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    if (tiles.isSolid(column, row)) {
+                        obstacle.set(column * tileSize, row * tileSize, tileSize, tileSize);
+                        time = closest(x, y, width, height, dx, dy, obstacle, time);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < solidCount; i++) {
+            if (solids[i] != body) {
+                time = closest(x, y, width, height, dx, dy, solids[i].getHitbox(), time);
+            }
+        }
+        return contact;
+    }
+
+    // Guarda a face do obstáculo se for tocado antes de time; os que já estavam dentro da caixa são
+    // ignorados, para que um corpo preso (ex: colocado em cima de outro) consiga sair
+    private float closest(float x, float y, float width, float height, float dx, float dy, Rectangle target, float time) {
+        if (overlapsDeep(x, y, width, height, target)) {
+            return time;
+        }
+        float impact = SweptAabb.timeOfImpact(x, y, width, height, dx, dy, target);
+        if (impact >= time) {
+            return time;
+        }
+        if (dx > 0) {
+            contact = target.x - width;  // Encosta exatamente na face, sem folga nem sobreposição
+        } else if (dx < 0) {
+            contact = target.x + target.width;
+        } else if (dy > 0) {
+            contact = target.y - height;
+        } else {
+            contact = target.y + target.height;
+        }
+        return impact;
+    }
+
+    private static boolean overlapsDeep(float x, float y, float width, float height, Rectangle target) {
+        return x + OVERLAP_SKIN < target.x + target.width && target.x + OVERLAP_SKIN < x + width
+            && y + OVERLAP_SKIN < target.y + target.height && target.y + OVERLAP_SKIN < y + height;
+    }
+
+    // Verdadeiro se as caixas se sobrepõem ou estão encostadas (a colisão contínua deixa-as encostadas)
+    public static boolean touching(Rectangle a, Rectangle b) {
+        return a.x <= b.x + b.width + CONTACT_SKIN && b.x <= a.x + a.width + CONTACT_SKIN
+            && a.y <= b.y + b.height + CONTACT_SKIN && b.y <= a.y + a.height + CONTACT_SKIN;
+    }
+}
@@ -0,0 +1,42 @@
+package dungeon.core.player;
+
+import dungeon.core.Enemy;
+import java.util.Arrays;
+
+/**
+ * Resultado de um golpe: todos os inimigos atingidos, recolhidos antes de aplicar o dano.
+ * O mesmo objeto é reutilizado em todos os golpes; só é válido até ao golpe seguinte.
+ */
+public class HitResult {
+    private final Enemy[] enemies;
+    private int count;
+
+    public HitResult(int capacity) {
+        this.enemies = new Enemy[capacity];
+    }
+
+    void clear() {
+        Arrays.fill(enemies, 0, count, null);  // Não prende inimigos de salas antigas
+        count = 0;
+    }
+
+    boolean add(Enemy enemy) {  // false se já estiver cheio
+        if (count == enemies.length) {
+            return false;
+        }
+        enemies[count++] = enemy;
+        return true;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public Enemy get(int index) {
+        return enemies[index];
+    }
+}
@@ -3,24 +3,57 @@ package dungeon.core.player;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import dungeon.core.Player;
+import dungeon.core.assets.TextureCache;
 
 public class PlayerAnimationHandler {
 
     private final Player player;
-    private final Texture normalTexture;
-    private final Texture combatTexture;
+    private final String normalTexturePath;
+    private final String combatTexturePath;
+    private static final String HIT_EFFECT_TEXTURE_PATH = "attack_effect.png";
 
-    public PlayerAnimationHandler(Player player, Texture normalTexture, Texture combatTexture) {
+    // Obtidas da cache partilhada no primeiro desenho
+    private Texture normalTexture;
+    private Texture combatTexture;
+    private Texture hitEffectTexture;
+
+    public PlayerAnimationHandler(Player player, String normalTexturePath, String combatTexturePath) {
         this.player = player;
-        this.normalTexture = normalTexture;
-        this.combatTexture = combatTexture;
+        this.normalTexturePath = normalTexturePath;
+        this.combatTexturePath = combatTexturePath;
     }
 
     public void render(SpriteBatch batch) {
-        if (player.getCombat().isAttacking()) {
-            batch.draw(combatTexture, player.getX(), player.getY());
-        } else {
-            batch.draw(normalTexture, player.getX(), player.getY());
+        batch.draw(getCurrentTexture(), player.getX(), player.getY());
+    }
+
+    // Sprite a usar neste frame: o de combate enquanto o jogador ataca, o normal no resto do tempo
+    public Texture getCurrentTexture() {
+        if (normalTexture == null) {
+            normalTexture = TextureCache.getInstance().acquire(normalTexturePath);
+            combatTexture = TextureCache.getInstance().acquire(combatTexturePath);
+        }
+        return player.getCombat().isAttacking() ? combatTexture : normalTexture;
+    }
+
+    // Efeito desenhado sobre o inimigo atingido
+    public Texture getHitEffectTexture() {
+        if (hitEffectTexture == null) {
+            hitEffectTexture = TextureCache.getInstance().acquire(HIT_EFFECT_TEXTURE_PATH);
+        }
+        return hitEffectTexture;
+    }
+
+    public void dispose() {
+        if (hitEffectTexture != null) {
+            TextureCache.getInstance().release(HIT_EFFECT_TEXTURE_PATH);
+            hitEffectTexture = null;
+        }
+        if (normalTexture != null) {
+            TextureCache.getInstance().release(normalTexturePath);
+            TextureCache.getInstance().release(combatTexturePath);
+            normalTexture = null;
+            combatTexture = null;
         }
     }
 }
@@ -1,11 +1,14 @@
 package dungeon.core.player;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
+import dungeon.core.Enemy;
 import dungeon.core.Player;
+import dungeon.core.Room;
+import dungeon.core.physics.MeleeShape;
 
 public class PlayerCombatComponent {
 
+    private static final int MAX_HITS = 64;  // Inimigos atingidos por um golpe, no máximo
+
     private final Player player;
     private float attackCooldown = 0.5f;
     private float lastAttackTime = 0f;
@@ -14,6 +17,22 @@ public class PlayerCombatComponent {
     private float attackTimer = 0f;
     private final float attackDisplayTime = 0.2f;  // Tempo para mostrar sprite com espada
 
+    // Um ataque pedido pouco antes de acabar o intervalo entre ataques fica guardado e sai logo que possível
+    private final float attackBufferTime = 0.15f;
+    private float attackBufferTimer = 0f;
+
+    private boolean attackPending = false;  // Ataque feito neste frame, à espera de ser resolvido pela lógica do jogo
+
+    // Área do golpe: meia-lua de 200 px à frente do jogador (o alcance do ataque original, mas só para onde olha)
+    private MeleeShape attackShape = MeleeShape.arc(200f, 90f);
+    private final Enemy[] struck = new Enemy[MAX_HITS];  // Resultado da consulta à grelha
+    private final HitResult hits = new HitResult(MAX_HITS);
+
+    // Efeito visual no inimigo atingido
+    private final float hitEffectDisplayTime = 0.3f;
+    private float hitEffectTimer = 0f;
+    private float hitEffectX, hitEffectY;
+
     public PlayerCombatComponent(Player player) {
         this.player = player;
     }
@@ -28,16 +47,90 @@ public class PlayerCombatComponent {
             isAttacking = false;
         }
 
-        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) && lastAttackTime >= attackCooldown) {
-            attack();
-            lastAttackTime = 0;
-            attackTimer = attackDisplayTime;
+        if (hitEffectTimer > 0) {
+            hitEffectTimer -= deltaTime;
+        }
+
+        if (attackBufferTimer > 0) {
+            if (lastAttackTime >= attackCooldown) {
+                attack();
+                lastAttackTime = 0;
+                attackTimer = attackDisplayTime;
+                attackBufferTimer = 0;
+            } else {
+                attackBufferTimer -= deltaTime;
+            }
         }
     }
 
+    // Pedido de ataque (tecla premida); chamado antes de update() no mesmo tick
+    public void requestAttack() {
+        attackBufferTimer = attackBufferTime;
+    }
+
     private void attack() {
-        // Aqui podes colocar a lógica de ataque real ao inimigo
-        System.out.println("Ataque realizado!");
+        // O dano é aplicado em resolveAttack, chamado pela lógica do jogo depois de atualizar a sala
+        attackPending = true;
+    }
+
+    /**
+     * Resolve um golpe contra os inimigos da sala. A grelha espacial da sala testa a forma do golpe nas
+     * células à volta do jogador, por isso o custo depende dos inimigos próximos e não de todos os da
+     * sala, e o limite de MAX_HITS só conta inimigos realmente atingidos. Os atingidos são recolhidos
+     * primeiro e o dano é aplicado no fim, de uma vez.
+     */
+    public HitResult resolveAttack(Room room) {
+        hits.clear();
+        float centerX = player.getX() + player.getWidth() / 2;
+        float centerY = player.getY() + player.getHeight() / 2;
+        int found = room.getNeighbourGrid().queryShape(centerX, centerY, attackShape, player.getFacingX(),
+            player.getFacingY(), struck);
+
+        for (int i = 0; i < found; i++) {
+            hits.add(struck[i]);
+            struck[i] = null;  // Não prende inimigos até ao próximo golpe
+        }
+
+        for (int i = 0; i < hits.getCount(); i++) {
+            hits.get(i).takeDamage(player.getAttackDamage(), player);  // Um inimigo derrotado pode largar um item na sala
+        }
+        if (!hits.isEmpty()) {
+            showHitEffect(hits.get(0).getX(), hits.get(0).getY());
+        }
+        return hits;
+    }
+
+    public void setAttackShape(MeleeShape attackShape) {  // Ex: armas com alcance ou forma diferentes
+        this.attackShape = attackShape;
+    }
+
+    public MeleeShape getAttackShape() {
+        return attackShape;
+    }
+
+    // Devolve true uma única vez por ataque
+    public boolean consumeAttack() {
+        boolean pending = attackPending;
+        attackPending = false;
+        return pending;
+    }
+
+    public void showHitEffect(float x, float y) {
+        hitEffectX = x;
+        hitEffectY = y;
+        hitEffectTimer = hitEffectDisplayTime;
+    }
+
+    public boolean isHitEffectVisible() {
+        return hitEffectTimer > 0;
+    }
+
+    public float getHitEffectX() {
+        return hitEffectX;
+    }
+
+    public float getHitEffectY() {
+        return hitEffectY;
     }
 
     public boolean isAttacking() {
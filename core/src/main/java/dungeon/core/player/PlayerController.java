@@ -1,8 +1,9 @@
 package dungeon.core.player;
 
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.Gdx;
 import dungeon.core.Player;
+import dungeon.core.Room;
+import dungeon.core.input.ActionState;
+import dungeon.core.input.GameAction;
 
 public class PlayerController {
 
@@ -12,18 +13,20 @@ public class PlayerController {
         this.player = player;
     }
 
-    public void processInput(float deltaTime) {
-        float moveSpeed = player.getSpeed();
-
-        float dx = 0;
-        float dy = 0;
+    // Move o jogador durante um tick; cada direção conta só a parte do tick em que esteve premida
+    public void processInput(ActionState actions, Room room, float deltaTime) {
+        move(room, actions.getAxis(GameAction.MOVE_LEFT, GameAction.MOVE_RIGHT),
+            actions.getAxis(GameAction.MOVE_DOWN, GameAction.MOVE_UP), deltaTime);
+    }
 
-        if (Gdx.input.isKeyPressed(Input.Keys.W)) dy += moveSpeed * deltaTime;
-        if (Gdx.input.isKeyPressed(Input.Keys.S)) dy -= moveSpeed * deltaTime;
-        if (Gdx.input.isKeyPressed(Input.Keys.A)) dx -= moveSpeed * deltaTime;
-        if (Gdx.input.isKeyPressed(Input.Keys.D)) dx += moveSpeed * deltaTime;
+    // Move o jogador com eixos entre -1 e 1 (também usado pelo servidor com o input recebido dos clientes).
+    // A sala pára o movimento na primeira parede tocada, por maior que seja o passo
+    public void move(Room room, float axisX, float axisY, float deltaTime) {
+        float distance = player.getSpeed() * deltaTime;
+        float dx = axisX * distance;
+        float dy = axisY * distance;
 
-        player.setY(player.getY() + dy);
-        player.setX(player.getX() + dx);
+        room.movePlayer(player, dx, dy);
+        player.setFacing(dx, dy);  // Os ataques saem para o lado para onde o jogador andou por último
     }
 }
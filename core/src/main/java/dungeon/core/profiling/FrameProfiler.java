@@ -0,0 +1,360 @@
+package dungeon.core.profiling;  // Define o pacote onde as classes de profiling estão localizadas
+
+import com.badlogic.gdx.Gdx;  // Acesso ao sistema de ficheiros e aos gráficos da libGDX
+import com.badlogic.gdx.graphics.g2d.BitmapFont;  // Fonte usada para desenhar o overlay
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;  // Fonte das estatísticas de chamadas de desenho
+import com.badlogic.gdx.graphics.profiling.GLProfiler;  // Conta as trocas de textura feitas pela GPU
+import java.io.BufferedWriter;  // Escrita com buffer para o ficheiro CSV
+import java.io.IOException;  // Erros de escrita no ficheiro CSV
+import java.io.Writer;  // Interface genérica de escrita
+import java.lang.management.ManagementFactory;  // Acesso aos MXBeans da JVM
+
+/**
+ * Profiler de frames do jogo.
+ * Mede o tempo (em nanossegundos) de cada fase do frame, as chamadas de desenho do SpriteBatch,
+ * as trocas de textura, o número de entidades e a memória alocada pela thread do jogo.
+ * Mostra p50/p99 num overlay (F3) e pode gravar todas as amostras num ficheiro CSV (F4).
+ */
+public class FrameProfiler {
+    // Fases do frame que são cronometradas
+    public enum Phase {
+        INPUT(Metric.INPUT_NS),  // Leitura do teclado e movimento do jogador
+        AI(Metric.AI_NS),  // Atualização dos inimigos
+        COLLISION(Metric.COLLISION_NS),  // Colisões com itens, portas e inimigos
+        EVENTS(Metric.EVENTS_NS),  // Notificação dos observadores de eventos
+        RENDER(Metric.RENDER_NS),  // Desenho do mundo
+        HUD(Metric.HUD_NS);  // Desenho da interface
+
+        private final Metric metric;  // Coluna onde o tempo desta fase é acumulado
+
+        Phase(Metric metric) {
+            this.metric = metric;
+        }
+    }
+
+    // Colunas registadas em cada frame (a ordem é a mesma do ficheiro CSV)
+    public enum Metric {
+        FRAME_NS("frame_ns", "Frame", Unit.NANOS),
+        INPUT_NS("input_ns", "Input", Unit.NANOS),
+        AI_NS("ai_ns", "IA", Unit.NANOS),
+        COLLISION_NS("collision_ns", "Colisoes", Unit.NANOS),
+        EVENTS_NS("events_ns", "Eventos", Unit.NANOS),
+        RENDER_NS("render_ns", "Render", Unit.NANOS),
+        HUD_NS("hud_ns", "HUD", Unit.NANOS),
+        BATCH_RENDER_CALLS("batch_render_calls", "renderCalls", Unit.COUNT),  // SpriteBatch.renderCalls do último begin/end
+        FRAME_RENDER_CALLS("frame_render_calls", "totalRenderCalls/frame", Unit.COUNT),  // Diferença de totalRenderCalls neste frame
+        TEXTURE_BINDINGS("texture_bindings", "Texture binds", Unit.COUNT),
+        ENTITIES("entities", "Entidades", Unit.COUNT),
+        ALLOCATED_BYTES("allocated_bytes", "Alocado/frame", Unit.BYTES);
+
+        private final String column;  // Nome da coluna no CSV
+        private final String label;  // Nome mostrado no overlay
+        private final Unit unit;  // Unidade usada para formatar o valor
+
+        Metric(String column, String label, Unit unit) {
+            this.column = column;
+            this.label = label;
+            this.unit = unit;
+        }
+
+        public String getColumn() { return column; }
+        public String getLabel() { return label; }
+        public Unit getUnit() { return unit; }
+    }
+
+    public enum Unit { NANOS, COUNT, BYTES }  // Unidades possíveis das métricas
+
+    private static final int WINDOW_FRAMES = 300;  // Tamanho da janela de percentis (~5 segundos a 60 FPS)
+    private static final int OVERLAY_REFRESH_FRAMES = 30;  // De quantos em quantos frames o overlay recalcula os percentis
+    private static final int MAX_PHASE_DEPTH = 8;  // Profundidade máxima de fases encaixadas
+
+    private static FrameProfiler instance;  // Instância única (padrão Singleton)
+
+    private final Metric[] metrics = Metric.values();  // Cache de Metric.values() para não alocar em cada frame
+    private final long[] values = new long[metrics.length];  // Valores do frame atual
+    private final RollingStats[] stats = new RollingStats[metrics.length];  // Janela deslizante de cada métrica
+
+    // Pilha de fases ativas: quando uma fase começa dentro de outra, o tempo da exterior é suspenso
+    private final Phase[] phaseStack = new Phase[MAX_PHASE_DEPTH];
+    private int phaseDepth;  // Número de fases ativas
+    private long phaseStart;  // Instante em que a fase do topo da pilha retomou
+
+    private boolean enabled;  // Indica se o profiler está a recolher dados
+    private boolean inFrame;  // Indica se existe um frame aberto (entre beginFrame e endFrame)
+    private long frameStart;  // Instante de início do frame
+    private long frameCount;  // Número total de frames medidos
+
+    // Fontes de dados externas
+    private GLProfiler glProfiler;  // Profiler de OpenGL da libGDX (conta texture bindings)
+    private final com.sun.management.ThreadMXBean allocationBean;  // Permite ler os bytes alocados pela thread (null se não suportado)
+    private long allocatedAtFrameStart;  // Bytes alocados pela thread no início do frame
+    private long lastTotalRenderCalls = -1;  // Último valor de totalRenderCalls lido
+
+    // Overlay
+    private final String[] overlayLines = new String[metrics.length];  // Linhas de texto do overlay (recalculadas periodicamente)
+    private int framesSinceRefresh = OVERLAY_REFRESH_FRAMES;  // Força o cálculo no primeiro frame
+
+    // Exportação CSV
+    private Writer csvWriter;  // Ficheiro CSV aberto (null se não estiver a gravar)
+    private String csvPath;  // Caminho do ficheiro CSV atual
+    private final StringBuilder csvLine = new StringBuilder(256);  // Linha reutilizada para não alocar por frame
+
+    private FrameProfiler() {  // Construtor privado para implementar Singleton
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new RollingStats(WINDOW_FRAMES);  // Cria uma janela para cada métrica
+        }
+        this.allocationBean = createAllocationBean();  // Tenta obter o MXBean de alocações
+    }
+
+    public static FrameProfiler getInstance() {  // Método que garante apenas uma instância
+        if (instance == null) {
+            instance = new FrameProfiler();
+        }
+        return instance;
+    }
+
+    public static FrameProfiler createDetached() {  // Profiler próprio de uma sessão sem janela (desligado até setEnabled)
+        return new FrameProfiler();
+    }
+
+    // O contador de alocações por thread só existe em JVMs HotSpot e derivadas
+    private static com.sun.management.ThreadMXBean createAllocationBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    sunBean.setThreadAllocatedMemoryEnabled(true);  // Ativa a contagem se estiver desligada
+                    return sunBean;
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException | SecurityException e) {
+            System.err.println("Contagem de alocações indisponível: " + e.getMessage());
+        }
+        return null;
+    }
+
+    public void setEnabled(boolean enabled) {  // Liga ou desliga a recolha de dados
+        if (this.enabled == enabled) {
+            return;
+        }
+        this.enabled = enabled;
+        if (enabled) {
+            if (glProfiler == null && Gdx.graphics != null) {
+                glProfiler = new GLProfiler(Gdx.graphics);  // Só é criado quando é realmente preciso
+            }
+            if (glProfiler != null) {
+                glProfiler.enable();  // Começa a interceptar as chamadas OpenGL
+                glProfiler.reset();
+            }
+            for (RollingStats stat : stats) {
+                stat.clear();  // Descarta amostras antigas
+            }
+            lastTotalRenderCalls = -1;
+            framesSinceRefresh = OVERLAY_REFRESH_FRAMES;
+        } else {
+            if (glProfiler != null) {
+                glProfiler.disable();  // Deixa de interceptar (o GLProfiler tem custo)
+            }
+            stopRecording();  // Fecha o CSV se estiver aberto
+            inFrame = false;
+            phaseDepth = 0;
+        }
+    }
+
+    public void toggle() {  // Alterna entre ligado e desligado
+        setEnabled(!enabled);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void beginFrame() {  // Marca o início de um frame
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 0;  // Limpa os valores do frame anterior
+        }
+        phaseDepth = 0;
+        inFrame = true;
+        frameStart = System.nanoTime();
+        if (allocationBean != null) {
+            allocatedAtFrameStart = allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+
+    public void begin(Phase phase) {  // Começa a cronometrar uma fase
+        if (!inFrame || phaseDepth == MAX_PHASE_DEPTH) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (phaseDepth > 0) {  // Suspende a fase exterior para não contar o mesmo tempo duas vezes
+            values[phaseStack[phaseDepth - 1].metric.ordinal()] += now - phaseStart;
+        }
+        phaseStack[phaseDepth++] = phase;
+        phaseStart = now;
+    }
+
+    public void end(Phase phase) {  // Termina a fase que está no topo da pilha
+        if (!inFrame || phaseDepth == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        values[phaseStack[--phaseDepth].metric.ordinal()] += now - phaseStart;
+        phaseStart = now;  // A fase exterior (se existir) retoma a partir daqui
+    }
+
+    public void recordBatch(SpriteBatch batch) {  // Lê as estatísticas de desenho do SpriteBatch
+        if (!inFrame) {
+            return;
+        }
+        values[Metric.BATCH_RENDER_CALLS.ordinal()] = batch.renderCalls;
+        if (lastTotalRenderCalls >= 0) {
+            values[Metric.FRAME_RENDER_CALLS.ordinal()] = batch.totalRenderCalls - lastTotalRenderCalls;
+        }
+        lastTotalRenderCalls = batch.totalRenderCalls;
+    }
+
+    public void setEntityCount(int count) {  // Regista o número de entidades ativas neste frame
+        if (inFrame) {
+            values[Metric.ENTITIES.ordinal()] = count;
+        }
+    }
+
+    public void endFrame() {  // Fecha o frame, guarda as amostras e escreve no CSV
+        if (!inFrame) {
+            return;
+        }
+        while (phaseDepth > 0) {
+            end(phaseStack[phaseDepth - 1]);  // Fecha fases que ficaram abertas (ex.: return antecipado)
+        }
+        values[Metric.FRAME_NS.ordinal()] = System.nanoTime() - frameStart;
+        if (glProfiler != null) {
+            values[Metric.TEXTURE_BINDINGS.ordinal()] = glProfiler.getTextureBindings();
+            glProfiler.reset();  // Recomeça a contagem para o próximo frame
+        }
+        if (allocationBean != null) {
+            values[Metric.ALLOCATED_BYTES.ordinal()] =
+                allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedAtFrameStart;
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            stats[i].add(values[i]);  // Acrescenta a amostra à janela deslizante
+        }
+        if (csvWriter != null) {
+            writeCsvLine();
+        }
+        frameCount++;
+        framesSinceRefresh++;
+        inFrame = false;
+    }
+
+    public void startRecording() {  // Abre um novo ficheiro CSV e começa a gravar as amostras
+        if (csvWriter != null || !enabled) {
+            return;
+        }
+        csvPath = "profiler-" + System.currentTimeMillis() + ".csv";
+        try {
+            csvWriter = new BufferedWriter(Gdx.files.local(csvPath).writer(false, "UTF-8"), 1 << 16);
+            csvLine.setLength(0);
+            csvLine.append("frame");
+            for (Metric metric : metrics) {
+                csvLine.append(',').append(metric.getColumn());
+            }
+            csvLine.append('\n');
+            csvWriter.append(csvLine);
+            System.out.println("[PROFILER] A gravar amostras em " + csvPath);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erro ao abrir o ficheiro CSV do profiler: " + e.getMessage());
+            csvWriter = null;
+        }
+    }
+
+    public void stopRecording() {  // Fecha o ficheiro CSV atual
+        if (csvWriter == null) {
+            return;
+        }
+        try {
+            csvWriter.close();  // Escreve o que falta no buffer e fecha o ficheiro
+            System.out.println("[PROFILER] Amostras gravadas em " + csvPath);
+        } catch (IOException e) {
+            System.err.println("Erro ao fechar o ficheiro CSV do profiler: " + e.getMessage());
+        }
+        csvWriter = null;
+    }
+
+    public void toggleRecording() {  // Alterna a gravação do CSV
+        if (csvWriter == null) {
+            startRecording();
+        } else {
+            stopRecording();
+        }
+    }
+
+    public boolean isRecording() {
+        return csvWriter != null;
+    }
+
+    private void writeCsvLine() {  // Escreve a linha do frame atual no CSV
+        csvLine.setLength(0);
+        csvLine.append(frameCount);
+        for (long value : values) {
+            csvLine.append(',').append(value);
+        }
+        csvLine.append('\n');
+        try {
+            csvWriter.append(csvLine);
+        } catch (IOException e) {
+            System.err.println("Erro ao escrever no CSV do profiler: " + e.getMessage());
+            csvWriter = null;  // Desiste da gravação em vez de falhar em todos os frames
+        }
+    }
+
+    /**
+     * Desenha o overlay com o p50/p99 de cada métrica.
+     * Deve ser chamado entre batch.begin() e batch.end(), com a fonte já configurada.
+     */
+    public void renderOverlay(SpriteBatch batch, BitmapFont font, float x, float y) {
+        if (!enabled) {
+            return;
+        }
+        if (framesSinceRefresh >= OVERLAY_REFRESH_FRAMES) {
+            refreshOverlay();  // Recalcula os percentis apenas de vez em quando
+        }
+        float lineHeight = font.getLineHeight();
+        font.draw(batch, isRecording() ? "PROFILER (F3)  CSV: a gravar (F4)" : "PROFILER (F3)  CSV: parado (F4)", x, y);
+        for (int i = 0; i < overlayLines.length; i++) {
+            font.draw(batch, overlayLines[i], x, y - lineHeight * (i + 1));
+        }
+    }
+
+    private void refreshOverlay() {  // Ordena as janelas e gera o texto do overlay
+        for (int i = 0; i < metrics.length; i++) {
+            stats[i].snapshot();
+            overlayLines[i] = metrics[i].getLabel() + ": p50 " + format(metrics[i].getUnit(), stats[i].percentile(50))
+                + "  p99 " + format(metrics[i].getUnit(), stats[i].percentile(99));
+        }
+        framesSinceRefresh = 0;
+    }
+
+    private static String format(Unit unit, long value) {  // Formata um valor de acordo com a sua unidade
+        switch (unit) {
+            case NANOS:
+                return String.format("%.2f ms", value / 1_000_000.0);
+            case BYTES:
+                return String.format("%.1f KB", value / 1024.0);
+            default:
+                return Long.toString(value);
+        }
+    }
+
+    public RollingStats getStats(Metric metric) {  // Permite a outras ferramentas ler a janela de uma métrica
+        return stats[metric.ordinal()];
+    }
+
+    public void dispose() {  // Liberta os recursos do profiler
+        setEnabled(false);
+    }
+}
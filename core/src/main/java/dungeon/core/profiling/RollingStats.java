@@ -0,0 +1,51 @@
+package dungeon.core.profiling;  // Define o pacote onde as classes de profiling estão localizadas
+
+import java.util.Arrays;  // Usado para ordenar a cópia das amostras ao calcular percentis
+
+// Janela deslizante de amostras com cálculo de percentis (p50, p99, ...)
+// As amostras ficam num buffer circular de tamanho fixo, por isso não há alocações por frame
+public class RollingStats {
+    private final long[] samples;  // Buffer circular com as últimas amostras
+    private final long[] sorted;  // Cópia reutilizada para ordenar sem alocar memória
+    private int next;  // Posição onde será escrita a próxima amostra
+    private int count;  // Número de amostras válidas no buffer
+
+    public RollingStats(int capacity) {  // Construtor que define o tamanho da janela
+        this.samples = new long[capacity];  // Cria o buffer circular
+        this.sorted = new long[capacity];  // Cria o buffer auxiliar de ordenação
+    }
+
+    public void add(long value) {  // Adiciona uma nova amostra, substituindo a mais antiga se estiver cheio
+        samples[next] = value;  // Guarda a amostra na posição atual
+        next = (next + 1) % samples.length;  // Avança a posição de escrita de forma circular
+        if (count < samples.length) {  // Enquanto o buffer não estiver cheio
+            count++;  // Aumenta o número de amostras válidas
+        }
+    }
+
+    /**
+     * Ordena a janela atual para que os percentis possam ser lidos.
+     * Deve ser chamado antes de percentile(); é a parte cara, por isso o overlay só o faz periodicamente.
+     */
+    public void snapshot() {
+        System.arraycopy(samples, 0, sorted, 0, count);  // Copia as amostras válidas
+        Arrays.sort(sorted, 0, count);  // Ordena a cópia
+    }
+
+    public long percentile(double p) {  // Devolve o percentil p (0-100) do último snapshot
+        if (count == 0) {  // Sem amostras não há percentil
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * count) - 1;  // Posição do percentil (método nearest-rank)
+        return sorted[Math.max(0, Math.min(index, count - 1))];  // Limita o índice ao intervalo válido
+    }
+
+    public int getCount() {  // Número de amostras na janela
+        return count;
+    }
+
+    public void clear() {  // Esvazia a janela
+        next = 0;
+        count = 0;
+    }
+}
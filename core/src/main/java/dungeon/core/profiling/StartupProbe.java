@@ -0,0 +1,82 @@
+package dungeon.core.profiling;  // Define o pacote onde as classes de profiling estão localizadas
+
+import com.badlogic.gdx.Gdx;  // Tempo entre frames e saída da aplicação
+import dungeon.core.InstructionScreen;  // Ecrã inicial (o treino passa dele para o jogo)
+import dungeon.core.MainGame;  // Jogo cujos frames são observados
+import java.io.BufferedReader;  // Leitura de /proc/self/status
+import java.io.FileReader;  // Ficheiro de estado do processo (Linux)
+import java.io.IOException;  // Sistemas sem /proc
+
+/**
+ * Medições de arranque ativadas por propriedades do sistema (sem elas não faz nada):
+ *   -Ddungeon.startupProbe=print|exit  escreve "[STARTUP] first-frame ..." depois do primeiro frame, com
+ *                                      o tempo desde markLaunch() e a memória residente; exit fecha logo
+ *                                      o jogo (usado pelo StartupBenchmark das ferramentas)
+ *   -Ddungeon.trainingRun=segundos     passa do ecrã de instruções para o jogo e fecha-o ao fim de N
+ *                                      segundos de jogo, com a janela escondida e sem som (usado pela
+ *                                      tarefa cdsArchive e pelo AppCdsArchive do launcher para gravar as
+ *                                      classes carregadas num arquivo AppCDS)
+ */
+public final class StartupProbe {
+    public static final String MARKER = "[STARTUP] first-frame";
+
+    private static final String MODE = System.getProperty("dungeon.startupProbe");
+    private static final float TRAINING_SECONDS = Float.parseFloat(System.getProperty("dungeon.trainingRun", "0"));
+
+    private static long launchNanos;  // 0 = markLaunch() não foi chamado
+    private static boolean firstFrameDone;
+    private static float trainingTime;  // Segundos já jogados no treino
+
+    private StartupProbe() {
+    }
+
+    public static void markLaunch() {  // Primeira coisa do main() do launcher (também a origem do StartupTracer)
+        launchNanos = System.nanoTime();
+        StartupTracer.getInstance().mark("launch");
+    }
+
+    public static boolean isTrainingRun() {  // Verdadeiro no treino do arquivo AppCDS
+        return TRAINING_SECONDS > 0;
+    }
+
+    public static void afterFrame(MainGame game) {  // Chamado no fim de cada render() do jogo
+        if (!firstFrameDone) {
+            firstFrameDone = true;
+            StartupTracer.getInstance().mark("primeiro frame");
+            if (MODE != null) {
+                long ms = launchNanos == 0 ? -1 : (System.nanoTime() - launchNanos) / 1_000_000;
+                System.out.println(MARKER + " ms=" + ms + " rss-kb=" + readStatusKb("VmRSS:")
+                    + " hwm-kb=" + readStatusKb("VmHWM:"));
+                if ("exit".equals(MODE)) {
+                    Gdx.app.exit();
+                    return;
+                }
+            }
+        }
+        if (TRAINING_SECONDS > 0) {
+            if (game.getScreen() instanceof InstructionScreen) {
+                game.startGame();
+                return;
+            }
+            trainingTime += Gdx.graphics.getDeltaTime();
+            if (trainingTime >= TRAINING_SECONDS) {
+                Gdx.app.exit();
+            }
+        }
+    }
+
+    // Valor em KB de uma linha de /proc/self/status (ex: "VmRSS:"), ou -1 fora do Linux
+    private static long readStatusKb(String key) {
+        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/self/status"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(key)) {
+                    return Long.parseLong(line.substring(key.length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,159 @@
+package dungeon.core.profiling;  // Define o pacote onde as classes de profiling estão localizadas
+
+import java.io.FileOutputStream;  // Relatório em JSON
+import java.io.IOException;  // Erros ao gravar o relatório
+import java.io.OutputStreamWriter;  // Escrita em UTF-8
+import java.io.Writer;  // Interface de escrita
+import java.nio.charset.StandardCharsets;  // Relatório em UTF-8
+import java.util.ArrayList;  // Eventos registados
+import java.util.Collections;  // Ordenação dos eventos e dos assets mais lentos
+import java.util.List;  // Interface de lista
+import java.util.Locale;  // Números com ponto no JSON
+
+/**
+ * Linha do tempo do arranque, desde o main() do launcher até ao primeiro frame de jogo: marcos
+ * (instantes), fases (início e duração) e o tempo de carregamento de cada asset, todos medidos com
+ * System.nanoTime() a partir do momento em que a classe é usada pela primeira vez (o launcher).
+ *
+ * Só regista com -Ddungeon.startupTrace=ficheiro.json (ou =true para startup_trace.json). No fim (finish)
+ * escreve o resumo na consola e grava o relatório em JSON, que o StartupBenchmark das ferramentas lê
+ * para comparar execuções. Depois do fim não regista mais nada.
+ */
+public final class StartupTracer {
+    private static final String PROPERTY = System.getProperty("dungeon.startupTrace");
+    private static final int SLOWEST_ASSETS = 10;  // Assets mostrados no resumo
+    private static final StartupTracer instance = new StartupTracer();  // Criada no main(): é a origem dos tempos
+
+    // Um marco (nanos = -1), uma fase ou o carregamento de um asset
+    private static final class Event {
+        final String type;  // mark, span ou asset
+        final String name;
+        final long start;  // Desde a origem
+        final long nanos;
+
+        Event(String type, String name, long start, long nanos) {
+            this.type = type;
+            this.name = name;
+            this.start = start;
+            this.nanos = nanos;
+        }
+    }
+
+    private final long origin = System.nanoTime();
+    private final List<Event> events = new ArrayList<>();
+    private volatile boolean recording = PROPERTY != null && !"false".equals(PROPERTY);
+
+    private StartupTracer() {
+    }
+
+    public static StartupTracer getInstance() {
+        return instance;
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    public void mark(String name) {  // Instante em que o arranque chegou a este ponto
+        if (recording) {
+            add(new Event("mark", name, System.nanoTime() - origin, -1));
+        }
+    }
+
+    public long begin() {  // Início de uma fase ou asset, para passar a end() ou asset()
+        return recording ? System.nanoTime() : 0;
+    }
+
+    public void end(String name, long start) {  // Fase do arranque (ex: construtor do DungeonManager)
+        if (recording && start != 0) {
+            add(new Event("span", name, start - origin, System.nanoTime() - start));
+        }
+    }
+
+    public void asset(String path, long start) {  // Carregamento de um ficheiro (pode ser chamado de outras threads)
+        if (recording && start != 0) {
+            add(new Event("asset", path, start - origin, System.nanoTime() - start));
+        }
+    }
+
+    /*
+      Fecha a linha do tempo com o marco indicado, mostra o resumo e grava o relatório. Só a primeira
+      chamada faz alguma coisa (ex: primeiro frame de jogo, ou a saída se o jogo fechar antes disso).
+     */
+    public void finish(String name) {
+        if (!recording) {
+            return;
+        }
+        List<Event> timeline;
+        synchronized (this) {
+            if (!recording) {
+                return;
+            }
+            events.add(new Event("mark", name, System.nanoTime() - origin, -1));
+            recording = false;
+            timeline = new ArrayList<>(events);
+        }
+        Collections.sort(timeline, (a, b) -> Long.compare(a.start, b.start));  // As fases são registadas quando acabam
+        print(timeline);
+        write(timeline, "true".equals(PROPERTY) ? "startup_trace.json" : PROPERTY);
+    }
+
+    private synchronized void add(Event event) {
+        if (recording) {
+            events.add(event);
+        }
+    }
+
+    private static void print(List<Event> timeline) {
+        Event last = timeline.get(timeline.size() - 1);
+        System.out.println(String.format(Locale.ROOT, "[STARTUP] Arranque até \"%s\": %.1f ms", last.name, ms(last.start)));
+        List<Event> assets = new ArrayList<>();
+        long assetNanos = 0;
+        for (Event event : timeline) {
+            if ("asset".equals(event.type)) {
+                assets.add(event);
+                assetNanos += event.nanos;
+            } else if ("mark".equals(event.type)) {
+                System.out.println(String.format(Locale.ROOT, "  %8.1f ms  %s", ms(event.start), event.name));
+            } else {
+                System.out.println(String.format(Locale.ROOT, "  %8.1f ms  %s (%.1f ms)", ms(event.start), event.name,
+                    ms(event.nanos)));
+            }
+        }
+        Collections.sort(assets, (a, b) -> Long.compare(b.nanos, a.nanos));
+        System.out.println(String.format(Locale.ROOT, "  Assets: %d, %.1f ms no total; mais lentos:", assets.size(),
+            ms(assetNanos)));
+        for (int i = 0; i < Math.min(SLOWEST_ASSETS, assets.size()); i++) {
+            Event asset = assets.get(i);
+            System.out.println(String.format(Locale.ROOT, "  %8.1f ms  %s", ms(asset.nanos), asset.name));
+        }
+    }
+
+    // Formato: {"totalMs": ..., "events": [{"type": "mark|span|asset", "name": ..., "atMs": ..., "ms": ...}]}
+    private static void write(List<Event> timeline, String path) {
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(path), StandardCharsets.UTF_8)) {
+            out.write(String.format(Locale.ROOT, "{\n  \"totalMs\": %.3f,\n  \"events\": [\n",
+                ms(timeline.get(timeline.size() - 1).start)));
+            for (int i = 0; i < timeline.size(); i++) {
+                Event event = timeline.get(i);
+                out.write(String.format(Locale.ROOT, "    {\"type\": \"%s\", \"name\": \"%s\", \"atMs\": %.3f", event.type,
+                    escape(event.name), ms(event.start)));
+                if (event.nanos >= 0) {
+                    out.write(String.format(Locale.ROOT, ", \"ms\": %.3f", ms(event.nanos)));
+                }
+                out.write(i + 1 < timeline.size() ? "},\n" : "}\n");
+            }
+            out.write("  ]\n}\n");
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar o relatório de arranque " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+}
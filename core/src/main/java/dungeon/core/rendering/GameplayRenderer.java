@@ -1,9 +1,315 @@
 package dungeon.core.rendering;
 
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import com.badlogic.gdx.utils.ObjectIntMap;
 
+/**
+ * Fila de desenho do mundo.
+ * Os sistemas submetem comandos de sprite (camada, textura, profundidade, retângulo e cor) durante o frame
+ * e renderWorld() ordena-os com um radix sort sobre uma chave de 64 bits e desenha-os de seguida.
+ * Dentro de cada camada e profundidade os sprites ficam agrupados por textura, por isso o SpriteBatch
+ * só faz flush quando a textura muda de facto (uma vez por grupo), em vez de a cada sprite.
+ *
+ * Formato da chave: [camada: 7 bits][profundidade: 20 bits][textura: 16 bits][sequência: 20 bits].
+ * A sequência é a ordem de submissão; como o radix sort é estável e não ordena esses bits,
+ * comandos com a mesma camada, profundidade e textura mantêm a ordem em que foram submetidos.
+ *
+ * A profundidade das personagens e dos itens vem da posição no mundo (depthAt): quanto mais abaixo
+ * no ecrã estiver a base do sprite, maior a profundidade, por isso quem está à frente é desenhado por
+ * cima de quem está atrás, seja qual for o tipo. As barras de vida usam a profundidade do seu inimigo.
+ * O agrupamento por textura só junta sprites à mesma profundidade (mesma linha de píxeis); a ordem
+ * correta tem prioridade sobre o número de trocas de textura.
+ *
+ * Quando há uma área visível definida (setView), quem submete pode usar isVisible() para não colocar
+ * na fila o que está fora do ecrã; assim uma sala grande só custa o que a câmara mostra.
+ *
+ * Conteúdo estático já pré-calculado na GPU (ver StaticLayer) é desenhado antes de todas as camadas de sprites.
+ */
 public class GameplayRenderer {
+    // Camadas do mundo, desenhadas de cima para baixo nesta ordem
+    public enum Layer {
+        BACKGROUND, DOORS, ITEMS, CHARACTERS, EFFECTS
+    }
+
+    /**
+     * Conteúdo estático que já está guardado na GPU (por exemplo num SpriteCache) e que se desenha sozinho.
+     * É desenhado por baixo de todas as camadas de sprites, fora do SpriteBatch.
+     */
+    public interface StaticLayer {
+        // view é a área visível do mundo, ou null se não houver câmara (desenhar tudo)
+        void render(Matrix4 projection, Rectangle view);
+    }
+
+    public static final int MAX_DEPTH = (1 << 20) - 1;  // Maior profundidade aceite (menor é desenhado primeiro)
+    private static final float DEPTH_STEPS_PER_UNIT = 1f;  // Uma profundidade por píxel de altura do mundo
+    private static final int MAX_COMMANDS = 1 << 20;  // Limite imposto pelos 20 bits de sequência
+    private static final int MAX_TEXTURES = 1 << 16;  // Limite imposto pelos 16 bits de textura
+
+    private static final int SEQUENCE_BITS = 20;
+    private static final int TEXTURE_SHIFT = SEQUENCE_BITS;
+    private static final int DEPTH_SHIFT = TEXTURE_SHIFT + 16;
+    private static final int LAYER_SHIFT = DEPTH_SHIFT + 20;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // O radix sort só ordena os bits acima da sequência: 44 bits em 4 passagens de 11 bits
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX_PASSES = 4;
+    private static final int RADIX_BUCKETS = 1 << RADIX_BITS;
+
+    private static final int FLOATS_PER_COMMAND = 5;  // x, y, largura, altura, cor empacotada
+
+    // Comandos submetidos neste frame (estrutura de arrays para não alocar objetos por sprite)
+    private long[] keys = new long[256];
+    private long[] sortBuffer = new long[256];
+    private Texture[] textures = new Texture[256];
+    private float[] data = new float[256 * FLOATS_PER_COMMAND];
+    private int count;
+    private boolean overflowReported;
+
+    private final int[] histogram = new int[RADIX_BUCKETS];
+
+    // Identificadores das texturas (cabem nos 16 bits da chave); recomeçam a cada mudança de sala
+    private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<>();
+    private int nextTextureId;
+
+    private final Rectangle view = new Rectangle();  // Área visível do mundo usada para culling
+    private boolean culling;  // Falso enquanto não houver câmara: tudo é considerado visível
+    private float worldHeight;  // Altura da sala desenhada (origem das profundidades de depthAt)
+
+    private final List<StaticLayer> staticLayers = new ArrayList<>();  // Camadas estáticas submetidas neste frame
+
+    private Texture whitePixel;  // Textura 1x1 branca usada para retângulos coloridos (barras de vida)
+    private int lastTextureSwitches;  // Trocas de textura no último renderWorld (= flushes provocados pela fila)
+
+    public void submit(Layer layer, Texture texture, float depth, float x, float y, float width, float height) {
+        submit(layer, texture, depth, x, y, width, height, Color.WHITE_FLOAT_BITS);
+    }
+
+    public void submit(Layer layer, Texture texture, float depth, float x, float y, float width, float height,
+                       float packedColor) {
+        if (count == MAX_COMMANDS) {
+            if (!overflowReported) {
+                System.err.println("GameplayRenderer: limite de " + MAX_COMMANDS + " sprites por frame atingido");
+                overflowReported = true;
+            }
+            return;
+        }
+        ensureCapacity(count + 1);
+
+        int quantizedDepth = (int) Math.max(0, Math.min(depth, MAX_DEPTH));
+        keys[count] = ((long) layer.ordinal() << LAYER_SHIFT)
+            | ((long) quantizedDepth << DEPTH_SHIFT)
+            | ((long) textureId(texture) << TEXTURE_SHIFT)
+            | count;
+        textures[count] = texture;
+
+        int offset = count * FLOATS_PER_COMMAND;
+        data[offset] = x;
+        data[offset + 1] = y;
+        data[offset + 2] = width;
+        data[offset + 3] = height;
+        data[offset + 4] = packedColor;
+        count++;
+    }
+
+    // Retângulo de cor sólida (usa a textura branca, por isso todas as barras partilham a mesma textura)
+    public void submitRect(Layer layer, float depth, float x, float y, float width, float height, float packedColor) {
+        submit(layer, getWhitePixel(), depth, x, y, width, height, packedColor);
+    }
+
+    // Submete uma camada estática para este frame (desenhada antes dos sprites, pela ordem de submissão)
+    public void submitStatic(StaticLayer layer) {
+        staticLayers.add(layer);
+    }
+
+    public void setWorldHeight(float height) {  // Definido pela sala antes de o seu conteúdo ser submetido
+        worldHeight = height;
+    }
+
+    // Profundidade de um sprite com a base em y: (altura da sala - y), quantizada por submit()
+    public float depthAt(float y) {
+        return (worldHeight - y) * DEPTH_STEPS_PER_UNIT;
+    }
+
+    public void setView(Rectangle visibleArea) {  // Define a área visível deste frame (normalmente WorldCamera.getView())
+        view.set(visibleArea);
+        culling = true;
+    }
+
+    public void clearView() {  // Desliga o culling
+        culling = false;
+    }
+
+    // Verifica se um retângulo do mundo intersecta a área visível
+    public boolean isVisible(float x, float y, float width, float height) {
+        return !culling
+            || (x < view.x + view.width && x + width > view.x && y < view.y + view.height && y + height > view.y);
+    }
+
+    /**
+     * Ordena e desenha todos os comandos submetidos e esvazia a fila.
+     * Deve ser chamado entre batch.begin() e batch.end(); se houver camadas estáticas o batch é
+     * terminado e recomeçado à volta delas, porque usam o seu próprio shader.
+     */
     public void renderWorld(SpriteBatch batch) {
-        // Código responsável por desenhar o mundo, personagens, inimigos, etc.
+        if (!staticLayers.isEmpty()) {
+            renderStaticLayers(batch);
+        }
+        sort();
+
+        float previousColor = batch.getPackedColor();
+        float currentColor = previousColor;
+        Texture currentTexture = null;
+        int switches = 0;
+
+        for (int i = 0; i < count; i++) {
+            int index = (int) (keys[i] & SEQUENCE_MASK);
+            int offset = index * FLOATS_PER_COMMAND;
+            float color = data[offset + 4];
+            if (color != currentColor) {
+                batch.setPackedColor(color);  // Mudar a cor não provoca flush
+                currentColor = color;
+            }
+            Texture texture = textures[index];
+            if (texture != currentTexture) {
+                switches++;
+                currentTexture = texture;
+            }
+            batch.draw(texture, data[offset], data[offset + 1], data[offset + 2], data[offset + 3]);
+            textures[index] = null;  // Não mantém referências para além do frame
+        }
+
+        batch.setPackedColor(previousColor);
+        lastTextureSwitches = switches;
+        count = 0;
+    }
+
+    private void renderStaticLayers(SpriteBatch batch) {
+        boolean drawing = batch.isDrawing();
+        if (drawing) {
+            batch.end();  // Envia o que já estava no batch antes de mudar de shader
+        }
+        Matrix4 projection = batch.getProjectionMatrix();
+        Rectangle visible = culling ? view : null;
+        for (int i = 0; i < staticLayers.size(); i++) {
+            staticLayers.get(i).render(projection, visible);
+        }
+        staticLayers.clear();
+        if (drawing) {
+            batch.begin();
+        }
+    }
+
+    // Radix sort LSD sobre os 44 bits de camada, profundidade e textura; passagens constantes são saltadas
+    private void sort() {
+        if (count < 2) {
+            return;
+        }
+        long first = keys[0];
+        long differentBits = 0;
+        for (int i = 1; i < count; i++) {
+            differentBits |= keys[i] ^ first;
+        }
+
+        long[] source = keys;
+        long[] target = sortBuffer;
+        for (int pass = 0; pass < RADIX_PASSES; pass++) {
+            int shift = SEQUENCE_BITS + pass * RADIX_BITS;
+            if (((differentBits >>> shift) & (RADIX_BUCKETS - 1)) == 0) {
+                continue;  // Todos os comandos têm este dígito igual
+            }
+
+            java.util.Arrays.fill(histogram, 0);
+            for (int i = 0; i < count; i++) {
+                histogram[(int) ((source[i] >>> shift) & (RADIX_BUCKETS - 1))]++;
+            }
+            int sum = 0;
+            for (int b = 0; b < RADIX_BUCKETS; b++) {
+                int bucketCount = histogram[b];
+                histogram[b] = sum;
+                sum += bucketCount;
+            }
+            for (int i = 0; i < count; i++) {
+                long key = source[i];
+                target[histogram[(int) ((key >>> shift) & (RADIX_BUCKETS - 1))]++] = key;
+            }
+
+            long[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        keys = source;
+        sortBuffer = target;
+    }
+
+    private int textureId(Texture texture) {
+        int id = textureIds.get(texture, -1);
+        if (id < 0) {
+            if (nextTextureId == MAX_TEXTURES) {  // Caso extremo: recomeça a numeração (só afeta o agrupamento)
+                textureIds.clear();
+                nextTextureId = 0;
+            }
+            id = nextTextureId++;
+            textureIds.put(texture, id);
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= keys.length) {
+            return;
+        }
+        int capacity = Math.min(MAX_COMMANDS, Math.max(required, keys.length * 2));
+        keys = java.util.Arrays.copyOf(keys, capacity);
+        sortBuffer = new long[capacity];
+        textures = java.util.Arrays.copyOf(textures, capacity);
+        data = java.util.Arrays.copyOf(data, capacity * FLOATS_PER_COMMAND);
+    }
+
+    public Texture getWhitePixel() {
+        if (whitePixel == null) {
+            Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+            pixmap.setColor(Color.WHITE);
+            pixmap.fill();
+            whitePixel = new Texture(pixmap);
+            pixmap.dispose();
+        }
+        return whitePixel;
+    }
+
+    /*
+      Esquece os identificadores das texturas. Chamado quando muda a sala desenhada: as texturas da sala
+      anterior podem ser descartadas pela TextureCache e o mapa não as deve manter vivas.
+      Só pode ser chamado entre frames (as chaves da fila usam os identificadores atuais).
+     */
+    public void resetTextureIds() {
+        textureIds.clear();
+        nextTextureId = 0;
+    }
+
+    public int getPendingCount() {
+        return count;
+    }
+
+    public int getLastTextureSwitches() {
+        return lastTextureSwitches;
+    }
+
+    public void dispose() {
+        if (whitePixel != null) {
+            whitePixel.dispose();
+            whitePixel = null;
+        }
+        textureIds.clear();
+        staticLayers.clear();
+        count = 0;
     }
 }
@@ -0,0 +1,121 @@
+package dungeon.core.rendering;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Camada estática de uma sala (fundo, portas, decorações) guardada na GPU num SpriteCache.
+ * O conteúdo é pedido à Source apenas quando a cache foi invalidada (porta desbloqueada, mudança de sala);
+ * nos restantes frames não há vértices a enviar, só a chamada de desenho do bloco em cache
+ * (o SpriteCache faz uma chamada por textura diferente dentro do bloco).
+ */
+public class StaticLayerCache implements GameplayRenderer.StaticLayer {
+    // Quem sabe o que está na camada; chamado em cada reconstrução
+    public interface Source {
+        void bake(StaticLayerCache cache);
+    }
+
+    private static final int FLOATS_PER_SPRITE = 4;  // x, y, largura, altura
+
+    private final Source source;
+
+    private SpriteCache cache;  // Criado na primeira reconstrução (precisa de contexto OpenGL)
+    private int capacity;  // Número de sprites que o SpriteCache atual aguenta
+    private int cacheId = -1;  // Bloco com o conteúdo atual
+    private boolean dirty = true;  // Verdadeiro quando o conteúdo tem de ser pedido de novo
+
+    // Sprites recolhidos durante bake(), antes de irem para o SpriteCache
+    private final List<Texture> pendingTextures = new ArrayList<>();
+    private float[] pendingBounds = new float[16 * FLOATS_PER_SPRITE];
+    private boolean baking;
+
+    public StaticLayerCache(Source source) {
+        this.source = source;
+    }
+
+    // Marca a cache como desatualizada; o conteúdo é refeito no próximo desenho
+    public void invalidate() {
+        dirty = true;
+    }
+
+    // Adiciona um sprite à camada; só pode ser chamado dentro de Source.bake
+    public void add(Texture texture, float x, float y, float width, float height) {
+        if (!baking) {
+            throw new IllegalStateException("StaticLayerCache.add só pode ser chamado durante bake()");
+        }
+        int offset = pendingTextures.size() * FLOATS_PER_SPRITE;
+        if (offset + FLOATS_PER_SPRITE > pendingBounds.length) {
+            pendingBounds = Arrays.copyOf(pendingBounds, pendingBounds.length * 2);
+        }
+        pendingTextures.add(texture);
+        pendingBounds[offset] = x;
+        pendingBounds[offset + 1] = y;
+        pendingBounds[offset + 2] = width;
+        pendingBounds[offset + 3] = height;
+    }
+
+    @Override
+    public void render(Matrix4 projection, Rectangle view) {
+        if (dirty) {
+            rebuild();
+        }
+        if (cacheId < 0) {
+            return;  // Camada vazia
+        }
+        cache.setProjectionMatrix(projection);
+        cache.begin();
+        cache.draw(cacheId);
+        cache.end();
+    }
+
+    private void rebuild() {
+        pendingTextures.clear();
+        baking = true;
+        try {
+            source.bake(this);
+        } finally {
+            baking = false;
+        }
+
+        int count = pendingTextures.size();
+        if (cache == null || count > capacity) {
+            if (cache != null) {
+                cache.dispose();
+            }
+            capacity = Math.max(16, count * 2);  // Margem para decorações acrescentadas mais tarde
+            cache = new SpriteCache(capacity, false);
+        } else {
+            cache.clear();
+        }
+
+        cacheId = -1;
+        if (count > 0) {
+            cache.beginCache();
+            for (int i = 0; i < count; i++) {
+                int offset = i * FLOATS_PER_SPRITE;
+                Texture texture = pendingTextures.get(i);
+                cache.add(texture, pendingBounds[offset], pendingBounds[offset + 1], pendingBounds[offset + 2],
+                    pendingBounds[offset + 3], 0, 0, texture.getWidth(), texture.getHeight(), false, false);
+            }
+            cacheId = cache.endCache();
+        }
+        pendingTextures.clear();  // Não mantém referências às texturas
+        dirty = false;
+    }
+
+    // Liberta o SpriteCache (por exemplo ao sair da sala); volta a ser criado se a camada for desenhada
+    public void dispose() {
+        if (cache != null) {
+            cache.dispose();
+            cache = null;
+        }
+        capacity = 0;
+        cacheId = -1;
+        dirty = true;
+    }
+}
@@ -0,0 +1,72 @@
+package dungeon.core.rendering;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.viewport.ExtendViewport;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Câmara do mundo e câmara da interface.
+ * O mundo é desenhado em unidades de mundo através de um ExtendViewport: mostra sempre pelo menos
+ * a área mínima pedida e alarga-a para preencher a janela, qualquer que seja a proporção.
+ * A interface usa um ScreenViewport, em que uma unidade é um pixel da janela.
+ * As salas podem ser maiores do que a área visível; a câmara segue o alvo sem sair da sala.
+ */
+public class WorldCamera {
+    private final OrthographicCamera camera = new OrthographicCamera();  // Câmara do mundo
+    private final Viewport worldViewport;  // Converte unidades de mundo em pixels da janela
+    private final ScreenViewport hudViewport = new ScreenViewport();  // Interface em pixels da janela
+    private final Rectangle view = new Rectangle();  // Área do mundo visível neste frame
+
+    public WorldCamera(float minWorldWidth, float minWorldHeight) {
+        worldViewport = new ExtendViewport(minWorldWidth, minWorldHeight, camera);
+    }
+
+    public void resize(int width, int height) {  // Chamado pelo ecrã quando a janela muda de tamanho
+        worldViewport.update(width, height);
+        hudViewport.update(width, height, true);  // A interface fica com a origem no canto inferior esquerdo
+    }
+
+    /**
+     * Centra a câmara no ponto indicado, limitada aos limites da sala.
+     * Se a sala for mais pequena do que a área visível nesse eixo, a sala fica centrada.
+     */
+    public void follow(float targetX, float targetY, float roomWidth, float roomHeight) {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+
+        camera.position.x = clampAxis(targetX, halfWidth, roomWidth);
+        camera.position.y = clampAxis(targetY, halfHeight, roomHeight);
+        camera.update();
+
+        view.set(camera.position.x - halfWidth, camera.position.y - halfHeight, halfWidth * 2f, halfHeight * 2f);
+    }
+
+    private static float clampAxis(float target, float halfExtent, float roomExtent) {
+        if (roomExtent <= halfExtent * 2f) {
+            return roomExtent / 2f;  // Sala cabe inteira no ecrã: mantém-na centrada
+        }
+        return Math.max(halfExtent, Math.min(target, roomExtent - halfExtent));
+    }
+
+    public void applyWorld(SpriteBatch batch) {  // Passa a desenhar em coordenadas de mundo
+        worldViewport.apply();
+        batch.setProjectionMatrix(camera.combined);  // Faz flush se o batch já estiver a desenhar
+    }
+
+    public void applyHud(SpriteBatch batch) {  // Passa a desenhar em pixels da janela
+        hudViewport.apply();
+        batch.setProjectionMatrix(hudViewport.getCamera().combined);
+    }
+
+    // Retângulo visível do mundo (com a câmara ortográfica sem rotação, coincide com o frustum)
+    public Rectangle getView() {
+        return view;
+    }
+
+    public OrthographicCamera getCamera() {
+        return camera;
+    }
+}
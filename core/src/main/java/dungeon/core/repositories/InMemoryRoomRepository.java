@@ -1,6 +1,7 @@
 package dungeon.core.repositories;  // Define o pacote onde os repositórios estão localizados
 
 import dungeon.core.Room;  // Importa a classe Room
+import dungeon.core.content.ItemArchetype;  // Importa os tipos de itens
 import java.util.List;  // Interface para listas
 import java.util.Map;  // Interface para mapas
 import java.util.HashMap;  // Implementação de mapa
@@ -50,4 +51,84 @@ public class InMemoryRoomRepository implements RoomRepository {
     public void clearAllRooms() {  // Remove todas as salas
         rooms.clear();  // Limpa completamente o mapa
     }
+
+    // Consultas: percorrem todas as salas (o IndexedRoomRepository mantém índices para não o fazer)
+    @Override
+    public void forEachRoom(RoomVisitor visitor) {
+        for (Room room : rooms.values()) {
+            visitor.visit(room);
+        }
+    }
+
+    @Override
+    public void forEachUnclearedRoom(RoomVisitor visitor) {
+        for (Room room : rooms.values()) {
+            if (!room.isCleared()) {
+                visitor.visit(room);
+            }
+        }
+    }
+
+    @Override
+    public void forEachVisitedRoom(RoomVisitor visitor) {
+        for (Room room : rooms.values()) {
+            if (room.isVisited()) {
+                visitor.visit(room);
+            }
+        }
+    }
+
+    @Override
+    public void forEachRoomOfType(Room.RoomType type, RoomVisitor visitor) {
+        for (Room room : rooms.values()) {
+            if (room.getType() == type) {
+                visitor.visit(room);
+            }
+        }
+    }
+
+    @Override
+    public void forEachRoomWithItem(ItemArchetype type, RoomVisitor visitor) {
+        for (Room room : rooms.values()) {
+            if (room.containsItem(type)) {
+                visitor.visit(room);
+            }
+        }
+    }
+
+    @Override
+    public int countUnclearedRooms() {
+        int count = 0;
+        for (Room room : rooms.values()) {
+            if (!room.isCleared()) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int countVisitedRooms() {
+        int count = 0;
+        for (Room room : rooms.values()) {
+            if (room.isVisited()) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int countRoomsOfType(Room.RoomType type) {
+        int count = 0;
+        for (Room room : rooms.values()) {
+            if (room.getType() == type) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int countRoomsWithItem(ItemArchetype type) {
+        int count = 0;
+        for (Room room : rooms.values()) {
+            if (room.containsItem(type)) count++;
+        }
+        return count;
+    }
 }
@@ -0,0 +1,381 @@
+package dungeon.core.repositories;  // Define o pacote onde os repositórios estão localizados
+
+import dungeon.core.Item;  // Itens das salas (índice por tipo de item)
+import dungeon.core.Room;  // Importa a classe Room
+import dungeon.core.content.ItemArchetype;  // Importa os tipos de itens
+import java.util.ArrayList;  // Implementação de lista (findAllRooms)
+import java.util.Arrays;  // Limpeza e cópia dos arrays
+import java.util.List;  // Interface para listas
+
+/**
+ * Repositório de salas para dungeons grandes. As salas ficam numa tabela de endereçamento aberto com
+ * chaves int (sondagem linear, sem caixas Integer nem nós por entrada) e o repositório mantém índices
+ * sobre o estado de cada sala: por limpar, visitadas, por tipo e por tipo de item por apanhar.
+ *
+ * Cada índice é um conjunto de bits sobre as posições da tabela: juntar e tirar uma sala é O(1) e
+ * percorrê-lo só lê uma palavra por cada 64 posições, sem olhar para as salas que não estão no índice
+ * e sem criar objetos. Os índices são atualizados pelas próprias salas (Room.StateListener) quando são
+ * visitadas, limpas ou quando ganham ou perdem itens, por isso as consultas nunca percorrem as salas.
+ */
+public class IndexedRoomRepository implements RoomRepository, Room.StateListener {
+    private static final int MIN_CAPACITY = 64;  // Potência de 2
+    private static final Room.RoomType[] ROOM_TYPES = Room.RoomType.values();
+
+    // Conjunto de posições da tabela, um bit por posição
+    private static final class SlotSet {
+        private final long[] words;
+        private int count;
+
+        SlotSet(int capacity) {
+            words = new long[(capacity + 63) >>> 6];
+        }
+
+        void add(int slot) {
+            long bit = 1L << slot;  // O shift usa só os 6 bits de baixo
+            if ((words[slot >>> 6] & bit) == 0) {
+                words[slot >>> 6] |= bit;
+                count++;
+            }
+        }
+
+        void remove(int slot) {
+            long bit = 1L << slot;
+            if ((words[slot >>> 6] & bit) != 0) {
+                words[slot >>> 6] &= ~bit;
+                count--;
+            }
+        }
+
+        boolean contains(int slot) {
+            return (words[slot >>> 6] & (1L << slot)) != 0;
+        }
+
+        void move(int from, int to) {  // A sala mudou de posição na tabela
+            if (contains(from)) {
+                remove(from);
+                add(to);
+            }
+        }
+    }
+
+    private int[] keys;  // ID da sala em cada posição
+    private Room[] rooms;  // null = posição livre
+    private int mask;  // Capacidade - 1
+    private int size;
+
+    // Índices
+    private SlotSet uncleared;
+    private SlotSet visited;
+    private SlotSet[] byType;  // Por Room.RoomType
+    private SlotSet[] byItem;  // Por ID do ItemArchetype (null até aparecer um item desse tipo)
+
+    public IndexedRoomRepository() {
+        this(MIN_CAPACITY);
+    }
+
+    public IndexedRoomRepository(int expectedRooms) {  // Reserva espaço para evitar crescer enquanto as salas são criadas
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedRooms * 2) {  // Ocupação máxima de metade: sondagens curtas
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        byItem = new SlotSet[0];
+    }
+
+    @Override
+    public void saveRoom(Room room) {  // Armazena ou substitui a sala com o mesmo ID
+        if (room == null) {
+            return;
+        }
+        int slot = find(room.getId());
+        if (slot >= 0) {
+            if (rooms[slot] != room) {
+                rooms[slot].setStateListener(null);
+            }
+            unindex(slot);
+        } else {
+            if ((size + 1) * 2 > rooms.length) {
+                grow();
+            }
+            slot = hash(room.getId());
+            while (rooms[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = room.getId();
+            size++;
+        }
+        rooms[slot] = room;
+        index(slot, room);
+    }
+
+    @Override
+    public Room findRoomById(int id) {
+        int slot = find(id);
+        return slot < 0 ? null : rooms[slot];
+    }
+
+    @Override
+    public List<Room> findAllRooms() {
+        List<Room> all = new ArrayList<>(size);
+        for (Room room : rooms) {
+            if (room != null) {
+                all.add(room);
+            }
+        }
+        return all;
+    }
+
+    @Override
+    public void deleteRoom(int id) {
+        int slot = find(id);
+        if (slot < 0) {
+            return;
+        }
+        rooms[slot].setStateListener(null);
+        unindex(slot);
+        rooms[slot] = null;
+        size--;
+
+        // Puxa para trás as salas seguintes que já não seriam encontradas com o buraco no meio da sondagem
+        int hole = slot;
+        int next = (slot + 1) & mask;
+        while (rooms[next] != null) {
+            int ideal = hash(keys[next]);
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {  // O buraco fica entre a posição ideal e a atual
+                move(next, hole);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    @Override
+    public boolean existsRoom(int id) {
+        return find(id) >= 0;
+    }
+
+    @Override
+    public int getRoomCount() {
+        return size;
+    }
+
+    @Override
+    public void clearAllRooms() {  // Mantém a capacidade para a próxima partida
+        for (Room room : rooms) {
+            if (room != null) {
+                room.setStateListener(null);
+            }
+        }
+        allocate(rooms.length);
+        Arrays.fill(byItem, null);
+        size = 0;
+    }
+
+    @Override
+    public void forEachRoom(RoomVisitor visitor) {
+        for (Room room : rooms) {
+            if (room != null) {
+                visitor.visit(room);
+            }
+        }
+    }
+
+    @Override
+    public void forEachUnclearedRoom(RoomVisitor visitor) {
+        visit(uncleared, visitor);
+    }
+
+    @Override
+    public void forEachVisitedRoom(RoomVisitor visitor) {
+        visit(visited, visitor);
+    }
+
+    @Override
+    public void forEachRoomOfType(Room.RoomType type, RoomVisitor visitor) {
+        visit(byType[type.ordinal()], visitor);
+    }
+
+    @Override
+    public void forEachRoomWithItem(ItemArchetype type, RoomVisitor visitor) {
+        visit(itemSet(type, false), visitor);
+    }
+
+    @Override
+    public int countUnclearedRooms() {
+        return uncleared.count;
+    }
+
+    @Override
+    public int countVisitedRooms() {
+        return visited.count;
+    }
+
+    @Override
+    public int countRoomsOfType(Room.RoomType type) {
+        return byType[type.ordinal()].count;
+    }
+
+    @Override
+    public int countRoomsWithItem(ItemArchetype type) {
+        SlotSet set = itemSet(type, false);
+        return set == null ? 0 : set.count;
+    }
+
+    // Room.StateListener: as salas avisam quando o seu estado muda
+    @Override
+    public void roomVisited(Room room) {
+        int slot = slotOf(room);
+        if (slot >= 0) {
+            visited.add(slot);
+        }
+    }
+
+    @Override
+    public void roomCleared(Room room) {
+        int slot = slotOf(room);
+        if (slot >= 0) {
+            uncleared.remove(slot);
+        }
+    }
+
+    @Override
+    public void itemAdded(Room room, ItemArchetype type) {
+        int slot = slotOf(room);
+        if (slot >= 0) {
+            itemSet(type, true).add(slot);
+        }
+    }
+
+    @Override
+    public void itemCollected(Room room, ItemArchetype type) {
+        int slot = slotOf(room);
+        if (slot >= 0 && !room.containsItem(type)) {  // Só sai do índice quando já não há nenhum desse tipo
+            itemSet(type, true).remove(slot);
+        }
+    }
+
+    private void visit(SlotSet set, RoomVisitor visitor) {  // Salas do índice, pela ordem da tabela
+        if (set == null || set.count == 0) {
+            return;
+        }
+        long[] words = set.words;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                int slot = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;  // Apaga o bit mais baixo
+                visitor.visit(rooms[slot]);
+            }
+        }
+    }
+
+    private void index(int slot, Room room) {  // Junta a sala aos índices de acordo com o seu estado atual
+        room.setStateListener(this);
+        if (!room.isCleared()) {
+            uncleared.add(slot);
+        }
+        if (room.isVisited()) {
+            visited.add(slot);
+        }
+        byType[room.getType().ordinal()].add(slot);
+        List<Item> items = room.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (!items.get(i).isCollected()) {
+                itemSet(items.get(i).getType(), true).add(slot);
+            }
+        }
+    }
+
+    private void unindex(int slot) {
+        uncleared.remove(slot);
+        visited.remove(slot);
+        for (SlotSet set : byType) {
+            set.remove(slot);
+        }
+        for (SlotSet set : byItem) {
+            if (set != null) {
+                set.remove(slot);
+            }
+        }
+    }
+
+    private void move(int from, int to) {  // Muda uma sala de posição, com os seus bits nos índices
+        keys[to] = keys[from];
+        rooms[to] = rooms[from];
+        rooms[from] = null;
+        uncleared.move(from, to);
+        visited.move(from, to);
+        for (SlotSet set : byType) {
+            set.move(from, to);
+        }
+        for (SlotSet set : byItem) {
+            if (set != null) {
+                set.move(from, to);
+            }
+        }
+    }
+
+    private SlotSet itemSet(ItemArchetype type, boolean create) {  // Índice de um tipo de item
+        int id = type.getId();
+        if (id >= byItem.length) {
+            if (!create) {
+                return null;
+            }
+            byItem = Arrays.copyOf(byItem, id + 1);
+        }
+        if (byItem[id] == null && create) {
+            byItem[id] = new SlotSet(rooms.length);
+        }
+        return byItem[id];
+    }
+
+    private void grow() {  // Duplica a tabela e volta a construir os índices
+        Room[] old = rooms;
+        allocate(old.length * 2);
+        Arrays.fill(byItem, null);
+        for (Room room : old) {
+            if (room != null) {
+                int slot = hash(room.getId());
+                while (rooms[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = room.getId();
+                rooms[slot] = room;
+                index(slot, room);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        rooms = new Room[capacity];
+        mask = capacity - 1;
+        uncleared = new SlotSet(capacity);
+        visited = new SlotSet(capacity);
+        byType = new SlotSet[ROOM_TYPES.length];
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new SlotSet(capacity);
+        }
+    }
+
+    private int find(int id) {  // Posição da sala com este ID, ou -1
+        int slot = hash(id);
+        while (rooms[slot] != null) {
+            if (keys[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotOf(Room room) {  // Posição desta sala (-1 se entretanto foi substituída ou apagada)
+        int slot = find(room.getId());
+        return slot >= 0 && rooms[slot] == room ? slot : -1;
+    }
+
+    private int hash(int id) {  // Espalha IDs seguidos pela tabela
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -1,15 +1,32 @@
 package dungeon.core.repositories;  // Define o pacote onde os repositórios estão localizados
 
 import dungeon.core.Room;  // Importa a classe Room
+import dungeon.core.content.ItemArchetype;  // Importa os tipos de itens (consultas por item)
 import java.util.List;  // Interface para listas
 
 // Interface que define operações de repositório para salas
 public interface RoomRepository {
+    // Chamado para cada sala encontrada; não pode guardar nem apagar salas do repositório durante a visita
+    interface RoomVisitor {
+        void visit(Room room);
+    }
+
     void saveRoom(Room room);  // Armazena uma sala no repositório
     Room findRoomById(int id);  // Encontra uma sala pelo seu ID
-    List<Room> findAllRooms();  // Retorna todas as salas armazenadas
+    List<Room> findAllRooms();  // Retorna todas as salas armazenadas (lista nova: preferir forEachRoom)
     void deleteRoom(int id);  // Remove uma sala do repositório
     boolean existsRoom(int id);  // Verifica se uma sala existe
     int getRoomCount();  // Retorna o número total de salas
     void clearAllRooms();  // Remove todas as salas do repositório
+
+    // Consultas sem criar listas (minimapa, gravação, diretor da IA)
+    void forEachRoom(RoomVisitor visitor);  // Todas as salas
+    void forEachUnclearedRoom(RoomVisitor visitor);  // Salas ainda por limpar
+    void forEachVisitedRoom(RoomVisitor visitor);  // Salas onde já entrou um jogador
+    void forEachRoomOfType(Room.RoomType type, RoomVisitor visitor);  // Salas de um tipo (inicial, combate, boss)
+    void forEachRoomWithItem(ItemArchetype type, RoomVisitor visitor);  // Salas com um item deste tipo por apanhar
+    int countUnclearedRooms();
+    int countVisitedRooms();
+    int countRoomsOfType(Room.RoomType type);
+    int countRoomsWithItem(ItemArchetype type);
 }
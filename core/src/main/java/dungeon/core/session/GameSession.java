@@ -0,0 +1,84 @@
+package dungeon.core.session;  // Define o pacote das sessões de jogo
+
+import dungeon.core.DungeonManager;  // Mundo da sessão
+import dungeon.core.Player;  // Ataques dos jogadores
+import dungeon.core.events.GameEventManager;  // Eventos da sessão
+import dungeon.core.profiling.FrameProfiler;  // Medição das fases da atualização
+import java.util.List;  // Jogadores da sessão
+
+/**
+ * Contexto de uma partida: o mundo (DungeonManager), o gestor de eventos e o profiler que a
+ * simulação usa. Substitui as instâncias únicas: as salas guardam a sua sessão e as entidades chegam
+ * a ela através da sala, por isso várias sessões podem existir no mesmo processo sem partilharem
+ * nada. Uma sessão só pode ser usada por uma thread de cada vez (ver SessionHost).
+ *
+ * A sessão local (janela) usa o profiler global e escreve as mensagens do jogo na consola; as
+ * sessões sem janela têm um profiler próprio, desligado, e não escrevem nada.
+ */
+public class GameSession {
+    private final GameEventManager events;
+    private final FrameProfiler profiler;
+    private final boolean verbose;  // Escreve as mensagens do jogo (salas limpas, itens largados...)
+    private DungeonManager dungeon;  // null nas sessões só com salas soltas
+
+    private GameSession(FrameProfiler profiler, boolean verbose) {
+        this.profiler = profiler;
+        this.events = new GameEventManager(profiler);
+        this.verbose = verbose;
+    }
+
+    public static GameSession createLocal() {  // Partida na janela, com o jogador local
+        GameSession session = new GameSession(FrameProfiler.getInstance(), true);
+        session.dungeon = new DungeonManager(session, true);
+        return session;
+    }
+
+    public static GameSession createHeadless() {  // Partida sem janela nem jogador local (servidor, bots); os jogadores entram com addPlayer
+        GameSession session = new GameSession(FrameProfiler.createDetached(), false);
+        session.dungeon = new DungeonManager(session, false);
+        return session;
+    }
+
+    public static GameSession createStandalone() {  // Só eventos e profiler, para salas criadas fora de um dungeon (testes de carga)
+        return new GameSession(FrameProfiler.createDetached(), false);
+    }
+
+    /*
+      Um tick de simulação: atualiza o mundo e resolve os ataques pedidos pelos jogadores.
+      O input de cada jogador tem de ser aplicado antes (movimento e Player.getCombat().requestAttack()).
+     */
+    public void tick(float deltaTime) {
+        dungeon.update(deltaTime);
+        List<Player> players = dungeon.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (player.getCombat().consumeAttack()) {
+                player.getCombat().resolveAttack(dungeon.getRoom(player.getRoomId()));  // Mortes creditadas ao atacante
+            }
+        }
+    }
+
+    public void log(String message) {  // Mensagem do jogo (só a sessão local as escreve)
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+
+    public GameEventManager getEvents() {
+        return events;
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    public DungeonManager getDungeon() {
+        return dungeon;
+    }
+
+    public void dispose() {  // Liberta o mundo da sessão
+        if (dungeon != null) {
+            dungeon.dispose();
+        }
+    }
+}
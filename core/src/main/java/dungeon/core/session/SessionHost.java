@@ -0,0 +1,201 @@
+package dungeon.core.session;  // Define o pacote das sessões de jogo
+
+import dungeon.core.input.InputTimeline;  // Duração do tick
+import java.util.ArrayList;  // Sessões de cada worker
+import java.util.List;  // Interface de lista
+import java.util.concurrent.ConcurrentLinkedQueue;  // Sessões entregues a um worker (sem locks)
+import java.util.concurrent.atomic.AtomicInteger;  // Distribuição das sessões pelos workers
+import java.util.concurrent.locks.LockSupport;  // Espera até ao próximo tick
+
+/**
+ * Corre muitas GameSession no mesmo processo, repartidas por um número fixo de threads (workers).
+ * Cada sessão pertence a um único worker desde que é adicionada até ser removida: só essa thread a
+ * atualiza, por isso as sessões não precisam de locks nem partilham estado entre si.
+ *
+ * As sessões novas são entregues ao worker através de uma fila sem locks; remover uma sessão só a
+ * marca como fechada e é o próprio worker que a tira da lista e a liberta no tick seguinte.
+ * Com ritmo fixo, cada worker corre todas as suas sessões a 60 ticks por segundo; sem ritmo, corre
+ * os ticks o mais depressa que conseguir (para medir quantas sessões cabem numa máquina).
+ */
+public class SessionHost {
+    private static final int MAX_TICKS_BEHIND = 5;  // Atraso maior que isto é perdido em vez de recuperado
+
+    // Quem dá o input a uma sessão (bots, rede); chamado na thread do worker antes de cada tick
+    public interface Driver {
+        void beforeTick(GameSession session, float deltaTime);
+    }
+
+    // Sessão adicionada ao host; fechar é a única operação permitida fora do worker
+    public static final class Handle {
+        private final GameSession session;
+        private final Driver driver;
+        private final int worker;
+        private volatile boolean closed;
+
+        private Handle(GameSession session, Driver driver, int worker) {
+            this.session = session;
+            this.driver = driver;
+            this.worker = worker;
+        }
+
+        public void close() {  // O worker liberta a sessão no próximo tick
+            closed = true;
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        public int getWorker() {  // Índice do worker dono da sessão
+            return worker;
+        }
+    }
+
+    private final Worker[] workers;
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final boolean fixedRate;
+
+    public SessionHost(int workerCount, boolean fixedRate) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("É preciso pelo menos um worker");
+        }
+        this.fixedRate = fixedRate;
+        workers = new Worker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker(i);
+        }
+    }
+
+    /*
+      Entrega a sessão a um worker (à vez) e devolve o identificador para a fechar mais tarde.
+      Depois desta chamada a sessão só pode ser usada pelo worker (e pelo driver, que corre nele).
+     */
+    public Handle add(GameSession session, Driver driver) {
+        int index = Math.floorMod(nextWorker.getAndIncrement(), workers.length);
+        Handle handle = new Handle(session, driver, index);
+        workers[index].inbox.add(handle);
+        return handle;
+    }
+
+    public void start() {
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    public void stop() {  // Pára os workers e liberta as sessões que ainda corriam
+        for (Worker worker : workers) {
+            worker.running = false;
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public long getSessionTicks() {  // Soma dos ticks de todas as sessões
+        long total = 0;
+        for (Worker worker : workers) {
+            total += worker.sessionTicks;
+        }
+        return total;
+    }
+
+    public long getBusyNanos() {  // Tempo gasto pelos workers a correr ticks (sem as esperas)
+        long total = 0;
+        for (Worker worker : workers) {
+            total += worker.busyNanos;
+        }
+        return total;
+    }
+
+    public int getSessionCount() {  // Sessões a correr (as acabadas de adicionar só contam depois do próximo tick)
+        int total = 0;
+        for (Worker worker : workers) {
+            total += worker.sessionCount;
+        }
+        return total;
+    }
+
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    private final class Worker implements Runnable {
+        private final ConcurrentLinkedQueue<Handle> inbox = new ConcurrentLinkedQueue<>();
+        private final List<Handle> sessions = new ArrayList<>();  // Só esta thread mexe na lista
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile long sessionTicks;  // Escritos só por esta thread, lidos pelas estatísticas
+        private volatile long busyNanos;
+        private volatile int sessionCount;
+
+        Worker(int index) {
+            thread = new Thread(this, "session-worker-" + index);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long nextTick = System.nanoTime();
+            while (running) {
+                long start = System.nanoTime();
+                tickAll();
+                long end = System.nanoTime();
+                busyNanos += end - start;
+
+                if (fixedRate) {
+                    nextTick += InputTimeline.TICK_NANOS;
+                    if (end - nextTick > MAX_TICKS_BEHIND * InputTimeline.TICK_NANOS) {
+                        nextTick = end;  // Sobrecarga: não tenta recuperar os ticks perdidos
+                    }
+                    long wait = nextTick - end;
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+            }
+            for (Handle handle : sessions) {
+                handle.session.dispose();
+            }
+            sessions.clear();
+            Handle pending;
+            while ((pending = inbox.poll()) != null) {
+                pending.session.dispose();
+            }
+            sessionCount = 0;
+        }
+
+        private void tickAll() {
+            Handle added;
+            while ((added = inbox.poll()) != null) {
+                sessions.add(added);
+            }
+            float delta = InputTimeline.TICK_SECONDS;
+            int ticked = 0;
+            for (int i = sessions.size() - 1; i >= 0; i--) {
+                Handle handle = sessions.get(i);
+                if (handle.closed) {  // Troca com a última para remover sem deslocar a lista
+                    handle.session.dispose();
+                    sessions.set(i, sessions.get(sessions.size() - 1));
+                    sessions.remove(sessions.size() - 1);
+                    continue;
+                }
+                try {
+                    handle.driver.beforeTick(handle.session, delta);
+                    handle.session.tick(delta);
+                    ticked++;
+                } catch (RuntimeException e) {  // Uma sessão com erro é fechada sem parar as outras do worker
+                    System.err.println("Erro na sessão, a fechar: " + e);
+                    handle.closed = true;
+                }
+            }
+            sessionTicks += ticked;
+            sessionCount = sessions.size();
+        }
+    }
+}
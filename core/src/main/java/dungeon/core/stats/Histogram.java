@@ -0,0 +1,88 @@
+package dungeon.core.stats;  // Define o pacote das estatísticas do jogo
+
+import java.util.concurrent.atomic.AtomicLong;  // Maior valor registado
+import java.util.concurrent.atomic.AtomicLongArray;  // Contagem de cada balde
+import java.util.concurrent.atomic.LongAdder;  // Contagem e soma com pouca contenção
+
+/**
+ * Histograma de memória fixa com precisão relativa constante (ao estilo do HdrHistogram).
+ * Os valores até SUB_BUCKETS contam-se um a um; acima disso, cada potência de 2 é dividida em
+ * SUB_BUCKETS baldes iguais, por isso o erro de cada valor é no máximo 1/SUB_BUCKETS (~6%).
+ * Valores acima do máximo indicado no construtor contam no último balde.
+ * record() e as leituras podem ser chamados de qualquer thread, sem bloqueios.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;  // Baldes por potência de 2
+
+    private final AtomicLongArray counts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public Histogram(long maxValue) {  // Maior valor a distinguir (ex: dano máximo, milissegundos)
+        counts = new AtomicLongArray(indexOf(Math.max(maxValue, SUB_BUCKETS)) + 1);
+    }
+
+    public void record(long value) {  // Regista um valor (valores negativos contam como 0)
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(Math.min(indexOf(clamped), counts.length() - 1));
+        count.increment();
+        sum.add(clamped);
+        long previous;
+        while (clamped > (previous = max.get()) && !max.compareAndSet(previous, clamped)) {
+            // Outra thread atualizou o máximo entretanto: tenta de novo
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    public long percentile(double p) {  // Percentil p (0-100): maior valor do balde onde cai
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * total));  // Método nearest-rank
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private static int indexOf(long value) {  // Balde de um valor
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);  // Potência de 2 do valor (>= SUB_BUCKET_BITS)
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;  // Posição dentro da potência de 2
+        return SUB_BUCKETS * (shift + 1) + subBucket;
+    }
+
+    private static long highestValueOf(int index) {  // Maior valor que cai no balde
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
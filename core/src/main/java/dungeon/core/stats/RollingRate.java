@@ -0,0 +1,55 @@
+package dungeon.core.stats;  // Define o pacote das estatísticas do jogo
+
+import java.util.concurrent.atomic.AtomicLongArray;  // Baldes atualizados sem bloqueios
+
+/**
+ * Taxa numa janela deslizante (ex: inimigos por minuto no último minuto).
+ * A janela é um anel de baldes de duração fixa; cada balde guarda a soma dos valores e o número do
+ * intervalo de tempo a que pertence, e é reutilizado quando o anel dá a volta. Memória fixa, sem
+ * bloqueios: várias threads podem somar e ler ao mesmo tempo (um valor somado exatamente quando o
+ * seu balde está a ser reaproveitado pode perder-se, o que não afeta uma taxa aproximada).
+ */
+public class RollingRate {
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final long bucketNanos;  // Duração de cada balde
+    private final AtomicLongArray sums;  // Soma dos valores de cada balde
+    private final AtomicLongArray slots;  // Intervalo de tempo (agora / bucketNanos) de cada balde
+
+    public RollingRate(int buckets, long bucketNanos) {  // Janela de buckets * bucketNanos
+        this.bucketNanos = bucketNanos;
+        this.sums = new AtomicLongArray(buckets);
+        this.slots = new AtomicLongArray(buckets);
+        for (int i = 0; i < buckets; i++) {
+            slots.set(i, Long.MIN_VALUE);  // Nenhum balde pertence ainda à janela
+        }
+    }
+
+    public void add(long value, long nowNanos) {
+        long slot = Math.floorDiv(nowNanos, bucketNanos);
+        int index = (int) Math.floorMod(slot, (long) sums.length());
+        long current = slots.get(index);
+        if (current != slot && slots.compareAndSet(index, current, slot)) {
+            sums.set(index, value);  // O balde era de uma volta anterior do anel: recomeça
+        } else {
+            sums.addAndGet(index, value);
+        }
+    }
+
+    public long sum(long nowNanos) {  // Soma dos valores dentro da janela
+        long slot = Math.floorDiv(nowNanos, bucketNanos);
+        long oldest = slot - sums.length() + 1;
+        long total = 0;
+        for (int i = 0; i < sums.length(); i++) {
+            long bucketSlot = slots.get(i);
+            if (bucketSlot >= oldest && bucketSlot <= slot) {
+                total += sums.get(i);
+            }
+        }
+        return total;
+    }
+
+    public double perMinute(long nowNanos) {  // Soma da janela convertida em valor por minuto
+        return sum(nowNanos) * (double) NANOS_PER_MINUTE / (bucketNanos * sums.length());
+    }
+}
@@ -0,0 +1,136 @@
+package dungeon.core.tiles;  // Define o pacote dos mapas de tiles
+
+/**
+ * Mapa de tiles de uma sala, com uma camada de chão e uma de paredes.
+ * Guarda apenas um short por célula e por camada, por isso a memória cresce com o número de tiles
+ * e não com a área em pixels da sala.
+ * O mapa está dividido em chunks de CHUNK_SIZE x CHUNK_SIZE tiles; cada alteração incrementa a versão
+ * do chunk afetado, para que quem tem o chunk em cache (ver TileMapCache) saiba que o tem de refazer.
+ */
+public class TileMap {
+    // Camadas do mapa, desenhadas por esta ordem
+    public enum Layer {
+        FLOOR, WALLS
+    }
+
+    public static final int CHUNK_SIZE = 16;  // Lado de um chunk, em tiles
+
+    private final TileSet tileSet;  // Texturas dos tiles
+    private final int columns;  // Largura do mapa em tiles
+    private final int rows;  // Altura do mapa em tiles
+    private final float tileSize;  // Lado de um tile em unidades de mundo
+    private final short[][] tiles;  // [camada][linha * columns + coluna]
+
+    private final int chunkColumns;  // Número de chunks na horizontal
+    private final int chunkRows;  // Número de chunks na vertical
+    private final int[] chunkVersions;  // Incrementado sempre que um tile do chunk muda
+
+    public TileMap(TileSet tileSet, int columns, int rows, float tileSize) {
+        this.tileSet = tileSet;
+        this.columns = columns;
+        this.rows = rows;
+        this.tileSize = tileSize;
+        this.tiles = new short[Layer.values().length][columns * rows];
+        this.chunkColumns = (columns + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunkRows = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunkVersions = new int[chunkColumns * chunkRows];
+    }
+
+    public int getTile(Layer layer, int column, int row) {  // Tile na célula (TileSet.EMPTY fora do mapa)
+        if (!contains(column, row)) {
+            return TileSet.EMPTY;
+        }
+        return tiles[layer.ordinal()][row * columns + column];
+    }
+
+    public void setTile(Layer layer, int column, int row, int tileId) {  // Muda um tile e invalida o seu chunk
+        if (!contains(column, row)) {
+            return;
+        }
+        short[] layerTiles = tiles[layer.ordinal()];
+        int index = row * columns + column;
+        if (layerTiles[index] != tileId) {
+            layerTiles[index] = (short) tileId;
+            chunkVersions[(row / CHUNK_SIZE) * chunkColumns + column / CHUNK_SIZE]++;
+        }
+    }
+
+    public void fill(Layer layer, int tileId) {  // Preenche uma camada inteira (por exemplo o chão)
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                setTile(layer, column, row, tileId);
+            }
+        }
+    }
+
+    public void outlineWalls(int tileId) {  // Coloca paredes em toda a margem do mapa
+        for (int column = 0; column < columns; column++) {
+            setTile(Layer.WALLS, column, 0, tileId);
+            setTile(Layer.WALLS, column, rows - 1, tileId);
+        }
+        for (int row = 0; row < rows; row++) {
+            setTile(Layer.WALLS, 0, row, tileId);
+            setTile(Layer.WALLS, columns - 1, row, tileId);
+        }
+    }
+
+    public boolean isSolid(int column, int row) {  // Uma célula é sólida se tiver parede
+        return getTile(Layer.WALLS, column, row) != TileSet.EMPTY;
+    }
+
+    // Verifica se um retângulo do mundo toca em alguma parede
+    public boolean overlapsSolid(float x, float y, float width, float height) {
+        int firstColumn = (int) Math.floor(x / tileSize);
+        int lastColumn = (int) Math.floor((x + width) / tileSize);
+        int firstRow = (int) Math.floor(y / tileSize);
+        int lastRow = (int) Math.floor((y + height) / tileSize);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (isSolid(column, row)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean contains(int column, int row) {
+        return column >= 0 && row >= 0 && column < columns && row < rows;
+    }
+
+    public int getChunkVersion(int chunkColumn, int chunkRow) {
+        return chunkVersions[chunkRow * chunkColumns + chunkColumn];
+    }
+
+    public TileSet getTileSet() {
+        return tileSet;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public float getTileSize() {
+        return tileSize;
+    }
+
+    public int getChunkColumns() {
+        return chunkColumns;
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public float getWidth() {  // Largura do mapa em unidades de mundo
+        return columns * tileSize;
+    }
+
+    public float getHeight() {  // Altura do mapa em unidades de mundo
+        return rows * tileSize;
+    }
+}
@@ -0,0 +1,193 @@
+package dungeon.core.tiles;  // Define o pacote dos mapas de tiles
+
+import com.badlogic.gdx.graphics.g2d.SpriteCache;  // Geometria estática guardada na GPU
+import com.badlogic.gdx.graphics.g2d.TextureRegion;  // Região de cada tile
+import com.badlogic.gdx.math.Matrix4;  // Projeção da câmara do mundo
+import com.badlogic.gdx.math.Rectangle;  // Área visível do mundo
+import dungeon.core.rendering.GameplayRenderer;  // Fila de desenho (camadas estáticas)
+import java.util.Arrays;  // Inicialização dos arrays por chunk
+
+/**
+ * Geometria de um TileMap guardada na GPU, um bloco do SpriteCache por chunk.
+ * Cada chunk é construído uma vez e desenhado depois com uma única chamada; só volta a ser
+ * construído quando a versão do chunk no mapa muda. Em cada frame só os chunks que intersectam
+ * a área visível são verificados e desenhados, por isso o custo é fixo por chunk visível.
+ *
+ * O SpriteCache não deixa um bloco crescer para além do tamanho com que foi criado; quando um chunk
+ * alterado deixa de caber, a cache inteira é reconstruída com mais margem.
+ */
+public class TileMapCache implements GameplayRenderer.StaticLayer {
+    private static final int NO_CACHE = -1;  // Chunk sem tiles (não tem bloco no SpriteCache)
+    private static final int GROWTH_MARGIN = TileMap.CHUNK_SIZE * TileMap.CHUNK_SIZE;  // Espaço livre após cada reconstrução
+
+    private final TileMap map;  // Mapa desenhado por esta cache
+
+    private SpriteCache cache;  // Criado no primeiro desenho (precisa de contexto OpenGL)
+    private int cacheSize;  // Número máximo de tiles que o SpriteCache atual aguenta
+    private int usedSize;  // Tiles já ocupados no SpriteCache
+
+    private final int[] cacheIds;  // Bloco do SpriteCache de cada chunk
+    private final int[] capacities;  // Número de tiles com que cada bloco foi criado (limite para o refazer)
+    private final int[] bakedVersions;  // Versão do chunk que está na GPU
+
+    public TileMapCache(TileMap map) {
+        this.map = map;
+        int chunks = map.getChunkColumns() * map.getChunkRows();
+        this.cacheIds = new int[chunks];
+        this.capacities = new int[chunks];
+        this.bakedVersions = new int[chunks];
+    }
+
+    @Override
+    public void render(Matrix4 projection, Rectangle view) {
+        if (cache == null) {
+            rebuildAll();
+        }
+
+        // Intervalo de chunks visíveis
+        float chunkWorldSize = TileMap.CHUNK_SIZE * map.getTileSize();
+        int firstColumn = 0;
+        int lastColumn = map.getChunkColumns() - 1;
+        int firstRow = 0;
+        int lastRow = map.getChunkRows() - 1;
+        if (view != null) {
+            firstColumn = Math.max(firstColumn, (int) Math.floor(view.x / chunkWorldSize));
+            lastColumn = Math.min(lastColumn, (int) Math.floor((view.x + view.width) / chunkWorldSize));
+            firstRow = Math.max(firstRow, (int) Math.floor(view.y / chunkWorldSize));
+            lastRow = Math.min(lastRow, (int) Math.floor((view.y + view.height) / chunkWorldSize));
+        }
+
+        // Refaz os chunks visíveis que mudaram desde o último desenho
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int chunk = row * map.getChunkColumns() + column;
+                if (bakedVersions[chunk] != map.getChunkVersion(column, row) && !rebake(column, row)) {
+                    rebuildAll();  // O chunk deixou de caber: reconstrói tudo com mais espaço
+                }
+            }
+        }
+
+        cache.setProjectionMatrix(projection);
+        cache.begin();
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cacheId = cacheIds[row * map.getChunkColumns() + column];
+                if (cacheId != NO_CACHE) {
+                    cache.draw(cacheId);  // Uma chamada por chunk (todos os tiles partilham a textura do TileSet)
+                }
+            }
+        }
+        cache.end();
+    }
+
+    // Tenta refazer um chunk no seu bloco atual; devolve false se já não couber
+    private boolean rebake(int column, int row) {
+        int chunk = row * map.getChunkColumns() + column;
+        int tiles = countTiles(column, row);
+        int cacheId = cacheIds[chunk];
+
+        if (cacheId == NO_CACHE) {
+            if (tiles == 0) {
+                bakedVersions[chunk] = map.getChunkVersion(column, row);
+                return true;
+            }
+            if (usedSize + tiles > cacheSize) {
+                return false;
+            }
+            cache.beginCache();  // Bloco novo no fim do SpriteCache
+        } else {
+            if (tiles > capacities[chunk]) {
+                return false;
+            }
+            cache.beginCache(cacheId);  // Redefine o bloco existente no mesmo espaço
+        }
+
+        addTiles(column, row);
+        int id = cache.endCache();
+        if (cacheId == NO_CACHE) {
+            cacheIds[chunk] = id;
+            capacities[chunk] = tiles;
+            usedSize += tiles;
+        }
+        bakedVersions[chunk] = map.getChunkVersion(column, row);
+        return true;
+    }
+
+    // Reconstrói todos os chunks; o SpriteCache é recriado se for preciso mais espaço
+    private void rebuildAll() {
+        int totalTiles = 0;
+        for (int row = 0; row < map.getChunkRows(); row++) {
+            for (int column = 0; column < map.getChunkColumns(); column++) {
+                totalTiles += countTiles(column, row);
+            }
+        }
+
+        int requiredSize = totalTiles + totalTiles / 4 + GROWTH_MARGIN;
+        if (cache == null || requiredSize > cacheSize) {
+            if (cache != null) {
+                cache.dispose();
+            }
+            cache = new SpriteCache(requiredSize, false);  // Sem índices: não há o limite de 8191 sprites
+            cacheSize = requiredSize;
+        } else {
+            cache.clear();
+        }
+
+        Arrays.fill(cacheIds, NO_CACHE);
+        Arrays.fill(capacities, 0);
+        usedSize = 0;
+        for (int row = 0; row < map.getChunkRows(); row++) {
+            for (int column = 0; column < map.getChunkColumns(); column++) {
+                int chunk = row * map.getChunkColumns() + column;
+                int tiles = countTiles(column, row);
+                if (tiles > 0) {
+                    cache.beginCache();
+                    addTiles(column, row);
+                    cacheIds[chunk] = cache.endCache();
+                    capacities[chunk] = tiles;
+                    usedSize += tiles;
+                }
+                bakedVersions[chunk] = map.getChunkVersion(column, row);
+            }
+        }
+    }
+
+    private int countTiles(int chunkColumn, int chunkRow) {  // Tiles não vazios do chunk (todas as camadas)
+        int count = 0;
+        int startColumn = chunkColumn * TileMap.CHUNK_SIZE;
+        int startRow = chunkRow * TileMap.CHUNK_SIZE;
+        for (TileMap.Layer layer : TileMap.Layer.values()) {
+            for (int row = startRow; row < startRow + TileMap.CHUNK_SIZE; row++) {
+                for (int column = startColumn; column < startColumn + TileMap.CHUNK_SIZE; column++) {
+                    if (map.getTile(layer, column, row) != TileSet.EMPTY) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private void addTiles(int chunkColumn, int chunkRow) {  // Adiciona ao bloco atual os tiles do chunk, camada a camada
+        float tileSize = map.getTileSize();
+        int startColumn = chunkColumn * TileMap.CHUNK_SIZE;
+        int startRow = chunkRow * TileMap.CHUNK_SIZE;
+        for (TileMap.Layer layer : TileMap.Layer.values()) {
+            for (int row = startRow; row < startRow + TileMap.CHUNK_SIZE; row++) {
+                for (int column = startColumn; column < startColumn + TileMap.CHUNK_SIZE; column++) {
+                    TextureRegion region = map.getTileSet().getRegion(map.getTile(layer, column, row));
+                    if (region != null) {
+                        cache.add(region, column * tileSize, row * tileSize, tileSize, tileSize);
+                    }
+                }
+            }
+        }
+    }
+
+    public void dispose() {
+        if (cache != null) {
+            cache.dispose();
+            cache = null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package dungeon.core.tiles;  // Define o pacote dos mapas de tiles
+
+import com.badlogic.gdx.graphics.Texture;  // Textura com todos os tiles
+import com.badlogic.gdx.graphics.g2d.TextureRegion;  // Região de um tile dentro da textura
+import dungeon.core.assets.TextureCache;  // Cache partilhada de texturas
+
+/**
+ * Conjunto de tiles guardados numa única textura, em grelha, da esquerda para a direita e de cima para baixo.
+ * O tile 0 é reservado para "vazio"; o primeiro tile da textura tem o identificador 1.
+ * Usar uma só textura permite desenhar um chunk inteiro do mapa numa única chamada.
+ * As regiões são calculadas em coordenadas de textura a partir do número de colunas e linhas da grelha,
+ * por isso continuam certas quando a TextureCache carrega uma variante comprimida mais pequena.
+ */
+public class TileSet {
+    public static final int EMPTY = 0;  // Identificador de uma célula sem tile
+
+    private final String texturePath;  // Ficheiro com a grelha de tiles
+    private final int columns;  // Tiles por linha da textura
+    private final int rows;  // Linhas de tiles na textura
+
+    private Texture texture;  // Pedida à cache no primeiro uso
+    private TextureRegion[] regions;  // Região de cada tile (índice = identificador - 1)
+
+    public TileSet(String texturePath, int columns, int rows) {
+        this.texturePath = texturePath;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    public String getTexturePath() {  // Usado para pré-carregar a textura antes de a sala ser mostrada
+        return texturePath;
+    }
+
+    public TextureRegion getRegion(int tileId) {  // Região do tile, ou null para o tile vazio ou desconhecido
+        if (tileId == EMPTY) {
+            return null;
+        }
+        if (regions == null) {
+            load();
+        }
+        return tileId <= regions.length ? regions[tileId - 1] : null;
+    }
+
+    public int getTileCount() {  // Maior identificador válido
+        return columns * rows;
+    }
+
+    private void load() {  // Pede a textura e divide-a em regiões
+        texture = TextureCache.getInstance().acquire(texturePath);
+        regions = new TextureRegion[columns * rows];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                regions[row * columns + column] = new TextureRegion(texture, (float) column / columns,
+                    (float) row / rows, (float) (column + 1) / columns, (float) (row + 1) / rows);
+            }
+        }
+    }
+
+    public void dispose() {  // Devolve a textura à cache (pode voltar a ser pedida mais tarde)
+        if (texture != null) {
+            TextureCache.getInstance().release(texturePath);
+            texture = null;
+            regions = null;
+        }
+    }
+}
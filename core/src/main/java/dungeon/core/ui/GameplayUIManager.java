@@ -1,11 +1,243 @@
 package dungeon.core.ui;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import dungeon.core.DungeonManager;
+import dungeon.core.Player;
+import dungeon.core.assets.TextureCache;
+import dungeon.core.content.ItemArchetype;
+import dungeon.core.events.DoorUnlockedEvent;
+import dungeon.core.events.EnemyDefeatedEvent;
+import dungeon.core.events.EventType;
+import dungeon.core.events.GameEventListener;
+import dungeon.core.events.GameEventManager;
+import dungeon.core.events.ItemCollectedEvent;
+import dungeon.core.events.RoomClearedEvent;
+import dungeon.core.events.ScoreManager;
+import java.util.Random;
+
+/**
+ * Interface do ecrã de jogo: barra de vida, estatísticas, mensagens de estado e os ecrãs de
+ * pausa, derrota e vitória. Os valores vêm todos do DungeonManager (jogador e ScoreManager);
+ * as mensagens chegam através do sistema de eventos.
+ * Todos os métodos render* desenham em pixels da janela e têm de ser chamados entre batch.begin e batch.end.
+ */
 public class GameplayUIManager {
-    public void renderHUD() {
-        // Código responsável por desenhar a interface gráfica (HUD)
+
+    private static final float MESSAGE_DURATION = 3.0f;  // Segundos que uma mensagem fica visível
+    private static final String BACKDROP_TEXTURE_PATH = "background.jpg";  // Fundo dos ecrãs de derrota e vitória
+    private static final String GAME_OVER_TEXTURE_PATH = "game_over.jpg";
+
+    private final DungeonManager dungeon;
+    private final BitmapFont font;
+    private final GlyphLayout glyphLayout = new GlyphLayout();
+    private final Random random = new Random();  // Confetes do ecrã de vitória
+
+    // Subscrições dos eventos que mostram mensagens (o dano já aparece na barra de vida)
+    private final GameEventListener<ItemCollectedEvent> itemCollectedListener = this::onItemCollected;
+    private final GameEventListener<EnemyDefeatedEvent> enemyDefeatedListener = event -> showMessage("Inimigo derrotado!");
+    private final GameEventListener<RoomClearedEvent> roomClearedListener = event -> showMessage("Sala limpa! Apanha as recompensas.");
+    private final GameEventListener<DoorUnlockedEvent> doorUnlockedListener =
+        event -> showMessage("Porta desbloqueada! Chaves restantes: " + event.getPlayer().getKeys());
+
+    private String statusMessage = "";  // Mensagem de estado (ex: "Encontraste uma chave!")
+    private float messageTimer = 0;  // Tempo que falta para a mensagem desaparecer
+    private int bestGold;  // Melhor ouro das partidas anteriores (histórico)
+
+    // Pedidas à cache só quando a partida acaba
+    private Texture backdropTexture;
+    private Texture gameOverTexture;
+
+    public GameplayUIManager(DungeonManager dungeon) {
+        this.dungeon = dungeon;
+        this.font = new BitmapFont();
+        font.getData().setScale(2);
+    }
+
+    public void showMessage(String message) {
+        statusMessage = message;
+        messageTimer = MESSAGE_DURATION;
+    }
+
+    public void updateHUD(float delta) {
+        if (messageTimer > 0) {
+            messageTimer -= delta;
+            if (messageTimer <= 0) {
+                statusMessage = "";  // Limpa a mensagem quando o tempo acaba
+            }
+        }
+    }
+
+    public void renderHUD(SpriteBatch batch) {
+        Player player = dungeon.getPlayer();
+        int height = Gdx.graphics.getHeight();
+
+        // Barra de vida do jogador
+        drawBar(batch, 10, height - 30, 200, 20, (float) player.getHealth() / player.getMaxHealth(), Color.GREEN);
+
+        // Estatísticas no canto superior esquerdo
+        font.setColor(Color.WHITE);
+        font.draw(batch, "Vida: " + player.getHealth() + "/" + player.getMaxHealth(), 10, height - 40);
+        font.draw(batch, "Sala: " + (dungeon.getCurrentRoomId() + 1) + "/" + dungeon.getRoomCount(), 10, height - 70);
+        font.draw(batch, "Chaves: " + player.getKeys(), 10, height - 100);
+        font.draw(batch, "Ouro: " + player.getGold(), 10, height - 130);
+        ScoreManager score = dungeon.getScoreManager();
+        font.draw(batch, "Inimigos derrotados: " + score.getTotalEnemiesKilled(), 10, height - 160);
+        font.draw(batch, String.format("Por minuto: %.1f inimigos, %.0f ouro", score.getKillsPerMinute(),
+            score.getGoldPerMinute()), 10, height - 190);
+
+        // Mensagem de estado
+        if (!statusMessage.isEmpty()) {
+            font.setColor(Color.YELLOW);
+            glyphLayout.setText(font, statusMessage);
+            font.draw(batch, statusMessage, (Gdx.graphics.getWidth() - glyphLayout.width) / 2, 50);
+        }
+
+        // Instruções básicas na parte inferior
+        font.setColor(Color.LIGHT_GRAY);
+        font.getData().setScale(1);
+        font.draw(batch, "WASD: Mover | ESPAÇO/CLIQUE: Atacar | ESC: Pausar", Gdx.graphics.getWidth() / 2 - 200, 20);
+        font.getData().setScale(2);
+    }
+
+    public void renderPauseOverlay(SpriteBatch batch) {
+        int width = Gdx.graphics.getWidth();
+        int height = Gdx.graphics.getHeight();
+
+        // Camada semi-transparente por cima do jogo
+        batch.setColor(0, 0, 0, 0.7f);
+        batch.draw(dungeon.getRenderer().getWhitePixel(), 0, 0, width, height);
+        batch.setColor(Color.WHITE);
+
+        font.setColor(Color.WHITE);
+        drawCentered(batch, "JOGO PAUSADO", height / 2 + 50);
+        font.setColor(Color.YELLOW);
+        drawCentered(batch, "Pressione ESC para continuar", height / 2);
+    }
+
+    public void renderGameOver(SpriteBatch batch) {
+        int width = Gdx.graphics.getWidth();
+        int height = Gdx.graphics.getHeight();
+        loadEndScreenTextures();
+
+        // Fundo escuro
+        batch.setColor(0, 0, 0, 1);
+        batch.draw(backdropTexture, 0, 0, width, height);
+        batch.setColor(Color.WHITE);
+
+        // Imagem "Game Over" centrada, a metade da largura da janela (o tamanho em pixels depende da variante carregada)
+        float imageWidth = width / 2f;
+        float imageHeight = imageWidth * gameOverTexture.getHeight() / gameOverTexture.getWidth();
+        batch.draw(gameOverTexture, (width - imageWidth) / 2, (height - imageHeight) / 2, imageWidth, imageHeight);
+
+        font.setColor(Color.WHITE);
+        drawStats(batch, height / 2 - 150);
+        drawCentered(batch, "Pressione ENTER para reiniciar", height / 2 - 80);
+    }
+
+    public void renderVictory(SpriteBatch batch) {
+        int width = Gdx.graphics.getWidth();
+        int height = Gdx.graphics.getHeight();
+        loadEndScreenTextures();
+
+        batch.draw(backdropTexture, 0, 0, width, height);
+
+        font.setColor(Color.GOLD);
+        drawCentered(batch, "Parabéns! Derrotaste o Boss!", height / 2 + 100);
+        font.setColor(Color.WHITE);
+        drawStats(batch, height / 2 - 50);
+        font.setColor(Color.YELLOW);
+        drawCentered(batch, "Pressione ENTER para jogar de novo", height / 2 - 150);
+
+        // Confetes simples
+        for (int i = 0; i < 50; i++) {
+            font.setColor(random.nextFloat(), random.nextFloat(), random.nextFloat(), 1);
+            font.draw(batch, "*", random.nextInt(width), random.nextInt(height));
+        }
+    }
+
+    private void drawStats(SpriteBatch batch, float y) {  // Inimigos derrotados e ouro da partida
+        float x = (Gdx.graphics.getWidth() - 200) / 2;
+        int gold = dungeon.getPlayer().getGold();
+        font.draw(batch, "Inimigos derrotados: " + dungeon.getScoreManager().getTotalEnemiesKilled(), x, y);
+        font.draw(batch, "Ouro coletado: " + gold, x, y - 30);
+        font.draw(batch, gold > bestGold ? "Novo recorde de ouro!" : "Recorde de ouro: " + bestGold, x, y - 60);
+    }
+
+    public void setBestGold(int bestGold) {  // Mostrado nos ecrãs de derrota e vitória
+        this.bestGold = bestGold;
+    }
+
+    private void drawCentered(SpriteBatch batch, String text, float y) {
+        glyphLayout.setText(font, text);
+        font.draw(batch, text, (Gdx.graphics.getWidth() - glyphLayout.width) / 2, y);
+    }
+
+    private void drawBar(SpriteBatch batch, float x, float y, float width, float height, float percentage, Color color) {
+        Texture whitePixel = dungeon.getRenderer().getWhitePixel();  // A mesma textura das barras de vida dos inimigos
+        batch.setColor(Color.GRAY);
+        batch.draw(whitePixel, x, y, width, height);
+        batch.setColor(color);
+        batch.draw(whitePixel, x, y, width * percentage, height);
+        batch.setColor(Color.WHITE);  // Evita afetar os desenhos seguintes
+    }
+
+    private void loadEndScreenTextures() {
+        if (backdropTexture == null) {
+            backdropTexture = TextureCache.getInstance().acquire(BACKDROP_TEXTURE_PATH);
+            gameOverTexture = TextureCache.getInstance().acquire(GAME_OVER_TEXTURE_PATH);
+        }
+    }
+
+    public BitmapFont getFont() {  // Usada também pelo overlay do profiler
+        return font;
+    }
+
+    // Mensagens a partir dos eventos do jogo
+
+    public void subscribe(GameEventManager events) {
+        events.subscribe(EventType.ITEM_COLLECTED, itemCollectedListener);
+        events.subscribe(EventType.ENEMY_DEFEATED, enemyDefeatedListener);
+        events.subscribe(EventType.ROOM_CLEARED, roomClearedListener);
+        events.subscribe(EventType.DOOR_UNLOCKED, doorUnlockedListener);
+    }
+
+    public void unsubscribe(GameEventManager events) {
+        events.unsubscribe(EventType.ITEM_COLLECTED, itemCollectedListener);
+        events.unsubscribe(EventType.ENEMY_DEFEATED, enemyDefeatedListener);
+        events.unsubscribe(EventType.ROOM_CLEARED, roomClearedListener);
+        events.unsubscribe(EventType.DOOR_UNLOCKED, doorUnlockedListener);
+    }
+
+    private void onItemCollected(ItemCollectedEvent event) {
+        ItemArchetype type = event.getItem().getType();
+        switch (type.getEffect()) {
+            case HEAL:
+                showMessage("Recuperaste " + type.getValue() + " pontos de vida");
+                break;
+            case DAMAGE:
+                showMessage("Dano aumentado em " + type.getValue() + "!");
+                break;
+            case KEY:
+                showMessage("Encontraste uma chave!");
+                break;
+            case GOLD:
+                showMessage("Conseguiste " + type.getValue() + " moedas de ouro");
+                break;
+        }
     }
 
-    public void updateHUD() {
-        // Atualizações ao HUD (como vida, pontuação, etc.)
+    public void dispose() {
+        font.dispose();
+        if (backdropTexture != null) {
+            TextureCache.getInstance().release(BACKDROP_TEXTURE_PATH);
+            TextureCache.getInstance().release(GAME_OVER_TEXTURE_PATH);
+            backdropTexture = null;
+            gameOverTexture = null;
+        }
     }
 }
@@ -0,0 +1,107 @@
+package dungeon.core.history;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+// Registo cortado a meio ao abrir e consultas top-K (heap) comparadas com uma ordenação completa
+public class RunHistoryStoreTest {
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 40;
+    private static final int RUNS = 2000;  // Mais do que as 1024 posições iniciais do índice
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reopeningTruncatesHalfWrittenRecord() throws IOException {
+        File file = folder.newFile("history.bin");
+        file.delete();  // O histórico cria o ficheiro
+        RunHistoryStore store = new RunHistoryStore(file);
+        store.append(run(1));
+        store.append(run(2));
+        store.append(run(3));
+        store.close();
+        assertEquals(HEADER_SIZE + 3 * RECORD_SIZE, file.length());
+
+        try (FileOutputStream out = new FileOutputStream(file, true)) {  // Jogo fechado a meio de uma escrita
+            out.write(new byte[RECORD_SIZE / 2]);
+        }
+
+        store = new RunHistoryStore(file);
+        assertEquals(3, store.topByGold(10).size());  // As consultas esperam pelo carregamento (size() não)
+        assertEquals(3, store.size());
+        assertEquals(HEADER_SIZE + 3 * RECORD_SIZE, file.length());
+        store.append(run(4));  // Fica logo a seguir ao último registo completo
+        store.close();
+        assertEquals(HEADER_SIZE + 4 * RECORD_SIZE, file.length());
+
+        store = new RunHistoryStore(file);
+        List<RunRecord> runs = store.findBySeed(4);
+        store.close();
+        assertEquals(1, runs.size());
+        assertRunEquals(run(4), runs.get(0));
+    }
+
+    @Test
+    public void topKMatchesFullSort() throws IOException {
+        File file = new File(folder.getRoot(), "history.bin");
+        RunHistoryStore store = new RunHistoryStore(file);
+        List<RunRecord> all = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            all.add(run(i));
+            store.append(all.get(i));
+        }
+        store.close();
+
+        store = new RunHistoryStore(file);  // As consultas leem só o que já está no ficheiro
+        List<RunRecord> victories = new ArrayList<>();
+        for (RunRecord record : all) {
+            if (record.isVictory()) {
+                victories.add(record);
+            }
+        }
+        assertTop(all, Comparator.comparingInt(RunRecord::getGold).reversed(), store.topByGold(10), 10);
+        assertTop(all, Comparator.comparingInt(RunRecord::getEnemiesKilled).reversed(), store.topByKills(25), 25);
+        assertTop(victories, Comparator.comparingLong(RunRecord::getDurationMillis), store.fastestVictories(7), 7);
+        assertTop(victories, Comparator.comparingLong(RunRecord::getDurationMillis),
+            store.fastestVictories(RUNS), victories.size());  // k maior do que o número de vitórias
+        assertEquals(0, store.topByGold(0).size());
+        assertEquals(RUNS, store.size());
+        store.close();
+    }
+
+    // Valores distintos (multiplicação por primos módulo RUNS): a ordem esperada não tem empates
+    private static RunRecord run(int i) {
+        return new RunRecord(1_700_000_000_000L + i, i, 60_000L + (i * 1009L) % RUNS * 100, (i * 7919) % RUNS,
+            (i * 337) % RUNS, i % 9, i % 3 == 0);
+    }
+
+    private static void assertTop(List<RunRecord> records, Comparator<RunRecord> order, List<RunRecord> actual,
+                                  int expectedSize) {
+        List<RunRecord> sorted = new ArrayList<>(records);
+        sorted.sort(order);
+        assertEquals(expectedSize, actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            assertRunEquals(sorted.get(i), actual.get(i));
+        }
+    }
+
+    private static void assertRunEquals(RunRecord expected, RunRecord actual) {
+        assertEquals(expected.getEndedAt(), actual.getEndedAt());
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(expected.getDurationMillis(), actual.getDurationMillis());
+        assertEquals(expected.getGold(), actual.getGold());
+        assertEquals(expected.getEnemiesKilled(), actual.getEnemiesKilled());
+        assertEquals(expected.getRoomsCleared(), actual.getRoomsCleared());
+        assertEquals(expected.isVictory(), actual.isVictory());
+    }
+}
@@ -0,0 +1,243 @@
+package dungeon.core.net;  // Mesmo pacote do codec: os testes preenchem as colunas diretamente
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+// Codificação seguida de descodificação: estados completos e diferenças (com entidades novas e removidas)
+public class SnapshotCodecTest {
+    private static final int TICK = 30 * Protocol.SNAPSHOT_INTERVAL_TICKS;
+
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private final ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private SnapshotHistory received;
+
+    @Before
+    public void setUp() {
+        received = new SnapshotHistory();
+    }
+
+    @Test
+    public void fullSnapshotRoundTrip() {
+        WorldSnapshot sent = baseline(TICK);
+
+        WorldSnapshot decoded = roundTrip(sent, null);
+
+        assertNotNull(decoded);
+        assertSnapshotEquals(sent, decoded);
+    }
+
+    @Test
+    public void deltaRoundTripWithChangedAddedAndRemovedEntities() {
+        WorldSnapshot base = baseline(TICK);
+        roundTrip(base, null);  // O cliente já tem a base
+
+        WorldSnapshot current = new WorldSnapshot();
+        header(current, TICK + Protocol.SNAPSHOT_INTERVAL_TICKS, base.roomId);
+        current.ackTick = base.ackTick + 3;
+        current.gold = base.gold + 25;
+        current.lockedDoors = 0b0010;  // Uma porta foi desbloqueada
+        addPlayer(current, 7, 120.25f, 80f, 90, 100, 1);  // Mexeu-se, perdeu vida e está a atacar
+        addPlayer(current, 3, 300f, 200f, 100, 100, 0);  // Sem alterações
+        addEnemy(current, 0, 2, 410.5f, 220f, 30);  // Mexeu-se
+        // Inimigo 1 morreu: não aparece
+        addEnemy(current, 2, 1, 50f, 60f, 12);  // Perdeu vida
+        addEnemy(current, 5, 3, 640f, 480f, 80);  // Novo
+        addItem(current, 0, 4, 100f, 100f);  // Igual
+        // Item 2 foi apanhado: não aparece
+        addItem(current, 3, 1, 210.75f, 330.5f);  // Novo (largado por um inimigo)
+
+        WorldSnapshot decoded = roundTrip(current, base);
+
+        assertNotNull(decoded);
+        assertSnapshotEquals(current, decoded);
+    }
+
+    @Test
+    public void deltaAfterRoomChangeIgnoresBaseEntities() {
+        WorldSnapshot base = baseline(TICK);
+        roundTrip(base, null);
+
+        WorldSnapshot current = new WorldSnapshot();
+        header(current, TICK + Protocol.SNAPSHOT_INTERVAL_TICKS, base.roomId + 1);
+        addPlayer(current, 7, 20f, 300f, 90, 100, 0);
+        addEnemy(current, 0, 5, 400f, 300f, 200);  // Mesmo ID que um inimigo da base, noutra sala
+
+        WorldSnapshot decoded = roundTrip(current, base);
+
+        assertNotNull(decoded);
+        assertSnapshotEquals(current, decoded);
+    }
+
+    @Test
+    public void deltaAgainstMissingBaselineIsIgnored() {
+        WorldSnapshot base = baseline(TICK);  // Nunca chegou ao cliente
+        WorldSnapshot current = baseline(TICK + Protocol.SNAPSHOT_INTERVAL_TICKS);
+
+        assertNull(roundTrip(current, base));
+    }
+
+    @Test
+    public void unchangedDeltaCarriesOnlyIdsAndEmptyMasks() {
+        WorldSnapshot base = baseline(TICK);
+        WorldSnapshot current = baseline(TICK + Protocol.SNAPSHOT_INTERVAL_TICKS);
+        current.ackTick = base.ackTick;
+
+        // tick 32 + distância 6 + máscara 6; jogadores 6 + 2 x (ID 6 + máscara 5);
+        // inimigos 6 + 3 x (ID 6 + máscara 3); itens 6 + 2 x ID 6 = 123 bits
+        assertEquals(16, encodedSize(current, base));
+        assertTrue(encodedSize(current, base) * 4 < encodedSize(current, null));
+    }
+
+    @Test
+    public void movedEnemyAddsOnlyItsPositionDelta() {
+        WorldSnapshot base = baseline(TICK);
+        WorldSnapshot current = baseline(TICK + Protocol.SNAPSHOT_INTERVAL_TICKS);
+        current.ackTick = base.ackTick;
+        current.enemyX[0] += 0.5f;  // 2 passos: zigzag 4, cabe no seletor de 4 bits
+
+        assertEquals(17, encodedSize(current, base));  // 123 + 6 bits
+    }
+
+    @Test
+    public void bitFieldsRoundTripAcrossWordBoundaries() {
+        BitWriter bits = new BitWriter();
+        bits.reset(buffer);
+        bits.write(0b101, 3);
+        bits.write(0xDEADBEEF, 32);  // Atravessa a fronteira dos 32 bits
+        bits.writeBoolean(true);
+        bits.writeVarUnsigned(15);
+        bits.writeVarUnsigned(255);
+        bits.writeVarUnsigned(65535);
+        bits.writeVarUnsigned(-1);
+        bits.writeVarSigned(-1);
+        bits.writeVarSigned(Integer.MIN_VALUE);
+        bits.finish();
+        buffer.flip();
+
+        // 3 + 32 + 1 + 6 + 10 + 18 + 34 + 6 + 34 = 144 bits
+        assertEquals(18, buffer.remaining());
+        BitReader in = new BitReader();
+        in.reset(buffer);
+        assertEquals(0b101, in.read(3));
+        assertEquals(0xDEADBEEF, in.read(32));
+        assertTrue(in.readBoolean());
+        assertEquals(15, in.readVarUnsigned());
+        assertEquals(255, in.readVarUnsigned());
+        assertEquals(65535, in.readVarUnsigned());
+        assertEquals(-1, in.readVarUnsigned());
+        assertEquals(-1, in.readVarSigned());
+        assertEquals(Integer.MIN_VALUE, in.readVarSigned());
+    }
+
+    private int encodedSize(WorldSnapshot snapshot, WorldSnapshot baseline) {  // Bytes escritos por encode()
+        buffer.clear();
+        codec.encode(snapshot, baseline, buffer);
+        assertTrue(buffer.position() <= SnapshotCodec.getMaxEncodedSize(snapshot));
+        return buffer.position();
+    }
+
+    private WorldSnapshot roundTrip(WorldSnapshot snapshot, WorldSnapshot baseline) {
+        buffer.clear();
+        codec.encode(snapshot, baseline, buffer);
+        buffer.flip();
+        return codec.decode(buffer, received);
+    }
+
+    private static WorldSnapshot baseline(int tick) {
+        WorldSnapshot snapshot = new WorldSnapshot();
+        header(snapshot, tick, 2);
+        snapshot.ackTick = tick - 4;
+        snapshot.lockedDoors = 0b1010;
+        snapshot.gold = 150;
+        snapshot.keys = 1;
+        snapshot.attackDamage = 25;
+        addPlayer(snapshot, 7, 100f, 80f, 100, 100, 0);
+        addPlayer(snapshot, 3, 300f, 200f, 100, 100, 0);
+        addEnemy(snapshot, 0, 2, 400f, 220f, 30);
+        addEnemy(snapshot, 1, 0, 700f, 500f, 50);
+        addEnemy(snapshot, 2, 1, 50f, 60f, 20);
+        addItem(snapshot, 0, 4, 100f, 100f);
+        addItem(snapshot, 2, 0, 512.5f, 64f);
+        return snapshot;
+    }
+
+    private static void header(WorldSnapshot snapshot, int tick, int roomId) {
+        snapshot.validate();
+        snapshot.tick = tick;
+        snapshot.roomId = roomId;
+    }
+
+    private static void addPlayer(WorldSnapshot s, int id, float x, float y, int health, int maxHealth, int flags) {
+        s.ensurePlayers(s.playerCount + 1);
+        s.playerIds[s.playerCount] = id;
+        s.playerX[s.playerCount] = x;
+        s.playerY[s.playerCount] = y;
+        s.playerHealth[s.playerCount] = (short) health;
+        s.playerMaxHealth[s.playerCount] = (short) maxHealth;
+        s.playerFlags[s.playerCount] = (byte) flags;
+        s.playerCount++;
+    }
+
+    private static void addEnemy(WorldSnapshot s, int id, int type, float x, float y, int health) {
+        s.ensureEnemies(s.enemyCount + 1);
+        s.enemyIds[s.enemyCount] = id;
+        s.enemyTypes[s.enemyCount] = (byte) type;
+        s.enemyX[s.enemyCount] = x;
+        s.enemyY[s.enemyCount] = y;
+        s.enemyHealth[s.enemyCount] = (short) health;
+        s.enemyCount++;
+    }
+
+    private static void addItem(WorldSnapshot s, int id, int type, float x, float y) {
+        s.ensureItems(s.itemCount + 1);
+        s.itemIds[s.itemCount] = id;
+        s.itemTypes[s.itemCount] = (byte) type;
+        s.itemX[s.itemCount] = x;
+        s.itemY[s.itemCount] = y;
+        s.itemCount++;
+    }
+
+    // As posições usadas são múltiplos do passo de quantização, por isso voltam exatamente iguais
+    private static void assertSnapshotEquals(WorldSnapshot expected, WorldSnapshot actual) {
+        assertEquals(expected.tick, actual.tick);
+        assertEquals(expected.ackTick, actual.ackTick);
+        assertEquals(expected.roomId, actual.roomId);
+        assertEquals(expected.lockedDoors, actual.lockedDoors);
+        assertEquals(expected.gold, actual.gold);
+        assertEquals(expected.keys, actual.keys);
+        assertEquals(expected.attackDamage, actual.attackDamage);
+
+        assertEquals(expected.playerCount, actual.playerCount);
+        for (int i = 0; i < expected.playerCount; i++) {
+            assertEquals(expected.playerIds[i], actual.playerIds[i]);
+            assertEquals(expected.playerX[i], actual.playerX[i], 0f);
+            assertEquals(expected.playerY[i], actual.playerY[i], 0f);
+            assertEquals(expected.playerHealth[i], actual.playerHealth[i]);
+            assertEquals(expected.playerMaxHealth[i], actual.playerMaxHealth[i]);
+            assertEquals(expected.playerFlags[i], actual.playerFlags[i]);
+        }
+
+        assertEquals(expected.enemyCount, actual.enemyCount);
+        for (int i = 0; i < expected.enemyCount; i++) {
+            assertEquals(expected.enemyIds[i], actual.enemyIds[i]);
+            assertEquals(expected.enemyTypes[i], actual.enemyTypes[i]);
+            assertEquals(expected.enemyX[i], actual.enemyX[i], 0f);
+            assertEquals(expected.enemyY[i], actual.enemyY[i], 0f);
+            assertEquals(expected.enemyHealth[i], actual.enemyHealth[i]);
+        }
+
+        assertEquals(expected.itemCount, actual.itemCount);
+        for (int i = 0; i < expected.itemCount; i++) {
+            assertEquals(expected.itemIds[i], actual.itemIds[i]);
+            assertEquals(expected.itemTypes[i], actual.itemTypes[i]);
+            assertEquals(expected.itemX[i], actual.itemX[i], 0f);
+            assertEquals(expected.itemY[i], actual.itemY[i], 0f);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package dungeon.core.physics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import dungeon.core.Enemy;
+import dungeon.core.Item;
+import dungeon.core.Player;
+import dungeon.core.Room;
+import dungeon.core.content.ContentPack;
+import dungeon.core.content.ContentPackWriter;
+import dungeon.core.content.EnemyArchetype;
+import dungeon.core.content.ItemArchetype;
+import dungeon.core.session.GameSession;
+import dungeon.core.tiles.TileMap;
+import dungeon.core.tiles.TileSet;
+import java.nio.ByteBuffer;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+// Movimentos maiores do que um tile param no primeiro contacto; itens apanhados a meio de um salto
+public class SweptMoverTest {
+    private static final float TILE = 32f;  // Lado de cada tile do mapa de teste
+    private static final float DELTA = 0.0001f;
+
+    private static ItemArchetype coin;
+    private static EnemyArchetype zombie;
+
+    @BeforeClass
+    public static void createContent() throws Exception {  // Tipos de um pacote gerado em memória
+        ContentPackWriter writer = new ContentPackWriter();
+        writer.addItem("COIN", "Moeda", "coin.png", "", 10, ItemArchetype.Effect.GOLD);
+        writer.addEnemy("ZOMBIE", "zombie.png", 32, 50, 5, 60, 1, 5, -1, EnemyArchetype.Ai.NONE);
+        ContentPack content = ContentPack.wrap(ByteBuffer.wrap(writer.toByteArray()));
+        coin = content.getItem(0);
+        zombie = content.getEnemy(0);
+    }
+
+    @Test
+    public void playerStopsAtTheWallFaceInsteadOfTunnelling() {
+        Room room = tiledRoom();
+        Player player = new Player(64, 64);
+
+        room.movePlayer(player, 500, 0);  // Passo maior do que a parede: o teste discreto deixava-o atravessar
+
+        assertEquals(10 * TILE - player.getWidth(), player.getX(), DELTA);
+        assertEquals(64, player.getY(), DELTA);
+
+        room.movePlayer(player, 40, 40);  // Encostado: o eixo X fica parado, o Y desliza ao longo da parede
+
+        assertEquals(10 * TILE - player.getWidth(), player.getX(), DELTA);
+        assertEquals(104, player.getY(), DELTA);
+    }
+
+    @Test
+    public void enemyStopsTouchingThePlayer() {
+        Room room = new Room(1, "background.jpg", 800, 600);
+        room.attach(GameSession.createStandalone());
+        Enemy enemy = new Enemy(100, 300, zombie, null);
+        room.addEnemy(enemy);
+        Player player = new Player(400, 300);
+        room.update(1 / 60f, player);  // Indexa o jogador na sala
+
+        room.moveEnemy(enemy, 500, 0);
+
+        assertEquals(400 - enemy.getWidth(), enemy.getX(), DELTA);
+        assertTrue(SweptMover.touching(enemy.getHitbox(), player.getHitbox()));
+    }
+
+    @Test
+    public void itemIsCollectedWhenThePlayerPassesOverIt() {
+        Room room = new Room(1, "background.jpg", 800, 600);
+        room.attach(GameSession.createStandalone());
+        Item item = new Item(300, 100, coin);
+        room.addItem(item);
+        Item missed = new Item(300, 400, coin);
+        room.addItem(missed);
+        Player player = new Player(0, 100);
+
+        player.savePreviousPosition();
+        player.setPosition(600, 100);  // Num só frame, de um lado do item para o outro
+        room.update(1 / 60f, player);
+
+        assertTrue(item.isCollected());
+        assertFalse(missed.isCollected());
+        assertEquals(10, player.getGold());
+    }
+
+    private static Room tiledRoom() {  // 20 x 15 tiles com paredes na margem e uma coluna de parede em x = 10
+        TileMap tiles = new TileMap(new TileSet("tiles.png", 4, 4), 20, 15, TILE);
+        tiles.outlineWalls(1);
+        for (int row = 0; row < 15; row++) {
+            tiles.setTile(TileMap.Layer.WALLS, 10, row, 1);
+        }
+        return new Room(1, tiles);
+    }
+}
@@ -0,0 +1,198 @@
+package dungeon.core.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import dungeon.core.Enemy;
+import dungeon.core.Item;
+import dungeon.core.Player;
+import dungeon.core.Room;
+import dungeon.core.content.ContentPack;
+import dungeon.core.content.ContentPackWriter;
+import dungeon.core.content.EnemyArchetype;
+import dungeon.core.content.ItemArchetype;
+import dungeon.core.session.GameSession;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+// Índices do repositório depois de apagar salas (deslocação para trás), de crescer e de apanhar itens
+public class IndexedRoomRepositoryTest {
+    private static final int CAPACITY = 64;  // Capacidade inicial do repositório
+
+    private static ItemArchetype coin;
+    private static ItemArchetype potion;
+    private static EnemyArchetype zombie;
+
+    @BeforeClass
+    public static void createContent() throws Exception {  // Tipos de um pacote gerado em memória
+        ContentPackWriter writer = new ContentPackWriter();
+        writer.addItem("COIN", "Moeda", "coin.png", "", 10, ItemArchetype.Effect.GOLD);
+        writer.addItem("POTION", "Poção", "potion.png", "", 20, ItemArchetype.Effect.HEAL);
+        writer.addEnemy("ZOMBIE", "zombie.png", 32, 50, 5, 60, 1, 5, -1, EnemyArchetype.Ai.NONE);
+        ContentPack content = ContentPack.wrap(ByteBuffer.wrap(writer.toByteArray()));
+        coin = content.getItem(0);
+        potion = content.getItem(1);
+        zombie = content.getEnemy(0);
+    }
+
+    @Test
+    public void deleteShiftsCollidingRoomsBackWithTheirIndexBits() {
+        int[] ids = collidingIds(3);  // Mesma posição ideal: ficam seguidas na tabela
+        IndexedRoomRepository repository = new IndexedRoomRepository();
+        Room boss = room(ids[0], Room.RoomType.BOSS);
+        Room withItem = room(ids[1], Room.RoomType.COMBAT);
+        withItem.addItem(new Item(10, 10, coin));
+        Room visitedUncleared = room(ids[2], Room.RoomType.COMBAT);
+        visitedUncleared.addEnemy(new Enemy(700, 500, zombie, null));  // Vivo: a sala não fica limpa
+        repository.saveRoom(boss);
+        repository.saveRoom(withItem);
+        repository.saveRoom(visitedUncleared);
+        visit(boss);
+        visit(visitedUncleared);
+
+        repository.deleteRoom(ids[0]);  // As outras duas passam uma posição para trás
+
+        assertFalse(repository.existsRoom(ids[0]));
+        assertSame(withItem, repository.findRoomById(ids[1]));
+        assertSame(visitedUncleared, repository.findRoomById(ids[2]));
+        assertEquals(0, repository.countRoomsOfType(Room.RoomType.BOSS));
+        assertRooms(collect(repository::forEachRoomOfType, Room.RoomType.COMBAT), withItem, visitedUncleared);
+        assertRooms(collectVisited(repository), visitedUncleared);
+        assertRooms(collectUncleared(repository), withItem, visitedUncleared);
+        assertRooms(collectWithItem(repository, coin), withItem);
+
+        repository.deleteRoom(ids[1]);
+
+        assertSame(visitedUncleared, repository.findRoomById(ids[2]));
+        assertRooms(collectVisited(repository), visitedUncleared);
+        assertRooms(collectUncleared(repository), visitedUncleared);
+        assertEquals(0, repository.countRoomsWithItem(coin));
+    }
+
+    @Test
+    public void growRebuildsIndexes() {
+        IndexedRoomRepository repository = new IndexedRoomRepository();
+        List<Room> rooms = new ArrayList<>();
+        for (int id = 0; id < 10; id++) {
+            rooms.add(room(id, id == 9 ? Room.RoomType.BOSS : Room.RoomType.COMBAT));
+            repository.saveRoom(rooms.get(id));
+        }
+        for (int id = 0; id < 5; id++) {
+            visit(rooms.get(id));  // Visitadas e limpas (sem inimigos)
+        }
+        rooms.get(7).addItem(new Item(10, 10, potion));  // Chega ao índice pelo listener
+
+        for (int id = 10; id < CAPACITY; id++) {  // Passa de metade da capacidade: a tabela duplica (duas vezes)
+            rooms.add(room(id, Room.RoomType.COMBAT));
+            repository.saveRoom(rooms.get(id));
+        }
+
+        assertEquals(CAPACITY, repository.getRoomCount());
+        for (Room room : rooms) {
+            assertSame(room, repository.findRoomById(room.getId()));
+        }
+        assertRooms(collectVisited(repository), rooms.subList(0, 5).toArray(new Room[0]));
+        assertEquals(CAPACITY - 5, repository.countUnclearedRooms());
+        assertRooms(collect(repository::forEachRoomOfType, Room.RoomType.BOSS), rooms.get(9));
+        assertEquals(CAPACITY - 1, repository.countRoomsOfType(Room.RoomType.COMBAT));
+        assertRooms(collectWithItem(repository, potion), rooms.get(7));
+
+        visit(rooms.get(40));  // Depois de crescer, os avisos das salas continuam a chegar às posições novas
+        assertEquals(6, repository.countVisitedRooms());
+    }
+
+    @Test
+    public void collectedItemKeepsRoomIndexedWhileAnotherOfTheSameTypeRemains() {
+        IndexedRoomRepository repository = new IndexedRoomRepository();
+        Room room = room(1, Room.RoomType.COMBAT);
+        room.addItem(new Item(10, 10, coin));
+        room.addItem(new Item(400, 10, coin));
+        room.addItem(new Item(10, 400, potion));
+        repository.saveRoom(room);
+        room.attach(GameSession.createStandalone());
+        Player player = new Player(0, 0);
+
+        player.setPosition(10, 10);
+        room.update(1 / 60f, player);  // Apanha a primeira moeda
+
+        assertEquals(1, repository.countRoomsWithItem(coin));
+        assertEquals(1, repository.countRoomsWithItem(potion));
+
+        player.setPosition(400, 10);
+        room.update(1 / 60f, player);  // Apanha a última moeda
+
+        assertEquals(0, repository.countRoomsWithItem(coin));
+        assertEquals(1, repository.countRoomsWithItem(potion));
+    }
+
+    private static Room room(int id, Room.RoomType type) {
+        Room room = new Room(id, "background.jpg", 800, 600);
+        room.setType(type);
+        return room;
+    }
+
+    private static void visit(Room room) {  // Um jogador entra na sala longe dos itens e dos inimigos
+        if (room.getSession() == null) {
+            room.attach(GameSession.createStandalone());
+        }
+        room.update(1 / 60f, new Player(300, 300));
+    }
+
+    // IDs com a mesma posição ideal numa tabela de CAPACITY posições (mesma dispersão que o repositório)
+    private static int[] collidingIds(int count) {
+        int[] ids = new int[count];
+        int found = 0;
+        int target = home(0);
+        for (int id = 0; found < count; id++) {
+            if (home(id) == target) {
+                ids[found++] = id;
+            }
+        }
+        return ids;
+    }
+
+    private static int home(int id) {
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (CAPACITY - 1);
+    }
+
+    private interface TypeQuery {
+        void forEach(Room.RoomType type, RoomRepository.RoomVisitor visitor);
+    }
+
+    private static List<Room> collect(TypeQuery query, Room.RoomType type) {
+        List<Room> rooms = new ArrayList<>();
+        query.forEach(type, rooms::add);
+        return rooms;
+    }
+
+    private static List<Room> collectVisited(RoomRepository repository) {
+        List<Room> rooms = new ArrayList<>();
+        repository.forEachVisitedRoom(rooms::add);
+        return rooms;
+    }
+
+    private static List<Room> collectUncleared(RoomRepository repository) {
+        List<Room> rooms = new ArrayList<>();
+        repository.forEachUnclearedRoom(rooms::add);
+        return rooms;
+    }
+
+    private static List<Room> collectWithItem(RoomRepository repository, ItemArchetype type) {
+        List<Room> rooms = new ArrayList<>();
+        repository.forEachRoomWithItem(type, rooms::add);
+        return rooms;
+    }
+
+    private static void assertRooms(List<Room> actual, Room... expected) {  // Mesmas salas, por qualquer ordem
+        assertEquals(expected.length, actual.size());
+        for (Room room : expected) {
+            assertTrue("Falta a sala " + room.getId(), actual.contains(room));
+        }
+    }
+}
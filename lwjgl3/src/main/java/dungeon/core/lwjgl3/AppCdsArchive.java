@@ -0,0 +1,144 @@
+package dungeon.core.lwjgl3;
+
+import dungeon.core.profiling.StartupProbe;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the AppCDS archive of the installed game up to date. The start scripts pass the same absolute path in
+ * the user's cache directory to {@code -XX:SharedArchiveFile} (with {@code -Xshare:auto}, so a missing or stale
+ * archive is skipped) and to {@code -Ddungeon.cdsArchive}. After the game closes, {@link #recordIfNeeded} checks
+ * whether that archive exists and was made for this JVM and jar; if not, it starts a training run in a new JVM
+ * (InstructionScreen, then a few seconds of GameplayScreen, with a hidden window and no audio) that dumps the
+ * classes it loaded. The player's own session is never recorded.
+ * <br>
+ * The construo packages are not covered: roast passes a fixed list of JVM options, so the archive could only be
+ * mapped by starting a second JVM, which costs more than the archive saves.
+ */
+public final class AppCdsArchive {
+
+    /** Absolute path of the archive; without it nothing is recorded. */
+    public static final String PROPERTY = "dungeon.cdsArchive";
+
+    private static final String TRAINING_SECONDS = "5";
+    private static final long TIMEOUT_SECONDS = 60;
+    private static final int MIN_JAVA_VERSION = 13; // First version with -XX:ArchiveClassesAtExit.
+
+    private AppCdsArchive() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Records the archive given by {@link #PROPERTY} if it is missing or was made for another JVM or jar.
+     * Blocks until the training run ends (a few seconds, once per JVM and jar), so it is called after
+     * the game window has closed.
+     *
+     * @param mainClass the launcher class the training run starts
+     */
+    public static void recordIfNeeded(Class<?> mainClass) {
+        String path = System.getProperty(PROPERTY);
+        if (path == null || StartupProbe.isTrainingRun() || javaVersion() < MIN_JAVA_VERSION) return;
+        File archive = new File(path);
+        if (!archive.isAbsolute()) {
+            System.err.println("The AppCDS archive path is not absolute, so it was not recorded: " + path);
+            return;
+        }
+        // A dynamic archive only works with the JVM and the jar that made it; this id tells when it has to be redone.
+        File idFile = new File(path + ".id");
+        String id = currentId();
+        if (archive.isFile() && id.equals(readId(idFile))) return;
+
+        File directory = archive.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            System.err.println("The AppCDS archive directory could not be created: " + directory);
+            return;
+        }
+        // The JVM writes the archive as it exits; it only replaces the one in use once it is complete.
+        File temporary = new File(path + ".tmp");
+        delete(temporary);
+        try {
+            Process process = new ProcessBuilder(trainingCommand(mainClass, temporary))
+                    .redirectErrorStream(true)
+                    .redirectOutput(new File(path + ".log"))
+                    .start();
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                System.err.println("The AppCDS training run did not finish in " + TIMEOUT_SECONDS + " seconds.");
+                return;
+            }
+            if (process.exitValue() != 0 || !temporary.isFile()) {
+                System.err.println("The AppCDS training run failed; see " + path + ".log");
+                return;
+            }
+            archive.setWritable(true); // The JVM writes archives read-only, which Windows refuses to replace.
+            Files.move(temporary.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            Files.write(idFile.toPath(), id.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | InterruptedException e) {
+            System.err.println("There was a problem recording the AppCDS archive");
+            e.printStackTrace();
+        } finally {
+            delete(temporary);
+        }
+    }
+
+    private static void delete(File file) {
+        file.setWritable(true); // Read-only files cannot be deleted on Windows.
+        file.delete();
+    }
+
+    private static List<String> trainingCommand(Class<?> mainClass, File archive) {
+        String separator = System.getProperty("file.separator", "/");
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + separator + "bin" + separator + "java");
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            // The options of this launch that map the archive or measure the startup are left out.
+            if (!argument.startsWith("-XX:SharedArchiveFile=") && !argument.startsWith("-Xshare:")
+                    && !argument.startsWith("-D" + PROPERTY + "=") && !argument.startsWith("-Ddungeon.startup")
+                    && !argument.startsWith("-Ddungeon.trainingRun=")) {
+                command.add(argument);
+            }
+        }
+        command.add("-XX:ArchiveClassesAtExit=" + archive.getPath());
+        command.add("-Ddungeon.trainingRun=" + TRAINING_SECONDS);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path")); // The same class path string, or the archive is rejected.
+        command.add(mainClass.getName());
+        return command;
+    }
+
+    private static String currentId() {
+        StringBuilder id = new StringBuilder(System.getProperty("java.vm.version"));
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            File file = new File(entry).getAbsoluteFile();
+            id.append('\n').append(file.getPath()).append(' ').append(file.length()).append(' ').append(file.lastModified());
+        }
+        return id.toString();
+    }
+
+    private static String readId(File file) {
+        try {
+            return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null; // No id yet: the archive is recorded again.
+        }
+    }
+
+    private static int javaVersion() {
+        String version = System.getProperty("java.specification.version");
+        if (version.startsWith("1.")) return 8;
+        try {
+            return Integer.parseInt(version);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -3,16 +3,40 @@ package dungeon.core.lwjgl3;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import dungeon.core.MainGame;
+import dungeon.core.net.Protocol;
+import dungeon.core.profiling.StartupProbe;
+import dungeon.core.profiling.StartupTracer;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
+        StartupProbe.markLaunch(); // Time-to-first-frame is measured from here (see StartupBenchmark).
+        long start = StartupTracer.getInstance().begin();
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        StartupTracer.getInstance().end("StartupHelper.startNewJvmIfRequired", start);
+        createApplication(args);
+        AppCdsArchive.recordIfNeeded(Lwjgl3Launcher.class); // Only when the start scripts ask for it, after the window closed.
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new MainGame(), getDefaultConfiguration());
+    private static Lwjgl3Application createApplication(String[] args) {
+        MainGame game = createGame(args);
+        StartupTracer.getInstance().mark("Lwjgl3Application"); // Window and GL context creation run until MainGame.create.
+        return new Lwjgl3Application(game, getDefaultConfiguration());
+    }
+
+    /** {@code --connect host[:port]} joins a co-op server instead of starting a local game. */
+    private static MainGame createGame(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if ("--connect".equals(args[i]) && i + 1 < args.length) {
+                String address = args[i + 1];
+                int colon = address.lastIndexOf(':');
+                if (colon < 0) {
+                    return new MainGame(address, Protocol.DEFAULT_PORT);
+                }
+                return new MainGame(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+            }
+        }
+        return new MainGame();
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
@@ -32,6 +56,12 @@ public class Lwjgl3Launcher {
         //// You can change these files; they are in lwjgl3/src/main/resources/ .
         //// They can also be loaded from the root of assets/ .
         configuration.setWindowIcon("libgdx128.png", "libgdx64.png", "libgdx32.png", "libgdx16.png");
+        if (StartupProbe.isTrainingRun()) {
+            //// The AppCDS training run plays in the background: no window, no sound, and no waiting for vsync.
+            configuration.setInitialVisible(false);
+            configuration.disableAudio(true);
+            configuration.useVsync(false);
+        }
         return configuration;
     }
 }
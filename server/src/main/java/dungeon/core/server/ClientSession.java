@@ -0,0 +1,104 @@
+package dungeon.core.server;  // Define o pacote do servidor
+
+import dungeon.core.Player;  // Jogador controlado por este cliente
+import dungeon.core.Room;  // Sala onde o jogador se move
+import dungeon.core.net.Connection;  // Ligação não bloqueante
+import dungeon.core.net.InputCommand;  // Input de um tick
+import dungeon.core.net.Protocol;  // Intervalo entre estados
+import dungeon.core.net.SnapshotHistory;  // Estados enviados (bases das diferenças)
+import dungeon.core.net.WorldSnapshot;  // Estado confirmado pelo cliente
+import java.nio.ByteBuffer;  // Frame INPUT recebida
+import dungeon.core.player.PlayerController;  // Movimento do jogador
+
+/**
+ * Um cliente ligado ao servidor: a ligação, o jogador que controla e os inputs recebidos ainda por
+ * aplicar. O servidor aplica um input por tick; se o cliente se atrasar, repete o último movimento,
+ * e se se adiantar demasiado, os inputs mais antigos são juntados (os ataques nunca se perdem).
+ */
+class ClientSession {
+    private static final int MAX_PENDING = 8;  // Inputs guardados, no máximo (latência extra limitada a 8 ticks)
+
+    private final int id;
+    private final Connection connection;
+    private Player player;  // null até o cliente enviar HELLO
+    private PlayerController controller;
+
+    private final InputCommand[] pending = new InputCommand[MAX_PENDING];  // Fila circular de inputs por aplicar
+    private int pendingHead;
+    private int pendingCount;
+    private float moveX;  // Último movimento aplicado (repetido se não chegar input)
+    private float moveY;
+    private boolean attackRequested;  // Ataque recebido e ainda não aplicado
+    private int lastAppliedTick = -1;  // Confirmado ao cliente em cada estado
+    private final SnapshotHistory sentSnapshots = new SnapshotHistory();
+    private int ackedSnapshotTick = -1;  // Último estado que o cliente confirmou ter recebido
+
+    ClientSession(int id, Connection connection) {
+        this.id = id;
+        this.connection = connection;
+        for (int i = 0; i < MAX_PENDING; i++) {
+            pending[i] = new InputCommand();
+        }
+    }
+
+    void join(Player player) {
+        this.player = player;
+        this.controller = new PlayerController(player);
+    }
+
+    void receiveInput(ByteBuffer frame) {
+        InputCommand command = nextInputSlot().read(frame);
+        ackedSnapshotTick = Math.max(ackedSnapshotTick, command.getSnapshotAck());
+    }
+
+    // Base para o estado deste tick: o último confirmado, se ainda estiver guardado (null = estado completo)
+    WorldSnapshot getBaseline(int tick) {
+        if (ackedSnapshotTick < 0 || tick - ackedSnapshotTick >= SnapshotHistory.WINDOW * Protocol.SNAPSHOT_INTERVAL_TICKS) {
+            return null;  // Ainda nenhum, ou a posição vai ser reutilizada pelo estado deste tick
+        }
+        return sentSnapshots.find(ackedSnapshotTick);
+    }
+
+    // Guarda um input recebido (a fila cheia junta o mais antigo ao seguinte)
+    private InputCommand nextInputSlot() {
+        if (pendingCount == MAX_PENDING) {
+            InputCommand oldest = pending[pendingHead];
+            attackRequested |= oldest.isAttack();
+            pendingHead = (pendingHead + 1) % MAX_PENDING;
+            pendingCount--;
+        }
+        InputCommand slot = pending[(pendingHead + pendingCount) % MAX_PENDING];
+        pendingCount++;
+        return slot;
+    }
+
+    // Aplica o input deste tick ao jogador, dentro da sala onde está (antes de o DungeonManager atualizar o mundo)
+    void applyInput(Room room, float deltaTime) {
+        if (pendingCount > 0) {
+            InputCommand command = pending[pendingHead];
+            pendingHead = (pendingHead + 1) % MAX_PENDING;
+            pendingCount--;
+            moveX = command.getMoveX();
+            moveY = command.getMoveY();
+            attackRequested |= command.isAttack();
+            lastAppliedTick = command.getTick();
+        }
+        if (player.isDead()) {
+            attackRequested = false;
+            return;
+        }
+        if (attackRequested) {
+            player.getCombat().requestAttack();
+            attackRequested = false;
+        }
+        player.savePreviousPosition();  // Início do movimento testado contra as portas
+        controller.move(room, moveX, moveY, deltaTime);
+    }
+
+    int getId() { return id; }
+    Connection getConnection() { return connection; }
+    Player getPlayer() { return player; }
+    PlayerController getController() { return controller; }
+    int getLastAppliedTick() { return lastAppliedTick; }
+    SnapshotHistory getSentSnapshots() { return sentSnapshots; }
+}
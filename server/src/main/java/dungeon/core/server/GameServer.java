@@ -0,0 +1,233 @@
+package dungeon.core.server;  // Define o pacote do servidor
+
+import dungeon.core.DungeonManager;  // Mundo simulado pelo servidor
+import dungeon.core.Player;  // Jogadores dos clientes
+import dungeon.core.Room;  // Sala de cada jogador
+import dungeon.core.content.ContentPack;  // Conteúdos (o cliente tem de ter os mesmos)
+import dungeon.core.input.InputTimeline;  // Duração do tick (a mesma dos clientes)
+import dungeon.core.net.Connection;  // Ligação não bloqueante
+import dungeon.core.net.Protocol;  // Tipos de mensagem
+import dungeon.core.net.SnapshotCodec;  // Estados como diferenças em bits
+import dungeon.core.net.WorldSnapshot;  // Estado enviado a cada cliente
+import dungeon.core.session.GameSession;  // Partida sem janela
+import java.io.IOException;  // Erros de rede
+import java.net.InetSocketAddress;  // Porta de escuta
+import java.nio.BufferUnderflowException;  // Frame mais curta do que o seu conteúdo
+import java.nio.ByteBuffer;  // Conteúdo das frames
+import java.nio.channels.SelectionKey;  // Eventos de cada socket
+import java.nio.channels.Selector;  // Espera por vários sockets ao mesmo tempo
+import java.nio.channels.ServerSocketChannel;  // Aceita ligações
+import java.nio.channels.SocketChannel;  // Ligação de um cliente
+import java.util.ArrayList;  // Sessões ligadas
+import java.util.Iterator;  // Percorre as chaves selecionadas
+import java.util.List;  // Interface de lista
+
+/**
+ * Servidor autoritativo do modo cooperativo.
+ *
+ * Uma só thread faz tudo: espera pelos sockets com um Selector até ao próximo tick, lê os inputs que
+ * chegaram, corre os ticks fixos de uma GameSession (o mesmo código do jogo local, com vários
+ * jogadores em várias salas) e envia a cada cliente o estado da sala onde está o seu jogador.
+ * Nenhuma operação de rede bloqueia, por isso um cliente lento não atrasa os outros: se deixar de
+ * ler, deixa de receber estados até recuperar.
+ */
+public class GameServer {
+    private static final int MAX_TICKS_PER_LOOP = 5;  // Depois de uma paragem maior, o tempo parado não é simulado
+
+    private final int port;
+    private final GameSession game;  // Partida servida (uma por processo)
+    private final DungeonManager dungeon;
+    private final List<ClientSession> sessions = new ArrayList<>();
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private int nextSessionId = 1;
+    private int tick;
+    private volatile boolean running;
+
+    public GameServer(int port) {
+        this.port = port;
+        this.game = GameSession.createHeadless();
+        this.dungeon = game.getDungeon();
+    }
+
+    public void run() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        System.out.println("[SERVIDOR] À escuta na porta " + port);
+
+        running = true;
+        long nextTick = System.nanoTime();
+        while (running) {
+            long wait = nextTick - System.nanoTime();
+            if (wait > 1_000_000) {
+                selector.select(wait / 1_000_000);
+            } else {
+                selector.selectNow();
+            }
+            handleSelectedKeys();
+
+            long now = System.nanoTime();
+            if (now - nextTick > MAX_TICKS_PER_LOOP * InputTimeline.TICK_NANOS) {
+                nextTick = now - InputTimeline.TICK_NANOS;  // Recupera só um tick
+            }
+            while (now - nextTick >= 0) {
+                tick();
+                nextTick += InputTimeline.TICK_NANOS;
+            }
+        }
+        close();
+    }
+
+    public void stop() {  // Pode ser chamado de outra thread (ex: fim do processo)
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+    }
+
+    private void handleSelectedKeys() {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            ClientSession session = (ClientSession) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    read(session);
+                }
+                if (key.isValid() && key.isWritable() && session.getConnection().flush()) {
+                    key.interestOps(SelectionKey.OP_READ);  // Tudo enviado
+                }
+            } catch (IOException | BufferUnderflowException e) {
+                disconnect(session, String.valueOf(e.getMessage()));
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            ClientSession session = new ClientSession(nextSessionId++, new Connection(channel));
+            channel.register(selector, SelectionKey.OP_READ, session);
+            sessions.add(session);
+        } catch (IOException e) {
+            System.err.println("Erro ao aceitar ligação: " + e.getMessage());
+        }
+    }
+
+    private void read(ClientSession session) throws IOException {
+        Connection connection = session.getConnection();
+        if (!connection.read()) {
+            disconnect(session, "ligação fechada");
+            return;
+        }
+        ByteBuffer frame;
+        while ((frame = connection.poll()) != null) {
+            byte type = frame.get();
+            if (type == Protocol.HELLO) {
+                if (frame.getInt() != Protocol.VERSION) {
+                    throw new IOException("versão do protocolo diferente");
+                }
+                if (frame.getInt() != ContentPack.getInstance().getChecksum()) {
+                    throw new IOException("pacote de conteúdos diferente do do servidor");
+                }
+                if (session.getPlayer() == null) {
+                    session.join(dungeon.addPlayer());
+                    connection.beginFrame(Protocol.WELCOME, 4).putInt(session.getId());
+                    connection.endFrame();
+                    System.out.println("[SERVIDOR] Jogador " + session.getId() + " entrou (" + playerCount() + " ligados)");
+                }
+            } else if (type == Protocol.INPUT && session.getPlayer() != null) {
+                session.receiveInput(frame);
+            }
+        }
+    }
+
+    private void disconnect(ClientSession session, String reason) {
+        session.getConnection().close();  // Também cancela o registo no Selector
+        sessions.remove(session);
+        if (session.getPlayer() != null) {
+            dungeon.removePlayer(session.getPlayer());
+            System.out.println("[SERVIDOR] Jogador " + session.getId() + " saiu: " + reason);
+        }
+    }
+
+    private void tick() {
+        float delta = InputTimeline.TICK_SECONDS;
+
+        // Input de cada jogador, depois o mundo inteiro (salas com jogadores), depois os ataques
+        for (int i = 0; i < sessions.size(); i++) {
+            ClientSession session = sessions.get(i);
+            if (session.getPlayer() != null) {
+                session.applyInput(dungeon.getRoom(session.getPlayer().getRoomId()), delta);
+            }
+        }
+        game.tick(delta);  // Mundo e ataques
+
+        tick++;
+        if (tick % Protocol.SNAPSHOT_INTERVAL_TICKS == 0) {
+            sendSnapshots();
+        }
+    }
+
+    private void sendSnapshots() {
+        for (int i = sessions.size() - 1; i >= 0; i--) {  // Do fim para o início: disconnect remove da lista
+            ClientSession session = sessions.get(i);
+            Player viewer = session.getPlayer();
+            Connection connection = session.getConnection();
+            if (viewer == null || !connection.canQueue()) {
+                continue;  // Ainda não entrou, ou não está a ler
+            }
+            // Capturado no histórico do cliente: é a base das diferenças quando o cliente o confirmar
+            WorldSnapshot baseline = session.getBaseline(tick);
+            WorldSnapshot snapshot = session.getSentSnapshots().acquire(tick);
+            snapshot.begin(tick, session.getLastAppliedTick(), viewer);
+            snapshot.addPlayer(session.getId(), viewer);  // O próprio jogador vem sempre primeiro
+            for (int j = 0; j < sessions.size(); j++) {
+                ClientSession other = sessions.get(j);
+                if (other != session && other.getPlayer() != null && other.getPlayer().getRoomId() == viewer.getRoomId()) {
+                    snapshot.addPlayer(other.getId(), other.getPlayer());
+                }
+            }
+            Room room = dungeon.getRoom(viewer.getRoomId());
+            snapshot.addRoom(room);
+            codec.encode(snapshot, baseline, connection.beginFrame(Protocol.SNAPSHOT, SnapshotCodec.getMaxEncodedSize(snapshot)));
+            connection.endFrame();
+            try {
+                if (!connection.flush()) {
+                    connection.getChannel().keyFor(selector).interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            } catch (IOException e) {
+                disconnect(session, e.getMessage());
+            }
+        }
+    }
+
+    private int playerCount() {
+        return dungeon.getPlayers().size();
+    }
+
+    private void close() throws IOException {
+        for (ClientSession session : sessions) {
+            session.getConnection().close();
+        }
+        sessions.clear();
+        serverChannel.close();
+        selector.close();
+        game.dispose();
+    }
+}
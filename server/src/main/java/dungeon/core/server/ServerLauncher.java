@@ -0,0 +1,34 @@
+package dungeon.core.server;  // Define o pacote do servidor
+
+import dungeon.core.net.Protocol;  // Porta por omissão
+import java.io.IOException;  // Erros ao abrir a porta
+
+/**
+ * Servidor do modo cooperativo, sem janela nem OpenGL.
+ *
+ * Argumentos (todos opcionais):
+ *   --port 7777   porta TCP onde os clientes ligam
+ */
+public class ServerLauncher {
+    public static void main(String[] args) throws IOException {
+        int port = Protocol.DEFAULT_PORT;
+        for (int i = 0; i < args.length; i++) {  // Leitura simples dos argumentos --nome valor
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--port": port = Integer.parseInt(require(args[i], value)); i++; break;
+                default: throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+
+        GameServer server = new GameServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "server-stop"));
+        server.run();
+    }
+
+    private static String require(String name, String value) {  // Garante que a opção tem valor
+        if (value == null) {
+            throw new IllegalArgumentException("Falta o valor de " + name);
+        }
+        return value;
+    }
+}
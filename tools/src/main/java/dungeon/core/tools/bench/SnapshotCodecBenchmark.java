@@ -0,0 +1,130 @@
+package dungeon.core.tools.bench;  // Define o pacote dos benchmarks JMH
+
+import dungeon.core.Player;  // Jogadores incluídos nos estados
+import dungeon.core.Room;  // Sala capturada
+import dungeon.core.net.Protocol;  // Intervalo entre estados
+import dungeon.core.net.SnapshotCodec;  // Codificador medido
+import dungeon.core.net.SnapshotHistory;  // Bases das diferenças
+import dungeon.core.net.WorldSnapshot;  // Estado capturado
+import dungeon.core.session.GameSession;  // Sessão da sala simulada
+import dungeon.core.tools.loadtest.LoadTestRoomFactory;  // Sala com inimigos e itens em posições fixas
+import dungeon.core.tools.loadtest.ScriptedPlayer;  // Percurso repetível do jogador
+import dungeon.core.tools.loadtest.StrategyFactory;  // IA dos inimigos
+import java.nio.ByteBuffer;  // Buffers reutilizados
+import java.util.concurrent.TimeUnit;  // Unidade dos resultados
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo do SnapshotCodec numa sala típica: estados completos e diferenças entre estados seguidos.
+ * Os estados são capturados uma vez no setup, a partir de uma sala simulada com um jogador a
+ * percorrer um guião, para medir só a codificação. O tamanho médio de cada variante é escrito no
+ * setup; o débito em bytes por segundo é esse tamanho (ou o do estado em memória) vezes ops/s.
+ *
+ * Uso: ./gradlew :tools:jmh -PjmhArgs="SnapshotCodec"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotCodecBenchmark {
+    private static final int SNAPSHOTS = SnapshotHistory.WINDOW;  // Sequência que cabe no histórico do cliente
+
+    @Param({"2", "8"})
+    public int enemiesPerType;  // 2 por tipo = sala típica; 8 = sala cheia
+
+    @Param({"6"})
+    public int items;
+
+    private final WorldSnapshot[] snapshots = new WorldSnapshot[SNAPSHOTS];
+    private final ByteBuffer[] encodedDeltas = new ByteBuffer[SNAPSHOTS];  // i = diferença entre i - 1 e i
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private final SnapshotHistory received = new SnapshotHistory();
+    private final ByteBuffer out = ByteBuffer.allocateDirect(64 * 1024);
+    private int next = 1;
+
+    @Setup(Level.Trial)
+    public void capture() {
+        LoadTestRoomFactory factory = new LoadTestRoomFactory(enemiesPerType, items,
+            StrategyFactory.byName("follower"), 42L);
+        Room room = factory.createRoom(0);
+        room.attach(GameSession.createStandalone());
+        ScriptedPlayer script = new ScriptedPlayer(new Player(0, 0), room.getWidth(), room.getHeight());
+        Player ally = new Player(room.getWidth() / 2f, room.getHeight() / 2f);
+
+        SnapshotHistory sent = new SnapshotHistory();
+        int tick = 0;
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            for (int t = 0; t < Protocol.SNAPSHOT_INTERVAL_TICKS; t++, tick++) {
+                script.step(1 / 60f);
+                room.update(1 / 60f, script.getPlayer());
+            }
+            WorldSnapshot snapshot = sent.acquire(tick);
+            snapshot.begin(tick, tick - 4, script.getPlayer());
+            snapshot.addPlayer(1, script.getPlayer());
+            snapshot.addPlayer(2, ally);
+            snapshot.addRoom(room);
+            snapshots[i] = snapshot;
+        }
+
+        // Diferenças codificadas e descodificadas uma vez: o histórico do cliente fica com todas as bases
+        long fullBytes = 0;
+        long deltaBytes = 0;
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            out.clear();
+            codec.encode(snapshots[i], null, out);
+            fullBytes += out.position();
+            out.clear();
+            codec.encode(snapshots[i], i == 0 ? null : snapshots[i - 1], out);
+            out.flip();
+            encodedDeltas[i] = ByteBuffer.allocateDirect(out.remaining());
+            encodedDeltas[i].put(out).flip();
+            if (i > 0) deltaBytes += encodedDeltas[i].remaining();
+            codec.decode(encodedDeltas[i].duplicate(), received);
+        }
+        System.out.printf("%n[SNAPSHOT] %d inimigos, %d itens: completo %.1f bytes, diferença %.1f bytes%n",
+            snapshots[0].getEnemyCount(), snapshots[0].getItemCount(),
+            (double) fullBytes / SNAPSHOTS, (double) deltaBytes / (SNAPSHOTS - 1));
+    }
+
+    private int nextIndex() {  // 1..SNAPSHOTS-1: cada índice tem a sua base (o anterior)
+        int index = next;
+        next = next == SNAPSHOTS - 1 ? 1 : next + 1;
+        return index;
+    }
+
+    @Benchmark
+    public int encodeFull() {
+        int index = nextIndex();
+        out.clear();
+        codec.encode(snapshots[index], null, out);
+        return out.position();
+    }
+
+    @Benchmark
+    public int encodeDelta() {
+        int index = nextIndex();
+        out.clear();
+        codec.encode(snapshots[index], snapshots[index - 1], out);
+        return out.position();
+    }
+
+    @Benchmark
+    public WorldSnapshot decodeDelta() {  // Volta a escrever a mesma posição do histórico, com a mesma base
+        ByteBuffer in = encodedDeltas[nextIndex()];
+        in.rewind();
+        return codec.decode(in, received);
+    }
+}
@@ -0,0 +1,360 @@
+package dungeon.core.tools.content;  // Define o pacote das ferramentas de conteúdos
+
+import dungeon.core.Room;  // Posições das portas
+import dungeon.core.content.ContentPack;  // Verificação do pacote gerado
+import dungeon.core.content.ContentPackWriter;  // Escrita do formato binário
+import dungeon.core.content.EnemyArchetype;  // Tipos de IA
+import dungeon.core.content.ItemArchetype;  // Efeitos dos itens
+import dungeon.core.factories.RoomFactory;  // Tamanho de sala por omissão
+import dungeon.core.tiles.TileMap;  // Camadas das salas feitas de tiles
+import java.io.File;  // Pastas e ficheiros
+import java.io.IOException;  // Erros de leitura e escrita
+import java.nio.ByteBuffer;  // Verificação do pacote gerado
+import java.nio.charset.StandardCharsets;  // Ficheiros de texto em UTF-8
+import java.nio.file.Files;  // Leitura e escrita de ficheiros
+import java.util.ArrayList;  // Blocos lidos
+import java.util.Arrays;  // Ordenação dos ficheiros
+import java.util.HashMap;  // Nomes -> IDs
+import java.util.List;  // Interface de lista
+import java.util.Locale;  // Nomes das IA em minúsculas
+import java.util.Map;  // Interface de mapa
+
+/**
+ * Compila os ficheiros de texto da pasta content (itens, tabelas de saque, inimigos e salas) para o
+ * pacote binário lido pelo jogo (ContentPack). Os erros indicam o ficheiro e a linha; nada é escrito
+ * se algum ficheiro tiver erros.
+ *
+ * Formato: cada bloco começa numa linha sem indentação ("item NOME", "loot NOME", "enemy NOME" ou
+ * "room ID") e continua com linhas indentadas "chave valor". Linhas vazias e começadas por # são
+ * ignoradas. Os blocos podem estar em qualquer ficheiro *.txt da pasta e por qualquer ordem.
+ *
+ * Argumentos:
+ *   --source content         pasta com os ficheiros de texto
+ *   --out assets/content.pack pacote gerado
+ */
+public class ContentCompiler {
+    private static final int MAX_TYPES = 256;  // Os estados da rede guardam o tipo num byte
+
+    // Bloco lido do texto: tipo, nome e linhas "chave valor"
+    private static final class Block {
+        final String kind, name, file;
+        final int line;
+        final List<String[]> entries = new ArrayList<>();  // {chave, valor, linha}
+
+        Block(String kind, String name, String file, int line) {
+            this.kind = kind;
+            this.name = name;
+            this.file = file;
+            this.line = line;
+        }
+
+        String where(int entryLine) {
+            return file + ":" + entryLine;
+        }
+
+        String get(String key, String fallback) {  // Valor de uma chave que só pode aparecer uma vez
+            String value = null;
+            for (String[] entry : entries) {
+                if (entry[0].equals(key)) {
+                    if (value != null) {
+                        throw error(where(Integer.parseInt(entry[2])), "\"" + key + "\" repetido");
+                    }
+                    value = entry[1];
+                }
+            }
+            if (value == null && fallback == null) {
+                throw error(where(line), kind + " " + name + " sem \"" + key + "\"");
+            }
+            return value != null ? value : fallback;
+        }
+    }
+
+    private final List<Block> items = new ArrayList<>();
+    private final List<Block> loot = new ArrayList<>();
+    private final List<Block> enemies = new ArrayList<>();
+    private final List<Block> rooms = new ArrayList<>();
+    private final Map<String, Integer> itemIds = new HashMap<>();
+    private final Map<String, Integer> lootIds = new HashMap<>();
+    private final Map<String, Integer> enemyIds = new HashMap<>();
+
+    public static void main(String[] args) {
+        String source = "content";
+        String out = "assets/" + ContentPack.DEFAULT_PATH;
+        for (int i = 0; i < args.length; i++) {  // Leitura simples dos argumentos --nome valor
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--source": source = require(args[i], value); i++; break;
+                case "--out": out = require(args[i], value); i++; break;
+                default: throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+
+        try {
+            ContentCompiler compiler = new ContentCompiler();
+            compiler.read(new File(source));
+            byte[] pack = compiler.compile();
+            ContentPack.wrap(ByteBuffer.wrap(pack));  // Confirma que o jogo consegue abrir o pacote
+            Files.write(new File(out).toPath(), pack);
+            System.out.println("Pacote de conteúdos: " + compiler.items.size() + " itens, " + compiler.enemies.size()
+                + " inimigos, " + compiler.loot.size() + " tabelas de saque, " + compiler.rooms.size() + " salas, "
+                + pack.length + " bytes -> " + out);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro ao compilar os conteúdos: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static String require(String name, String value) {  // Garante que a opção tem valor
+        if (value == null) {
+            throw new IllegalArgumentException("Falta o valor de " + name);
+        }
+        return value;
+    }
+
+    // Lê todos os ficheiros *.txt da pasta (por ordem alfabética, para o pacote ser sempre igual)
+    void read(File directory) throws IOException {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".txt"));
+        if (files == null) {
+            throw new IOException("Pasta de conteúdos não encontrada: " + directory);
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            parse(file.getName(), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private void parse(String file, List<String> lines) {
+        Block block = null;
+        for (int i = 0; i < lines.size(); i++) {
+            String raw = lines.get(i);
+            String text = raw.trim();
+            int line = i + 1;
+            if (text.isEmpty() || text.startsWith("#")) {
+                continue;
+            }
+            String[] parts = text.split("\\s+", 2);
+            if (!Character.isWhitespace(raw.charAt(0))) {  // Início de um bloco
+                if (parts.length < 2) {
+                    throw error(file + ":" + line, "falta o nome do bloco \"" + parts[0] + "\"");
+                }
+                block = new Block(parts[0], parts[1], file, line);
+                switch (parts[0]) {
+                    case "item": declare(items, itemIds, block); break;
+                    case "loot": declare(loot, lootIds, block); break;
+                    case "enemy": declare(enemies, enemyIds, block); break;
+                    case "room": rooms.add(block); break;
+                    default: throw error(file + ":" + line, "bloco desconhecido \"" + parts[0] + "\"");
+                }
+            } else {
+                if (block == null) {
+                    throw error(file + ":" + line, "linha indentada fora de um bloco");
+                }
+                block.entries.add(new String[] {parts[0], parts.length > 1 ? parts[1] : "", Integer.toString(line)});
+            }
+        }
+    }
+
+    private static void declare(List<Block> blocks, Map<String, Integer> ids, Block block) {
+        if (ids.containsKey(block.name)) {
+            throw error(block.where(block.line), block.kind + " " + block.name + " repetido");
+        }
+        ids.put(block.name, blocks.size());
+        blocks.add(block);
+    }
+
+    // Escreve os blocos pela ordem dos IDs: itens, saques, inimigos e salas
+    byte[] compile() {
+        if (items.size() > MAX_TYPES || enemies.size() > MAX_TYPES) {
+            throw new IllegalArgumentException("No máximo " + MAX_TYPES + " tipos de itens e de inimigos");
+        }
+        ContentPackWriter writer = new ContentPackWriter();
+        for (Block item : items) {
+            expectKeys(item, "name", "texture", "effect", "value", "description");
+            writer.addItem(item.name, item.get("name", null), item.get("texture", null), item.get("description", ""),
+                parseInt(item, "value", null), parseEnum(item, ItemArchetype.Effect.class, item.get("effect", null)));
+        }
+        for (Block table : loot) {
+            int[] drops = new int[table.entries.size()];
+            int[] weights = new int[drops.length];
+            for (int i = 0; i < drops.length; i++) {
+                String[] entry = table.entries.get(i);
+                drops[i] = entry[0].equals("nothing") ? -1 : lookup(itemIds, table, entry, entry[0], "item");
+                weights[i] = parseNumber(table, entry, entry[1]).intValue();
+                if (weights[i] <= 0) {
+                    throw error(table.where(Integer.parseInt(entry[2])), "o peso tem de ser positivo");
+                }
+            }
+            writer.addLoot(drops, weights);
+        }
+        for (Block enemy : enemies) {
+            expectKeys(enemy, "texture", "size", "health", "damage", "speed", "cooldown", "gold", "ai", "drops");
+            String drops = enemy.get("drops", "");
+            writer.addEnemy(enemy.name, enemy.get("texture", null), parseFloat(enemy, "size", "128"),
+                parseInt(enemy, "health", null), parseInt(enemy, "damage", null), parseFloat(enemy, "speed", null),
+                parseFloat(enemy, "cooldown", null), parseInt(enemy, "gold", "0"),
+                drops.isEmpty() ? -1 : lookup(lootIds, enemy, null, drops, "loot"),
+                parseEnum(enemy, EnemyArchetype.Ai.class, enemy.get("ai", "steering").toUpperCase(Locale.ROOT)));
+        }
+        Map<Integer, Block> roomIds = new HashMap<>();
+        for (Block room : rooms) {
+            compileRoom(writer, room, roomIds);
+        }
+        return writer.toByteArray();
+    }
+
+    private void compileRoom(ContentPackWriter writer, Block room, Map<Integer, Block> roomIds) {
+        expectKeys(room, "type", "background", "tileset", "tiles", "size", "enemy", "item", "door", "rewards");
+        int id = parseNumber(room, null, room.name).intValue();
+        if (id < 0 || roomIds.put(id, room) != null) {
+            throw error(room.where(room.line), "ID de sala inválido ou repetido: " + room.name);
+        }
+        String[] size = room.get("size", RoomFactory.DEFAULT_ROOM_WIDTH + " " + RoomFactory.DEFAULT_ROOM_HEIGHT).split("\\s+");
+        String[] rewards = room.get("rewards", "").isEmpty() ? null : room.get("rewards", "").split("\\s+");
+        int rewardsLoot = -1, minRewards = 0, maxRewards = 0;
+        if (rewards != null) {
+            if (rewards.length != 3) {
+                throw error(room.where(room.line), "rewards espera TABELA mínimo máximo");
+            }
+            rewardsLoot = lookup(lootIds, room, null, rewards[0], "loot");
+            minRewards = parseNumber(room, null, rewards[1]).intValue();
+            maxRewards = parseNumber(room, null, rewards[2]).intValue();
+            if (minRewards < 0 || maxRewards < minRewards || maxRewards > Byte.MAX_VALUE) {
+                throw error(room.where(room.line), "rewards: mínimo e máximo inválidos");
+            }
+        }
+        Room.RoomType type = parseEnum(room, Room.RoomType.class, room.get("type", Room.RoomType.COMBAT.name()));
+        int width = parseNumber(room, null, size[0]).intValue();
+        int height = parseNumber(room, null, size[size.length - 1]).intValue();
+        String tileSet = room.get("tileset", "");
+        ContentPackWriter.RoomRecord record;
+        int tileCount = 0;  // Tiles da imagem (0 = sala com imagem de fundo)
+        int tileSize = 0;
+        if (tileSet.isEmpty()) {
+            record = writer.addRoom(id, room.get("background", null), type, width, height, rewardsLoot, minRewards,
+                maxRewards);
+        } else {
+            String[] args = tileSet.split("\\s+");
+            if (args.length != 4 || !room.get("background", "").isEmpty()) {
+                throw error(room.where(room.line), "tileset espera IMAGEM colunas linhas lado (e substitui background)");
+            }
+            int columns = parseNumber(room, null, args[1]).intValue();
+            int rows = parseNumber(room, null, args[2]).intValue();
+            tileSize = parseNumber(room, null, args[3]).intValue();
+            if (columns <= 0 || rows <= 0 || columns > 255 || rows > 255 || tileSize <= 0
+                    || width % tileSize != 0 || height % tileSize != 0) {
+                throw error(room.where(room.line), "tileset: grelha inválida ou tamanho da sala não é múltiplo do lado");
+            }
+            record = writer.addTiledRoom(id, args[0], columns, rows, tileSize, type, width, height, rewardsLoot,
+                minRewards, maxRewards);
+            tileCount = columns * rows;
+        }
+
+        for (String[] entry : room.entries) {
+            String[] args = entry[1].split("\\s+");
+            switch (entry[0]) {
+                case "enemy":
+                    expectArgs(room, entry, args, 3, 3);
+                    record.addEnemy(lookup(enemyIds, room, entry, args[0], "enemy"),
+                        parseNumber(room, entry, args[1]).floatValue(), parseNumber(room, entry, args[2]).floatValue());
+                    break;
+                case "item":
+                    expectArgs(room, entry, args, 3, 3);
+                    record.addItem(lookup(itemIds, room, entry, args[0], "item"),
+                        parseNumber(room, entry, args[1]).floatValue(), parseNumber(room, entry, args[2]).floatValue());
+                    break;
+                case "door":
+                    expectArgs(room, entry, args, 4, 5);
+                    if (args.length == 5 && !args[4].equals("locked")) {
+                        throw error(room.where(Integer.parseInt(entry[2])), "esperado \"locked\" em vez de " + args[4]);
+                    }
+                    record.addDoor(parseEnum(room, Room.DoorPosition.class, args[0]),
+                        parseNumber(room, entry, args[1]).floatValue(), parseNumber(room, entry, args[2]).floatValue(),
+                        parseNumber(room, entry, args[3]).intValue(), args.length == 5);
+                    break;
+                case "tiles":
+                    expectArgs(room, entry, args, 6, 6);
+                    if (tileCount == 0) {
+                        throw error(room.where(Integer.parseInt(entry[2])), "tiles numa sala sem tileset");
+                    }
+                    fillTiles(record, room, entry, args, width, height, tileSize, tileCount);
+                    break;
+                default:
+                    break;  // type, background, tileset, size e rewards já foram lidos
+            }
+        }
+    }
+
+    // tiles CAMADA coluna linha largura altura tile: preenche um retângulo de células (por ordem, as últimas ganham)
+    private static void fillTiles(ContentPackWriter.RoomRecord record, Block room, String[] entry, String[] args,
+                                  int width, int height, int tileSize, int tileCount) {
+        TileMap.Layer layer = parseEnum(room, TileMap.Layer.class, args[0]);
+        int column = parseNumber(room, entry, args[1]).intValue();
+        int row = parseNumber(room, entry, args[2]).intValue();
+        int columns = parseNumber(room, entry, args[3]).intValue();
+        int rows = parseNumber(room, entry, args[4]).intValue();
+        int tile = parseNumber(room, entry, args[5]).intValue();
+        if (column < 0 || row < 0 || columns <= 0 || rows <= 0 || (column + columns) * tileSize > width
+                || (row + rows) * tileSize > height) {
+            throw error(room.where(Integer.parseInt(entry[2])), "tiles fora da sala");
+        }
+        if (tile < 0 || tile > tileCount) {
+            throw error(room.where(Integer.parseInt(entry[2])), "tile " + tile + " não existe (0 a " + tileCount + ")");
+        }
+        for (int y = row; y < row + rows; y++) {
+            for (int x = column; x < column + columns; x++) {
+                record.setTile(layer, x, y, tile);
+            }
+        }
+    }
+
+    private static void expectKeys(Block block, String... keys) {  // Apanha erros de escrita nas chaves
+        for (String[] entry : block.entries) {
+            if (!Arrays.asList(keys).contains(entry[0])) {
+                throw error(block.where(Integer.parseInt(entry[2])), "chave desconhecida em " + block.kind + ": " + entry[0]);
+            }
+        }
+    }
+
+    private static void expectArgs(Block block, String[] entry, String[] args, int min, int max) {
+        if (args.length < min || args.length > max) {
+            throw error(block.where(Integer.parseInt(entry[2])), entry[0] + " com " + args.length + " valores");
+        }
+    }
+
+    private static int lookup(Map<String, Integer> ids, Block block, String[] entry, String name, String kind) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            throw error(block.where(entry != null ? Integer.parseInt(entry[2]) : block.line), kind + " desconhecido: " + name);
+        }
+        return id;
+    }
+
+    private static int parseInt(Block block, String key, String fallback) {
+        return parseNumber(block, null, block.get(key, fallback)).intValue();
+    }
+
+    private static float parseFloat(Block block, String key, String fallback) {
+        return parseNumber(block, null, block.get(key, fallback)).floatValue();
+    }
+
+    private static Number parseNumber(Block block, String[] entry, String text) {
+        try {
+            return text.contains(".") ? (Number) Float.parseFloat(text) : (Number) Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw error(block.where(entry != null ? Integer.parseInt(entry[2]) : block.line), "número inválido: " + text);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Block block, Class<E> type, String text) {
+        try {
+            return Enum.valueOf(type, text);
+        } catch (IllegalArgumentException e) {
+            throw error(block.where(block.line), "valor inválido para " + type.getSimpleName() + ": " + text
+                + " (use " + Arrays.toString(type.getEnumConstants()) + ")");
+        }
+    }
+
+    private static IllegalArgumentException error(String where, String message) {
+        return new IllegalArgumentException(where + ": " + message);
+    }
+}
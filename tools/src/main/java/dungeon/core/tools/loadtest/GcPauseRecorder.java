@@ -0,0 +1,69 @@
+package dungeon.core.tools.loadtest;  // Define o pacote das ferramentas de teste de carga
+
+import com.sun.management.GarbageCollectionNotificationInfo;  // Detalhes de cada recolha de lixo
+import java.lang.management.GarbageCollectorMXBean;  // Coletores de lixo da JVM
+import java.lang.management.ManagementFactory;  // Acesso aos MXBeans
+import java.util.ArrayList;  // Lista dos emissores registados
+import java.util.List;  // Interface de lista
+import javax.management.Notification;  // Notificação JMX
+import javax.management.NotificationEmitter;  // Origem das notificações de GC
+import javax.management.NotificationListener;  // Recetor das notificações
+import javax.management.openmbean.CompositeData;  // Formato dos dados da notificação
+
+// Regista as pausas de GC através das notificações JMX da JVM HotSpot
+public class GcPauseRecorder implements NotificationListener {
+    private final List<NotificationEmitter> emitters = new ArrayList<>();  // Coletores onde o recorder está registado
+
+    // As notificações chegam numa thread da JVM, por isso os contadores são sincronizados
+    private long pauses;  // Número de recolhas
+    private long totalPauseMillis;  // Soma das durações
+    private long maxPauseMillis;  // Maior duração individual
+
+    public void start() {  // Começa a ouvir todos os coletores
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) gc;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    public void stop() {  // Deixa de ouvir os coletores
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (Exception e) {
+                System.err.println("Erro ao remover o recorder de GC: " + e.getMessage());
+            }
+        }
+        emitters.clear();
+    }
+
+    @Override
+    public synchronized void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        String name = info.getGcName();
+        if (name.contains("Concurrent") || name.contains("Cycles")) {
+            return;  // Ciclos concorrentes (G1/ZGC) não param a thread do jogo
+        }
+        long duration = info.getGcInfo().getDuration();
+        pauses++;
+        totalPauseMillis += duration;
+        maxPauseMillis = Math.max(maxPauseMillis, duration);
+    }
+
+    public synchronized void reset() {  // Limpa os contadores antes de uma nova medição
+        pauses = 0;
+        totalPauseMillis = 0;
+        maxPauseMillis = 0;
+    }
+
+    public synchronized long getPauses() { return pauses; }
+    public synchronized long getTotalPauseMillis() { return totalPauseMillis; }
+    public synchronized long getMaxPauseMillis() { return maxPauseMillis; }
+}
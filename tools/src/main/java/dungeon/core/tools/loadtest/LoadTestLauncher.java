@@ -0,0 +1,96 @@
+package dungeon.core.tools.loadtest;  // Define o pacote das ferramentas de teste de carga
+
+import java.io.FileWriter;  // Escrita do ficheiro CSV
+import java.io.IOException;  // Erros de escrita
+import java.io.PrintWriter;  // Escrita de linhas de texto
+import java.util.ArrayList;  // Lista de resultados
+import java.util.List;  // Interface de lista
+
+/**
+ * Teste de carga sem janela nem OpenGL.
+ * Cria salas através do RoomFactory com N inimigos de cada tipo do pacote de conteúdos e M itens,
+ * corre Room.update a 60 ticks por segundo contra um jogador guiado por guião e mostra
+ * ticks por segundo, percentis de latência por tick, uso de heap e pausas de GC para cada N.
+ *
+ * Argumentos (todos opcionais):
+ *   --counts 10,100,1000,10000,100000   valores de N (inimigos de cada tipo)
+ *   --items 100                          número de itens por sala
+ *   --ticks 600                          ticks medidos por execução
+ *   --warmup 300                         ticks de aquecimento antes de medir
+ *   --strategy follower|idle             estratégia de IA dos inimigos
+ *   --seed 42                            semente das posições
+ *   --csv resultados.csv                 grava também os resultados em CSV
+ */
+public class LoadTestLauncher {
+    public static void main(String[] args) {
+        int[] counts = {10, 100, 1000, 10000, 100000};
+        int items = 100;
+        int ticks = 600;
+        int warmup = 300;
+        String strategy = "follower";
+        long seed = 42;
+        String csvPath = null;
+
+        for (int i = 0; i < args.length; i++) {  // Leitura simples dos argumentos --nome valor
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--counts": counts = parseCounts(require(args[i], value)); i++; break;
+                case "--items": items = Integer.parseInt(require(args[i], value)); i++; break;
+                case "--ticks": ticks = Integer.parseInt(require(args[i], value)); i++; break;
+                case "--warmup": warmup = Integer.parseInt(require(args[i], value)); i++; break;
+                case "--strategy": strategy = require(args[i], value); i++; break;
+                case "--seed": seed = Long.parseLong(require(args[i], value)); i++; break;
+                case "--csv": csvPath = require(args[i], value); i++; break;
+                default: throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+
+        StrategyFactory strategies = StrategyFactory.byName(strategy);
+        GcPauseRecorder gcRecorder = new GcPauseRecorder();
+        gcRecorder.start();
+
+        System.out.println("Teste de carga: estratégia=" + strategy + ", " + ticks + " ticks medidos, "
+            + warmup + " de aquecimento, heap máximo " + (Runtime.getRuntime().maxMemory() >> 20) + " MB");
+        System.out.println(LoadTestResult.HEADER);
+
+        List<LoadTestResult> results = new ArrayList<>();
+        for (int count : counts) {
+            LoadTestResult result = new LoadTestRun(count, items, warmup, ticks, strategies, seed).execute(gcRecorder);
+            results.add(result);
+            System.out.println(result.toTableRow());
+        }
+        gcRecorder.stop();
+
+        if (csvPath != null) {
+            writeCsv(csvPath, results);
+        }
+    }
+
+    private static String require(String name, String value) {  // Garante que a opção tem valor
+        if (value == null) {
+            throw new IllegalArgumentException("Falta o valor de " + name);
+        }
+        return value;
+    }
+
+    private static int[] parseCounts(String text) {  // "10,100,1000" -> {10, 100, 1000}
+        String[] parts = text.split(",");
+        int[] counts = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            counts[i] = Integer.parseInt(parts[i].trim());
+        }
+        return counts;
+    }
+
+    private static void writeCsv(String path, List<LoadTestResult> results) {
+        try (PrintWriter out = new PrintWriter(new FileWriter(path))) {
+            out.println(LoadTestResult.CSV_HEADER);
+            for (LoadTestResult result : results) {
+                out.println(result.toCsvRow());
+            }
+            System.out.println("Resultados gravados em " + path);
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar o CSV: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package dungeon.core.tools.loadtest;  // Define o pacote das ferramentas de teste de carga
+
+import java.util.Locale;  // Formatação numérica independente da língua do sistema
+
+// Resultado de uma execução do teste de carga para um valor de N
+public class LoadTestResult {
+    static final String HEADER = String.format(Locale.ROOT, "%10s %8s %9s %10s %9s %9s %9s %9s %8s %10s %10s %6s %9s %9s",
+        "N/tipo", "itens", "entidades", "ticks/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "<16.7ms", "heap MB", "pico MB", "GCs", "GC ms", "GC max");
+    static final String CSV_HEADER = "enemies_per_type,items,entities,ticks_per_second,p50_ms,p90_ms,p99_ms,max_ms,"
+        + "realtime_ratio,heap_used_mb,heap_peak_mb,gc_pauses,gc_total_ms,gc_max_ms";
+
+    final int enemiesPerType;  // N inimigos de cada tipo
+    final int items;  // M itens
+    final int entities;  // Total de entidades na sala
+    final double ticksPerSecond;  // Ticks simulados por segundo de relógio
+    final double p50Millis, p90Millis, p99Millis, maxMillis;  // Latência por tick
+    final double realtimeRatio;  // Fração dos ticks que cabem no orçamento de 60 ticks por segundo
+    final double heapUsedMb;  // Heap usado no fim da execução
+    final double heapPeakMb;  // Pico de heap durante a execução
+    final long gcPauses;  // Número de pausas de GC
+    final long gcTotalMillis;  // Tempo total em pausas de GC
+    final long gcMaxMillis;  // Maior pausa de GC
+
+    LoadTestResult(int enemiesPerType, int items, int entities, double ticksPerSecond,
+                   double p50Millis, double p90Millis, double p99Millis, double maxMillis, double realtimeRatio,
+                   double heapUsedMb, double heapPeakMb, long gcPauses, long gcTotalMillis, long gcMaxMillis) {
+        this.enemiesPerType = enemiesPerType;
+        this.items = items;
+        this.entities = entities;
+        this.ticksPerSecond = ticksPerSecond;
+        this.p50Millis = p50Millis;
+        this.p90Millis = p90Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+        this.realtimeRatio = realtimeRatio;
+        this.heapUsedMb = heapUsedMb;
+        this.heapPeakMb = heapPeakMb;
+        this.gcPauses = gcPauses;
+        this.gcTotalMillis = gcTotalMillis;
+        this.gcMaxMillis = gcMaxMillis;
+    }
+
+    String toTableRow() {  // Linha da tabela mostrada na consola
+        return String.format(Locale.ROOT, "%10d %8d %9d %10.1f %9.3f %9.3f %9.3f %9.3f %7.1f%% %10.1f %10.1f %6d %9d %9d",
+            enemiesPerType, items, entities, ticksPerSecond, p50Millis, p90Millis, p99Millis, maxMillis,
+            realtimeRatio * 100, heapUsedMb, heapPeakMb, gcPauses, gcTotalMillis, gcMaxMillis);
+    }
+
+    String toCsvRow() {  // Linha do ficheiro CSV
+        return String.format(Locale.ROOT, "%d,%d,%d,%.2f,%.4f,%.4f,%.4f,%.4f,%.4f,%.2f,%.2f,%d,%d,%d",
+            enemiesPerType, items, entities, ticksPerSecond, p50Millis, p90Millis, p99Millis, maxMillis,
+            realtimeRatio, heapUsedMb, heapPeakMb, gcPauses, gcTotalMillis, gcMaxMillis);
+    }
+}
@@ -0,0 +1,56 @@
+package dungeon.core.tools.loadtest;  // Define o pacote das ferramentas de teste de carga
+
+import dungeon.core.Enemy;  // Inimigos gerados na sala
+import dungeon.core.Item;  // Itens gerados na sala
+import dungeon.core.Room;  // Sala construída pela factory
+import dungeon.core.content.ContentPack;  // Tipos de inimigos e itens do jogo
+import dungeon.core.factories.RoomFactory;  // Template Method usado para criar salas
+import java.util.Random;  // Gerador com semente fixa
+
+// Factory que enche uma sala com N inimigos de cada tipo e M itens, em posições determinísticas
+public class LoadTestRoomFactory extends RoomFactory {
+    private final ContentPack content = ContentPack.getInstance();  // Tipos usados na sala
+    private final int enemiesPerType;  // Número de inimigos de cada tipo do pacote de conteúdos
+    private final int itemCount;  // Número de itens espalhados pela sala
+    private final StrategyFactory strategies;  // Origem das estratégias de IA
+
+    public LoadTestRoomFactory(int enemiesPerType, int itemCount, StrategyFactory strategies, long seed) {
+        super(new Random(seed));  // Semente fixa para resultados repetíveis (posições e saque)
+        this.enemiesPerType = enemiesPerType;
+        this.itemCount = itemCount;
+        this.strategies = strategies;
+    }
+
+    @Override
+    protected Room buildRoom(int id) {  // Sala com o tamanho padrão
+        return new Room(id, "background.jpg", roomWidth, roomHeight);
+    }
+
+    @Override
+    protected void populateWithEnemies(Room room) {  // N inimigos de cada tipo
+        for (int type = 0; type < content.getEnemyCount(); type++) {
+            for (int i = 0; i < enemiesPerType; i++) {
+                room.addEnemy(new Enemy(randomX(128), randomY(128), content.getEnemy(type), strategies.create()));
+            }
+        }
+    }
+
+    @Override
+    protected void populateWithItems(Room room) {  // M itens de tipos alternados
+        for (int i = 0; i < itemCount; i++) {
+            room.addItem(new Item(randomX(32), randomY(32), content.getItem(i % content.getItemCount())));
+        }
+    }
+
+    @Override
+    protected void addDoors(Room room) {  // Sem portas: o jogador nunca sai da sala durante o teste
+    }
+
+    private float randomX(float size) {
+        return random.nextFloat() * (roomWidth - size);
+    }
+
+    private float randomY(float size) {
+        return random.nextFloat() * (roomHeight - size);
+    }
+}
@@ -0,0 +1,111 @@
+package dungeon.core.tools.loadtest;  // Define o pacote das ferramentas de teste de carga
+
+import dungeon.core.Player;  // Jogador guiado pelo guião
+import dungeon.core.Room;  // Sala simulada
+import dungeon.core.content.ContentPack;  // Tipos de inimigos (para contar entidades)
+import dungeon.core.session.GameSession;  // Sessão própria da sala (eventos e medições)
+import java.lang.management.ManagementFactory;  // Acesso aos MXBeans de memória
+import java.lang.management.MemoryPoolMXBean;  // Pools de memória (para o pico de heap)
+import java.lang.management.MemoryType;  // Distingue heap de non-heap
+import java.util.Arrays;  // Ordenação das latências
+
+// Executa o teste de carga para um valor de N: constrói a sala, aquece a JVM e mede os ticks
+public class LoadTestRun {
+    static final float TICK_SECONDS = 1f / 60f;  // Duração de um tick a 60 ticks por segundo
+    private static final long TICK_BUDGET_NANOS = 1_000_000_000L / 60;  // Orçamento de tempo de cada tick
+
+    private final int enemiesPerType;  // N inimigos de cada tipo
+    private final int items;  // M itens
+    private final int warmupTicks;  // Ticks executados antes de medir (aquecimento do JIT)
+    private final int measuredTicks;  // Ticks medidos
+    private final StrategyFactory strategies;  // Estratégia atribuída aos inimigos
+    private final long seed;  // Semente das posições
+
+    public LoadTestRun(int enemiesPerType, int items, int warmupTicks, int measuredTicks,
+                       StrategyFactory strategies, long seed) {
+        this.enemiesPerType = enemiesPerType;
+        this.items = items;
+        this.warmupTicks = warmupTicks;
+        this.measuredTicks = measuredTicks;
+        this.strategies = strategies;
+        this.seed = seed;
+    }
+
+    public LoadTestResult execute(GcPauseRecorder gcRecorder) {
+        Room room = new LoadTestRoomFactory(enemiesPerType, items, strategies, seed).createRoom(0);
+        room.attach(GameSession.createStandalone());  // Sem dungeon: só a sala é simulada
+        Player player = new Player(0, 0);
+        ScriptedPlayer script = new ScriptedPlayer(player, room.getWidth(), room.getHeight());
+        int entities = enemiesPerType * ContentPack.getInstance().getEnemyCount() + items + 1;
+
+        for (int i = 0; i < warmupTicks; i++) {  // Aquecimento: não é medido
+            tick(room, script);
+        }
+
+        System.gc();  // Começa a medição com o heap o mais limpo possível
+        resetPeakUsage();
+        gcRecorder.reset();
+
+        long[] tickNanos = new long[measuredTicks];
+        long start = System.nanoTime();
+        for (int i = 0; i < measuredTicks; i++) {
+            long tickStart = System.nanoTime();
+            tick(room, script);
+            tickNanos[i] = System.nanoTime() - tickStart;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double heapUsedMb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024.0 * 1024.0);
+        double heapPeakMb = peakHeapUsage() / (1024.0 * 1024.0);
+
+        int withinBudget = 0;
+        for (long nanos : tickNanos) {
+            if (nanos <= TICK_BUDGET_NANOS) {
+                withinBudget++;
+            }
+        }
+        Arrays.sort(tickNanos);
+
+        room.dispose();
+        player.dispose();
+
+        return new LoadTestResult(enemiesPerType, items, entities,
+            measuredTicks / (elapsed / 1_000_000_000.0),
+            millis(percentile(tickNanos, 50)), millis(percentile(tickNanos, 90)),
+            millis(percentile(tickNanos, 99)), millis(tickNanos[tickNanos.length - 1]),
+            (double) withinBudget / measuredTicks, heapUsedMb, heapPeakMb,
+            gcRecorder.getPauses(), gcRecorder.getTotalPauseMillis(), gcRecorder.getMaxPauseMillis());
+    }
+
+    private static void tick(Room room, ScriptedPlayer script) {  // Um tick de simulação
+        script.step(TICK_SECONDS);
+        room.update(TICK_SECONDS, script.getPlayer());
+    }
+
+    private static long percentile(long[] sorted, double p) {  // Percentil pelo método nearest-rank
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static void resetPeakUsage() {  // Recomeça o registo do pico de cada pool do heap
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeapUsage() {  // Soma dos picos dos pools do heap
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
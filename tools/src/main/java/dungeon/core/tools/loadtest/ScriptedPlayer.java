@@ -0,0 +1,30 @@
+package dungeon.core.tools.loadtest;  // Define o pacote das ferramentas de teste de carga
+
+import dungeon.core.Player;  // Jogador movido pelo guião
+
+// Move o jogador num percurso fixo (figura de Lissajous) para que todas as execuções sejam iguais
+public class ScriptedPlayer {
+    private final Player player;  // Jogador controlado
+    private final float centerX, centerY;  // Centro do percurso
+    private final float radiusX, radiusY;  // Amplitude do percurso em cada eixo
+    private float time;  // Tempo simulado desde o início
+
+    public ScriptedPlayer(Player player, float roomWidth, float roomHeight) {
+        this.player = player;
+        this.centerX = (roomWidth - player.getWidth()) / 2f;
+        this.centerY = (roomHeight - player.getHeight()) / 2f;
+        this.radiusX = centerX * 0.8f;
+        this.radiusY = centerY * 0.8f;
+    }
+
+    public void step(float deltaTime) {  // Avança o guião um tick
+        time += deltaTime;
+        player.setPosition(centerX + radiusX * (float) Math.sin(time * 0.7f),
+            centerY + radiusY * (float) Math.sin(time * 1.1f));
+        player.heal(player.getMaxHealth());  // Mantém o jogador vivo para a carga ser constante
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+}
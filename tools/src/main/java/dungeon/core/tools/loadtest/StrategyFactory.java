@@ -0,0 +1,20 @@
+package dungeon.core.tools.loadtest;  // Define o pacote das ferramentas de teste de carga
+
+import dungeon.core.ai.BasicFollowerStrategy;  // Estratégia de seguimento simples
+import dungeon.core.ai.EnemyStrategy;  // Interface das estratégias de IA
+
+// Cria uma estratégia nova para cada inimigo gerado pelo teste de carga
+public interface StrategyFactory {
+    EnemyStrategy create();  // Devolve a estratégia a atribuir a um inimigo (pode ser null)
+
+    static StrategyFactory byName(String name) {  // Converte o argumento --strategy numa factory
+        switch (name) {
+            case "follower":
+                return BasicFollowerStrategy::new;  // Cada inimigo segue o jogador
+            case "idle":
+                return () -> null;  // Inimigos parados (mede só o custo base da sala)
+            default:
+                throw new IllegalArgumentException("Estratégia desconhecida: " + name + " (use follower ou idle)");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dungeon.core.tools.sessions;  // Define o pacote das ferramentas de sessões
+
+import dungeon.core.DungeonManager;  // Mundo da sessão
+import dungeon.core.Player;  // Jogadores controlados pelos bots
+import dungeon.core.player.PlayerController;  // Movimento dos jogadores
+import dungeon.core.session.GameSession;  // Sessão conduzida
+import dungeon.core.session.SessionHost;  // Interface dos drivers
+import java.util.Random;  // Decisões dos bots (semente fixa por sessão)
+
+// Joga uma sessão com bots: cada jogador anda numa direção ao acaso, muda de vez em quando e ataca
+public class BotDriver implements SessionHost.Driver {
+    private static final float MIN_WALK_SECONDS = 0.5f;  // Tempo mínimo numa direção
+    private static final float MAX_WALK_SECONDS = 2f;  // Tempo máximo numa direção
+    private static final float ATTACK_CHANCE = 0.05f;  // Probabilidade de atacar em cada tick
+
+    private final Player[] players;
+    private final PlayerController[] controllers;
+    private final float[] axisX, axisY;  // Direção atual de cada bot
+    private final float[] walkLeft;  // Segundos até mudar de direção
+    private final Random random;
+
+    // Junta os jogadores à sessão; chamado antes de a sessão ser entregue ao SessionHost
+    public BotDriver(GameSession session, int playerCount, long seed) {
+        DungeonManager dungeon = session.getDungeon();
+        players = new Player[playerCount];
+        controllers = new PlayerController[playerCount];
+        axisX = new float[playerCount];
+        axisY = new float[playerCount];
+        walkLeft = new float[playerCount];
+        random = new Random(seed);
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = dungeon.addPlayer();
+            controllers[i] = new PlayerController(players[i]);
+        }
+    }
+
+    @Override
+    public void beforeTick(GameSession session, float deltaTime) {
+        DungeonManager dungeon = session.getDungeon();
+        for (int i = 0; i < players.length; i++) {
+            Player player = players[i];
+            player.heal(player.getMaxHealth());  // Bots imortais: a carga da sessão fica constante
+            walkLeft[i] -= deltaTime;
+            if (walkLeft[i] <= 0) {
+                double angle = random.nextDouble() * Math.PI * 2;
+                axisX[i] = (float) Math.cos(angle);
+                axisY[i] = (float) Math.sin(angle);
+                walkLeft[i] = MIN_WALK_SECONDS + random.nextFloat() * (MAX_WALK_SECONDS - MIN_WALK_SECONDS);
+            }
+            if (random.nextFloat() < ATTACK_CHANCE) {
+                player.getCombat().requestAttack();
+            }
+            player.savePreviousPosition();  // Início do movimento testado contra as portas
+            controllers[i].move(dungeon.getRoom(player.getRoomId()), axisX[i], axisY[i], deltaTime);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dungeon.core.tools.sessions;  // Define o pacote das ferramentas de sessões
+
+import dungeon.core.session.GameSession;  // Sessões criadas
+import dungeon.core.session.SessionHost;  // Host que as corre
+
+/**
+ * Corre N sessões de jogo com bots no mesmo processo, repartidas por W workers, e mostra quantos
+ * ticks por segundo o host conseguiu e quanto custa em média o tick de uma sessão.
+ *
+ * Argumentos (todos opcionais):
+ *   --sessions 200      número de sessões
+ *   --workers 4         threads do host (por omissão, uma por processador)
+ *   --players 2         bots em cada sessão
+ *   --seconds 10        duração da medição
+ *   --unthrottled       corre os ticks sem esperar (capacidade máxima em vez de 60 ticks por segundo)
+ *   --seed 42           semente dos bots
+ */
+public class SessionHostLauncher {
+    private static final int WARMUP_SECONDS = 3;  // Aquecimento do JIT antes de medir
+
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = 200;
+        int workers = Runtime.getRuntime().availableProcessors();
+        int players = 2;
+        int seconds = 10;
+        boolean fixedRate = true;
+        long seed = 42;
+
+        for (int i = 0; i < args.length; i++) {  // Leitura simples dos argumentos --nome valor
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--sessions": sessions = Integer.parseInt(require(args[i], value)); i++; break;
+                case "--workers": workers = Integer.parseInt(require(args[i], value)); i++; break;
+                case "--players": players = Integer.parseInt(require(args[i], value)); i++; break;
+                case "--seconds": seconds = Integer.parseInt(require(args[i], value)); i++; break;
+                case "--unthrottled": fixedRate = false; break;
+                case "--seed": seed = Long.parseLong(require(args[i], value)); i++; break;
+                default: throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+
+        SessionHost host = new SessionHost(workers, fixedRate);
+        for (int i = 0; i < sessions; i++) {
+            GameSession session = GameSession.createHeadless();
+            host.add(session, new BotDriver(session, players, seed + i));
+        }
+        System.out.println("Host: " + sessions + " sessões, " + players + " bots cada, " + workers + " workers, "
+            + (fixedRate ? "60 ticks por segundo" : "sem ritmo fixo") + ", heap máximo "
+            + (Runtime.getRuntime().maxMemory() >> 20) + " MB");
+
+        host.start();
+        Thread.sleep(WARMUP_SECONDS * 1000L);
+        long ticksBefore = host.getSessionTicks();
+        long busyBefore = host.getBusyNanos();
+        long start = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        long elapsed = System.nanoTime() - start;
+        long ticks = host.getSessionTicks() - ticksBefore;
+        long busy = host.getBusyNanos() - busyBefore;
+        host.stop();
+
+        double elapsedSeconds = elapsed / 1e9;
+        double perSession = ticks / elapsedSeconds / sessions;
+        System.out.printf("Ticks de sessão por segundo: %.0f (%.1f por sessão)%n", ticks / elapsedSeconds, perSession);
+        System.out.printf("Custo médio do tick de uma sessão: %.1f µs%n", ticks == 0 ? 0 : busy / 1e3 / ticks);
+        System.out.printf("Ocupação dos workers: %.0f%%%n", 100.0 * busy / (elapsed * (double) workers));
+    }
+
+    private static String require(String name, String value) {  // Garante que a opção tem valor
+        if (value == null) {
+            throw new IllegalArgumentException("Falta o valor de " + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,235 @@
+package dungeon.core.tools.startup;  // Define o pacote das ferramentas de arranque
+
+import dungeon.core.profiling.StartupProbe;  // Linha escrita pelo jogo depois do primeiro frame
+import java.io.BufferedReader;  // Saída do jogo
+import java.io.File;  // Jar, arquivo CDS e pasta dos assets
+import java.io.IOException;  // Erros ao lançar o processo
+import java.io.InputStreamReader;  // Leitura da saída do processo
+import java.nio.charset.StandardCharsets;  // Relatório do StartupTracer em UTF-8
+import java.nio.file.Files;  // Leitura do relatório
+import java.util.ArrayList;  // Argumentos e resultados
+import java.util.Arrays;  // Ordenação para a mediana
+import java.util.Collections;  // Mediana das fases
+import java.util.LinkedHashMap;  // Fases pela ordem em que aparecem
+import java.util.List;  // Interface de lista
+import java.util.Map;  // Interface de mapa
+import java.util.concurrent.TimeUnit;  // Espera pelo fim do processo
+import java.util.regex.Matcher;  // Leitura dos eventos do relatório
+import java.util.regex.Pattern;  // Formato de um evento
+
+/**
+ * Compara o arranque do jogo empacotado como jar, com e sem arquivo AppCDS: lança cada variante várias
+ * vezes com -Ddungeon.startupProbe=exit e mede o tempo desde o lançamento
+ * do processo até o jogo escrever a linha do StartupProbe (depois do primeiro frame), e a memória
+ * residente nesse momento.
+ *
+ * Argumentos:
+ *   --jar lwjgl3/build/libs/DungeonGame-1.0.0.jar       jar a medir
+ *   --java-opts "-Xmx1G"        opções extra da JVM para o jar (separadas por espaços)
+ *   --cds lwjgl3/build/cds/DungeonGame.jsa   arquivo AppCDS: o jar é medido sem e com o arquivo
+ *   --assets assets             pasta de trabalho do jogo
+ *   --runs 10                   arranques por alvo (o primeiro de cada um não conta: aquece a cache do disco)
+ *   --target-ms 200             objetivo de tempo até ao primeiro frame
+ *   --trace                     liga o StartupTracer e mostra a mediana de cada fase do arranque; o jogo
+ *                               segue então até ao primeiro frame de jogo antes de fechar
+ */
+public class StartupBenchmark {
+    private static final long TIMEOUT_SECONDS = 60;  // Um arranque que demore mais do que isto é abortado
+    private static final Pattern TRACE_EVENT = Pattern.compile(
+        "\"type\": \"(\\w+)\", \"name\": \"((?:[^\"\\\\]|\\\\.)*)\", \"atMs\": ([0-9.]+)(?:, \"ms\": ([0-9.]+))?");
+
+    // Resultado de um arranque
+    private static final class Sample {
+        final long millis;
+        final long rssKb;  // Pico da memória residente (VmHWM), -1 fora do Linux
+        final Map<String, Double> timeline = new LinkedHashMap<>();  // Com --trace: fase -> ms (marcos: instante)
+
+        Sample(long millis, long rssKb) {
+            this.millis = millis;
+            this.rssKb = rssKb;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String jar = null;
+        String javaOpts = null;
+        String cds = null;
+        File assets = new File("assets");
+        int runs = 10;
+        long targetMs = 200;
+        boolean trace = false;
+
+        for (int i = 0; i < args.length; i++) {  // Leitura simples dos argumentos --nome valor
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--jar": jar = require(args[i], value); i++; break;
+                case "--java-opts": javaOpts = require(args[i], value); i++; break;
+                case "--cds": cds = require(args[i], value); i++; break;
+                case "--assets": assets = new File(require(args[i], value)); i++; break;
+                case "--runs": runs = Integer.parseInt(require(args[i], value)); i++; break;
+                case "--target-ms": targetMs = Long.parseLong(require(args[i], value)); i++; break;
+                case "--trace": trace = true; break;
+                default: throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+        if (jar == null) {
+            throw new IllegalArgumentException("Indique --jar");
+        }
+
+        File traceFile = trace ? File.createTempFile("startup_trace", ".json") : null;
+        System.out.println("Arranque até ao primeiro frame, " + runs + " execuções, objetivo " + targetMs + " ms");
+        report("JVM (jar)", measure(jarCommand(jar, javaOpts, null, traceFile), assets, runs, traceFile), targetMs);
+        if (cds != null) {
+            if (new File(cds).isFile()) {
+                report("JVM + CDS", measure(jarCommand(jar, javaOpts, cds, traceFile), assets, runs, traceFile),
+                    targetMs);
+            } else {
+                System.err.println("Arquivo CDS não encontrado (./gradlew :lwjgl3:cdsArchive): " + cds);
+            }
+        }
+        if (traceFile != null) {
+            traceFile.delete();
+        }
+    }
+
+    private static List<String> probeOptions(File traceFile) {  // Propriedades que ligam o StartupProbe (e o StartupTracer)
+        if (traceFile == null) {
+            return Collections.singletonList("-Ddungeon.startupProbe=exit");
+        }
+        // O relatório fecha no primeiro frame de jogo: o treino passa das instruções para o jogo e sai pouco depois
+        return Arrays.asList("-Ddungeon.startupProbe=print", "-Ddungeon.trainingRun=0.5",
+            "-Ddungeon.startupTrace=" + traceFile.getAbsolutePath());
+    }
+
+    private static List<String> jarCommand(String jar, String javaOpts, String cds, File traceFile) {
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        if (javaOpts != null && !javaOpts.trim().isEmpty()) {
+            command.addAll(Arrays.asList(javaOpts.trim().split("\\s+")));
+        }
+        if (cds != null) {
+            // -Xshare:on em vez de auto: um arquivo que não serve (outra JVM, outro jar) faz falhar em vez de ser ignorado
+            command.add("-XX:SharedArchiveFile=" + new File(cds).getAbsolutePath());
+            command.add("-Xshare:on");
+        }
+        command.addAll(probeOptions(traceFile));
+        command.add("-jar");
+        command.add(new File(jar).getAbsolutePath());
+        return command;
+    }
+
+    private static List<Sample> measure(List<String> command, File workingDir, int runs, File traceFile)
+            throws IOException, InterruptedException {
+        List<Sample> samples = new ArrayList<>();
+        for (int run = 0; run <= runs; run++) {  // A execução 0 é de aquecimento
+            Sample sample = launch(command, workingDir, traceFile);
+            if (sample == null) {
+                System.err.println("O jogo terminou sem escrever \"" + StartupProbe.MARKER + "\": " + command);
+                continue;
+            }
+            if (run > 0) {
+                samples.add(sample);
+            }
+        }
+        return samples;
+    }
+
+    private static Sample launch(List<String> command, File workingDir, File traceFile)
+            throws IOException, InterruptedException {
+        if (traceFile != null) {
+            traceFile.delete();
+        }
+        ProcessBuilder builder = new ProcessBuilder(command).directory(workingDir).redirectErrorStream(true);
+        long start = System.nanoTime();
+        Process process = builder.start();
+        Sample sample = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), "UTF-8"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (sample == null && line.startsWith(StartupProbe.MARKER)) {
+                    sample = new Sample((System.nanoTime() - start) / 1_000_000, field(line, "hwm-kb="));
+                }
+            }
+        }
+        if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+        if (sample != null && traceFile != null && traceFile.isFile()) {
+            readTrace(traceFile, sample.timeline);
+        }
+        return sample;
+    }
+
+    // Eventos do relatório do StartupTracer: marcos pelo instante, fases pela duração, assets somados
+    private static void readTrace(File file, Map<String, Double> timeline) throws IOException {
+        String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        Matcher matcher = TRACE_EVENT.matcher(json);
+        double assets = 0;
+        while (matcher.find()) {
+            String type = matcher.group(1);
+            String name = matcher.group(2).replace("\\\"", "\"").replace("\\\\", "\\");
+            if ("asset".equals(type)) {
+                assets += Double.parseDouble(matcher.group(4));
+            } else if ("span".equals(type)) {
+                timeline.put(name + " (duração)", Double.parseDouble(matcher.group(4)));
+            } else {
+                timeline.put(name, Double.parseDouble(matcher.group(3)));
+            }
+        }
+        timeline.put("assets (soma)", assets);
+    }
+
+    private static long field(String line, String name) {  // Valor numérico "nome=123" da linha do StartupProbe
+        int start = line.indexOf(name);
+        if (start < 0) {
+            return -1;
+        }
+        start += name.length();
+        int end = line.indexOf(' ', start);
+        return Long.parseLong(end < 0 ? line.substring(start) : line.substring(start, end));
+    }
+
+    private static void report(String name, List<Sample> samples, long targetMs) {
+        if (samples.isEmpty()) {
+            System.out.println(name + ": sem resultados");
+            return;
+        }
+        long[] millis = new long[samples.size()];
+        long[] rss = new long[samples.size()];
+        for (int i = 0; i < samples.size(); i++) {
+            millis[i] = samples.get(i).millis;
+            rss[i] = samples.get(i).rssKb;
+        }
+        Arrays.sort(millis);
+        Arrays.sort(rss);
+        long median = millis[millis.length / 2];
+        System.out.printf("%-10s primeiro frame: mediana %d ms (mín %d, máx %d)  RSS: mediana %s  %s%n", name,
+            median, millis[0], millis[millis.length - 1],
+            rss[rss.length / 2] < 0 ? "n/d" : (rss[rss.length / 2] / 1024) + " MB",
+            median <= targetMs ? "dentro do objetivo" : "acima do objetivo");
+
+        Map<String, List<Double>> phases = new LinkedHashMap<>();
+        for (Sample sample : samples) {
+            for (Map.Entry<String, Double> entry : sample.timeline.entrySet()) {
+                List<Double> values = phases.get(entry.getKey());
+                if (values == null) {
+                    values = new ArrayList<>();
+                    phases.put(entry.getKey(), values);
+                }
+                values.add(entry.getValue());
+            }
+        }
+        for (Map.Entry<String, List<Double>> phase : phases.entrySet()) {
+            List<Double> values = phase.getValue();
+            Collections.sort(values);
+            System.out.printf("  %8.1f ms  %s%n", values.get(values.size() / 2), phase.getKey());
+        }
+    }
+
+    private static String require(String name, String value) {  // Garante que a opção tem valor
+        if (value == null) {
+            throw new IllegalArgumentException("Falta o valor de " + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,63 @@
+package dungeon.core.tools.textures;  // Define o pacote das ferramentas de texturas
+
+import java.io.DataOutputStream;  // Escrita do ficheiro
+import java.io.File;  // Ficheiro de destino
+import java.io.FileOutputStream;  // Escrita em disco
+import java.io.IOException;  // Erros de escrita
+import java.io.BufferedOutputStream;  // Escrita com buffer
+import java.nio.ByteBuffer;  // Cabeçalho em little-endian
+import java.nio.ByteOrder;  // Ordem dos bytes do cabeçalho
+import java.util.List;  // Níveis de mipmap
+
+/**
+ * Escreve texturas comprimidas no formato KTX 1.1 (o que o KTXTextureData do libGDX lê).
+ * Os níveis de mipmap são escritos do maior para o menor, cada um precedido do seu tamanho e
+ * alinhado a 4 bytes, como pede a especificação.
+ */
+public final class KtxWriter {
+    private static final byte[] IDENTIFIER = {
+        (byte) 0xAB, 'K', 'T', 'X', ' ', '1', '1', (byte) 0xBB, '\r', '\n', 0x1A, '\n'
+    };
+    private static final int HEADER_SIZE = 64;  // Identificador + 13 inteiros
+    private static final int ENDIANNESS = 0x04030201;
+
+    public static final int GL_RGB = 0x1907;  // Formato base das texturas sem alfa
+    public static final int GL_COMPRESSED_RGB8_ETC2 = 0x9274;  // Os blocos ETC1 são blocos ETC2 válidos
+
+    private KtxWriter() {
+    }
+
+    public static void write(File file, int glInternalFormat, int glBaseInternalFormat,
+                             int width, int height, List<byte[]> mipLevels) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(IDENTIFIER);
+        header.putInt(ENDIANNESS);
+        header.putInt(0);  // glType: 0 para texturas comprimidas
+        header.putInt(1);  // glTypeSize
+        header.putInt(0);  // glFormat: 0 para texturas comprimidas
+        header.putInt(glInternalFormat);
+        header.putInt(glBaseInternalFormat);
+        header.putInt(width);
+        header.putInt(height);
+        header.putInt(0);  // pixelDepth (textura 2D)
+        header.putInt(0);  // numberOfArrayElements
+        header.putInt(1);  // numberOfFaces
+        header.putInt(mipLevels.size());
+        header.putInt(0);  // bytesOfKeyValueData
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.write(header.array());
+            ByteBuffer size = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            for (byte[] level : mipLevels) {
+                size.clear();
+                size.putInt(level.length);
+                out.write(size.array());
+                out.write(level);
+                int padding = ((level.length + 3) & ~3) - level.length;  // Alinha o próximo nível a 4 bytes
+                for (int i = 0; i < padding; i++) {
+                    out.write(0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package dungeon.core.tools.textures;  // Define o pacote das ferramentas de texturas
+
+import com.badlogic.gdx.files.FileHandle;  // Leitura das imagens originais
+import com.badlogic.gdx.graphics.Pixmap;  // Imagem descomprimida em memória
+import com.badlogic.gdx.graphics.glutils.ETC1;  // Codificador ETC1 nativo do libGDX
+import com.badlogic.gdx.utils.GdxNativesLoader;  // Bibliotecas nativas (descodificação de imagens e ETC1)
+import java.io.File;  // Pastas e ficheiros
+import java.io.IOException;  // Erros de escrita
+import java.io.PrintWriter;  // Escrita do manifesto
+import java.nio.charset.StandardCharsets;  // Manifesto em UTF-8
+import java.util.ArrayList;  // Lista de níveis de mipmap
+import java.util.Arrays;  // Ordenação das imagens
+import java.util.List;  // Interface de lista
+
+/**
+ * Gera, em tempo de build, versões das imagens opacas dos assets comprimidas para a GPU.
+ * Cada imagem é reduzida para cada divisor pedido (1 = original, 2 = metade, ...), todos os níveis de
+ * mipmap são codificados em blocos ETC1 e o resultado é gravado em KTX como ETC2 RGB8 (um fluxo ETC1
+ * é um fluxo ETC2 válido, e o ETC2 é suportado pelo OpenGL 4.3 / ES 3.0 sem descompressão no CPU).
+ * Fica com 4 bits por pixel em vez dos 32 do RGBA8888. As imagens com transparência ficam como estão.
+ * O manifesto gerado (TextureVariants.MANIFEST_PATH) diz ao jogo que variantes existem.
+ *
+ * Argumentos (todos opcionais):
+ *   --assets assets          pasta dos assets
+ *   --out compressed         subpasta de destino, dentro dos assets
+ *   --divisors 1,2,4         reduções a gerar
+ *   --min-size 64            não gera variantes reduzidas com largura ou altura abaixo disto
+ */
+public class TextureCompressor {
+    private static final String MANIFEST_NAME = "variants.txt";  // Tem de coincidir com TextureVariants.MANIFEST_PATH
+
+    public static void main(String[] args) throws IOException {
+        File assets = new File("assets");
+        String outName = "compressed";
+        int[] divisors = {1, 2, 4};
+        int minSize = 64;
+
+        for (int i = 0; i < args.length; i++) {  // Leitura simples dos argumentos --nome valor
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--assets": assets = new File(require(args[i], value)); i++; break;
+                case "--out": outName = require(args[i], value); i++; break;
+                case "--divisors": divisors = parseDivisors(require(args[i], value)); i++; break;
+                case "--min-size": minSize = Integer.parseInt(require(args[i], value)); i++; break;
+                default: throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+
+        GdxNativesLoader.load();  // Pixmap e ETC1 usam código nativo; não é preciso janela nem OpenGL
+
+        File outDir = new File(assets, outName);
+        if (!outDir.isDirectory() && !outDir.mkdirs()) {
+            throw new IOException("Não foi possível criar " + outDir);
+        }
+
+        File[] files = assets.listFiles();
+        if (files == null) {
+            throw new IOException("Pasta de assets inexistente: " + assets);
+        }
+        Arrays.sort(files);  // Manifesto estável entre builds
+
+        long rawBytes = 0;
+        long compressedBytes = 0;
+        try (PrintWriter manifest = new PrintWriter(new File(outDir, MANIFEST_NAME), StandardCharsets.UTF_8.name())) {
+            manifest.println("# original divisor largura altura ficheiro (gerado por TextureCompressor)");
+            for (File file : files) {
+                if (!file.isFile() || !isImage(file.getName())) {
+                    continue;
+                }
+                Pixmap source = new Pixmap(new FileHandle(file));
+                try {
+                    if (hasTransparency(source)) {
+                        System.out.println(file.getName() + ": tem transparência, fica sem compressão");
+                        continue;
+                    }
+                    for (int divisor : divisors) {
+                        int width = Math.max(1, source.getWidth() / divisor);
+                        int height = Math.max(1, source.getHeight() / divisor);
+                        if (divisor > 1 && (width < minSize || height < minSize)) {
+                            continue;
+                        }
+                        String outFile = stripExtension(file.getName()) + "@" + divisor + ".ktx";
+                        long size = writeVariant(source, width, height, new File(outDir, outFile));
+                        manifest.println(file.getName() + " " + divisor + " " + width + " " + height + " "
+                            + outName + "/" + outFile);
+                        if (divisor == 1) {
+                            rawBytes += (long) width * height * 4;
+                            compressedBytes += size;
+                        }
+                        System.out.printf("%s -> %s (%dx%d, %d KB)%n", file.getName(), outFile, width, height, size >> 10);
+                    }
+                } finally {
+                    source.dispose();
+                }
+            }
+        }
+
+        if (compressedBytes > 0) {
+            System.out.printf("RGBA8888: %d KB, ETC2 com mipmaps: %d KB (%.1fx menos)%n",
+                rawBytes >> 10, compressedBytes >> 10, (double) rawBytes / compressedBytes);
+        }
+    }
+
+    // Reduz a imagem, gera a cadeia de mipmaps e grava-a em KTX; devolve o tamanho dos dados comprimidos
+    private static long writeVariant(Pixmap source, int width, int height, File outFile) throws IOException {
+        List<byte[]> levels = new ArrayList<>();
+        long total = 0;
+
+        Pixmap level = scale(source, width, height);
+        while (true) {
+            byte[] encoded = encode(level);
+            levels.add(encoded);
+            total += encoded.length;
+            if (level.getWidth() == 1 && level.getHeight() == 1) {
+                level.dispose();
+                break;
+            }
+            Pixmap next = scale(level, Math.max(1, level.getWidth() / 2), Math.max(1, level.getHeight() / 2));
+            level.dispose();
+            level = next;
+        }
+
+        KtxWriter.write(outFile, KtxWriter.GL_COMPRESSED_RGB8_ETC2, KtxWriter.GL_RGB, width, height, levels);
+        return total;
+    }
+
+    private static Pixmap scale(Pixmap source, int width, int height) {  // Cópia em RGB888 (o formato que o ETC1 aceita)
+        Pixmap scaled = new Pixmap(width, height, Pixmap.Format.RGB888);
+        scaled.setBlending(Pixmap.Blending.None);
+        scaled.setFilter(Pixmap.Filter.BiLinear);
+        scaled.drawPixmap(source, 0, 0, source.getWidth(), source.getHeight(), 0, 0, width, height);
+        return scaled;
+    }
+
+    private static byte[] encode(Pixmap pixmap) {  // Blocos ETC1 de 4x4 pixels, 8 bytes cada
+        ETC1.ETC1Data data = ETC1.encodeImage(pixmap);
+        try {
+            byte[] bytes = new byte[ETC1.getCompressedDataSize(pixmap.getWidth(), pixmap.getHeight())];
+            data.compressedData.position(data.dataOffset);
+            data.compressedData.get(bytes);
+            return bytes;
+        } finally {
+            data.dispose();
+        }
+    }
+
+    private static boolean hasTransparency(Pixmap pixmap) {
+        Pixmap.Format format = pixmap.getFormat();
+        if (format == Pixmap.Format.RGB888 || format == Pixmap.Format.RGB565) {
+            return false;
+        }
+        for (int y = 0; y < pixmap.getHeight(); y++) {
+            for (int x = 0; x < pixmap.getWidth(); x++) {
+                if ((pixmap.getPixel(x, y) & 0xFF) != 0xFF) {  // RGBA8888: o alfa está no byte mais baixo
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isImage(String name) {
+        String lower = name.toLowerCase();
+        return lower.endsWith(".png") || lower.endsWith(".jpg") || lower.endsWith(".jpeg");
+    }
+
+    private static String stripExtension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    private static int[] parseDivisors(String value) {
+        String[] parts = value.split(",");
+        int[] divisors = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            divisors[i] = Integer.parseInt(parts[i].trim());
+        }
+        return divisors;
+    }
+
+    private static String require(String name, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Falta o valor de " + name);
+        }
+        return value;
+    }
+}